@@ -38,6 +38,11 @@ android {
     buildFeatures {
         viewBinding = true
     }
+    sourceSets {
+        // Test doubles used by both the unit and the instrumented tests
+        getByName("test").java.srcDir("src/sharedTest/java")
+        getByName("androidTest").java.srcDir("src/sharedTest/java")
+    }
 
 
 //    packaging {
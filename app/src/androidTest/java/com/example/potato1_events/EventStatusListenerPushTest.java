@@ -0,0 +1,141 @@
+// File: EventStatusListenerPushTest.java
+package com.example.potato1_events;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import android.Manifest;
+import android.content.Context;
+import android.provider.Settings;
+
+import androidx.test.core.app.ApplicationProvider;
+import androidx.test.ext.junit.runners.AndroidJUnit4;
+import androidx.test.rule.GrantPermissionRule;
+
+import com.google.android.gms.tasks.OnFailureListener;
+import com.google.android.gms.tasks.OnSuccessListener;
+import com.google.android.gms.tasks.Task;
+import com.google.firebase.firestore.DocumentSnapshot;
+import com.google.firebase.firestore.FirebaseFirestore;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mockito;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Instrumented tests for the push delivery mode of {@link EventStatusListener}.
+ * Status updates are sent through {@link LocalStubPushSender}, which hands each message to the
+ * listener exactly as {@link EventMessagingService} would after an FCM data message, and every
+ * message makes the listener fetch the event it names.
+ */
+@RunWith(AndroidJUnit4.class)
+public class EventStatusListenerPushTest {
+
+    @Rule
+    public GrantPermissionRule notificationPermissionRule =
+            GrantPermissionRule.grant(Manifest.permission.POST_NOTIFICATIONS);
+
+    private Context context;
+    private FirebaseFirestore firestore;
+    private LocalStubPushSender sender;
+    private String userId;
+
+    @Before
+    public void setUp() {
+        context = ApplicationProvider.getApplicationContext();
+        // Start from empty baselines
+        context.getSharedPreferences("event_status_baselines", Context.MODE_PRIVATE).edit().clear().commit();
+
+        firestore = mock(FirebaseFirestore.class, Mockito.RETURNS_DEEP_STUBS);
+        EventStatusListener listener = new EventStatusListener(context, firestore);
+        sender = new LocalStubPushSender((recipient, message) -> listener.handlePushMessage(message));
+        userId = Settings.Secure.getString(context.getContentResolver(), Settings.Secure.ANDROID_ID);
+    }
+
+    /**
+     * Tests that a pushed status change fetches the event and compares the stored status with the
+     * baseline, and that a changed status is written to the in-app inbox.
+     */
+    @Test
+    public void testPushedStatusChangeFetchesEvent() {
+        stubEvent("event123", joinedEvent("Waitlist"));
+        sender.send(userId, new StatusUpdateMessage(StatusUpdateMessage.TYPE_STATUS_CHANGE, "event123"));
+
+        assertEquals("Waitlist", new EventStatusBaselineStore(context).loadStatuses().get("event123"));
+        // The first status is only the baseline
+        verify(firestore, never()).collection("Notifications");
+
+        stubEvent("event123", joinedEvent("Selected"));
+        sender.send(userId, new StatusUpdateMessage(StatusUpdateMessage.TYPE_STATUS_CHANGE, "event123"));
+
+        assertEquals("Selected", new EventStatusBaselineStore(context).loadStatuses().get("event123"));
+        // The change is saved as a notification
+        verify(firestore).collection("Notifications");
+    }
+
+    /**
+     * Tests that a pushed entrant response makes the organizer's listener fetch the one event
+     * and record its entrants as the new baseline.
+     */
+    @Test
+    public void testPushedEntrantStatusFetchesEvent() {
+        Map<String, Object> entrants = new HashMap<>();
+        entrants.put("entrant1", "Accepted");
+        DocumentSnapshot document = mock(DocumentSnapshot.class);
+        when(document.exists()).thenReturn(true);
+        when(document.getId()).thenReturn("event456");
+        when(document.getString("name")).thenReturn("Gala");
+        when(document.getBoolean("waitingListFilled")).thenReturn(true);
+        when(document.get("entrants")).thenReturn(entrants);
+        stubEvent("event456", document);
+
+        sender.send("organizer1", new StatusUpdateMessage(StatusUpdateMessage.TYPE_ENTRANT_STATUS, "event456"));
+
+        EventStatusBaselineStore store = new EventStatusBaselineStore(context);
+        assertEquals(Boolean.TRUE, store.loadWaitingListFilledValues().get("event456"));
+        EntrantStatusBaseline baseline = store.loadEntrantBaselines().get("event456");
+        assertNotNull(baseline);
+        assertEquals(EntrantStatusBaseline.statusCode("Accepted"), baseline.statusCodeOf("entrant1"));
+    }
+
+    /**
+     * Builds a joined event in which this device's user has the given status.
+     *
+     * @param status The user's status.
+     * @return The event document.
+     */
+    private DocumentSnapshot joinedEvent(String status) {
+        DocumentSnapshot document = mock(DocumentSnapshot.class);
+        when(document.exists()).thenReturn(true);
+        when(document.getString("name")).thenReturn("Art Workshop");
+        when(document.get("entrants." + userId)).thenReturn(status);
+        return document;
+    }
+
+    /**
+     * Makes fetching an event deliver the given document synchronously.
+     *
+     * @param eventId  The ID of the event.
+     * @param document The document the fetch delivers.
+     */
+    @SuppressWarnings("unchecked")
+    private void stubEvent(String eventId, DocumentSnapshot document) {
+        Task<DocumentSnapshot> fetch = mock(Task.class);
+        when(firestore.collection("Events").document(eventId).get()).thenReturn(fetch);
+        when(fetch.addOnSuccessListener(any(OnSuccessListener.class))).thenAnswer(invocation -> {
+            ((OnSuccessListener<DocumentSnapshot>) invocation.getArgument(0)).onSuccess(document);
+            return fetch;
+        });
+        when(fetch.addOnFailureListener(any(OnFailureListener.class))).thenReturn(fetch);
+    }
+}
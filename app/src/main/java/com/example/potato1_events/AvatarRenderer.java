@@ -0,0 +1,192 @@
+// File: AvatarRenderer.java
+package com.example.potato1_events;
+
+import android.content.Context;
+import android.graphics.Bitmap;
+import android.graphics.BitmapFactory;
+import android.graphics.Canvas;
+import android.graphics.Color;
+import android.graphics.Paint;
+import android.util.Log;
+import android.util.LruCache;
+import android.widget.ImageView;
+
+import com.google.android.gms.tasks.Task;
+import com.google.android.gms.tasks.Tasks;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Renders {@link DefaultAvatar}s on demand and caches them in memory and on disk.
+ * Because an avatar depends only on the user's name, nothing is uploaded: any screen can draw any user's
+ * avatar locally, and lists show it without a Storage request. Rendering and disk access run on a
+ * background thread.
+ */
+public class AvatarRenderer {
+
+    private static final String TAG = "AvatarRenderer";
+
+    /**
+     * Maximum total size of avatars kept in memory.
+     */
+    private static final int MEMORY_CACHE_BYTES = 4 * 1024 * 1024;
+
+    /**
+     * Directory under the app's cache directory that holds rendered avatars.
+     */
+    private static final String DISK_CACHE_DIR = "avatars";
+
+    /**
+     * Height of the initials as a fraction of the avatar size.
+     */
+    private static final float TEXT_SIZE_RATIO = 0.4f;
+
+    private static AvatarRenderer instance;
+
+    private final File diskCacheDir;
+
+    // Rendered avatars by cache key, weighed by their byte count
+    private final LruCache<String, Bitmap> memoryCache = new LruCache<String, Bitmap>(MEMORY_CACHE_BYTES) {
+        @Override
+        protected int sizeOf(String key, Bitmap bitmap) {
+            return bitmap.getByteCount();
+        }
+    };
+
+    // Single thread so the same file is never written twice at once
+    private final ExecutorService executor = Executors.newSingleThreadExecutor();
+
+    /**
+     * Private constructor to enforce Singleton pattern.
+     *
+     * @param context The application context.
+     */
+    private AvatarRenderer(Context context) {
+        diskCacheDir = new File(context.getCacheDir(), DISK_CACHE_DIR);
+    }
+
+    /**
+     * Retrieves the singleton instance of AvatarRenderer.
+     *
+     * @param context Any context; only the application context is kept.
+     * @return The singleton instance.
+     */
+    public static synchronized AvatarRenderer getInstance(Context context) {
+        if (instance == null) {
+            instance = new AvatarRenderer(context.getApplicationContext());
+        }
+        return instance;
+    }
+
+    /**
+     * Renders an avatar, from the memory or disk cache when possible.
+     *
+     * @param avatar The avatar.
+     * @param sizePx The size in pixels.
+     * @return A task resolving to the avatar bitmap.
+     */
+    public Task<Bitmap> render(DefaultAvatar avatar, int sizePx) {
+        String key = avatar.cacheKey(sizePx);
+        Bitmap cached = memoryCache.get(key);
+        if (cached != null) {
+            return Tasks.forResult(cached);
+        }
+        return Tasks.call(executor, () -> {
+            Bitmap bitmap = loadOrDraw(avatar, sizePx, key);
+            memoryCache.put(key, bitmap);
+            return bitmap;
+        });
+    }
+
+    /**
+     * Shows the avatar for a name in a view, sized to the view. The view remembers the avatar it is
+     * showing, so a late render does not overwrite a recycled row.
+     *
+     * @param name   The user's name, possibly null.
+     * @param target The view to draw into.
+     */
+    public void loadInto(String name, ImageView target) {
+        // Stop any picture still loading into a recycled row
+        ImageLoader.getInstance(target.getContext()).cancel(target);
+
+        DefaultAvatar avatar = DefaultAvatar.forName(name);
+        int sizePx = ImageRendition.targetSizeOf(target);
+        String key = avatar.cacheKey(sizePx);
+        target.setTag(key);
+        Bitmap cached = memoryCache.get(key);
+        if (cached != null) {
+            target.setImageBitmap(cached);
+            return;
+        }
+        target.setImageResource(R.drawable.ic_placeholder_image);
+        render(avatar, sizePx)
+                .addOnSuccessListener(bitmap -> {
+                    if (key.equals(target.getTag())) {
+                        target.setImageBitmap(bitmap);
+                    }
+                })
+                .addOnFailureListener(e -> Log.e(TAG, "Failed to render avatar", e));
+    }
+
+    /**
+     * Reads a rendered avatar from disk, or draws it and stores it for next time.
+     *
+     * @param avatar The avatar.
+     * @param sizePx The size in pixels.
+     * @param key    The avatar's cache key.
+     * @return The avatar bitmap.
+     */
+    private Bitmap loadOrDraw(DefaultAvatar avatar, int sizePx, String key) {
+        File file = new File(diskCacheDir, key + ".png");
+        if (file.exists()) {
+            Bitmap stored = BitmapFactory.decodeFile(file.getPath());
+            if (stored != null) {
+                return stored;
+            }
+        }
+
+        Bitmap bitmap = draw(avatar, sizePx);
+        if (diskCacheDir.isDirectory() || diskCacheDir.mkdirs()) {
+            try (OutputStream out = new FileOutputStream(file)) {
+                bitmap.compress(Bitmap.CompressFormat.PNG, 100, out);
+            } catch (IOException e) {
+                // The avatar is simply drawn again next time
+                Log.w(TAG, "Failed to store avatar: " + file, e);
+            }
+        }
+        return bitmap;
+    }
+
+    /**
+     * Draws a colored circle with the initials centered on it.
+     *
+     * @param avatar The avatar.
+     * @param sizePx The size in pixels.
+     * @return The avatar bitmap.
+     */
+    private static Bitmap draw(DefaultAvatar avatar, int sizePx) {
+        Bitmap bitmap = Bitmap.createBitmap(sizePx, sizePx, Bitmap.Config.ARGB_8888);
+        Canvas canvas = new Canvas(bitmap);
+        float center = sizePx / 2f;
+
+        // Draw colored circle
+        Paint paint = new Paint(Paint.ANTI_ALIAS_FLAG);
+        paint.setColor(avatar.getColor());
+        canvas.drawCircle(center, center, center, paint);
+
+        // Draw initials, adjusting the y-coordinate to center the text
+        Paint textPaint = new Paint(Paint.ANTI_ALIAS_FLAG);
+        textPaint.setColor(Color.WHITE);
+        textPaint.setTextSize(sizePx * TEXT_SIZE_RATIO);
+        textPaint.setTextAlign(Paint.Align.CENTER);
+        float y = center - ((textPaint.descent() + textPaint.ascent()) / 2);
+        canvas.drawText(avatar.getInitials(), center, y, textPaint);
+
+        return bitmap;
+    }
+}
@@ -0,0 +1,84 @@
+// File: CachedDownloadUrl.java
+package com.example.potato1_events;
+
+/**
+ * A resolved Firebase Storage download URL together with the time it stops being trusted.
+ * Entries are encoded as {@code "<expiresAtMillis>|<url>"} so they fit in a single preference value.
+ */
+public class CachedDownloadUrl {
+
+    private static final char SEPARATOR = '|';
+
+    private final String url;
+    private final long expiresAt;
+
+    /**
+     * Constructs a new CachedDownloadUrl.
+     *
+     * @param url       The download URL.
+     * @param expiresAt The time in milliseconds after which the URL must be resolved again.
+     */
+    public CachedDownloadUrl(String url, long expiresAt) {
+        this.url = url;
+        this.expiresAt = expiresAt;
+    }
+
+    /**
+     * Retrieves the download URL.
+     *
+     * @return The URL.
+     */
+    public String getUrl() {
+        return url;
+    }
+
+    /**
+     * Retrieves the expiry time.
+     *
+     * @return The time in milliseconds after which the URL must be resolved again.
+     */
+    public long getExpiresAt() {
+        return expiresAt;
+    }
+
+    /**
+     * Checks whether the entry has expired.
+     *
+     * @param now The current time in milliseconds.
+     * @return True if the URL must be resolved again.
+     */
+    public boolean isExpired(long now) {
+        return now >= expiresAt;
+    }
+
+    /**
+     * Encodes the entry for storage.
+     *
+     * @return The encoded entry.
+     */
+    public String encode() {
+        return expiresAt + String.valueOf(SEPARATOR) + url;
+    }
+
+    /**
+     * Decodes a stored entry.
+     *
+     * @param encoded The encoded entry.
+     * @return The entry, or null if the value is malformed.
+     */
+    public static CachedDownloadUrl decode(String encoded) {
+        if (encoded == null) {
+            return null;
+        }
+        int separator = encoded.indexOf(SEPARATOR);
+        if (separator <= 0 || separator == encoded.length() - 1) {
+            return null;
+        }
+        try {
+            long expiresAt = Long.parseLong(encoded.substring(0, separator));
+            return new CachedDownloadUrl(encoded.substring(separator + 1), expiresAt);
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+}
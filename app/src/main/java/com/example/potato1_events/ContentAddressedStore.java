@@ -0,0 +1,500 @@
+// File: ContentAddressedStore.java
+package com.example.potato1_events;
+
+import android.content.ContentResolver;
+import android.content.Context;
+import android.net.Uri;
+import android.text.TextUtils;
+import android.util.Log;
+
+import com.google.android.gms.tasks.CancellationToken;
+import com.google.android.gms.tasks.Task;
+import com.google.android.gms.tasks.Tasks;
+import com.google.firebase.firestore.DocumentReference;
+import com.google.firebase.firestore.DocumentSnapshot;
+import com.google.firebase.firestore.FieldValue;
+import com.google.firebase.firestore.FirebaseFirestore;
+import com.google.firebase.firestore.SetOptions;
+import com.google.firebase.firestore.Source;
+import com.google.firebase.storage.FirebaseStorage;
+import com.google.firebase.storage.StorageException;
+import com.google.firebase.storage.StorageMetadata;
+import com.google.firebase.storage.StorageReference;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Stores images under the SHA-256 hash of the picked file, so identical images are uploaded once.
+ * Before uploading, the store acquires a reference and then checks whether an object with that hash
+ * already exists and, if so, reuses it; a release that deletes the image re-reads the count first. Each stored image has a reference count in the {@link #REF_COUNTS_COLLECTION} collection;
+ * a document that uses the image acquires a reference, and releasing the last reference deletes the
+ * image and its renditions. Counts that are never released, for example after a failed save, only keep
+ * an image alive until {@link StorageGarbageCollectionWorker} finds it unreferenced. Reusing an image
+ * stamps it with {@link #METADATA_LAST_REFERENCED_AT}, which restarts the collector's grace period, so an
+ * old orphan is not swept between being reused and the document that reuses it being saved.
+ */
+public class ContentAddressedStore {
+
+    private static final String TAG = "ContentAddressedStore";
+
+    /**
+     * Collection holding one reference count document per stored image.
+     */
+    static final String REF_COUNTS_COLLECTION = "StorageRefCounts";
+
+    /**
+     * Custom Storage metadata holding the time, in milliseconds, an image was last reused.
+     */
+    static final String METADATA_LAST_REFERENCED_AT = "lastReferencedAt";
+
+    /**
+     * Field of a reference count holding the server time of its last acquire, which the collector
+     * checks right before deleting an image.
+     */
+    static final String FIELD_UPDATED_AT = "updatedAt";
+
+    private static final String FIELD_PATH = "path";
+    private static final String FIELD_REF_COUNT = "refCount";
+
+    /**
+     * Told when an upload has acquired its reference, before the upload itself completes.
+     */
+    public interface AcquireListener {
+        /**
+         * Called on the main thread once the reference is acquired.
+         *
+         * @param path The Storage path of the full image.
+         */
+        void onAcquired(String path);
+    }
+
+    private static ContentAddressedStore instance;
+
+    private final Context context;
+    private final ContentResolver contentResolver;
+    private final FirebaseFirestore firestore;
+    private final FirebaseStorage storage;
+
+    // Number of uploadRenditions calls still running for each folder and picked file
+    private final Map<String, Integer> runningSaves = new HashMap<>();
+
+    // Hashing reads the whole file, so it runs off the main thread one file at a time
+    private final ExecutorService executor = Executors.newSingleThreadExecutor();
+
+    /**
+     * Private constructor to enforce Singleton pattern.
+     *
+     * @param context The application context.
+     */
+    private ContentAddressedStore(Context context) {
+        this.context = context;
+        contentResolver = context.getContentResolver();
+        firestore = FirebaseFirestore.getInstance();
+        storage = FirebaseStorage.getInstance();
+    }
+
+    /**
+     * Retrieves the singleton instance of ContentAddressedStore.
+     *
+     * @param context Any context; only the application context is kept.
+     * @return The singleton instance.
+     */
+    public static synchronized ContentAddressedStore getInstance(Context context) {
+        if (instance == null) {
+            instance = new ContentAddressedStore(context.getApplicationContext());
+        }
+        return instance;
+    }
+
+    /**
+     * Stores an image and its renditions in a folder under the image's content hash, uploading them only
+     * if no identical image is stored there yet, and acquires a reference to it.
+     *
+     * @param source       The content URI of the picked image.
+     * @param folder       The Storage folder to store the image in.
+     * @param listener     Receives upload progress, or null; nothing is reported when the image is reused.
+     * @param cancellation Cancels the upload when requested, or null.
+     * @return A task resolving to the download URLs keyed by rendition key.
+     */
+    public Task<Map<String, String>> uploadRenditions(Uri source, StorageReference folder,
+                                                      ResumableUploader.ProgressListener listener,
+                                                      CancellationToken cancellation) {
+        return uploadRenditions(source, folder, null, listener, cancellation);
+    }
+
+    /**
+     * Stores an image like {@link #uploadRenditions(Uri, StorageReference, ResumableUploader.ProgressListener,
+     * CancellationToken)}, replacing an image the caller already holds a reference to. If the picked image
+     * is the one already held, no further reference is acquired.
+     *
+     * @param source       The content URI of the picked image.
+     * @param folder       The Storage folder to store the image in.
+     * @param currentUrl   The download URL of the image the caller already holds a reference to, or null.
+     * @param listener     Receives upload progress, or null; nothing is reported when the image is reused.
+     * @param cancellation Cancels the upload when requested, or null.
+     * @return A task resolving to the download URLs keyed by rendition key.
+     */
+    public Task<Map<String, String>> uploadRenditions(Uri source, StorageReference folder, String currentUrl,
+                                                      ResumableUploader.ProgressListener listener,
+                                                      CancellationToken cancellation) {
+        return uploadRenditions(source, folder, currentUrl, null, null, listener, cancellation);
+    }
+
+    /**
+     * Stores an image like {@link #uploadRenditions(Uri, StorageReference, String,
+     * ResumableUploader.ProgressListener, CancellationToken)}, for a save that a recreated screen may resume.
+     * No reference is acquired if the image is the one reported to {@code onAcquired} before the screen was
+     * recreated, or if an earlier call for the same picked file is still running in this process, since
+     * that call acquires the reference or gives it back itself.
+     *
+     * @param source       The content URI of the picked image.
+     * @param folder       The Storage folder to store the image in.
+     * @param currentUrl   The download URL of the image the caller already holds a reference to, or null.
+     * @param acquiredPath The path reported to {@code onAcquired} by the interrupted save, or null.
+     * @param onAcquired   Told the path of the image once a reference to it is acquired, or null.
+     * @param listener     Receives upload progress, or null; nothing is reported when the image is reused.
+     * @param cancellation Cancels the upload when requested, or null.
+     * @return A task resolving to the download URLs keyed by rendition key.
+     */
+    public Task<Map<String, String>> uploadRenditions(Uri source, StorageReference folder, String currentUrl,
+                                                      String acquiredPath, AcquireListener onAcquired,
+                                                      ResumableUploader.ProgressListener listener,
+                                                      CancellationToken cancellation) {
+        String currentPath = pathOf(currentUrl);
+        String saveKey = folder.getPath() + "|" + source;
+        boolean earlierSaveRunning;
+        synchronized (runningSaves) {
+            Integer running = runningSaves.get(saveKey);
+            earlierSaveRunning = running != null;
+            runningSaves.put(saveKey, running == null ? 1 : running + 1);
+        }
+        return Tasks.call(executor, () -> hash(source))
+                .onSuccessTask(hash -> {
+                    StorageReference full = folder.child(hash + ".jpg");
+                    String path = DownloadUrlCache.normalize(full.getPath());
+                    if (path.equals(currentPath) || path.equals(acquiredPath) || earlierSaveRunning) {
+                        // The reference is already held, or is acquired by the earlier call
+                        return storeIfAbsent(source, full, listener, cancellation);
+                    }
+                    // Acquire before checking for the image, so a release of its last reference that
+                    // raced the check cannot delete it afterwards
+                    return acquire(full).onSuccessTask(aVoid -> {
+                        if (onAcquired != null) {
+                            onAcquired.onAcquired(path);
+                        }
+                        return storeIfAbsent(source, full, listener, cancellation)
+                                .continueWithTask(stored -> {
+                                    if (stored.isSuccessful()) {
+                                        return stored;
+                                    }
+                                    // Give back the reference, deleting whatever part of the upload was stored
+                                    return release(full).continueWithTask(released -> stored);
+                                });
+                    });
+                })
+                .addOnCompleteListener(done -> {
+                    synchronized (runningSaves) {
+                        Integer running = runningSaves.get(saveKey);
+                        if (running == null || running <= 1) {
+                            runningSaves.remove(saveKey);
+                        } else {
+                            runningSaves.put(saveKey, running - 1);
+                        }
+                    }
+                });
+    }
+
+    /**
+     * Reuses an image stored under its hash, or uploads it and its renditions if it is not stored.
+     *
+     * @param source       The content URI of the picked image.
+     * @param full         Where the full image is stored.
+     * @param listener     Receives upload progress, or null.
+     * @param cancellation Cancels the upload when requested, or null.
+     * @return A task resolving to the download URLs keyed by rendition key.
+     */
+    private Task<Map<String, String>> storeIfAbsent(Uri source, StorageReference full,
+                                                    ResumableUploader.ProgressListener listener,
+                                                    CancellationToken cancellation) {
+        return full.getMetadata().continueWithTask(existing -> {
+            if (existing.isSuccessful()) {
+                Log.d(TAG, "Reusing stored image " + full.getPath());
+                return touch(full).onSuccessTask(aVoid -> downloadUrls(full));
+            }
+            if (!isNotFound(existing.getException())) {
+                throw existing.getException();
+            }
+            return ImageUploadPipeline.getInstance(context).uploadRenditions(source, full, listener, cancellation);
+        });
+    }
+
+    /**
+     * Releases a reference to a stored image. Releasing the last reference deletes the image and its
+     * renditions. Images stored before deduplication have no reference count and are deleted directly.
+     *
+     * @param downloadUrl The download URL of the full image.
+     * @return A task that completes once the reference is released.
+     */
+    public Task<Void> release(String downloadUrl) {
+        if (TextUtils.isEmpty(downloadUrl)) {
+            return Tasks.forResult(null);
+        }
+        StorageReference full;
+        try {
+            full = storage.getReferenceFromUrl(downloadUrl);
+        } catch (IllegalArgumentException e) {
+            Log.w(TAG, "Image is not stored in Firebase Storage: " + downloadUrl);
+            return Tasks.forResult(null);
+        }
+        return release(full);
+    }
+
+    /**
+     * Releases a reference to a stored image, deleting the image once the last reference is gone
+     * and no new one was acquired in the meantime.
+     *
+     * @param full The full image.
+     * @return A task that completes once the reference is released.
+     */
+    private Task<Void> release(StorageReference full) {
+        DocumentReference countRef = refCount(full);
+        return firestore.runTransaction(transaction -> {
+                    DocumentSnapshot count = transaction.get(countRef);
+                    if (!count.exists()) {
+                        return true;
+                    }
+                    Long refCount = count.getLong(FIELD_REF_COUNT);
+                    if (refCount == null || refCount <= 1) {
+                        transaction.delete(countRef);
+                        return true;
+                    }
+                    transaction.update(countRef, FIELD_REF_COUNT, refCount - 1);
+                    return false;
+                })
+                .onSuccessTask(lastReference -> lastReference ? deleteUnlessAcquired(full) : Tasks.forResult(null));
+    }
+
+    /**
+     * Deletes an image whose last reference was released, unless an upload has acquired a new reference
+     * to it since. Uploads acquire before checking for the image, so one that acquires after this re-read
+     * only reuses the image if it checks before the delete lands, leaving a window of one round trip.
+     *
+     * @param full The full image.
+     * @return A task that completes once the image is deleted or kept.
+     */
+    private Task<Void> deleteUnlessAcquired(StorageReference full) {
+        return refCount(full).get(Source.SERVER).onSuccessTask(count -> {
+            if (count.exists()) {
+                Log.d(TAG, "Keeping reacquired image " + full.getPath());
+                return Tasks.forResult(null);
+            }
+            return deleteWithRenditions(full);
+        });
+    }
+
+    /**
+     * Releases the image a document referred to before it was updated, unless the update kept it.
+     *
+     * @param previousUrl The download URL the document held before, possibly null.
+     * @param currentUrl  The download URL the document holds now, possibly null.
+     * @return A task that completes once the previous image is released, if it was replaced.
+     */
+    public Task<Void> releaseReplaced(String previousUrl, String currentUrl) {
+        String previousPath = pathOf(previousUrl);
+        if (previousPath == null || previousPath.equals(pathOf(currentUrl))) {
+            return Tasks.forResult(null);
+        }
+        return release(previousUrl);
+    }
+
+    /**
+     * Deletes a stored image, its renditions and its reference count, whatever documents still use it.
+     * Used when an admin removes an image outright.
+     *
+     * @param full The full image.
+     * @return A task that fails if the full image could not be deleted.
+     */
+    public Task<Void> forceDelete(StorageReference full) {
+        return full.delete().onSuccessTask(aVoid -> {
+            List<Task<Void>> cleanup = deleteRenditions(full, false);
+            cleanup.add(refCount(full).delete());
+            return Tasks.whenAllComplete(cleanup).continueWith(done -> null);
+        });
+    }
+
+    /**
+     * Adds one reference to a stored image, creating its count if needed.
+     *
+     * @param full The full image.
+     * @return A task that completes once the count is written.
+     */
+    private Task<Void> acquire(StorageReference full) {
+        Map<String, Object> update = new HashMap<>();
+        update.put(FIELD_PATH, DownloadUrlCache.normalize(full.getPath()));
+        update.put(FIELD_REF_COUNT, FieldValue.increment(1));
+        update.put(FIELD_UPDATED_AT, FieldValue.serverTimestamp());
+        return refCount(full).set(update, SetOptions.merge());
+    }
+
+    /**
+     * Stamps an image and its renditions with the current time, so the collector's grace period starts over.
+     *
+     * @param full The full image.
+     * @return A task that fails only if the full image could not be stamped.
+     */
+    private Task<Void> touch(StorageReference full) {
+        StorageMetadata stamp = new StorageMetadata.Builder()
+                .setCustomMetadata(METADATA_LAST_REFERENCED_AT, String.valueOf(System.currentTimeMillis()))
+                .build();
+        List<Task<StorageMetadata>> updates = new ArrayList<>();
+        Task<StorageMetadata> fullUpdate = null;
+        for (ImageRendition rendition : ImageRendition.values()) {
+            Task<StorageMetadata> update = renditionRef(full, rendition).updateMetadata(stamp);
+            updates.add(update);
+            if (rendition == ImageRendition.FULL) {
+                fullUpdate = update;
+            }
+        }
+        Task<StorageMetadata> required = fullUpdate;
+        return Tasks.whenAllComplete(updates).continueWithTask(done -> {
+            // Small images have no smaller renditions, so only the full image must be stamped
+            if (!required.isSuccessful()) {
+                throw required.getException();
+            }
+            return Tasks.forResult(null);
+        });
+    }
+
+    /**
+     * Resolves the download URLs of an already stored image and whichever renditions exist next to it.
+     *
+     * @param full The full image.
+     * @return A task resolving to the download URLs keyed by rendition key.
+     */
+    private Task<Map<String, String>> downloadUrls(StorageReference full) {
+        List<ImageRendition> renditions = new ArrayList<>();
+        List<Task<Uri>> urls = new ArrayList<>();
+        for (ImageRendition rendition : ImageRendition.values()) {
+            renditions.add(rendition);
+            urls.add(renditionRef(full, rendition).getDownloadUrl());
+        }
+        return Tasks.whenAllComplete(urls).continueWithTask(done -> {
+            Map<String, String> variants = new HashMap<>();
+            for (int i = 0; i < urls.size(); i++) {
+                // Small images have no smaller renditions, so only the full image must exist
+                if (urls.get(i).isSuccessful()) {
+                    variants.put(renditions.get(i).getKey(), urls.get(i).getResult().toString());
+                } else if (renditions.get(i) == ImageRendition.FULL) {
+                    throw urls.get(i).getException();
+                }
+            }
+            return Tasks.forResult(variants);
+        });
+    }
+
+    /**
+     * Deletes an image and any renditions stored next to it.
+     *
+     * @param full The full image.
+     * @return A task that completes once every delete has finished.
+     */
+    private Task<Void> deleteWithRenditions(StorageReference full) {
+        return Tasks.whenAllComplete(deleteRenditions(full, true)).continueWith(done -> null);
+    }
+
+    /**
+     * Starts deleting the renditions of an image.
+     *
+     * @param full        The full image.
+     * @param includeFull Whether the full image itself is deleted too.
+     * @return The delete tasks.
+     */
+    private List<Task<Void>> deleteRenditions(StorageReference full, boolean includeFull) {
+        List<Task<Void>> deletes = new ArrayList<>();
+        for (ImageRendition rendition : ImageRendition.values()) {
+            if (rendition == ImageRendition.FULL && !includeFull) {
+                continue;
+            }
+            // Images without renditions are expected, so failed deletes are only logged
+            deletes.add(renditionRef(full, rendition).delete()
+                    .addOnFailureListener(e -> Log.d(TAG, "Could not delete " + rendition.getKey()
+                            + " rendition of " + full.getPath() + ": " + e.getMessage())));
+        }
+        return deletes;
+    }
+
+    /**
+     * Locates a rendition of an image.
+     *
+     * @param full      The full image.
+     * @param rendition The rendition.
+     * @return The rendition's location.
+     */
+    private static StorageReference renditionRef(StorageReference full, ImageRendition rendition) {
+        StorageReference folder = full.getParent();
+        return rendition == ImageRendition.FULL || folder == null
+                ? full
+                : folder.child(rendition.fileName(full.getName()));
+    }
+
+    /**
+     * Resolves the storage path behind a download URL.
+     *
+     * @param downloadUrl The download URL, possibly null.
+     * @return The path without a leading slash, or null if the URL is empty or not in this bucket.
+     */
+    private String pathOf(String downloadUrl) {
+        if (TextUtils.isEmpty(downloadUrl)) {
+            return null;
+        }
+        try {
+            return DownloadUrlCache.normalize(storage.getReferenceFromUrl(downloadUrl).getPath());
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Locates the reference count document of an image.
+     *
+     * @param full The full image.
+     * @return The document reference.
+     */
+    private DocumentReference refCount(StorageReference full) {
+        return firestore.collection(REF_COUNTS_COLLECTION).document(ContentHash.refCountId(full.getPath()));
+    }
+
+    /**
+     * Hashes a picked file by streaming it.
+     *
+     * @param source The content URI of the file.
+     * @return The SHA-256 hash in hex.
+     * @throws IOException If the file cannot be read.
+     */
+    private String hash(Uri source) throws IOException {
+        try (InputStream in = contentResolver.openInputStream(source)) {
+            if (in == null) {
+                throw new IOException("Cannot open image: " + source);
+            }
+            return ContentHash.sha256Hex(in);
+        }
+    }
+
+    /**
+     * Checks whether a failure means the object does not exist.
+     *
+     * @param e The failure.
+     * @return True for a Storage "object not found" error.
+     */
+    private static boolean isNotFound(Exception e) {
+        return e instanceof StorageException
+                && ((StorageException) e).getErrorCode() == StorageException.ERROR_OBJECT_NOT_FOUND;
+    }
+}
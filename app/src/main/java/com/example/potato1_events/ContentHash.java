@@ -0,0 +1,73 @@
+// File: ContentHash.java
+package com.example.potato1_events;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+
+/**
+ * Computes the content hashes that name deduplicated uploads in {@link ContentAddressedStore}.
+ * Content is read through a fixed-size buffer, so hashing a large image never holds it in memory.
+ */
+public final class ContentHash {
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+    private static final char[] HEX_DIGITS = "0123456789abcdef".toCharArray();
+
+    /**
+     * Private constructor to prevent instantiation.
+     */
+    private ContentHash() {
+    }
+
+    /**
+     * Computes the SHA-256 hash of a stream, reading it to the end.
+     *
+     * @param in The stream; the caller closes it.
+     * @return The hash as 64 lowercase hex digits.
+     * @throws IOException If the stream cannot be read.
+     */
+    public static String sha256Hex(InputStream in) throws IOException {
+        MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            // Every Java platform is required to provide SHA-256
+            throw new IllegalStateException(e);
+        }
+        byte[] buffer = new byte[BUFFER_SIZE];
+        int read;
+        while ((read = in.read(buffer)) != -1) {
+            digest.update(buffer, 0, read);
+        }
+        return toHex(digest.digest());
+    }
+
+    /**
+     * Builds the Firestore document ID holding the reference count of a stored object.
+     * Document IDs cannot contain slashes, so they are replaced.
+     *
+     * @param storagePath The storage path of the object, with or without a leading slash.
+     * @return The document ID.
+     */
+    public static String refCountId(String storagePath) {
+        String path = storagePath.startsWith("/") ? storagePath.substring(1) : storagePath;
+        return path.replace('/', '_');
+    }
+
+    /**
+     * Formats bytes as lowercase hex.
+     *
+     * @param bytes The bytes.
+     * @return The hex digits.
+     */
+    static String toHex(byte[] bytes) {
+        char[] hex = new char[bytes.length * 2];
+        for (int i = 0; i < bytes.length; i++) {
+            hex[i * 2] = HEX_DIGITS[(bytes[i] >> 4) & 0xF];
+            hex[i * 2 + 1] = HEX_DIGITS[bytes[i] & 0xF];
+        }
+        return new String(hex);
+    }
+}
@@ -6,8 +6,6 @@ import android.app.DatePickerDialog;
 import android.app.TimePickerDialog;
 import android.content.Intent;
 import android.content.pm.PackageManager;
-import android.graphics.Bitmap;
-import android.graphics.Color;
 import android.net.Uri;
 import android.os.Bundle;
 import android.provider.Settings;
@@ -29,18 +27,16 @@ import androidx.core.content.ContextCompat;
 import androidx.core.view.GravityCompat;
 import androidx.drawerlayout.widget.DrawerLayout;
 
+import com.google.android.gms.tasks.CancellationTokenSource;
 import com.google.android.gms.tasks.OnFailureListener;
 import com.google.android.gms.tasks.OnSuccessListener;
 import com.google.android.material.navigation.NavigationView;
 import com.google.firebase.firestore.*;
 import com.google.firebase.storage.FirebaseStorage;
 import com.google.firebase.storage.StorageReference;
-import com.google.zxing.BarcodeFormat;
-import com.google.zxing.WriterException;
-import com.google.zxing.qrcode.QRCodeWriter;
-import com.squareup.picasso.Picasso;
 
 import java.util.*;
+import java.util.concurrent.CancellationException;
 
 /**
  * Activity for creating or editing events within the application.
@@ -63,6 +59,24 @@ public class CreateEditEventActivity extends AppCompatActivity implements Naviga
 
     private Uri selectedPosterUri = null;
     private String posterImageUrl = null; // Store the download URL of the poster image
+    private String storedPosterUrl = null; // Download URL of the poster the saved event refers to
+    private Map<String, String> posterImageVariants = null; // Download URLs of a newly uploaded poster's renditions
+    private CancellationTokenSource uploadCancellation = null; // Cancels the poster upload if the screen is closed
+    private boolean posterUploadInFlight = false; // Whether a save is waiting for the poster upload
+    private String acquiredPosterPath = null; // Poster the in-flight upload already holds a reference to
+
+    // Saved state of a save interrupted by a configuration change, so the recreated screen can finish it
+    private static final String KEY_UPLOAD_IN_FLIGHT = "poster_upload_in_flight";
+    private static final String KEY_POSTER_URI = "selected_poster_uri";
+    private static final String KEY_POSTER_URL = "poster_image_url";
+    private static final String KEY_STORED_POSTER_URL = "stored_poster_url";
+    private static final String KEY_ACQUIRED_POSTER_PATH = "acquired_poster_path";
+    private static final String KEY_QR_CODE_HASH = "qr_code_hash";
+    private static final String KEY_START_DATE = "start_date";
+    private static final String KEY_END_DATE = "end_date";
+    private static final String KEY_REGISTRATION_END = "registration_end";
+    private static final String KEY_WAITING_LIST_EDITABLE = "waiting_list_editable";
+    private static final String KEY_DEADLINE_EDITABLE = "deadline_editable";
     private String eventId = null; // If editing an existing event
 
     // ActivityResultLauncher for selecting image
@@ -164,7 +178,7 @@ public class CreateEditEventActivity extends AppCompatActivity implements Naviga
                     if (uri != null) {
                         selectedPosterUri = uri;
                         // Display the selected image in ImageView
-                        Picasso.get().load(uri).into(eventPosterImageView);
+                        ImageLoader.getInstance(this).load(uri, eventPosterImageView);
                         uploadPosterButton.setText("Change Poster Image"); // Update button text
                     }
                 }
@@ -209,11 +223,16 @@ public class CreateEditEventActivity extends AppCompatActivity implements Naviga
             }
         });
 
+        // A save that was waiting for its poster upload is finished by this screen instead of loading the event again
+        boolean resumingSave = savedInstanceState != null && savedInstanceState.getBoolean(KEY_UPLOAD_IN_FLIGHT);
+
         // Check if editing an existing event
         Intent intent = getIntent();
         if (intent.hasExtra("EVENT_ID")) {
             eventId = intent.getStringExtra("EVENT_ID");
-            loadEventData(eventId);
+            if (!resumingSave) {
+                loadEventData(eventId);
+            }
             deleteEventButton.setVisibility(View.VISIBLE); // Show delete button in edit mode
             // The visibility and text of generateQRCodeButton will be handled in loadEventData()
         } else {
@@ -232,6 +251,89 @@ public class CreateEditEventActivity extends AppCompatActivity implements Naviga
         setupFirestoreListener(navigationView, toggle);
     }
 
+    /**
+     * Finishes a save that was waiting for its poster upload. Runs here rather than in
+     * {@link #onCreate(Bundle)} because the form fields the save reads have only restored their text now.
+     *
+     * @param savedInstanceState The state saved by {@link #onSaveInstanceState(Bundle)}.
+     */
+    @Override
+    protected void onRestoreInstanceState(@NonNull Bundle savedInstanceState) {
+        super.onRestoreInstanceState(savedInstanceState);
+        if (savedInstanceState.getBoolean(KEY_UPLOAD_IN_FLIGHT)) {
+            resumeSave(savedInstanceState);
+        }
+    }
+
+    /**
+     * Saves the state of a save still waiting for its poster upload. The form fields save their own state.
+     *
+     * @param outState The bundle the state is saved to.
+     */
+    @Override
+    protected void onSaveInstanceState(@NonNull Bundle outState) {
+        super.onSaveInstanceState(outState);
+        if (!posterUploadInFlight) {
+            return;
+        }
+        outState.putBoolean(KEY_UPLOAD_IN_FLIGHT, true);
+        outState.putParcelable(KEY_POSTER_URI, selectedPosterUri);
+        outState.putString(KEY_POSTER_URL, posterImageUrl);
+        outState.putString(KEY_STORED_POSTER_URL, storedPosterUrl);
+        outState.putString(KEY_ACQUIRED_POSTER_PATH, acquiredPosterPath);
+        outState.putString(KEY_QR_CODE_HASH, qrCodeHash);
+        outState.putLong(KEY_START_DATE, startDateTime.getTimeInMillis());
+        outState.putLong(KEY_END_DATE, endDateTime.getTimeInMillis());
+        outState.putLong(KEY_REGISTRATION_END, registrationEndDateTime.getTimeInMillis());
+        // Views do not save whether they are enabled
+        outState.putBoolean(KEY_WAITING_LIST_EDITABLE, waitingListSpotsEditText.isEnabled());
+        outState.putBoolean(KEY_DEADLINE_EDITABLE, waitingListDeadlineButton.isEnabled());
+    }
+
+    /**
+     * Finishes a save that the previous instance of this screen started before it was recreated.
+     * Saving again re-attaches to the poster upload still in progress, so the poster is not sent twice,
+     * and only this instance writes the event once it completes.
+     * The event is not loaded again: every value the save writes comes from the restored form or the
+     * saved state, and the poster renditions come from the upload itself.
+     *
+     * @param savedInstanceState The state saved by {@link #onSaveInstanceState(Bundle)}.
+     */
+    private void resumeSave(Bundle savedInstanceState) {
+        selectedPosterUri = savedInstanceState.getParcelable(KEY_POSTER_URI);
+        posterImageUrl = savedInstanceState.getString(KEY_POSTER_URL);
+        storedPosterUrl = savedInstanceState.getString(KEY_STORED_POSTER_URL);
+        // The interrupted upload's reference counts for this save, so it is not acquired again
+        acquiredPosterPath = savedInstanceState.getString(KEY_ACQUIRED_POSTER_PATH);
+        qrCodeHash = savedInstanceState.getString(KEY_QR_CODE_HASH);
+        startDateTime.setTimeInMillis(savedInstanceState.getLong(KEY_START_DATE));
+        endDateTime.setTimeInMillis(savedInstanceState.getLong(KEY_END_DATE));
+        registrationEndDateTime.setTimeInMillis(savedInstanceState.getLong(KEY_REGISTRATION_END));
+
+        startDateButton.setText(formatDateTime(startDateTime));
+        endDateButton.setText(formatDateTime(endDateTime));
+        waitingListDeadlineButton.setText("Deadline: " + formatDateTime(registrationEndDateTime));
+        waitingListSpotsEditText.setEnabled(savedInstanceState.getBoolean(KEY_WAITING_LIST_EDITABLE, true));
+        if (!savedInstanceState.getBoolean(KEY_DEADLINE_EDITABLE, true)) {
+            waitingListDeadlineButton.setEnabled(false);
+            waitingListDeadlineButton.setText("Deadline Passed");
+        }
+        if (isEditingExistingEvent()) {
+            // As set up by loadEventData, in case the save fails and the form is edited again
+            geolocationCheckBox.setEnabled(false);
+            generateQRCodeButton.setVisibility(View.VISIBLE);
+        }
+        if (selectedPosterUri != null) {
+            ImageLoader.getInstance(this).load(selectedPosterUri, eventPosterImageView);
+            uploadPosterButton.setText("Change Poster Image");
+        }
+        if (qrCodeHash != null) {
+            generateQRCodeAndDisplay(qrCodeHash);
+            generateQRCodeButton.setText("Remove QR Code");
+        }
+        saveEvent();
+    }
+
     /**
      * Determines the appropriate read permission based on the device's Android version.
      *
@@ -452,7 +554,7 @@ public class CreateEditEventActivity extends AppCompatActivity implements Naviga
     }
 
     /**
-     * Uploads the selected poster image to Firebase Storage and retrieves its download URL.
+     * Uploads the selected poster image and its renditions to Firebase Storage and retrieves their download URLs.
      *
      * @param name                 Event name.
      * @param description          Event description.
@@ -463,26 +565,40 @@ public class CreateEditEventActivity extends AppCompatActivity implements Naviga
      */
     private void uploadPosterImage(String name, String description, String location,
                                    int availableSpots, Integer waitingListSpots, boolean isGeolocationEnabled) {
-        // Create a unique filename for the poster image
-        String fileName = "event_posters/" + UUID.randomUUID() + ".jpg";
-        StorageReference storageRef = storage.getReference().child(fileName);
-
-        // Upload the image to Firebase Storage
-        storageRef.putFile(selectedPosterUri)
-                .addOnSuccessListener(taskSnapshot -> {
-                    // Get the download URL of the uploaded image
-                    storageRef.getDownloadUrl().addOnSuccessListener(uri -> {
-                        posterImageUrl = uri.toString();
-                        // Proceed to save the event with the poster URL
-                        saveEventToFirestore(name, description, location, availableSpots, waitingListSpots, isGeolocationEnabled, posterImageUrl);
-                    }).addOnFailureListener(e -> {
-                        Toast.makeText(CreateEditEventActivity.this, "Failed to get poster URL: " + e.getMessage(), Toast.LENGTH_SHORT).show();
-                        saveEventButton.setEnabled(true);
-                    });
+        // Store the poster under its content hash, so a poster reused by a recurring event is not uploaded again
+        StorageReference postersRef = storage.getReference().child("event_posters");
+        CharSequence saveLabel = saveEventButton.getText();
+        uploadCancellation = new CancellationTokenSource();
+        posterUploadInFlight = true;
+        // Passing the held poster keeps a re-picked identical poster from being counted twice
+        ContentAddressedStore.getInstance(this).uploadRenditions(selectedPosterUri, postersRef, posterImageUrl,
+                        acquiredPosterPath, path -> acquiredPosterPath = path,
+                        (bytesTransferred, totalBytes) -> saveEventButton.setText("Uploading "
+                                + (totalBytes > 0 ? 100 * bytesTransferred / totalBytes : 0) + "%"),
+                        uploadCancellation.getToken())
+                // Bound to this activity, so an instance destroyed by a configuration change does not save
+                .addOnSuccessListener(this, variants -> {
+                    posterUploadInFlight = false;
+                    acquiredPosterPath = null; // Now held through posterImageUrl
+                    saveEventButton.setText(saveLabel);
+                    String previousUpload = posterImageUrl;
+                    posterImageUrl = variants.get(ImageRendition.FULL.getKey());
+                    if (!TextUtils.equals(previousUpload, storedPosterUrl)) {
+                        // An earlier upload whose save failed is no longer going to be used
+                        ContentAddressedStore.getInstance(this).releaseReplaced(previousUpload, posterImageUrl);
+                    }
+                    posterImageVariants = variants;
+                    // Proceed to save the event with the poster URL
+                    saveEventToFirestore(name, description, location, availableSpots, waitingListSpots, isGeolocationEnabled, posterImageUrl);
                 })
-                .addOnFailureListener(e -> {
-                    Toast.makeText(CreateEditEventActivity.this, "Poster upload failed: " + e.getMessage(), Toast.LENGTH_SHORT).show();
+                .addOnFailureListener(this, e -> {
+                    posterUploadInFlight = false;
+                    acquiredPosterPath = null; // Given back by the failed upload
+                    saveEventButton.setText(saveLabel);
                     saveEventButton.setEnabled(true);
+                    if (!(e instanceof CancellationException)) {
+                        Toast.makeText(CreateEditEventActivity.this, "Poster upload failed: " + e.getMessage(), Toast.LENGTH_SHORT).show();
+                    }
                 });
     }
 
@@ -492,35 +608,19 @@ public class CreateEditEventActivity extends AppCompatActivity implements Naviga
      * @param qrHash The data to encode in the QR code (typically the event ID).
      */
     private void generateQRCodeAndDisplay(String qrHash) {
-        // Define the data to be encoded in the QR code (using qrHash)
-        String qrData = qrHash;
-
-        // Generate QR code bitmap
-        QRCodeWriter qrCodeWriter = new QRCodeWriter();
-        int size = 512; // Size of the QR code image
-
-        Bitmap qrBitmap;
-        try {
-            com.google.zxing.common.BitMatrix bitMatrix = qrCodeWriter.encode(qrData, BarcodeFormat.QR_CODE, size, size);
-            qrBitmap = Bitmap.createBitmap(size, size, Bitmap.Config.RGB_565);
-
-            // Convert BitMatrix to Bitmap
-            for (int x = 0; x < size; x++) {
-                for (int y = 0; y < size; y++) {
-                    qrBitmap.setPixel(x, y, bitMatrix.get(x, y) ? Color.BLACK : Color.WHITE);
-                }
-            }
-        } catch (WriterException e) {
-            Toast.makeText(this, "Failed to generate QR code: " + e.getMessage(), Toast.LENGTH_SHORT).show();
-            saveEventButton.setEnabled(true);
-            return;
-        }
-
-        // Display the QR code in the UI
-        qrCodeImageView.setImageBitmap(qrBitmap);
-        qrCodeImageView.setVisibility(View.VISIBLE); // Make the QR code visible
-
-        Toast.makeText(this, "QR code generated!", Toast.LENGTH_SHORT).show();
+        // Render off the main thread; the listeners are dropped if the activity stops first
+        QrCodeRenderer.getInstance().render(qrHash, ImageRendition.targetSizeOf(qrCodeImageView))
+                .addOnSuccessListener(this, qrBitmap -> {
+                    // Display the QR code in the UI
+                    qrCodeImageView.setImageBitmap(qrBitmap);
+                    qrCodeImageView.setVisibility(View.VISIBLE); // Make the QR code visible
+
+                    Toast.makeText(this, "QR code generated!", Toast.LENGTH_SHORT).show();
+                })
+                .addOnFailureListener(this, e -> {
+                    Toast.makeText(this, "Failed to generate QR code: " + e.getMessage(), Toast.LENGTH_SHORT).show();
+                    saveEventButton.setEnabled(true);
+                });
     }
 
     /**
@@ -599,6 +699,9 @@ public class CreateEditEventActivity extends AppCompatActivity implements Naviga
             }
             updates.put("geolocationRequired", isGeolocationEnabled);
             updates.put("posterImageUrl", posterUrl);
+            if (posterImageVariants != null) {
+                updates.put("posterImageVariants", posterImageVariants);
+            }
             updates.put("startDate", startDateTime.getTime());
             updates.put("endDate", endDateTime.getTime());
             updates.put("registrationEnd", registrationEndDateTime.getTime());
@@ -613,6 +716,9 @@ public class CreateEditEventActivity extends AppCompatActivity implements Naviga
             // Update only the specified fields to preserve entrants and other data
             firestore.collection("Events").document(eventId).update(updates)
                     .addOnSuccessListener(aVoid -> {
+                        // Release the poster the event used before, unless it was kept
+                        ContentAddressedStore.getInstance(this).releaseReplaced(storedPosterUrl, posterUrl);
+                        storedPosterUrl = posterUrl;
                         Toast.makeText(CreateEditEventActivity.this, "Event updated successfully!", Toast.LENGTH_SHORT).show();
                         navigateBackToEventDetails();
                     })
@@ -640,6 +746,9 @@ public class CreateEditEventActivity extends AppCompatActivity implements Naviga
             eventData.put("currentEntrantsNumber", 0); // Initialize to 0
             eventData.put("geolocationRequired", isGeolocationEnabled);
             eventData.put("posterImageUrl", posterUrl);
+            if (posterImageVariants != null) {
+                eventData.put("posterImageVariants", posterImageVariants);
+            }
             eventData.put("status", "Open");
             eventData.put("createdAt", new Date());
             eventData.put("entrants", new HashMap<>()); // Initialize with empty entrants map
@@ -771,7 +880,8 @@ public class CreateEditEventActivity extends AppCompatActivity implements Naviga
                         // Load poster image if available
                         if (!TextUtils.isEmpty(posterUrl)) {
                             posterImageUrl = posterUrl;
-                            Picasso.get().load(posterUrl).into(eventPosterImageView);
+                            storedPosterUrl = posterUrl;
+                            ImageLoader.getInstance(this).load(posterUrl, eventPosterImageView);
                             uploadPosterButton.setText("Change Poster Image"); // Update button text
                         }
 
@@ -834,6 +944,13 @@ public class CreateEditEventActivity extends AppCompatActivity implements Naviga
             firestore.collection("Events").document(eventId).delete()
                     .addOnSuccessListener(aVoid -> {
                         Toast.makeText(this, "Event deleted successfully.", Toast.LENGTH_SHORT).show();
+                        // Delete the event's indexed entrant locations, which outlive the event document
+                        EntEventsRepository.getInstance().getLocationIndex().deleteAll(eventId);
+                        // Release the poster, which is deleted once no other event uses it,
+                        // and a newly uploaded poster that was never saved
+                        ContentAddressedStore store = ContentAddressedStore.getInstance(this);
+                        store.release(storedPosterUrl);
+                        store.releaseReplaced(posterImageUrl, storedPosterUrl);
                         // Remove eventId from the facility's eventIds list
                         removeEventFromFacility(eventId);
                     })
@@ -862,6 +979,24 @@ public class CreateEditEventActivity extends AppCompatActivity implements Naviga
                 });
     }
 
+    /**
+     * Cancels an upload still in progress when the screen is closed.
+     * A configuration change recreates the activity without finishing it, so the upload continues
+     * and the recreated activity attaches to it instead.
+     */
+    @Override
+    protected void onDestroy() {
+        super.onDestroy();
+        if (uploadCancellation == null) {
+            return;
+        }
+        if (isFinishing()) {
+            uploadCancellation.cancel();
+        } else {
+            ResumableUploader.getInstance(this).detach(uploadCancellation.getToken());
+        }
+    }
+
     /**
      * Handles navigation menu item selections.
      *
@@ -29,7 +29,6 @@ import com.google.firebase.firestore.FirebaseFirestore;
 import com.google.firebase.firestore.FieldValue;
 import com.google.firebase.storage.FirebaseStorage;
 import com.google.firebase.storage.StorageReference;
-import com.squareup.picasso.Picasso;
 import java.util.*;
 
 /**
@@ -56,6 +55,8 @@ public class CreateEditFacilityActivity extends AppCompatActivity implements Nav
     // Image Selection Variables
     private Uri selectedFacilityPhotoUri = null;
     private String facilityPhotoUrl = null;
+    private String storedFacilityPhotoUrl = null; // Download URL of the photo the saved facility refers to
+    private Map<String, String> facilityPhotoVariants = null; // Download URLs of the photo's renditions
 
     // Facility Identification
     private String facilityId = null; // Document ID set to deviceId
@@ -137,7 +138,7 @@ public class CreateEditFacilityActivity extends AppCompatActivity implements Nav
                     if (uri != null) {
                         selectedFacilityPhotoUri = uri;
                         // Display the selected image in ImageView
-                        Picasso.get().load(uri).into(facilityPhotoView);
+                        ImageLoader.getInstance(this).load(uri, facilityPhotoView);
                         uploadFacilityPhotoButton.setText("Change Facility Photo"); // Update button text
                     }
                 }
@@ -216,7 +217,9 @@ public class CreateEditFacilityActivity extends AppCompatActivity implements Nav
                             // Load and display the facility photo if available
                             if (!TextUtils.isEmpty(facility.getFacilityPhotoUrl())) {
                                 facilityPhotoUrl = facility.getFacilityPhotoUrl();
-                                Picasso.get().load(facilityPhotoUrl).into(facilityPhotoView);
+                                storedFacilityPhotoUrl = facilityPhotoUrl;
+                                facilityPhotoVariants = facility.getFacilityPhotoVariants();
+                                ImageLoader.getInstance(this).load(facilityPhotoUrl, facilityPhotoView);
                                 uploadFacilityPhotoButton.setText("Change Facility Photo"); // Update button text
                             }
                         }
@@ -262,30 +265,27 @@ public class CreateEditFacilityActivity extends AppCompatActivity implements Nav
     }
 
     /**
-     * Uploads the selected facility photo to Firebase Storage and retrieves its storage path.
+     * Uploads the selected facility photo and its renditions to Firebase Storage and retrieves their download URLs.
      *
      * @param name        Facility name.
      * @param address     Facility address.
      * @param description Facility description.
      */
     private void uploadFacilityPhoto(String name, String address, String description) {
-        // Create a unique filename for the facility photo
-        String fileName = "images/facility_photos/" + facilityId + "/" + UUID.randomUUID() + ".jpg";
-        StorageReference storageRef = storage.getReference().child(fileName);
-
-        // Upload the image to Firebase Storage
-        storageRef.putFile(selectedFacilityPhotoUri)
-                .addOnSuccessListener(taskSnapshot -> {
-                    // Get the download URL of the uploaded image
-                    storageRef.getDownloadUrl().addOnSuccessListener(uri -> {
-                        facilityPhotoUrl = uri.toString();
-                        // Proceed to save the facility with the photo URL
-                        saveFacilityToFirestore(name, address, description, facilityPhotoUrl);
-                    }).addOnFailureListener(e -> {
-                        progressBar.setVisibility(View.GONE);
-                        Toast.makeText(CreateEditFacilityActivity.this, "Failed to get photo URL: " + e.getMessage(), Toast.LENGTH_SHORT).show();
-                        saveFacilityButton.setEnabled(true);
-                    });
+        // Store the photo under its content hash, so an identical photo is not uploaded again
+        StorageReference photosRef = storage.getReference().child("images/facility_photos");
+        // Passing the held photo keeps a re-picked identical photo from being counted twice
+        ContentAddressedStore.getInstance(this).uploadRenditions(selectedFacilityPhotoUri, photosRef, facilityPhotoUrl, null, null)
+                .addOnSuccessListener(variants -> {
+                    String previousUpload = facilityPhotoUrl;
+                    facilityPhotoUrl = variants.get(ImageRendition.FULL.getKey());
+                    if (!TextUtils.equals(previousUpload, storedFacilityPhotoUrl) && !PLACEHOLDER_IMAGE_URL.equals(previousUpload)) {
+                        // An earlier upload whose save failed is no longer going to be used
+                        ContentAddressedStore.getInstance(this).releaseReplaced(previousUpload, facilityPhotoUrl);
+                    }
+                    facilityPhotoVariants = variants;
+                    // Proceed to save the facility with the photo URL
+                    saveFacilityToFirestore(name, address, description, facilityPhotoUrl);
                 })
                 .addOnFailureListener(e -> {
                     progressBar.setVisibility(View.GONE);
@@ -310,6 +310,7 @@ public class CreateEditFacilityActivity extends AppCompatActivity implements Nav
         facility.setFacilityAddress(address);
         facility.setFacilityDescription(description);
         facility.setFacilityPhotoUrl(photoUrl);
+        facility.setFacilityPhotoVariants(facilityPhotoVariants);
         facility.setEventIds(new ArrayList<>()); // Initialize with empty list
         facility.setCreatedAt(new Date());
 
@@ -320,6 +321,11 @@ public class CreateEditFacilityActivity extends AppCompatActivity implements Nav
         facilityRef.set(facility)
                 .addOnSuccessListener(aVoid -> {
                     progressBar.setVisibility(View.GONE);
+                    // Release the photo the facility used before, unless it was kept
+                    if (!PLACEHOLDER_IMAGE_URL.equals(storedFacilityPhotoUrl)) {
+                        ContentAddressedStore.getInstance(this).releaseReplaced(storedFacilityPhotoUrl, photoUrl);
+                    }
+                    storedFacilityPhotoUrl = photoUrl;
                     Toast.makeText(CreateEditFacilityActivity.this, "Facility saved successfully!", Toast.LENGTH_SHORT).show();
                     navigateBackToPrevious(); // Navigate back after successful save
                 })
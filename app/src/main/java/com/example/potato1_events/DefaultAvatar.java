@@ -0,0 +1,165 @@
+// File: DefaultAvatar.java
+package com.example.potato1_events;
+
+import java.util.Random;
+
+/**
+ * Describes the generated avatar shown for users without a profile picture: their initials on a pastel circle.
+ * The initials and colour are derived from the name alone, so every device draws the same avatar without
+ * storing anything. Avatars generated by older versions were uploaded under {@link #LEGACY_PATH_PREFIX}.
+ */
+public final class DefaultAvatar {
+
+    /**
+     * Storage folder that held uploaded default avatars before they were generated locally.
+     */
+    static final String LEGACY_PATH_PREFIX = "images/default_avatars/";
+
+    private final String initials;
+    private final int color;
+
+    /**
+     * Constructs a new DefaultAvatar.
+     *
+     * @param initials The initials to draw.
+     * @param color    The ARGB colour of the circle.
+     */
+    public DefaultAvatar(String initials, int color) {
+        this.initials = initials;
+        this.color = color;
+    }
+
+    /**
+     * Creates the avatar for a name.
+     *
+     * @param name The user's name, possibly null.
+     * @return The avatar.
+     */
+    public static DefaultAvatar forName(String name) {
+        String initials = initialsOf(name);
+        return new DefaultAvatar(initials, colorFor(initials));
+    }
+
+    /**
+     * Retrieves the initials.
+     *
+     * @return The initials in uppercase, possibly empty.
+     */
+    public String getInitials() {
+        return initials;
+    }
+
+    /**
+     * Retrieves the circle colour.
+     *
+     * @return The ARGB colour.
+     */
+    public int getColor() {
+        return color;
+    }
+
+    /**
+     * Builds a key that identifies the rendered avatar at a size, safe to use as a file name.
+     *
+     * @param sizePx The size of the rendered avatar in pixels.
+     * @return The key.
+     */
+    public String cacheKey(int sizePx) {
+        StringBuilder key = new StringBuilder();
+        initials.codePoints().forEach(c -> key.append(Integer.toHexString(c)).append('-'));
+        return key.append(Integer.toHexString(color)).append('_').append(sizePx).toString();
+    }
+
+    /**
+     * Checks whether a user with the given image path shows a generated avatar rather than a picture.
+     *
+     * @param imagePath The user's image path, possibly null.
+     * @return True if the path is empty or points at an old uploaded default avatar.
+     */
+    public static boolean isGenerated(String imagePath) {
+        return imagePath == null || imagePath.isEmpty()
+                || imagePath.replaceFirst("^/+", "").startsWith(LEGACY_PATH_PREFIX);
+    }
+
+    /**
+     * Extracts up to two initials from a name.
+     *
+     * @param name The user's full name, possibly null.
+     * @return A string containing the initials in uppercase.
+     */
+    static String initialsOf(String name) {
+        if (name == null) {
+            return "";
+        }
+        StringBuilder initials = new StringBuilder();
+        for (String word : name.trim().split("\\s+")) {
+            if (!word.isEmpty()) {
+                initials.append(word.charAt(0));
+                if (initials.length() == 2) break; // Limit to 2 initials
+            }
+        }
+        return initials.toString().toUpperCase();
+    }
+
+    /**
+     * Generates a pastel color based on the initials so each user keeps the same avatar colour.
+     *
+     * @param initials The initials.
+     * @return The opaque ARGB colour.
+     */
+    static int colorFor(String initials) {
+        // Use initials to create a seed
+        Random random = new Random(initials.hashCode());
+
+        // Generate hue between 0 and 360
+        float hue = random.nextInt(360);
+
+        // Pastel colors have low to medium saturation and high lightness
+        float saturation = 0.4f + (random.nextFloat() * 0.2f); // 0.4 to 0.6
+        float lightness = 0.8f + (random.nextFloat() * 0.1f);  // 0.8 to 0.9
+
+        return hslToRgb(hue, saturation, lightness);
+    }
+
+    /**
+     * Converts HSL color values to RGB.
+     *
+     * @param h Hue angle in degrees [0-360).
+     * @param s Saturation [0-1].
+     * @param l Lightness [0-1].
+     * @return The opaque ARGB colour.
+     */
+    static int hslToRgb(float h, float s, float l) {
+        float c = (1 - Math.abs(2 * l - 1)) * s;
+        float hPrime = h / 60;
+        float x = c * (1 - Math.abs(hPrime % 2 - 1));
+        float r1 = 0, g1 = 0, b1 = 0;
+
+        if (0 <= hPrime && hPrime < 1) {
+            r1 = c;
+            g1 = x;
+        } else if (1 <= hPrime && hPrime < 2) {
+            r1 = x;
+            g1 = c;
+        } else if (2 <= hPrime && hPrime < 3) {
+            g1 = c;
+            b1 = x;
+        } else if (3 <= hPrime && hPrime < 4) {
+            g1 = x;
+            b1 = c;
+        } else if (4 <= hPrime && hPrime < 5) {
+            r1 = x;
+            b1 = c;
+        } else if (5 <= hPrime && hPrime < 6) {
+            r1 = c;
+            b1 = x;
+        }
+
+        float m = l - c / 2;
+        int r = Math.round((r1 + m) * 255);
+        int g = Math.round((g1 + m) * 255);
+        int b = Math.round((b1 + m) * 255);
+
+        return 0xFF000000 | (r << 16) | (g << 8) | b;
+    }
+}
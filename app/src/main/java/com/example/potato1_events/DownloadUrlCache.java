@@ -0,0 +1,225 @@
+// File: DownloadUrlCache.java
+package com.example.potato1_events;
+
+import android.content.Context;
+import android.content.SharedPreferences;
+import android.net.Uri;
+import android.text.TextUtils;
+import android.util.Log;
+import android.widget.ImageView;
+
+import com.google.android.gms.tasks.Task;
+import com.google.android.gms.tasks.Tasks;
+import com.google.firebase.storage.FirebaseStorage;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Persistent cache of Firebase Storage download URLs keyed by storage path.
+ * Resolving a download URL is a network round trip of its own, so without the cache every profile
+ * picture in a list costs two requests before any pixels arrive. Resolved URLs are kept in memory
+ * and in preferences until they expire, and concurrent lookups of the same path share one request.
+ * Must be used from the main thread, where Firebase delivers its results.
+ */
+public class DownloadUrlCache {
+
+    private static final String TAG = "DownloadUrlCache";
+    private static final String PREFS_NAME = "download_url_cache";
+
+    /**
+     * How long a resolved URL is trusted before it is resolved again.
+     */
+    static final long TTL_MILLIS = TimeUnit.DAYS.toMillis(7);
+
+    private static DownloadUrlCache instance;
+
+    private final SharedPreferences prefs;
+    private final FirebaseStorage storage;
+
+    // Unexpired entries by normalized storage path, loaded from preferences on creation
+    private final Map<String, CachedDownloadUrl> entries = new HashMap<>();
+
+    // Lookups in progress by normalized storage path
+    private final Map<String, Task<Uri>> inFlight = new HashMap<>();
+
+    /**
+     * Private constructor to enforce Singleton pattern.
+     *
+     * @param context The application context.
+     */
+    private DownloadUrlCache(Context context) {
+        prefs = context.getSharedPreferences(PREFS_NAME, Context.MODE_PRIVATE);
+        storage = FirebaseStorage.getInstance();
+
+        // Load the stored entries, dropping expired or malformed ones
+        long now = System.currentTimeMillis();
+        SharedPreferences.Editor editor = prefs.edit();
+        for (Map.Entry<String, ?> stored : prefs.getAll().entrySet()) {
+            CachedDownloadUrl entry = stored.getValue() instanceof String
+                    ? CachedDownloadUrl.decode((String) stored.getValue()) : null;
+            if (entry == null || entry.isExpired(now)) {
+                editor.remove(stored.getKey());
+            } else {
+                entries.put(stored.getKey(), entry);
+            }
+        }
+        editor.apply();
+    }
+
+    /**
+     * Retrieves the singleton instance of DownloadUrlCache.
+     *
+     * @param context Any context; only the application context is kept.
+     * @return The singleton instance.
+     */
+    public static synchronized DownloadUrlCache getInstance(Context context) {
+        if (instance == null) {
+            instance = new DownloadUrlCache(context.getApplicationContext());
+        }
+        return instance;
+    }
+
+    /**
+     * Retrieves a cached download URL without going to the network.
+     *
+     * @param path The storage path.
+     * @return The URL, or null if it is not cached or has expired.
+     */
+    public Uri peek(String path) {
+        String key = normalize(path);
+        CachedDownloadUrl entry = entries.get(key);
+        if (entry == null) {
+            return null;
+        }
+        if (entry.isExpired(System.currentTimeMillis())) {
+            invalidate(key);
+            return null;
+        }
+        return Uri.parse(entry.getUrl());
+    }
+
+    /**
+     * Resolves the download URL of a storage path, from the cache when possible.
+     *
+     * @param path The storage path.
+     * @return A task resolving to the download URL.
+     */
+    public Task<Uri> resolve(String path) {
+        Uri cached = peek(path);
+        if (cached != null) {
+            return Tasks.forResult(cached);
+        }
+        String key = normalize(path);
+        Task<Uri> pending = inFlight.get(key);
+        if (pending != null) {
+            return pending;
+        }
+
+        Task<Uri> lookup = storage.getReference().child(key).getDownloadUrl()
+                .addOnCompleteListener(task -> {
+                    inFlight.remove(key);
+                    if (task.isSuccessful()) {
+                        put(key, task.getResult().toString());
+                    } else {
+                        Log.w(TAG, "Failed to resolve download URL: " + key, task.getException());
+                    }
+                });
+        inFlight.put(key, lookup);
+        return lookup;
+    }
+
+    /**
+     * Starts resolving the download URLs of several paths, such as the rows about to scroll into view.
+     * Cached and in-flight paths are skipped.
+     *
+     * @param paths The storage paths; null or empty paths are ignored.
+     */
+    public void prefetch(Collection<String> paths) {
+        for (String path : paths) {
+            if (!TextUtils.isEmpty(path)) {
+                resolve(path);
+            }
+        }
+    }
+
+    /**
+     * Records a known download URL, for example one obtained right after an upload.
+     *
+     * @param path The storage path.
+     * @param url  The download URL.
+     */
+    public void put(String path, String url) {
+        String key = normalize(path);
+        CachedDownloadUrl entry = new CachedDownloadUrl(url, System.currentTimeMillis() + TTL_MILLIS);
+        entries.put(key, entry);
+        prefs.edit().putString(key, entry.encode()).apply();
+    }
+
+    /**
+     * Forgets the download URL of a path, for example after the file is deleted.
+     *
+     * @param path The storage path.
+     */
+    public void invalidate(String path) {
+        String key = normalize(path);
+        entries.remove(key);
+        prefs.edit().remove(key).apply();
+    }
+
+    /**
+     * Loads a stored image into a view. A URL saved on the owning document is used directly;
+     * otherwise the path is resolved through the cache. The view remembers the path it is showing,
+     * so a late lookup does not overwrite a recycled row.
+     *
+     * @param path     The storage path of the image, possibly null.
+     * @param knownUrl A download URL already stored with the image, possibly null.
+     * @param target   The view to load into.
+     */
+    public void loadInto(String path, String knownUrl, ImageView target) {
+        ImageLoader loader = ImageLoader.getInstance(target.getContext());
+        target.setTag(path);
+        if (!TextUtils.isEmpty(knownUrl)) {
+            loader.load(knownUrl, target);
+            return;
+        }
+        if (TextUtils.isEmpty(path)) {
+            loader.load((String) null, target);
+            return;
+        }
+        Uri cached = peek(path);
+        if (cached != null) {
+            loader.load(cached, target);
+            return;
+        }
+        loader.cancel(target);
+        target.setImageResource(R.drawable.ic_placeholder_image);
+        resolve(path)
+                .addOnSuccessListener(uri -> {
+                    if (path.equals(target.getTag())) {
+                        loader.load(uri, target);
+                    }
+                })
+                .addOnFailureListener(e -> {
+                    if (path.equals(target.getTag())) {
+                        target.setImageResource(R.drawable.ic_error_image);
+                    }
+                });
+    }
+
+    /**
+     * Normalizes a storage path so that "/images/a.jpg" and "images/a.jpg" share an entry.
+     *
+     * @param path The storage path.
+     * @return The path without leading slashes.
+     */
+    static String normalize(String path) {
+        int start = 0;
+        while (start < path.length() && path.charAt(start) == '/') {
+            start++;
+        }
+        return path.substring(start);
+    }
+}
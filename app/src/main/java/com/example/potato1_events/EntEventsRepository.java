@@ -27,6 +27,9 @@ import java.util.Map;
 public class EntEventsRepository {
     private final FirebaseFirestore firestore;
 
+    // Geohash-indexed copy of entrant locations, kept in step with the entrantsLocation map
+    private final EntrantLocationIndex locationIndex;
+
     /**
      * Callback interface for loading a list of events.
      */
@@ -69,11 +72,15 @@ public class EntEventsRepository {
     }
 
     private static EntEventsRepository instance;
+
+    // Live joined-events syncs, one per entrant, shared by every screen showing that entrant's events
+    private final Map<String, JoinedEventsSync> joinedEventsSyncs = new HashMap<>();
 //    private FirebaseFirestore firestore;
 
     // Private constructor to prevent direct instantiation
     private EntEventsRepository() {
         firestore = FirebaseFirestore.getInstance();
+        locationIndex = new EntrantLocationIndex(firestore);
     }
 
     /**
@@ -221,6 +228,31 @@ public class EntEventsRepository {
         });
     }
 
+    /**
+     * Retrieves the live sync of the events an entrant has joined.
+     * The same instance is returned for the same entrant, so its cached list is shared.
+     *
+     * @param deviceId The entrant's device ID.
+     * @return The joined-events sync for the entrant.
+     */
+    public synchronized JoinedEventsSync getJoinedEventsSync(String deviceId) {
+        JoinedEventsSync sync = joinedEventsSyncs.get(deviceId);
+        if (sync == null) {
+            sync = new JoinedEventsSync(firestore, deviceId);
+            joinedEventsSyncs.put(deviceId, sync);
+        }
+        return sync;
+    }
+
+    /**
+     * Retrieves the geohash index of entrant locations.
+     *
+     * @return The location index.
+     */
+    public EntrantLocationIndex getLocationIndex() {
+        return locationIndex;
+    }
+
     /**
      * Adds the entrant to the event's waiting list and records their geopoint if required.
      *
@@ -276,6 +308,9 @@ public class EntEventsRepository {
                     // Conditionally add entrant's GeoPoint to entrantsLocation map
                     if (event.isGeolocationRequired()) {
                         transaction.update(eventsCollection.document(eventId), "entrantsLocation." + deviceId, geoPoint);
+                        if (geoPoint != null) {
+                            locationIndex.setInTransaction(transaction, eventId, deviceId, geoPoint);
+                        }
                     }
 
                     // Add eventId to the user's eventsJoined list using set with merge
@@ -328,6 +363,7 @@ public class EntEventsRepository {
                     // Conditionally remove entrant's GeoPoint from entrantsLocation map
                     if (event.isGeolocationRequired()) {
                         transaction.update(eventsCollection.document(eventId), "entrantsLocation." + deviceId, FieldValue.delete());
+                        locationIndex.deleteInTransaction(transaction, eventId, deviceId);
                     }
 
                     // Remove eventId from the user's eventsJoined list
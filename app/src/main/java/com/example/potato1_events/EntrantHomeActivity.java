@@ -7,26 +7,21 @@ import android.content.pm.PackageManager;
 import android.os.Build;
 import android.os.Bundle;
 import android.provider.Settings;
-import android.text.TextUtils;
 import android.util.Log;
-import android.view.LayoutInflater;
 import android.view.MenuItem;
-import android.view.View;
 import android.widget.Button;
-import android.widget.ImageView;
-import android.widget.LinearLayout;
-import android.widget.TextView;
 import android.widget.Toast;
 
 import androidx.annotation.NonNull;
 import androidx.appcompat.app.ActionBarDrawerToggle;
 import androidx.appcompat.app.AppCompatActivity;
 import androidx.appcompat.widget.Toolbar;
-import androidx.cardview.widget.CardView;
 import androidx.core.app.ActivityCompat;
 import androidx.core.content.ContextCompat;
 import androidx.core.view.GravityCompat;
 import androidx.drawerlayout.widget.DrawerLayout;
+import androidx.recyclerview.widget.LinearLayoutManager;
+import androidx.recyclerview.widget.RecyclerView;
 
 import com.google.android.gms.tasks.OnCompleteListener;
 import com.google.android.gms.tasks.Task;
@@ -36,7 +31,6 @@ import com.google.firebase.firestore.FirebaseFirestore;
 import com.google.firebase.firestore.GeoPoint;
 import com.google.zxing.integration.android.IntentIntegrator;
 import com.google.zxing.integration.android.IntentResult;
-import com.squareup.picasso.Picasso;
 
 import java.util.ArrayList;
 import java.util.HashSet;
@@ -53,7 +47,10 @@ public class EntrantHomeActivity extends AppCompatActivity implements Navigation
 
     // UI Components
     private DrawerLayout drawerLayout; // Navigation drawer layout
-    private LinearLayout eventsLinearLayout; // Container for event views
+    private RecyclerView eventsRecyclerView; // Recycled list of event cards
+    private EventsAdapter eventsAdapter; // Adapter backing the event list
+    private JoinedEventsSync joinedEventsSync; // Live sync of the joined events
+    private boolean joinedEventsReceived = false; // Whether the live sync has delivered a list yet
     private EntEventsRepository entEventRepo; // Repository for fetching events
     private List<Event> eventList; // List to hold fetched events
 
@@ -94,7 +91,7 @@ public class EntrantHomeActivity extends AppCompatActivity implements Navigation
         // Initialize UI components
         drawerLayout = findViewById(R.id.drawer_layout); // Navigation drawer
         NavigationView navigationView = findViewById(R.id.nav_view); // Navigation view inside the drawer
-        eventsLinearLayout = findViewById(R.id.eventsLinearLayout); // Container for event items
+        eventsRecyclerView = findViewById(R.id.eventsRecyclerView); // Recycled list of event items
         Toolbar toolbar = findViewById(R.id.toolbar); // Toolbar at the top
         setSupportActionBar(toolbar); // Set the toolbar as the app bar
 
@@ -121,26 +118,75 @@ public class EntrantHomeActivity extends AppCompatActivity implements Navigation
         // Set the navigation item selected listener to handle menu item clicks
         navigationView.setNavigationItemSelectedListener(this);
 
-        // Initialize event list
+        // Initialize event list and the adapter that opens event details on click
         eventList = new ArrayList<>();
+        eventsAdapter = new EventsAdapter(this, this::openEventDetails);
+        eventsRecyclerView.setLayoutManager(new LinearLayoutManager(this));
+        eventsRecyclerView.addOnScrollListener(ImageLoader.getInstance(this).pauseOnFling(this)); // Pause image loads while flinging
+        eventsRecyclerView.setAdapter(eventsAdapter);
 
-        // Load events the entrant has joined
-        loadJoinedEvents();
+        // Keep the events the entrant has joined in sync
+        attachJoinedEventsSync();
 
         // Set up Firestore listener to monitor admin status changes
         setupFirestoreListener(navigationView, toggle);
     }
 
     /**
-     * Override onResume to refresh the event list when the activity resumes.
+     * Detaches from the joined-events sync when the activity is destroyed.
      */
     @Override
-    protected void onResume() {
-        super.onResume();
-        // Refresh the list of joined events
-        loadJoinedEvents();
+    protected void onDestroy() {
+        super.onDestroy();
+        detachJoinedEventsSync();
     }
 
+    /**
+     * Attaches to the current repository's joined-events sync for the current device,
+     * or loads the list once if the repository has no live sync.
+     */
+    private void attachJoinedEventsSync() {
+        joinedEventsSync = entEventRepo.getJoinedEventsSync(deviceId);
+        if (joinedEventsSync != null) {
+            joinedEventsSync.addListener(joinedEventsListener);
+        } else {
+            loadJoinedEvents();
+        }
+    }
+
+    /**
+     * Detaches from the joined-events sync, so it no longer delivers to this activity.
+     */
+    private void detachJoinedEventsSync() {
+        if (joinedEventsSync != null) {
+            joinedEventsSync.removeListener(joinedEventsListener);
+            joinedEventsSync = null;
+        }
+    }
+
+    /**
+     * Receives the joined-events list from the live sync and submits it to the adapter.
+     * Changes arrive as they happen, so the list no longer needs to be re-fetched when the activity resumes.
+     */
+    private final JoinedEventsSync.Listener joinedEventsListener = new JoinedEventsSync.Listener() {
+        @Override
+        public void onJoinedEventsChanged(List<Event> events) {
+            eventList.clear();
+            eventList.addAll(events);
+            eventsAdapter.submitList(new ArrayList<>(events));
+            if (events.isEmpty() && !joinedEventsReceived) {
+                // Entrant hasn't joined any events
+                Toast.makeText(EntrantHomeActivity.this, "You haven't joined any events yet.", Toast.LENGTH_SHORT).show();
+            }
+            joinedEventsReceived = true;
+        }
+
+        @Override
+        public void onError(Exception e) {
+            Toast.makeText(EntrantHomeActivity.this, "Error fetching events.", Toast.LENGTH_SHORT).show();
+        }
+    };
+
     /**
      * Navigates back to LandingActivity when Switch Mode button is clicked.
      * (Assuming there is a switch mode functionality; implement if applicable)
@@ -166,6 +212,7 @@ public class EntrantHomeActivity extends AppCompatActivity implements Navigation
      */
     public void setEntEventsRepository(EntEventsRepository repository) {
         this.entEventRepo = repository;
+        reattachJoinedEventsSync();
     }
 
     /**
@@ -175,15 +222,31 @@ public class EntrantHomeActivity extends AppCompatActivity implements Navigation
      */
     public void setDeviceId(String id) {
         this.deviceId = id;
+        reattachJoinedEventsSync();
+    }
+
+    /**
+     * Moves to the joined-events sync of the current repository and device, once the list is set up,
+     * so the sync attached in onCreate cannot overwrite the injected repository's events.
+     */
+    private void reattachJoinedEventsSync() {
+        if (eventsAdapter == null) {
+            return; // onCreate attaches
+        }
+        detachJoinedEventsSync();
+        joinedEventsSync = entEventRepo.getJoinedEventsSync(deviceId);
+        if (joinedEventsSync != null) {
+            joinedEventsSync.addListener(joinedEventsListener);
+        }
     }
 
     /**
-     * Loads events that the entrant has joined from the repository.
-     * Clears existing views and populates the UI with the fetched events.
+     * Loads events that the entrant has joined from the repository in a single fetch.
+     * Used when no live sync is available, such as with a repository injected for testing.
+     * Submits the fetched events to the adapter, which only re-binds the rows that changed.
      */
     public void loadJoinedEvents() {
-        // Clear existing views and list
-        eventsLinearLayout.removeAllViews();
+        // Clear the list; the adapter keeps showing the previous rows until the new list is submitted
         eventList.clear();
         addedEventIds.clear();
 
@@ -192,16 +255,16 @@ public class EntrantHomeActivity extends AppCompatActivity implements Navigation
             @Override
             public void onEventListLoaded(List<Event> events) {
                 if (events != null && !events.isEmpty()) {
-                    eventList.addAll(events);
-                    // Update UI with eventList
-                    for (Event event : eventList) {
-                        if (!addedEventIds.contains(event.getId())) {
-                            addEventView(event); // Add event view to the layout
-                            addedEventIds.add(event.getId()); // Track added event ID
+                    // Skip duplicates so every row has a unique stable ID
+                    for (Event event : events) {
+                        if (addedEventIds.add(event.getId())) {
+                            eventList.add(event);
                         }
                     }
+                    eventsAdapter.submitList(new ArrayList<>(eventList));
                 } else if (events != null && events.isEmpty()) {
                     // Entrant hasn't joined any events
+                    eventsAdapter.submitList(new ArrayList<>());
                     Toast.makeText(EntrantHomeActivity.this, "You haven't joined any events yet.", Toast.LENGTH_SHORT).show();
                 } else {
                     // An error occurred while fetching events
@@ -212,45 +275,14 @@ public class EntrantHomeActivity extends AppCompatActivity implements Navigation
     }
 
     /**
-     * Adds a custom event view to the LinearLayout.
+     * Navigates to the details screen of the clicked event.
      *
-     * @param event The Event object to display.
+     * @param event The Event object that was clicked.
      */
-    private void addEventView(Event event) {
-        // Inflate the event_item.xml layout
-        LayoutInflater inflater = LayoutInflater.from(this);
-        View eventView = inflater.inflate(R.layout.event_item, eventsLinearLayout, false);
-
-        // Initialize UI components within event_item.xml
-        ImageView eventPosterImageView = eventView.findViewById(R.id.eventPosterImageView);
-        TextView eventNameTextView = eventView.findViewById(R.id.eventNameTextView);
-        TextView eventLocationTextView = eventView.findViewById(R.id.eventLocationTextView);
-        CardView eventCardView = eventView.findViewById(R.id.eventCardView);
-
-        // Populate the views with event data
-        eventNameTextView.setText(event.getName());
-        eventLocationTextView.setText(event.getEventLocation());
-
-        // Load and display the event poster image using Picasso library
-        if (!TextUtils.isEmpty(event.getPosterImageUrl())) {
-            Picasso.get()
-                    .load(event.getPosterImageUrl())
-                    .placeholder(R.drawable.ic_placeholder_image) // Ensure you have a placeholder image
-                    .error(R.drawable.ic_error_image) // Ensure you have an error image
-                    .into(eventPosterImageView);
-        } else {
-            eventPosterImageView.setImageResource(R.drawable.ic_placeholder_image); // Default placeholder image
-        }
-
-        // Set OnClickListener to navigate to Event Details when the event card is clicked
-        eventCardView.setOnClickListener(v -> {
-            Intent intent = new Intent(EntrantHomeActivity.this, EventDetailsEntrantActivity.class);
-            intent.putExtra("EVENT_ID", event.getId()); // Pass the event ID to the details activity
-            startActivity(intent);
-        });
-
-        // Add the populated event view to the LinearLayout
-        eventsLinearLayout.addView(eventView);
+    private void openEventDetails(Event event) {
+        Intent intent = new Intent(EntrantHomeActivity.this, EventDetailsEntrantActivity.class);
+        intent.putExtra("EVENT_ID", event.getId()); // Pass the event ID to the details activity
+        startActivity(intent);
     }
 
     /**
@@ -0,0 +1,388 @@
+// File: EntrantLocationIndex.java
+package com.example.potato1_events;
+
+import android.util.Log;
+
+import com.google.android.gms.tasks.Task;
+import com.google.android.gms.tasks.Tasks;
+import com.google.firebase.firestore.AggregateQuerySnapshot;
+import com.google.firebase.firestore.AggregateSource;
+import com.google.firebase.firestore.CollectionReference;
+import com.google.firebase.firestore.DocumentReference;
+import com.google.firebase.firestore.FirebaseFirestore;
+import com.google.firebase.firestore.GeoPoint;
+import com.google.firebase.firestore.Query;
+import com.google.firebase.firestore.QueryDocumentSnapshot;
+import com.google.firebase.firestore.QuerySnapshot;
+import com.google.firebase.firestore.Transaction;
+import com.google.firebase.firestore.WriteBatch;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Geohash-indexed store of entrant locations, kept next to the {@code entrantsLocation} map of an event.
+ * Each entrant's location is a document in {@code Events/{eventId}/EntrantLocations} holding a
+ * {@link Geohash} of the point, so viewport queries, radius counts and density buckets become range
+ * scans over the single-field index on {@code geohash} instead of a scan of the whole event map.
+ */
+public class EntrantLocationIndex {
+
+    private static final String TAG = "EntrantLocationIndex";
+
+    /**
+     * Name of the location subcollection under each event.
+     */
+    static final String COLLECTION = "EntrantLocations";
+
+    /**
+     * Sorts after every geohash character, closing a prefix range.
+     */
+    private static final String RANGE_END = "~";
+
+    private final FirebaseFirestore firestore;
+
+    /**
+     * Callback interface for loading entrant locations.
+     */
+    public interface LocationsCallback {
+        /**
+         * Called when the locations are loaded.
+         *
+         * @param locations Locations keyed by entrant ID, or null if an error occurred.
+         */
+        void onLocationsLoaded(Map<String, GeoPoint> locations);
+    }
+
+    /**
+     * Callback interface for loading a count.
+     */
+    public interface CountCallback {
+        /**
+         * Called when the count is loaded.
+         *
+         * @param count The count, or null if an error occurred.
+         */
+        void onCountLoaded(Long count);
+    }
+
+    /**
+     * Callback interface for loading density buckets.
+     */
+    public interface DensityCallback {
+        /**
+         * Called when the buckets are loaded.
+         *
+         * @param counts Number of entrants per geohash cell, omitting empty cells, or null if an error occurred.
+         */
+        void onDensityLoaded(Map<String, Long> counts);
+    }
+
+    /**
+     * Callback interface for loading the cell that covers every entrant.
+     */
+    public interface CellCallback {
+        /**
+         * Called when the cell is loaded.
+         *
+         * @param cell The smallest geohash cell containing every location, an empty string for the
+         *             whole world, or null if there are no locations or an error occurred.
+         */
+        void onCellLoaded(String cell);
+    }
+
+    /**
+     * Constructs a new EntrantLocationIndex with the given Firestore instance.
+     *
+     * @param firestore The FirebaseFirestore instance to use.
+     */
+    public EntrantLocationIndex(FirebaseFirestore firestore) {
+        this.firestore = firestore;
+    }
+
+    /**
+     * Retrieves the location subcollection of an event.
+     *
+     * @param eventId The ID of the event.
+     * @return The collection reference.
+     */
+    private CollectionReference locations(String eventId) {
+        return firestore.collection("Events").document(eventId).collection(COLLECTION);
+    }
+
+    /**
+     * Retrieves the location document of an entrant.
+     *
+     * @param eventId   The ID of the event.
+     * @param entrantId The ID of the entrant.
+     * @return The document reference.
+     */
+    public DocumentReference locationRef(String eventId, String entrantId) {
+        return locations(eventId).document(entrantId);
+    }
+
+    /**
+     * Builds the stored fields of a location document.
+     *
+     * @param entrantId The ID of the entrant.
+     * @param location  The entrant's location.
+     * @return The document fields.
+     */
+    static Map<String, Object> locationData(String entrantId, GeoPoint location) {
+        Map<String, Object> data = new HashMap<>();
+        data.put("entrantId", entrantId);
+        data.put("location", location);
+        data.put("geohash", Geohash.encode(location.getLatitude(), location.getLongitude(), Geohash.STORED_PRECISION));
+        return data;
+    }
+
+    /**
+     * Writes an entrant's location as part of a transaction.
+     *
+     * @param transaction The transaction.
+     * @param eventId     The ID of the event.
+     * @param entrantId   The ID of the entrant.
+     * @param location    The entrant's location.
+     */
+    public void setInTransaction(Transaction transaction, String eventId, String entrantId, GeoPoint location) {
+        transaction.set(locationRef(eventId, entrantId), locationData(entrantId, location));
+    }
+
+    /**
+     * Deletes an entrant's location as part of a transaction.
+     *
+     * @param transaction The transaction.
+     * @param eventId     The ID of the event.
+     * @param entrantId   The ID of the entrant.
+     */
+    public void deleteInTransaction(Transaction transaction, String eventId, String entrantId) {
+        transaction.delete(locationRef(eventId, entrantId));
+    }
+
+    /**
+     * Indexes the locations already stored in an event's {@code entrantsLocation} map.
+     * Writes use deterministic document IDs, so running it again only overwrites.
+     *
+     * @param eventId          The ID of the event.
+     * @param entrantLocations The event's entrant locations.
+     * @return A task that completes once every batch has been committed.
+     */
+    public Task<Void> backfill(String eventId, Map<String, GeoPoint> entrantLocations) {
+        List<String> entrantIds = new ArrayList<>(entrantLocations.keySet());
+        List<Task<Void>> commits = new ArrayList<>();
+        for (List<String> chunk : FirestoreLimits.partition(entrantIds, FirestoreLimits.MAX_BATCH_SIZE)) {
+            WriteBatch batch = firestore.batch();
+            for (String entrantId : chunk) {
+                GeoPoint location = entrantLocations.get(entrantId);
+                if (location != null) {
+                    batch.set(locationRef(eventId, entrantId), locationData(entrantId, location));
+                }
+            }
+            commits.add(batch.commit());
+        }
+        return Tasks.whenAll(commits)
+                .addOnFailureListener(e -> Log.e(TAG, "Error backfilling locations for event: " + eventId, e));
+    }
+
+    /**
+     * Backfills an event's index if it holds fewer locations than the event's {@code entrantsLocation} map,
+     * as for events created before the index existed. The check is a single server-side count.
+     *
+     * @param eventId          The ID of the event.
+     * @param entrantLocations The event's entrant locations, possibly null.
+     * @return A task resolving to true if a backfill was written.
+     */
+    public Task<Boolean> backfillIfIncomplete(String eventId, Map<String, GeoPoint> entrantLocations) {
+        if (entrantLocations == null || entrantLocations.isEmpty()) {
+            return Tasks.forResult(false);
+        }
+        return locations(eventId).count().get(AggregateSource.SERVER)
+                .onSuccessTask(count -> {
+                    if (count.getCount() >= entrantLocations.size()) {
+                        return Tasks.forResult(false);
+                    }
+                    Log.d(TAG, "Backfilling " + entrantLocations.size() + " locations for event " + eventId
+                            + ", index holds " + count.getCount());
+                    return backfill(eventId, entrantLocations).onSuccessTask(aVoid -> Tasks.forResult(true));
+                });
+    }
+
+    /**
+     * Deletes every location document of an event, one batch at a time.
+     * Firestore keeps subcollections when their parent document is deleted, so this runs alongside event deletion.
+     *
+     * @param eventId The ID of the event.
+     * @return A task that completes once the subcollection is empty.
+     */
+    public Task<Void> deleteAll(String eventId) {
+        return locations(eventId).limit(FirestoreLimits.MAX_BATCH_SIZE).get()
+                .continueWithTask(task -> {
+                    QuerySnapshot page = task.getResult();
+                    if (page.isEmpty()) {
+                        return Tasks.forResult(null);
+                    }
+                    WriteBatch batch = firestore.batch();
+                    for (QueryDocumentSnapshot doc : page) {
+                        batch.delete(doc.getReference());
+                    }
+                    return batch.commit().continueWithTask(commit -> {
+                        if (!commit.isSuccessful()) {
+                            return commit;
+                        }
+                        return page.size() < FirestoreLimits.MAX_BATCH_SIZE ? Tasks.forResult(null) : deleteAll(eventId);
+                    });
+                })
+                .addOnFailureListener(e -> Log.e(TAG, "Error deleting locations for event: " + eventId, e));
+    }
+
+    /**
+     * Loads the entrant locations inside a viewport.
+     *
+     * @param eventId  The ID of the event.
+     * @param south    The southern edge.
+     * @param west     The western edge.
+     * @param north    The northern edge.
+     * @param east     The eastern edge; smaller than {@code west} when crossing the antimeridian.
+     * @param callback Callback to handle the locations.
+     */
+    public void queryViewport(String eventId, double south, double west, double north, double east, LocationsCallback callback) {
+        scanCells(eventId, Geohash.coveringCells(south, west, north, east), (entrantId, location) ->
+                Geohash.contains(location.getLatitude(), location.getLongitude(), south, west, north, east), callback);
+    }
+
+    /**
+     * Counts the entrants within a radius of a point.
+     *
+     * @param eventId      The ID of the event.
+     * @param center       The centre of the circle.
+     * @param radiusMeters The radius in metres.
+     * @param callback     Callback to handle the count.
+     */
+    public void countWithinRadius(String eventId, GeoPoint center, double radiusMeters, CountCallback callback) {
+        double[] box = Geohash.boundingBox(center.getLatitude(), center.getLongitude(), radiusMeters);
+        scanCells(eventId, Geohash.coveringCells(box[0], box[1], box[2], box[3]), (entrantId, location) ->
+                Geohash.distanceMeters(center.getLatitude(), center.getLongitude(),
+                        location.getLatitude(), location.getLongitude()) <= radiusMeters,
+                locations -> callback.onCountLoaded(locations == null ? null : (long) locations.size()));
+    }
+
+    /**
+     * Finds the smallest geohash cell containing every entrant location, from just the lowest and
+     * highest geohash in the index, so two documents are read however many entrants there are.
+     *
+     * @param eventId  The ID of the event.
+     * @param callback Callback to handle the cell.
+     */
+    public void coveringCell(String eventId, CellCallback callback) {
+        Task<QuerySnapshot> lowest = locations(eventId).orderBy("geohash").limit(1).get();
+        Task<QuerySnapshot> highest = locations(eventId).orderBy("geohash", Query.Direction.DESCENDING).limit(1).get();
+
+        Tasks.whenAllSuccess(lowest, highest)
+                .addOnSuccessListener(results -> {
+                    QuerySnapshot first = (QuerySnapshot) results.get(0);
+                    QuerySnapshot last = (QuerySnapshot) results.get(1);
+                    if (first.isEmpty() || last.isEmpty()) {
+                        callback.onCellLoaded(null);
+                        return;
+                    }
+                    String low = first.getDocuments().get(0).getString("geohash");
+                    String high = last.getDocuments().get(0).getString("geohash");
+                    callback.onCellLoaded(low == null || high == null ? "" : Geohash.commonCell(low, high));
+                })
+                .addOnFailureListener(e -> {
+                    Log.e(TAG, "Error finding the covering cell for event: " + eventId, e);
+                    callback.onCellLoaded(null);
+                });
+    }
+
+    /**
+     * Counts the entrants in each sub-cell of a geohash cell, using server-side count aggregations
+     * so no location documents are downloaded.
+     *
+     * @param eventId    The ID of the event.
+     * @param parentCell The cell to split, or an empty string for the whole world.
+     * @param callback   Callback to handle the counts, keyed by sub-cell geohash.
+     */
+    public void densityBuckets(String eventId, String parentCell, DensityCallback callback) {
+        List<String> cells = new ArrayList<>();
+        List<Task<AggregateQuerySnapshot>> counts = new ArrayList<>();
+        for (int i = 0; i < Geohash.BASE32.length(); i++) {
+            String cell = parentCell + Geohash.BASE32.charAt(i);
+            cells.add(cell);
+            counts.add(cellQuery(eventId, cell).count().get(AggregateSource.SERVER));
+        }
+
+        Tasks.whenAllSuccess(counts)
+                .addOnSuccessListener(results -> {
+                    Map<String, Long> buckets = new LinkedHashMap<>();
+                    for (int i = 0; i < results.size(); i++) {
+                        long count = ((AggregateQuerySnapshot) results.get(i)).getCount();
+                        if (count > 0) {
+                            buckets.put(cells.get(i), count);
+                        }
+                    }
+                    callback.onDensityLoaded(buckets);
+                })
+                .addOnFailureListener(e -> {
+                    Log.e(TAG, "Error counting density for event: " + eventId, e);
+                    callback.onDensityLoaded(null);
+                });
+    }
+
+    /**
+     * Builds the range query over one geohash cell.
+     *
+     * @param eventId The ID of the event.
+     * @param cell    The geohash cell.
+     * @return The query returning every location inside the cell.
+     */
+    private Query cellQuery(String eventId, String cell) {
+        return locations(eventId)
+                .orderBy("geohash")
+                .startAt(cell)
+                .endAt(cell + RANGE_END);
+    }
+
+    /**
+     * Filter applied to each location returned by the cell scans.
+     */
+    private interface LocationFilter {
+        boolean accept(String entrantId, GeoPoint location);
+    }
+
+    /**
+     * Scans a set of geohash cells and keeps the locations accepted by the filter.
+     *
+     * @param eventId  The ID of the event.
+     * @param cells    The cells to scan.
+     * @param filter   The exact test, since cells extend beyond the queried area.
+     * @param callback Callback to handle the locations.
+     */
+    private void scanCells(String eventId, List<String> cells, LocationFilter filter, LocationsCallback callback) {
+        List<Task<QuerySnapshot>> scans = new ArrayList<>();
+        for (String cell : cells) {
+            scans.add(cellQuery(eventId, cell).get());
+        }
+
+        Tasks.whenAllSuccess(scans)
+                .addOnSuccessListener(results -> {
+                    Map<String, GeoPoint> locations = new HashMap<>();
+                    for (Object result : results) {
+                        for (QueryDocumentSnapshot doc : (QuerySnapshot) result) {
+                            GeoPoint location = doc.getGeoPoint("location");
+                            if (location != null && filter.accept(doc.getId(), location)) {
+                                locations.put(doc.getId(), location);
+                            }
+                        }
+                    }
+                    callback.onLocationsLoaded(locations);
+                })
+                .addOnFailureListener(e -> {
+                    Log.e(TAG, "Error scanning locations for event: " + eventId, e);
+                    callback.onLocationsLoaded(null);
+                });
+    }
+}
@@ -0,0 +1,251 @@
+// File: EntrantSearchIndex.java
+package com.example.potato1_events;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * In-memory search index over entrant name, email and phone number.
+ * Queries of three or more characters are answered from a trigram index, so any substring can be found
+ * by intersecting a few posting sets and checking only the surviving candidates. Shorter queries
+ * use a sorted token map for word-prefix matches. Entrants are added and removed one at a time,
+ * so the index follows the loaded waiting list without being rebuilt.
+ * All methods are synchronized so queries can run on a background thread while updates arrive.
+ */
+public class EntrantSearchIndex {
+
+    /**
+     * Length of the n-grams used for substring search.
+     */
+    static final int GRAM_LENGTH = 3;
+
+    // Searchable text per entrant, and the grams and tokens it was indexed under
+    private final Map<String, String> texts = new HashMap<>();
+    private final Map<String, Set<String>> gramsByUser = new HashMap<>();
+    private final Map<String, Set<String>> tokensByUser = new HashMap<>();
+
+    // Posting sets: entrants per trigram, and entrants per word token (sorted for prefix ranges)
+    private final Map<String, Set<String>> postings = new HashMap<>();
+    private final TreeMap<String, Set<String>> tokens = new TreeMap<>();
+
+    /**
+     * Adds an entrant, or re-indexes them if already present.
+     *
+     * @param user The entrant, with their user ID set.
+     */
+    public synchronized void put(User user) {
+        String userId = user.getUserId();
+        remove(userId);
+
+        String text = searchableText(user);
+        texts.put(userId, text);
+
+        Set<String> grams = gramsOf(text);
+        gramsByUser.put(userId, grams);
+        for (String gram : grams) {
+            addPosting(postings, gram, userId);
+        }
+
+        Set<String> userTokens = tokensOf(text);
+        tokensByUser.put(userId, userTokens);
+        for (String token : userTokens) {
+            addPosting(tokens, token, userId);
+        }
+    }
+
+    /**
+     * Removes an entrant from the index.
+     *
+     * @param userId The ID of the entrant.
+     */
+    public synchronized void remove(String userId) {
+        if (texts.remove(userId) == null) {
+            return;
+        }
+        for (String gram : gramsByUser.remove(userId)) {
+            removePosting(postings, gram, userId);
+        }
+        for (String token : tokensByUser.remove(userId)) {
+            removePosting(tokens, token, userId);
+        }
+    }
+
+    /**
+     * Removes every entrant from the index.
+     */
+    public synchronized void clear() {
+        texts.clear();
+        gramsByUser.clear();
+        tokensByUser.clear();
+        postings.clear();
+        tokens.clear();
+    }
+
+    /**
+     * Retrieves the number of indexed entrants.
+     *
+     * @return The number of entrants.
+     */
+    public synchronized int size() {
+        return texts.size();
+    }
+
+    /**
+     * Finds the entrants whose name, email or phone number match the query.
+     * Queries shorter than {@link #GRAM_LENGTH} match the start of any word; longer queries match anywhere.
+     *
+     * @param query The text typed by the user.
+     * @return The IDs of the matching entrants, or null if the query is blank and nothing should be filtered.
+     */
+    public synchronized Set<String> search(String query) {
+        String normalized = normalize(query).trim();
+        if (normalized.isEmpty()) {
+            return null;
+        }
+
+        if (normalized.length() < GRAM_LENGTH) {
+            // Word-prefix match over the sorted tokens
+            Set<String> result = new HashSet<>();
+            for (Set<String> users : tokens.subMap(normalized, true, normalized + Character.MAX_VALUE, false).values()) {
+                result.addAll(users);
+            }
+            return result;
+        }
+
+        // Intersect the posting sets, smallest first, then confirm the substring on the survivors
+        List<Set<String>> sets = new ArrayList<>();
+        for (String gram : gramsOf(normalized)) {
+            Set<String> users = postings.get(gram);
+            if (users == null) {
+                return Collections.emptySet();
+            }
+            sets.add(users);
+        }
+        Collections.sort(sets, (first, second) -> Integer.compare(first.size(), second.size()));
+
+        Set<String> result = new HashSet<>();
+        for (String userId : sets.get(0)) {
+            boolean inAll = true;
+            for (int i = 1; i < sets.size() && inAll; i++) {
+                inAll = sets.get(i).contains(userId);
+            }
+            if (inAll && texts.get(userId).contains(normalized)) {
+                result.add(userId);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Builds the searchable text of an entrant. The phone number is also indexed as bare digits,
+     * so "7805551234" finds "(780) 555-1234".
+     *
+     * @param user The entrant.
+     * @return The normalized text, with fields separated by newlines so matches cannot span fields.
+     */
+    static String searchableText(User user) {
+        StringBuilder text = new StringBuilder();
+        appendField(text, user.getName());
+        appendField(text, user.getEmail());
+        appendField(text, user.getPhoneNumber());
+        if (user.getPhoneNumber() != null) {
+            appendField(text, user.getPhoneNumber().replaceAll("[^0-9]", ""));
+        }
+        return text.toString();
+    }
+
+    /**
+     * Appends a normalized field to the searchable text.
+     *
+     * @param text  The text being built.
+     * @param value The field value, possibly null.
+     */
+    private static void appendField(StringBuilder text, String value) {
+        if (value != null && !value.isEmpty()) {
+            text.append(normalize(value)).append('\n');
+        }
+    }
+
+    /**
+     * Splits text into every gram of {@link #GRAM_LENGTH} characters, skipping grams that span fields.
+     *
+     * @param text The normalized text.
+     * @return The distinct grams.
+     */
+    static Set<String> gramsOf(String text) {
+        Set<String> grams = new HashSet<>();
+        for (int i = 0; i + GRAM_LENGTH <= text.length(); i++) {
+            String gram = text.substring(i, i + GRAM_LENGTH);
+            if (gram.indexOf('\n') < 0) {
+                grams.add(gram);
+            }
+        }
+        return grams;
+    }
+
+    /**
+     * Splits text into word tokens on whitespace and common separators.
+     *
+     * @param text The normalized text.
+     * @return The distinct non-empty tokens.
+     */
+    private static Set<String> tokensOf(String text) {
+        Set<String> result = new HashSet<>();
+        for (String token : text.split("[\\s@._\\-()+]+")) {
+            if (!token.isEmpty()) {
+                result.add(token);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Normalizes text for case-insensitive matching.
+     *
+     * @param value The text, possibly null.
+     * @return The lower-cased text, or an empty string for null.
+     */
+    private static String normalize(String value) {
+        return value == null ? "" : value.toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Adds an entrant to the posting set of a key.
+     *
+     * @param index  The posting map.
+     * @param key    The gram or token.
+     * @param userId The ID of the entrant.
+     */
+    private static void addPosting(Map<String, Set<String>> index, String key, String userId) {
+        Set<String> users = index.get(key);
+        if (users == null) {
+            users = new HashSet<>();
+            index.put(key, users);
+        }
+        users.add(userId);
+    }
+
+    /**
+     * Removes an entrant from the posting set of a key, dropping the set once empty.
+     *
+     * @param index  The posting map.
+     * @param key    The gram or token.
+     * @param userId The ID of the entrant.
+     */
+    private static void removePosting(Map<String, Set<String>> index, String key, String userId) {
+        Set<String> users = index.get(key);
+        if (users != null) {
+            users.remove(userId);
+            if (users.isEmpty()) {
+                index.remove(key);
+            }
+        }
+    }
+}
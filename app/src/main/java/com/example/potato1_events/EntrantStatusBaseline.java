@@ -0,0 +1,192 @@
+// File: EntrantStatusBaseline.java
+package com.example.potato1_events;
+
+import java.util.Arrays;
+import java.util.Map;
+
+/**
+ * Compact, immutable record of the entrant statuses last seen for one organizer event.
+ * Instead of copying the entrants map, each entrant is packed into a single {@code long}:
+ * a 56-bit hash of the entrant ID and an 8-bit status code. The packed values are kept
+ * sorted, so a lookup is a binary search and an event costs 8 bytes per entrant.
+ * The baseline also carries a version watermark, an order-independent fingerprint of
+ * the whole entrants map, so an unchanged map can be recognised without any lookups.
+ */
+public class EntrantStatusBaseline {
+
+    /**
+     * Code returned by {@link #statusCodeOf(String)} for entrants that are not in the baseline.
+     */
+    public static final int ABSENT = -1;
+
+    // Known statuses; the index is the persisted status code, so only append to this list
+    private static final String[] STATUSES = {"Other", "Waitlist", "Selected", "Not Selected", "Accepted", "Declined", "Canceled", "Cancelled", "Enrolled"};
+
+    private static final int STATUS_BITS = 8;
+    private static final long STATUS_MASK = (1L << STATUS_BITS) - 1;
+
+    private final long[] packed;
+    private final long version;
+
+    private EntrantStatusBaseline(long[] packed, long version) {
+        this.packed = packed;
+        this.version = version;
+    }
+
+    /**
+     * Builds a baseline from an event's entrants map.
+     *
+     * @param entrants Map of entrant IDs to statuses.
+     * @return The baseline.
+     */
+    public static EntrantStatusBaseline of(Map<String, String> entrants) {
+        long[] packed = new long[entrants.size()];
+        int i = 0;
+        for (Map.Entry<String, String> entry : entrants.entrySet()) {
+            packed[i++] = (hashId(entry.getKey()) << STATUS_BITS) | statusCode(entry.getValue());
+        }
+        Arrays.sort(packed);
+        return new EntrantStatusBaseline(packed, versionOf(packed));
+    }
+
+    /**
+     * Retrieves the version watermark of the entrants map this baseline was built from.
+     *
+     * @return The watermark.
+     */
+    public long getVersion() {
+        return version;
+    }
+
+    /**
+     * Retrieves the number of entrants in the baseline.
+     *
+     * @return The number of entrants.
+     */
+    public int size() {
+        return packed.length;
+    }
+
+    /**
+     * Looks up the status code an entrant had in this baseline.
+     *
+     * @param entrantId The ID of the entrant.
+     * @return The status code, or {@link #ABSENT} if the entrant was not in the baseline.
+     */
+    public int statusCodeOf(String entrantId) {
+        long key = hashId(entrantId) << STATUS_BITS;
+        int low = 0;
+        int high = packed.length - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            long candidate = packed[mid] & ~STATUS_MASK;
+            if (candidate < key) {
+                low = mid + 1;
+            } else if (candidate > key) {
+                high = mid - 1;
+            } else {
+                return (int) (packed[mid] & STATUS_MASK);
+            }
+        }
+        return ABSENT;
+    }
+
+    /**
+     * Maps a status string to its status code. Unknown statuses share the "Other" code.
+     *
+     * @param status The status.
+     * @return The status code.
+     */
+    public static int statusCode(String status) {
+        if (status != null) {
+            for (int i = 1; i < STATUSES.length; i++) {
+                if (STATUSES[i].equalsIgnoreCase(status)) {
+                    return i;
+                }
+            }
+        }
+        return 0;
+    }
+
+    /**
+     * Encodes the baseline as a compact string for persistence.
+     *
+     * @return The encoded baseline.
+     */
+    public String encode() {
+        StringBuilder builder = new StringBuilder(packed.length * 12);
+        for (int i = 0; i < packed.length; i++) {
+            if (i > 0) {
+                builder.append(',');
+            }
+            builder.append(Long.toString(packed[i], Character.MAX_RADIX));
+        }
+        return builder.toString();
+    }
+
+    /**
+     * Decodes a baseline written by {@link #encode()}.
+     *
+     * @param encoded The encoded baseline.
+     * @return The baseline, or null if the string could not be read.
+     */
+    public static EntrantStatusBaseline decode(String encoded) {
+        if (encoded.isEmpty()) {
+            return new EntrantStatusBaseline(new long[0], versionOf(new long[0]));
+        }
+        String[] parts = encoded.split(",");
+        long[] packed = new long[parts.length];
+        try {
+            for (int i = 0; i < parts.length; i++) {
+                packed[i] = Long.parseLong(parts[i], Character.MAX_RADIX);
+            }
+        } catch (NumberFormatException e) {
+            return null;
+        }
+        Arrays.sort(packed);
+        return new EntrantStatusBaseline(packed, versionOf(packed));
+    }
+
+    /**
+     * Hashes an entrant ID to 56 bits, stable across processes.
+     *
+     * @param entrantId The ID of the entrant.
+     * @return The hash, in the low 56 bits.
+     */
+    private static long hashId(String entrantId) {
+        long hash = 1125899906842597L;
+        for (int i = 0; i < entrantId.length(); i++) {
+            hash = 31 * hash + entrantId.charAt(i);
+        }
+        return mix(hash) >>> STATUS_BITS;
+    }
+
+    /**
+     * Computes the order-independent version watermark of a set of packed entries.
+     *
+     * @param packed The packed entries.
+     * @return The watermark.
+     */
+    private static long versionOf(long[] packed) {
+        long version = packed.length;
+        for (long entry : packed) {
+            version += mix(entry);
+        }
+        return version;
+    }
+
+    /**
+     * Scrambles the bits of a 64-bit value (the MurmurHash3 finalizer).
+     *
+     * @param value The value to scramble.
+     * @return The scrambled value.
+     */
+    private static long mix(long value) {
+        value ^= value >>> 33;
+        value *= 0xff51afd7ed558ccdL;
+        value ^= value >>> 33;
+        value *= 0xc4ceb9fe1a85ec53L;
+        value ^= value >>> 33;
+        return value;
+    }
+}
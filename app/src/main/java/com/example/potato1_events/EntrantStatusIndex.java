@@ -0,0 +1,298 @@
+// File: EntrantStatusIndex.java
+package com.example.potato1_events;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * Index from entrant status to the entrants holding it, kept sorted by name.
+ * Status changes move a single entrant between buckets, so filtering by one or more statuses
+ * only touches the matching entrants instead of scanning the whole waiting list.
+ * Statuses are matched case-insensitively, since events store both "waitlist" and "Waitlist".
+ */
+public class EntrantStatusIndex {
+
+    /**
+     * Orders entrants by display name, then by user ID so that entrants with the same name are kept apart.
+     */
+    static final Comparator<User> BY_NAME = (first, second) -> {
+        int byName = displayName(first).compareToIgnoreCase(displayName(second));
+        return byName != 0 ? byName : first.getUserId().compareTo(second.getUserId());
+    };
+
+    // Entrants by user ID, and their status as stored in the event
+    private final Map<String, User> users = new HashMap<>();
+    private final Map<String, String> statuses = new HashMap<>();
+
+    // Sorted entrants per normalized status, plus every entrant
+    private final Map<String, TreeSet<User>> buckets = new HashMap<>();
+    private final TreeSet<User> all = new TreeSet<>(BY_NAME);
+
+    /**
+     * Adds an entrant, or replaces them if already indexed.
+     *
+     * @param user   The entrant, with their user ID set.
+     * @param status The entrant's status in the event.
+     */
+    public void put(User user, String status) {
+        remove(user.getUserId());
+        users.put(user.getUserId(), user);
+        statuses.put(user.getUserId(), status);
+        all.add(user);
+        bucketFor(status).add(user);
+    }
+
+    /**
+     * Moves an indexed entrant to a new status.
+     *
+     * @param userId The ID of the entrant.
+     * @param status The new status.
+     * @return True if the entrant is indexed, false if they must be added with {@link #put(User, String)}.
+     */
+    public boolean updateStatus(String userId, String status) {
+        User user = users.get(userId);
+        if (user == null) {
+            return false;
+        }
+        String previous = statuses.get(userId);
+        if (normalize(previous).equals(normalize(status))) {
+            statuses.put(userId, status);
+            return true;
+        }
+        removeFromBucket(previous, user);
+        statuses.put(userId, status);
+        bucketFor(status).add(user);
+        return true;
+    }
+
+    /**
+     * Removes an entrant from the index.
+     *
+     * @param userId The ID of the entrant.
+     * @return True if the entrant was indexed.
+     */
+    public boolean remove(String userId) {
+        User user = users.remove(userId);
+        if (user == null) {
+            return false;
+        }
+        removeFromBucket(statuses.remove(userId), user);
+        all.remove(user);
+        return true;
+    }
+
+    /**
+     * Removes every entrant from the index.
+     */
+    public void clear() {
+        users.clear();
+        statuses.clear();
+        buckets.clear();
+        all.clear();
+    }
+
+    /**
+     * Checks whether an entrant is indexed.
+     *
+     * @param userId The ID of the entrant.
+     * @return True if the entrant is indexed.
+     */
+    public boolean contains(String userId) {
+        return users.containsKey(userId);
+    }
+
+    /**
+     * Retrieves an indexed entrant.
+     *
+     * @param userId The ID of the entrant.
+     * @return The entrant, or null if not indexed.
+     */
+    public User getUser(String userId) {
+        return users.get(userId);
+    }
+
+    /**
+     * Retrieves the IDs of every indexed entrant.
+     *
+     * @return A new set of user IDs.
+     */
+    public Set<String> getUserIds() {
+        return new LinkedHashSet<>(users.keySet());
+    }
+
+    /**
+     * Retrieves a live, read-only view of the entrants' statuses keyed by user ID.
+     *
+     * @return The status map.
+     */
+    public Map<String, String> getStatusMap() {
+        return Collections.unmodifiableMap(statuses);
+    }
+
+    /**
+     * Retrieves the number of indexed entrants.
+     *
+     * @return The number of entrants.
+     */
+    public int size() {
+        return users.size();
+    }
+
+    /**
+     * Retrieves every entrant, sorted by name.
+     *
+     * @return A new sorted list of entrants.
+     */
+    public List<User> getAll() {
+        return new ArrayList<>(all);
+    }
+
+    /**
+     * Retrieves the entrants holding any of the given statuses, sorted by name.
+     * The already-sorted buckets are merged, so the cost grows with the result size rather than the waiting list.
+     *
+     * @param selectedStatuses The statuses to include; an empty collection selects every entrant.
+     * @return A new sorted list of entrants.
+     */
+    public List<User> getByStatuses(Collection<String> selectedStatuses) {
+        if (selectedStatuses.isEmpty()) {
+            return getAll();
+        }
+
+        // Collect the distinct non-empty buckets
+        List<TreeSet<User>> selected = new ArrayList<>();
+        int total = 0;
+        for (String key : normalizeAll(selectedStatuses)) {
+            TreeSet<User> bucket = buckets.get(key);
+            if (bucket != null) {
+                selected.add(bucket);
+                total += bucket.size();
+            }
+        }
+        if (selected.isEmpty()) {
+            return new ArrayList<>();
+        }
+        if (selected.size() == 1) {
+            return new ArrayList<>(selected.get(0));
+        }
+
+        // Merge the sorted buckets, always taking the smallest head
+        List<User> result = new ArrayList<>(total);
+        PriorityQueue<MergeHead> heads = new PriorityQueue<>(selected.size(),
+                (first, second) -> BY_NAME.compare(first.user, second.user));
+        for (TreeSet<User> bucket : selected) {
+            Iterator<User> iterator = bucket.iterator();
+            heads.add(new MergeHead(iterator.next(), iterator));
+        }
+        while (!heads.isEmpty()) {
+            MergeHead head = heads.poll();
+            result.add(head.user);
+            if (head.rest.hasNext()) {
+                heads.add(new MergeHead(head.rest.next(), head.rest));
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Retrieves the number of entrants holding a status.
+     *
+     * @param status The status to count.
+     * @return The number of entrants with that status.
+     */
+    public int countByStatus(String status) {
+        TreeSet<User> bucket = buckets.get(normalize(status));
+        return bucket == null ? 0 : bucket.size();
+    }
+
+    /**
+     * Retrieves the bucket for a status, creating it if needed.
+     *
+     * @param status The status.
+     * @return The sorted bucket of entrants.
+     */
+    private TreeSet<User> bucketFor(String status) {
+        String key = normalize(status);
+        TreeSet<User> bucket = buckets.get(key);
+        if (bucket == null) {
+            bucket = new TreeSet<>(BY_NAME);
+            buckets.put(key, bucket);
+        }
+        return bucket;
+    }
+
+    /**
+     * Removes an entrant from the bucket of a status, dropping the bucket once empty.
+     *
+     * @param status The status whose bucket holds the entrant.
+     * @param user   The entrant.
+     */
+    private void removeFromBucket(String status, User user) {
+        String key = normalize(status);
+        TreeSet<User> bucket = buckets.get(key);
+        if (bucket != null) {
+            bucket.remove(user);
+            if (bucket.isEmpty()) {
+                buckets.remove(key);
+            }
+        }
+    }
+
+    /**
+     * Normalizes a collection of statuses, dropping duplicates.
+     *
+     * @param values The statuses.
+     * @return The distinct normalized statuses.
+     */
+    private static Set<String> normalizeAll(Collection<String> values) {
+        Set<String> keys = new LinkedHashSet<>();
+        for (String value : values) {
+            keys.add(normalize(value));
+        }
+        return keys;
+    }
+
+    /**
+     * Normalizes a status for case-insensitive matching.
+     *
+     * @param status The status, possibly null.
+     * @return The lower-cased status, or "unknown" for null.
+     */
+    static String normalize(String status) {
+        return status == null ? "unknown" : status.trim().toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Retrieves the name an entrant is displayed and sorted by.
+     *
+     * @param user The entrant.
+     * @return The entrant's name, or "Unnamed Entrant" if they have none.
+     */
+    private static String displayName(User user) {
+        return user.getName() != null ? user.getName() : "Unnamed Entrant";
+    }
+
+    /**
+     * Current head of one bucket during a merge.
+     */
+    private static class MergeHead {
+        final User user;
+        final Iterator<User> rest;
+
+        MergeHead(User user, Iterator<User> rest) {
+            this.user = user;
+            this.rest = rest;
+        }
+    }
+}
@@ -79,6 +79,11 @@ public class Event {
      */
     private String posterImageUrl;
 
+    /**
+     * Download URLs of the poster renditions, keyed by {@link ImageRendition} key.
+     */
+    private Map<String, String> posterImageVariants;
+
     /**
      * QR code hash representing the event ID.
      */
@@ -429,6 +434,34 @@ public class Event {
         this.posterImageUrl = posterImageUrl;
     }
 
+    /**
+     * Gets the download URLs of the poster renditions.
+     *
+     * @return Rendition URLs keyed by rendition key, or null for posters uploaded without renditions.
+     */
+    public Map<String, String> getPosterImageVariants() {
+        return posterImageVariants;
+    }
+
+    /**
+     * Sets the download URLs of the poster renditions.
+     *
+     * @param posterImageVariants Rendition URLs keyed by rendition key.
+     */
+    public void setPosterImageVariants(Map<String, String> posterImageVariants) {
+        this.posterImageVariants = posterImageVariants;
+    }
+
+    /**
+     * Picks the smallest poster rendition that covers a view.
+     *
+     * @param targetPixels The size of the view in pixels.
+     * @return The URL to load, falling back to {@link #getPosterImageUrl()}.
+     */
+    public String posterUrlFor(int targetPixels) {
+        return ImageRendition.pickUrl(posterImageVariants, posterImageUrl, targetPixels);
+    }
+
     /**
      * Gets the QR code hash representing the event ID.
      *
@@ -38,7 +38,6 @@ import com.google.firebase.firestore.FieldValue;
 import com.google.firebase.firestore.FirebaseFirestore;
 import com.google.firebase.firestore.FirebaseFirestoreException;
 import com.google.firebase.firestore.GeoPoint;
-import com.squareup.picasso.Picasso;
 
 import java.text.SimpleDateFormat;
 import java.util.Date;
@@ -316,13 +315,10 @@ public class EventDetailsEntrantActivity extends AppCompatActivity {
      * @param event The Event object containing details.
      */
     private void populateEventDetails(Event event) {
-        // Load poster image using Picasso library
+        // Load the poster rendition that fits the header
         if (!TextUtils.isEmpty(event.getPosterImageUrl())) {
-            Picasso.get()
-                    .load(event.getPosterImageUrl())
-                    .placeholder(R.drawable.ic_placeholder_image) // Placeholder image while loading
-                    .error(R.drawable.ic_error_image) // Error image if loading fails
-                    .into(eventPosterImageView);
+            ImageLoader.getInstance(this)
+                    .load(event.posterUrlFor(ImageRendition.targetSizeOf(eventPosterImageView)), eventPosterImageView);
         } else {
             // Set a default placeholder image if no poster URL is available
             eventPosterImageView.setImageResource(R.drawable.ic_placeholder_image);
@@ -16,7 +16,6 @@ import androidx.activity.OnBackPressedCallback;
 
 import android.content.Intent;
 import android.graphics.Bitmap;
-import android.graphics.Color;
 import android.net.Uri;
 import android.os.Bundle;
 import android.text.TextUtils;
@@ -30,10 +29,6 @@ import android.widget.Toast;
 import com.google.android.material.navigation.NavigationView;
 import com.google.firebase.firestore.FirebaseFirestore;
 import com.google.firebase.firestore.FirebaseFirestoreException;
-import com.squareup.picasso.Picasso;
-import com.google.zxing.BarcodeFormat;
-import com.google.zxing.WriterException;
-import com.google.zxing.qrcode.QRCodeWriter;
 import com.google.firebase.firestore.ListenerRegistration;
 
 import java.io.File;
@@ -289,11 +284,8 @@ public class EventDetailsOrganizerActivity extends AppCompatActivity implements
     private void populateEventDetails(Event event) {
         // Load poster image
         if (!TextUtils.isEmpty(event.getPosterImageUrl())) {
-            Picasso.get()
-                    .load(event.getPosterImageUrl())
-                    .placeholder(R.drawable.ic_placeholder_image)
-                    .error(R.drawable.ic_error_image)
-                    .into(eventPosterImageView);
+            ImageLoader.getInstance(this)
+                    .load(event.posterUrlFor(ImageRendition.targetSizeOf(eventPosterImageView)), eventPosterImageView);
         } else {
             eventPosterImageView.setImageResource(R.drawable.ic_placeholder_image);
         }
@@ -406,32 +398,16 @@ public class EventDetailsOrganizerActivity extends AppCompatActivity implements
      * @param qrHash The data to encode in the QR code (typically the event ID).
      */
     private void generateQRCodeAndDisplay(String qrHash) {
-        // Define the data to be encoded in the QR code
-        String qrData = qrHash;
-
-        // Generate QR code bitmap
-        QRCodeWriter qrCodeWriter = new QRCodeWriter();
-        int size = 512; // Size of the QR code image
-
-        Bitmap qrBitmap;
-        try {
-            com.google.zxing.common.BitMatrix bitMatrix = qrCodeWriter.encode(qrData, BarcodeFormat.QR_CODE, size, size);
-            qrBitmap = Bitmap.createBitmap(size, size, Bitmap.Config.RGB_565);
-
-            for (int x = 0; x < size; x++) {
-                for (int y = 0; y < size; y++) {
-                    qrBitmap.setPixel(x, y, bitMatrix.get(x, y) ? Color.BLACK : Color.WHITE);
-                }
-            }
-        } catch (WriterException e) {
-            Toast.makeText(this, "Failed to generate QR code: " + e.getMessage(), Toast.LENGTH_SHORT).show();
-            return;
-        }
-
-        // Display the QR code in the ImageView
-        qrCodeImageView.setImageBitmap(qrBitmap);
-        qrCodeImageView.setVisibility(View.VISIBLE); // Make the QR code visible
-        shareQRCodeButton.setVisibility(View.VISIBLE);
+        // Render off the main thread; the listeners are dropped if the activity stops first
+        QrCodeRenderer.getInstance().render(qrHash, ImageRendition.targetSizeOf(qrCodeImageView))
+                .addOnSuccessListener(this, qrBitmap -> {
+                    // Display the QR code in the ImageView
+                    qrCodeImageView.setImageBitmap(qrBitmap);
+                    qrCodeImageView.setVisibility(View.VISIBLE); // Make the QR code visible
+                    shareQRCodeButton.setVisibility(View.VISIBLE);
+                })
+                .addOnFailureListener(this, e ->
+                        Toast.makeText(this, "Failed to generate QR code: " + e.getMessage(), Toast.LENGTH_SHORT).show());
     }
 
     /**
@@ -591,6 +567,8 @@ public class EventDetailsOrganizerActivity extends AppCompatActivity implements
             @Override
             public void onSuccess() {
                 Toast.makeText(EventDetailsOrganizerActivity.this, "Event deleted successfully.", Toast.LENGTH_SHORT).show();
+                // Release the poster, which is deleted with its renditions once no other event uses it
+                ContentAddressedStore.getInstance(EventDetailsOrganizerActivity.this).release(event.getPosterImageUrl());
                 // Navigate back to OrganizerHomeActivity
                 Intent intent = new Intent(EventDetailsOrganizerActivity.this, OrganizerHomeActivity.class);
                 startActivity(intent);
@@ -0,0 +1,52 @@
+// File: EventMessagingService.java
+package com.example.potato1_events;
+
+import android.os.Handler;
+import android.os.Looper;
+import android.util.Log;
+
+import androidx.annotation.NonNull;
+
+import com.google.firebase.messaging.FirebaseMessagingService;
+import com.google.firebase.messaging.RemoteMessage;
+
+/**
+ * Receives FCM data messages announcing event status changes and hands them to the
+ * application's {@link EventStatusListener}, which fetches only the changed event.
+ * Token refreshes are forwarded as well, so the backend can keep addressing this device.
+ */
+public class EventMessagingService extends FirebaseMessagingService {
+
+    private static final String TAG = "EventMessagingService";
+
+    private final Handler mainHandler = new Handler(Looper.getMainLooper());
+
+    /**
+     * Called when a message is received while the app is in the foreground or for data-only messages.
+     * Runs on an FCM worker thread, so the message is handed to the listener on the main thread,
+     * where its Firestore callbacks also update the baselines.
+     *
+     * @param remoteMessage The received message.
+     */
+    @Override
+    public void onMessageReceived(@NonNull RemoteMessage remoteMessage) {
+        StatusUpdateMessage message = StatusUpdateMessage.fromData(remoteMessage.getData());
+        if (message == null) {
+            Log.w(TAG, "Ignoring unrecognised data message: " + remoteMessage.getData());
+            return;
+        }
+        Log.d(TAG, "Status update received for event: " + message.getEventId());
+        MyApplication application = (MyApplication) getApplication();
+        mainHandler.post(() -> application.getEventStatusListener().handlePushMessage(message));
+    }
+
+    /**
+     * Called when the FCM registration token changes.
+     *
+     * @param token The new token.
+     */
+    @Override
+    public void onNewToken(@NonNull String token) {
+        ((MyApplication) getApplication()).getEventStatusListener().saveFcmToken(token);
+    }
+}
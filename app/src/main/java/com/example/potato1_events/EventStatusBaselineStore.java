@@ -0,0 +1,187 @@
+// File: EventStatusBaselineStore.java
+package com.example.potato1_events;
+
+import android.content.Context;
+import android.content.SharedPreferences;
+import android.util.Log;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * On-disk store for the baselines {@link EventStatusListener} compares snapshots against.
+ * Keeping them across process restarts lets the listener report changes that happened while the
+ * process was gone, instead of silently adopting the current state as a fresh baseline.
+ * Organizer events are stored as encoded {@link EntrantStatusBaseline}s, which carry their own
+ * version watermark, so an unchanged event is skipped without diffing its entrants.
+ */
+public class EventStatusBaselineStore {
+
+    private static final String TAG = "EventStatusBaselineStore";
+    private static final String PREFS_NAME = "event_status_baselines";
+
+    private static final String KEY_STATUS = "status:";
+    private static final String KEY_FILLED = "filled:";
+    private static final String KEY_ENTRANTS = "entrants:";
+
+    private final SharedPreferences prefs;
+
+    /**
+     * Constructs a new EventStatusBaselineStore.
+     *
+     * @param context The context used to open the backing preferences file.
+     */
+    public EventStatusBaselineStore(Context context) {
+        prefs = context.getApplicationContext().getSharedPreferences(PREFS_NAME, Context.MODE_PRIVATE);
+    }
+
+    /**
+     * Loads the current user's last known status in every joined event.
+     *
+     * @return Map of event IDs to statuses.
+     */
+    public Map<String, String> loadStatuses() {
+        Map<String, String> statuses = new HashMap<>();
+        for (Map.Entry<String, ?> entry : prefs.getAll().entrySet()) {
+            if (entry.getKey().startsWith(KEY_STATUS) && entry.getValue() instanceof String) {
+                statuses.put(entry.getKey().substring(KEY_STATUS.length()), (String) entry.getValue());
+            }
+        }
+        return statuses;
+    }
+
+    /**
+     * Loads the last known waitingListFilled value of every organizer event.
+     *
+     * @return Map of event IDs to waitingListFilled values.
+     */
+    public Map<String, Boolean> loadWaitingListFilledValues() {
+        Map<String, Boolean> values = new HashMap<>();
+        for (Map.Entry<String, ?> entry : prefs.getAll().entrySet()) {
+            if (entry.getKey().startsWith(KEY_FILLED) && entry.getValue() instanceof Boolean) {
+                values.put(entry.getKey().substring(KEY_FILLED.length()), (Boolean) entry.getValue());
+            }
+        }
+        return values;
+    }
+
+    /**
+     * Loads the entrant baseline of every organizer event.
+     *
+     * @return Map of event IDs to entrant baselines.
+     */
+    public Map<String, EntrantStatusBaseline> loadEntrantBaselines() {
+        Map<String, EntrantStatusBaseline> baselines = new HashMap<>();
+        for (Map.Entry<String, ?> entry : prefs.getAll().entrySet()) {
+            if (entry.getKey().startsWith(KEY_ENTRANTS) && entry.getValue() instanceof String) {
+                EntrantStatusBaseline baseline = EntrantStatusBaseline.decode((String) entry.getValue());
+                if (baseline != null) {
+                    baselines.put(entry.getKey().substring(KEY_ENTRANTS.length()), baseline);
+                } else {
+                    Log.w(TAG, "Discarding unreadable entrant baseline: " + entry.getKey());
+                }
+            }
+        }
+        return baselines;
+    }
+
+    /**
+     * Saves the current user's status in a joined event.
+     *
+     * @param eventId The ID of the event.
+     * @param status  The user's status.
+     */
+    public void saveStatus(String eventId, String status) {
+        prefs.edit().putString(KEY_STATUS + eventId, status).apply();
+    }
+
+    /**
+     * Saves the waitingListFilled value of an organizer event.
+     *
+     * @param eventId           The ID of the event.
+     * @param waitingListFilled The waitingListFilled value, or null to clear it.
+     */
+    public void saveWaitingListFilled(String eventId, Boolean waitingListFilled) {
+        if (waitingListFilled == null) {
+            prefs.edit().remove(KEY_FILLED + eventId).apply();
+        } else {
+            prefs.edit().putBoolean(KEY_FILLED + eventId, waitingListFilled).apply();
+        }
+    }
+
+    /**
+     * Saves the entrant baseline of an organizer event.
+     *
+     * @param eventId  The ID of the event.
+     * @param baseline The entrant baseline.
+     */
+    public void saveEntrantBaseline(String eventId, EntrantStatusBaseline baseline) {
+        prefs.edit().putString(KEY_ENTRANTS + eventId, baseline.encode()).apply();
+    }
+
+    /**
+     * Removes the joined-event baseline of an event.
+     *
+     * @param eventId The ID of the event.
+     */
+    public void removeStatus(String eventId) {
+        prefs.edit().remove(KEY_STATUS + eventId).apply();
+    }
+
+    /**
+     * Removes every baseline stored for an organizer event.
+     *
+     * @param eventId The ID of the event.
+     */
+    public void removeOrganizerEvent(String eventId) {
+        prefs.edit()
+                .remove(KEY_FILLED + eventId)
+                .remove(KEY_ENTRANTS + eventId)
+                .apply();
+    }
+
+    /**
+     * Removes the joined-event baselines of every event the user is no longer an entrant of.
+     * Events left while nothing was listening are never seen leaving, so this is the only place
+     * their baselines go away.
+     *
+     * @param joinedEventIds The IDs of the events the user has currently joined.
+     */
+    public void retainStatuses(Collection<String> joinedEventIds) {
+        retain(joinedEventIds, KEY_STATUS);
+    }
+
+    /**
+     * Removes the baselines of every organizer event that no longer belongs to the user,
+     * such as events deleted while nothing was listening.
+     *
+     * @param organizedEventIds The IDs of the events the user currently organizes.
+     */
+    public void retainOrganizerEvents(Collection<String> organizedEventIds) {
+        retain(organizedEventIds, KEY_FILLED, KEY_ENTRANTS);
+    }
+
+    /**
+     * Removes every key with one of the given prefixes whose event ID is not in the given set.
+     *
+     * @param eventIds The event IDs to keep.
+     * @param prefixes The key prefixes to prune.
+     */
+    private void retain(Collection<String> eventIds, String... prefixes) {
+        SharedPreferences.Editor editor = prefs.edit();
+        int removed = 0;
+        for (String key : prefs.getAll().keySet()) {
+            for (String prefix : prefixes) {
+                if (key.startsWith(prefix) && !eventIds.contains(key.substring(prefix.length()))) {
+                    editor.remove(key);
+                    removed++;
+                }
+            }
+        }
+        if (removed > 0) {
+            editor.apply();
+            Log.d(TAG, "Pruned " + removed + " stale baseline(s)");
+        }
+    }
+}
@@ -18,11 +18,16 @@ import androidx.core.app.NotificationCompat;
 import androidx.core.app.NotificationManagerCompat;
 
 import com.google.firebase.firestore.*;
+import com.google.firebase.messaging.FirebaseMessaging;
 
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Date;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
 
 /**
  * Class that listens for status changes in events the user has joined and events they have organized.
@@ -32,6 +37,15 @@ public class EventStatusListener {
     private static final String TAG = "EventStatusListener";
     private static final String CHANNEL_ID = "event_status_notifications_channel";
 
+    // How long entrant responses are buffered before a digest is posted
+    private static final long DIGEST_WINDOW_MILLIS = 5000;
+
+    // Minimum time between two digests posted on the status channel
+    private static final long DIGEST_MIN_INTERVAL_MILLIS = 15000;
+
+    // Preference that switches from always-on snapshot listeners to FCM data messages
+    static final String PREF_PUSH_DELIVERY_ENABLED = "push_delivery_enabled";
+
     private FirebaseFirestore firestore;
     private String currentUserId;
     private Context context;
@@ -40,7 +54,8 @@ public class EventStatusListener {
     // Map to keep track of previous statuses for each event the user has joined
     private Map<String, String> previousStatuses;
 
-    private Map<String, Map<String, String>> previousEntrantStatuses;
+    // Compact per-event fingerprints of the entrants' statuses for organizer events
+    private Map<String, EntrantStatusBaseline> previousEntrantStatuses;
 
     // Map to keep track of previous waitingListFilled values for organizer events
     private Map<String, Boolean> previousWaitingListFilledValues;
@@ -48,24 +63,109 @@ public class EventStatusListener {
     // Map to keep track of event listeners (one per event)
     private Map<String, ListenerRegistration> eventListeners;
 
+    // Groups entrant responses on organizer events into digest notifications; created on first use
+    private NotificationCoalescer entrantStatusCoalescer;
+
+    // Thread the digests are posted from, shut down by stopListening
+    private ScheduledExecutorService digestScheduler;
+
+    // Keeps the maps above on disk so changes made while the process was gone are still reported
+    private EventStatusBaselineStore baselineStore;
+
+    // True after stopListening cleared the in-memory baselines
+    private boolean stopped;
+
+    // True until the loaded baselines have been compared with the user's current joined/organized events
+    private boolean joinedBaselinesUnpruned;
+    private boolean organizedBaselinesUnpruned;
+
     public EventStatusListener(Context context) {
+        this(context, FirebaseFirestore.getInstance());
+    }
+
+    /**
+     * Constructs a listener that reads and writes through the given Firestore instance.
+     *
+     * @param context   The context used for preferences and system notifications.
+     * @param firestore The FirebaseFirestore instance to use.
+     */
+    EventStatusListener(Context context, FirebaseFirestore firestore) {
         this.context = context.getApplicationContext();
-        firestore = FirebaseFirestore.getInstance();
+        this.firestore = firestore;
         // It's highly recommended to use Firebase Authentication for user IDs.
         // Here, we're using device ID as per your current implementation.
         currentUserId = Settings.Secure.getString(context.getContentResolver(), Settings.Secure.ANDROID_ID);
         listenerRegistrations = new ArrayList<>();
-        previousStatuses = new HashMap<>();
-        previousWaitingListFilledValues = new HashMap<>();
-        previousEntrantStatuses = new HashMap<>();
+        baselineStore = new EventStatusBaselineStore(context);
+        loadBaselines();
         eventListeners = new HashMap<>();
         createNotificationChannel();
     }
 
+    /**
+     * Loads the baselines saved by this or a previous process, so changes made while nothing was
+     * listening are still reported.
+     */
+    private void loadBaselines() {
+        previousStatuses = baselineStore.loadStatuses();
+        previousWaitingListFilledValues = baselineStore.loadWaitingListFilledValues();
+        previousEntrantStatuses = baselineStore.loadEntrantBaselines();
+        joinedBaselinesUnpruned = true;
+        organizedBaselinesUnpruned = true;
+    }
+
+    /**
+     * Drops the baselines of events the user left while nothing was listening, the first time the
+     * complete list of joined events is known after loading. Otherwise a stale status would be
+     * compared against if the user rejoined the event.
+     *
+     * @param eventsJoined The IDs of the events the user has currently joined.
+     */
+    private void pruneJoinedBaselines(List<String> eventsJoined) {
+        if (!joinedBaselinesUnpruned) {
+            return;
+        }
+        joinedBaselinesUnpruned = false;
+        previousStatuses.keySet().retainAll(eventsJoined);
+        baselineStore.retainStatuses(eventsJoined);
+    }
+
+    /**
+     * Drops the baselines of organizer events deleted or handed over while nothing was listening,
+     * the first time the complete list of organized events is known after loading.
+     *
+     * @param organizedEvents The events the user currently organizes.
+     */
+    private void pruneOrganizedBaselines(List<DocumentSnapshot> organizedEvents) {
+        if (!organizedBaselinesUnpruned) {
+            return;
+        }
+        organizedBaselinesUnpruned = false;
+        List<String> eventIds = new ArrayList<>();
+        for (DocumentSnapshot document : organizedEvents) {
+            eventIds.add(document.getId());
+        }
+        previousWaitingListFilledValues.keySet().retainAll(eventIds);
+        previousEntrantStatuses.keySet().retainAll(eventIds);
+        baselineStore.retainOrganizerEvents(eventIds);
+    }
+
     /**
      * Starts listening to events the user has joined and organized.
+     * In push delivery mode no snapshot listeners are attached; see {@link #startPushMode()}.
      */
     public void startListening() {
+        if (stopped) {
+            // Restarting after stopListening; resume from the persisted baselines instead of starting cold
+            loadBaselines();
+            stopped = false;
+        }
+
+        if (isPushDeliveryEnabled()) {
+            startPushMode();
+            return;
+        }
+
         // Listener for the user's document to monitor changes in eventsJoined
         ListenerRegistration userDocListener = firestore.collection("Users").document(currentUserId)
                 .addSnapshotListener((documentSnapshot, e) -> {
@@ -76,12 +176,15 @@ public class EventStatusListener {
 
                     if (documentSnapshot != null && documentSnapshot.exists()) {
                         List<String> eventsJoined = (List<String>) documentSnapshot.get("eventsJoined");
-                        if (eventsJoined != null) {
-                            updateEventListeners(eventsJoined);
-                        } else {
+                        if (eventsJoined == null) {
                             // If eventsJoined is null, remove all existing event listeners
-                            updateEventListeners(new ArrayList<>());
+                            eventsJoined = new ArrayList<>();
+                        }
+                        // A cached snapshot may be out of date, so only prune against the server's list
+                        if (!documentSnapshot.getMetadata().isFromCache()) {
+                            pruneJoinedBaselines(eventsJoined);
                         }
+                        updateEventListeners(eventsJoined);
                     }
                 });
         listenerRegistrations.add(userDocListener);
@@ -96,15 +199,140 @@ public class EventStatusListener {
                     }
 
                     if (snapshots != null) {
+                        if (!snapshots.getMetadata().isFromCache()) {
+                            pruneOrganizedBaselines(snapshots.getDocuments());
+                        }
                         for (DocumentChange dc : snapshots.getDocumentChanges()) {
                             DocumentSnapshot document = dc.getDocument();
-                            handleOrganizerEventChange(document);
+                            if (dc.getType() == DocumentChange.Type.REMOVED || isEventFinished(document)) {
+                                // Deleted or finished events no longer need a baseline
+                                evictOrganizerEvent(document.getId());
+                            } else {
+                                handleOrganizerEventChange(document);
+                            }
                         }
                     }
                 });
         listenerRegistrations.add(organizerRegistration);
     }
 
+    /**
+     * Starts push delivery mode: registers this device's FCM token and catches up once on
+     * changes made since the last run. After that, work only happens when a data message arrives.
+     */
+    private void startPushMode() {
+        Log.d(TAG, "Push delivery enabled, not attaching snapshot listeners.");
+        FirebaseMessaging.getInstance().getToken()
+                .addOnSuccessListener(this::saveFcmToken)
+                .addOnFailureListener(e -> Log.e(TAG, "Error fetching FCM token", e));
+        catchUp();
+    }
+
+    /**
+     * Reads the user's joined and organized events once and compares them with the stored baselines,
+     * reporting anything that changed while no messages could be received.
+     */
+    private void catchUp() {
+        firestore.collection("Users").document(currentUserId).get()
+                .addOnSuccessListener(userDoc -> {
+                    List<String> eventsJoined = (List<String>) userDoc.get("eventsJoined");
+                    if (eventsJoined == null) {
+                        eventsJoined = new ArrayList<>();
+                    }
+                    if (!userDoc.getMetadata().isFromCache()) {
+                        pruneJoinedBaselines(eventsJoined);
+                    }
+                    for (String eventId : eventsJoined) {
+                        fetchJoinedEvent(eventId);
+                    }
+                })
+                .addOnFailureListener(e -> Log.w(TAG, "Catch-up of joined events failed.", e));
+
+        firestore.collection("Events")
+                .whereEqualTo("facilityId", currentUserId)
+                .get()
+                .addOnSuccessListener(snapshots -> {
+                    if (!snapshots.getMetadata().isFromCache()) {
+                        pruneOrganizedBaselines(snapshots.getDocuments());
+                    }
+                    for (DocumentSnapshot document : snapshots.getDocuments()) {
+                        if (isEventFinished(document)) {
+                            evictOrganizerEvent(document.getId());
+                        } else {
+                            handleOrganizerEventChange(document);
+                        }
+                    }
+                })
+                .addOnFailureListener(e -> Log.w(TAG, "Catch-up of organized events failed.", e));
+    }
+
+    /**
+     * Applies a status update delivered as an FCM data message by fetching the one changed event.
+     * The message only says which event changed, so the status compared against the baseline is
+     * always the one stored in Firestore. Must be called on the main thread, like the Firestore callbacks.
+     *
+     * @param message The status update.
+     */
+    public void handlePushMessage(StatusUpdateMessage message) {
+        String eventId = message.getEventId();
+        switch (message.getType()) {
+            case StatusUpdateMessage.TYPE_STATUS_CHANGE:
+                fetchJoinedEvent(eventId);
+                break;
+            case StatusUpdateMessage.TYPE_ENTRANT_STATUS:
+            case StatusUpdateMessage.TYPE_DRAW_PERFORMED:
+                firestore.collection("Events").document(eventId).get()
+                        .addOnSuccessListener(document -> {
+                            if (!document.exists() || isEventFinished(document)) {
+                                evictOrganizerEvent(eventId);
+                            } else {
+                                handleOrganizerEventChange(document);
+                            }
+                        })
+                        .addOnFailureListener(e -> Log.w(TAG, "Fetching pushed event failed: " + eventId, e));
+                break;
+        }
+    }
+
+    /**
+     * Fetches one joined event and processes the user's status in it.
+     *
+     * @param eventId The ID of the event.
+     */
+    private void fetchJoinedEvent(String eventId) {
+        firestore.collection("Events").document(eventId).get()
+                .addOnSuccessListener(document -> {
+                    if (document.exists()) {
+                        handleStatusChange(eventId, document);
+                    }
+                })
+                .addOnFailureListener(e -> Log.w(TAG, "Fetching joined event failed: " + eventId, e));
+    }
+
+    /**
+     * Stores this device's FCM registration token on the user's document, so status updates can be pushed to it.
+     *
+     * @param token The FCM registration token.
+     */
+    public void saveFcmToken(String token) {
+        Map<String, Object> update = new HashMap<>();
+        update.put("fcmToken", token);
+        firestore.collection("Users").document(currentUserId)
+                .set(update, SetOptions.merge())
+                .addOnSuccessListener(aVoid -> Log.d(TAG, "FCM token saved"))
+                .addOnFailureListener(e -> Log.e(TAG, "Error saving FCM token", e));
+    }
+
+    /**
+     * Checks if push delivery mode is enabled.
+     *
+     * @return True if status updates arrive as FCM data messages instead of snapshot listeners.
+     */
+    private boolean isPushDeliveryEnabled() {
+        SharedPreferences prefs = PreferenceManager.getDefaultSharedPreferences(context);
+        return prefs.getBoolean(PREF_PUSH_DELIVERY_ENABLED, false);
+    }
+
     /**
      * Updates event listeners based on the new list of eventsJoined.
      *
@@ -157,6 +385,7 @@ public class EventStatusListener {
         if (registration != null) {
             registration.remove();
             previousStatuses.remove(eventId);
+            baselineStore.removeStatus(eventId);
             Log.d(TAG, "Removed listener for event: " + eventId);
         }
     }
@@ -173,12 +402,24 @@ public class EventStatusListener {
         // Get the user's status in this event
         String status = (String) eventSnapshot.get("entrants." + currentUserId);
 
+        processStatus(eventId, eventName, status);
+    }
+
+    /**
+     * Compares the user's status in an event with the stored baseline and notifies on a change.
+     *
+     * @param eventId   The ID of the event.
+     * @param eventName The name of the event.
+     * @param status    The user's current status, or null if they are not an entrant.
+     */
+    private void processStatus(String eventId, String eventName, String status) {
         if (status != null) {
             String previousStatus = previousStatuses.get(eventId);
 
             if (previousStatus == null) {
                 // First time seeing this event, store the status but do not send a notification
                 previousStatuses.put(eventId, status);
+                baselineStore.saveStatus(eventId, status);
                 Log.d(TAG, "Initial status for event " + eventId + ": " + status + ", no notification sent.");
             } else if (!status.equals(previousStatus)) {
                 // Status has changed
@@ -189,6 +430,7 @@ public class EventStatusListener {
                 saveNotificationToFirestore(eventId, eventName, status);
                 // Update previous status
                 previousStatuses.put(eventId, status);
+                baselineStore.saveStatus(eventId, status);
             } else {
                 // Status remains the same
                 Log.d(TAG, "Status for event " + eventId + " remains " + status + ", no notification sent.");
@@ -216,6 +458,7 @@ public class EventStatusListener {
         if (previousValue == null) {
             // Store the current value and do not send a notification
             previousWaitingListFilledValues.put(eventId, waitingListFilled);
+            baselineStore.saveWaitingListFilled(eventId, waitingListFilled);
             Log.d(TAG, "Initial waitingListFilled value for event " + eventId + ": " + waitingListFilled);
         } else {
             // Compare previous and current values
@@ -231,112 +474,106 @@ public class EventStatusListener {
 
                 // Update the previous value
                 previousWaitingListFilledValues.put(eventId, waitingListFilled);
+                baselineStore.saveWaitingListFilled(eventId, waitingListFilled);
             }
 
         }
         // Handle entrants' status changes
-
-        Map<String, Object> entrants = (Map<String, Object>) eventSnapshot.get("entrants");
+        Map<String, String> entrants = (Map<String, String>) eventSnapshot.get("entrants");
 
         if (entrants != null) {
+            EntrantStatusBaseline currentBaseline = EntrantStatusBaseline.of(entrants);
+            EntrantStatusBaseline previousBaseline = previousEntrantStatuses.get(eventId);
 
-            Map<String, String> currentEntrantStatuses = new HashMap<>();
-
-            for (Map.Entry<String, Object> entry : entrants.entrySet()) {
-
-                String entrantId = entry.getKey();
-
-                String status = (String) entry.getValue();
-
-                currentEntrantStatuses.put(entrantId, status);
-
-            }
-
-
-
-            Map<String, String> previousEntrantStatus = previousEntrantStatuses.get(eventId);
-
-            if (previousEntrantStatus == null) {
-
+            if (previousBaseline == null) {
                 // First time, store but don't notify
-
-                previousEntrantStatuses.put(eventId, currentEntrantStatuses);
-
                 Log.d(TAG, "Initial entrants' statuses for event " + eventId);
-
+            } else if (previousBaseline.getVersion() == currentBaseline.getVersion()) {
+                // Same entrants map as the last one processed, nothing to diff
+                Log.d(TAG, "Entrants unchanged for event " + eventId + " at version " + currentBaseline.getVersion());
+                return;
             } else {
-
-                for (Map.Entry<String, String> entry : currentEntrantStatuses.entrySet()) {
-
+                for (Map.Entry<String, String> entry : entrants.entrySet()) {
                     String entrantId = entry.getKey();
-
                     String currentStatus = entry.getValue();
+                    int previousCode = previousBaseline.statusCodeOf(entrantId);
 
-                    String prevStatus = previousEntrantStatus.get(entrantId);
-
-
-
-                    if (prevStatus == null) {
-
-                        // New entrant, add to previous without notification
-
-                        previousEntrantStatus.put(entrantId, currentStatus);
-
+                    if (previousCode == EntrantStatusBaseline.ABSENT) {
+                        // New entrant, tracked from now on without notification
                         Log.d(TAG, "New entrant " + entrantId + " with status " + currentStatus + " for event " + eventId);
-
-                    } else if (!currentStatus.equals(prevStatus)) {
-
-                        // Status changed
-
-                        if (currentStatus.equalsIgnoreCase("Accepted") || currentStatus.equalsIgnoreCase("Declined")) {
-
-                            // Fetch entrant name
-
-                            firestore.collection("Users").document(entrantId).get()
-
-                                    .addOnSuccessListener(userDoc -> {
-
-                                        String entrantName = userDoc.getString("name");
-
-                                        if (entrantName == null || entrantName.isEmpty()) {
-
-                                            entrantName = entrantId;
-
-                                        }
-
-                                        createOrganizerEntrantStatusNotification(eventId, eventName, entrantName, currentStatus);
-
-                                        // No need to save to Firestore as NotificationsActivity handles it
-
-                                    })
-
-                                    .addOnFailureListener(e -> {
-
-                                        Log.e(TAG, "Error fetching entrant name for ID: " + entrantId, e);
-
-                                        createOrganizerEntrantStatusNotification(eventId, eventName, entrantId, currentStatus);
-
-                                        // No need to save to Firestore as NotificationsActivity handles it
-
-                                    });
-
-                        }
-
-
-
-                        // Update status
-
-                        previousEntrantStatus.put(entrantId, currentStatus);
-
+                    } else if (previousCode != EntrantStatusBaseline.statusCode(currentStatus)
+                            && ("Accepted".equalsIgnoreCase(currentStatus) || "Declined".equalsIgnoreCase(currentStatus))) {
+                        // Buffer the change; a burst of responses is reported as one digest
+                        entrantStatusCoalescer().add(eventId, eventName, entrantId, currentStatus);
                     }
-
                 }
+            }
 
-                previousEntrantStatuses.put(eventId, previousEntrantStatus);
+            // Replace the baseline; entrants that left the event are dropped with it
+            previousEntrantStatuses.put(eventId, currentBaseline);
+            baselineStore.saveEntrantBaseline(eventId, currentBaseline);
+        }
+    }
 
+    /**
+     * Checks whether an event has already ended, after which its statuses no longer matter.
+     *
+     * @param eventSnapshot The snapshot of the event document.
+     * @return True if the event has an end date in the past.
+     */
+    private boolean isEventFinished(DocumentSnapshot eventSnapshot) {
+        Date endDate = eventSnapshot.getDate("endDate");
+        return endDate != null && endDate.before(new Date());
+    }
+
+    /**
+     * Forgets everything tracked for an organizer event, in memory and on disk.
+     *
+     * @param eventId The ID of the event.
+     */
+    private void evictOrganizerEvent(String eventId) {
+        previousWaitingListFilledValues.remove(eventId);
+        previousEntrantStatuses.remove(eventId);
+        synchronized (this) {
+            if (entrantStatusCoalescer != null) {
+                entrantStatusCoalescer.clear(eventId);
             }
+        }
+        baselineStore.removeOrganizerEvent(eventId);
+        Log.d(TAG, "Evicted state for organizer event: " + eventId);
+    }
 
+    /**
+     * Posts the notification for a group of entrants whose status changed within one digest window.
+     * A single change is reported with the entrant's name; larger groups get one summary notification
+     * and skip the per-entrant name lookups.
+     *
+     * @param eventId    The ID of the event.
+     * @param eventName  The name of the event.
+     * @param status     The new status shared by the entrants.
+     * @param entrantIds The IDs of the entrants.
+     */
+    private void handleEntrantStatusDigest(String eventId, String eventName, String status, List<String> entrantIds) {
+        if (entrantIds.size() > 1) {
+            createOrganizerEntrantDigestNotification(eventId, eventName, status, entrantIds.size());
+            return;
         }
+
+        String entrantId = entrantIds.get(0);
+        firestore.collection("Users").document(entrantId).get()
+                .addOnSuccessListener(userDoc -> {
+                    String entrantName = userDoc.getString("name");
+                    if (entrantName == null || entrantName.isEmpty()) {
+                        entrantName = entrantId;
+                    }
+                    createOrganizerEntrantStatusNotification(eventId, eventName, entrantName, status);
+                    // No need to save to Firestore as NotificationsActivity handles it
+                })
+                .addOnFailureListener(e -> {
+                    Log.e(TAG, "Error fetching entrant name for ID: " + entrantId, e);
+                    createOrganizerEntrantStatusNotification(eventId, eventName, entrantId, status);
+                    // No need to save to Firestore as NotificationsActivity handles it
+                });
     }
 
     /**
@@ -395,19 +632,12 @@ public class EventStatusListener {
      * @param status    The new status of the user.
      */
     private void saveNotificationToFirestore(String eventId, String eventName, String status) {
-        NotificationItem notification = new NotificationItem();
-        notification.setTitle("Event Status Update");
-        notification.setMessage("Your status for event \"" + eventName + "\" has changed to " + status + ".");
-        notification.setEventId(eventId);
-        notification.setUserId(currentUserId);
-        notification.setType("status_change");
-        notification.setRead(false);
-        notification.setStatus(status);
-
-        firestore.collection("Notifications")
-                .add(notification)
-                .addOnSuccessListener(documentReference -> {
-                    Log.d(TAG, "Notification saved to Firestore with ID: " + documentReference.getId());
+        // Same deterministic ID as the draw fan-out, so both paths write the same document
+        NotificationItem notification = NotificationFanOut.buildStatusChangeNotification(eventId, eventName, currentUserId, status);
+
+        NotificationFanOut.mergeContent(firestore, Collections.singletonList(notification))
+                .addOnSuccessListener(aVoid -> {
+                    Log.d(TAG, "Notification saved to Firestore with ID: " + notification.getId());
                 })
                 .addOnFailureListener(e -> {
                     Log.e(TAG, "Error saving notification to Firestore", e);
@@ -468,18 +698,12 @@ public class EventStatusListener {
      * @param eventName The name of the event.
      */
     private void saveOrganizerNotificationToFirestore(String eventId, String eventName) {
-        NotificationItem notification = new NotificationItem();
-        notification.setTitle("Random Draw Performed");
-        notification.setMessage("Random draw has been performed for your event \"" + eventName + "\".");
-        notification.setEventId(eventId);
-        notification.setUserId(currentUserId);
-        notification.setType("organizer_update");
-        notification.setRead(false);
-
-        firestore.collection("Notifications")
-                .add(notification)
-                .addOnSuccessListener(documentReference -> {
-                    Log.d(TAG, "Organizer notification saved to Firestore with ID: " + documentReference.getId());
+        // Same deterministic ID as the draw fan-out, so both paths write the same document
+        NotificationItem notification = NotificationFanOut.buildDrawPerformedNotification(eventId, eventName, currentUserId);
+
+        NotificationFanOut.mergeContent(firestore, Collections.singletonList(notification))
+                .addOnSuccessListener(aVoid -> {
+                    Log.d(TAG, "Organizer notification saved to Firestore with ID: " + notification.getId());
                 })
                 .addOnFailureListener(e -> {
                     Log.e(TAG, "Error saving organizer notification to Firestore", e);
@@ -551,6 +775,56 @@ public class EventStatusListener {
         Log.d(TAG, "Entrant status notification displayed for event: " + eventId + ", entrant: " + entrantName + ", status: " + status);
     }
 
+    /**
+     * Creates a single summary notification for the organizer when several entrants responded at once.
+     *
+     * @param eventId   The ID of the event.
+     * @param eventName The name of the event.
+     * @param status    The new status shared by the entrants.
+     * @param count     How many entrants changed to that status.
+     */
+    private void createOrganizerEntrantDigestNotification(String eventId, String eventName, String status, int count) {
+        if (!isPushNotificationsEnabled()) {
+            Log.d(TAG, "Push notifications are disabled. Skipping notification for event: " + eventId);
+            return;
+        }
+        Intent intent = new Intent(context, NotificationsActivity.class);
+        intent.addFlags(Intent.FLAG_ACTIVITY_CLEAR_TOP);
+        intent.putExtra("EVENT_ID", eventId);
+
+        PendingIntent pendingIntent = PendingIntent.getActivity(
+                context,
+                0,
+                intent,
+                PendingIntent.FLAG_UPDATE_CURRENT | PendingIntent.FLAG_IMMUTABLE
+        );
+
+        String title = "Entrants " + status;
+        String message = count + " entrants have " + status.toLowerCase() + " your event \"" + eventName + "\".";
+
+        NotificationCompat.Builder builder = new NotificationCompat.Builder(context, CHANNEL_ID)
+                .setSmallIcon(R.drawable.ic_notifications) // Ensure this icon exists
+                .setContentTitle(title)
+                .setContentText(message)
+                .setNumber(count)
+                .setPriority(NotificationCompat.PRIORITY_HIGH)
+                .setContentIntent(pendingIntent)
+                .setAutoCancel(true);
+
+        NotificationManagerCompat notificationManager = NotificationManagerCompat.from(context);
+        int notificationId = ("entrantDigest_" + eventId + "_" + status).hashCode(); // Later digests replace this one
+
+        if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.TIRAMISU) {
+            if (ActivityCompat.checkSelfPermission(context, android.Manifest.permission.POST_NOTIFICATIONS) != PackageManager.PERMISSION_GRANTED) {
+                Log.w(TAG, "Notification permission not granted.");
+                return;
+            }
+        }
+
+        notificationManager.notify(notificationId, builder.build());
+        Log.d(TAG, "Entrant digest notification displayed for event: " + eventId + ", " + count + " entrants " + status);
+    }
+
     /**
      * Checks if push notifications are enabled.
      *
@@ -561,17 +835,48 @@ public class EventStatusListener {
         return prefs.getBoolean("push_notifications_enabled", true);
     }
 
+    /**
+     * Retrieves the entrant status coalescer, creating it and its digest thread if needed.
+     *
+     * @return The coalescer.
+     */
+    private synchronized NotificationCoalescer entrantStatusCoalescer() {
+        if (entrantStatusCoalescer == null) {
+            digestScheduler = Executors.newSingleThreadScheduledExecutor();
+            entrantStatusCoalescer = new NotificationCoalescer(digestScheduler,
+                    DIGEST_WINDOW_MILLIS, DIGEST_MIN_INTERVAL_MILLIS, this::handleEntrantStatusDigest);
+        }
+        return entrantStatusCoalescer;
+    }
+
     /**
      * Stops listening to events and removes all listeners.
      */
     public void stopListening() {
+        // Post whatever is still buffered rather than dropping it, then release the digest thread
+        NotificationCoalescer coalescer;
+        ScheduledExecutorService scheduler;
+        synchronized (this) {
+            coalescer = entrantStatusCoalescer;
+            scheduler = digestScheduler;
+            entrantStatusCoalescer = null;
+            digestScheduler = null;
+        }
+        if (coalescer != null) {
+            coalescer.flush();
+            scheduler.shutdown();
+        }
+
         // Remove event listeners
         for (ListenerRegistration registration : eventListeners.values()) {
             registration.remove();
         }
         eventListeners.clear();
+        // The baselines stay on disk and are reloaded by the next startListening
         previousStatuses.clear();
         previousWaitingListFilledValues.clear();
+        previousEntrantStatuses.clear();
+        stopped = true;
 
         // Remove other listeners
         for (ListenerRegistration registration : listenerRegistrations) {
@@ -6,6 +6,7 @@ import androidx.annotation.NonNull;
 import androidx.appcompat.app.ActionBar;
 import androidx.appcompat.app.ActionBarDrawerToggle;
 import androidx.appcompat.app.AppCompatActivity;
+import androidx.appcompat.widget.SearchView;
 import androidx.appcompat.widget.Toolbar;
 import androidx.core.view.GravityCompat;
 import androidx.drawerlayout.widget.DrawerLayout;
@@ -29,6 +30,7 @@ import com.google.android.gms.maps.GoogleMap;
 import com.google.android.gms.maps.OnMapReadyCallback;
 import com.google.android.gms.maps.SupportMapFragment;
 import com.google.android.gms.maps.model.LatLng;
+import com.google.android.gms.maps.model.LatLngBounds;
 import com.google.android.gms.maps.model.Marker;
 import com.google.android.gms.maps.model.MarkerOptions;
 import com.google.android.gms.tasks.Task;
@@ -38,11 +40,15 @@ import com.google.firebase.firestore.DocumentReference;
 import com.google.firebase.firestore.DocumentSnapshot;
 import com.google.firebase.firestore.FirebaseFirestore;
 import com.google.firebase.firestore.GeoPoint;
+import com.google.firebase.firestore.WriteBatch;
 
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
 /**
  * Activity to display the list of entrants on the waiting list for an event with filtering capabilities.
@@ -78,15 +84,61 @@ public class EventWaitingListActivity extends AppCompatActivity implements Navig
     private UserAdapter userAdapter;
 
     /**
-     * List holding all users fetched from Firestore.
+     * Index of every fetched entrant by status, kept in sync with the event's entrants map.
      */
-    private List<User> fullUserList; // Holds all users fetched
+    private EntrantStatusIndex statusIndex = new EntrantStatusIndex();
 
     /**
      * List holding users after applying filters.
      */
     private List<User> filteredUserList; // Holds users after filtering
 
+    /**
+     * Statuses currently selected in the filter; empty means every entrant.
+     */
+    private List<String> selectedStatuses = new ArrayList<>();
+
+    /**
+     * Whether the entrants have been fetched once, after which updates are applied incrementally.
+     */
+    private boolean entrantsLoaded = false;
+
+    /**
+     * Whether the first full fetch of the entrants is running; snapshots arriving meanwhile do not start another.
+     */
+    private boolean entrantsFetchInFlight = false;
+
+    /**
+     * The latest event snapshot that arrived while the first fetch was running, applied once it lands.
+     */
+    private Event eventUpdatedDuringFetch;
+
+    /**
+     * Search index over entrant name, email and phone number.
+     */
+    private EntrantSearchIndex searchIndex = new EntrantSearchIndex();
+
+    /**
+     * Background thread that maintains and queries the search index, in submission order.
+     */
+    private ExecutorService searchExecutor = Executors.newSingleThreadExecutor();
+
+    /**
+     * Current search text, and the IDs of the entrants matching it (null when not searching).
+     */
+    private String searchQuery = "";
+    private Set<String> searchMatches = null;
+
+    /**
+     * Incremented for every search, so results of outdated searches are discarded.
+     */
+    private int searchGeneration = 0;
+
+    /**
+     * Status options offered by the filter, excluding the "All" and "Multiple..." entries.
+     */
+    private static final String[] STATUS_OPTIONS = {"Selected", "Not Selected", "Accepted", "Declined", "Waitlist", "Cancelled", "Left"};
+
     /**
      * Spinner to filter entrants based on their status.
      */
@@ -117,9 +169,67 @@ public class EventWaitingListActivity extends AppCompatActivity implements Navig
     private FrameLayout mapContainer;
 
     /**
-     * Map to keep track of markers associated with each entrant using their userId.
+     * Clusters entrant locations per zoom level.
+     */
+    private MarkerClusterEngine clusterEngine = new MarkerClusterEngine();
+
+    /**
+     * Markers currently on the map, keyed by cluster key. Only visible clusters are materialized.
+     */
+    private Map<String, Marker> clusterMarkersMap = new HashMap<>();
+
+    /**
+     * Background thread that computes clusters.
      */
-    private Map<String, Marker> entrantsMarkersMap = new HashMap<>();
+    private ExecutorService clusterExecutor = Executors.newSingleThreadExecutor();
+
+    /**
+     * Incremented for every cluster render, so results of outdated renders are discarded.
+     */
+    private int clusterGeneration = 0;
+
+    /**
+     * Geohash index the map loads entrant locations from, one viewport at a time.
+     */
+    private EntrantLocationIndex locationIndex;
+
+    /**
+     * Whether the camera has been moved to the entrants. Viewport loads wait for it,
+     * so the initial world view does not scan every location.
+     */
+    private boolean cameraPositioned = false;
+
+    /**
+     * Below this zoom the viewport covers too much of the world to scan; entrants are shown as
+     * per-region counts from {@link #worldDensity} instead.
+     */
+    private static final float MIN_VIEWPORT_ZOOM = 4;
+
+    /**
+     * Closest zoom the camera opens at, for entrants who are all in one spot.
+     */
+    private static final float MAX_ENTRANTS_ZOOM = 15;
+
+    /**
+     * Number of indexed entrants in each first-level geohash cell, counted on the server the first time
+     * the map is zoomed out below {@link #MIN_VIEWPORT_ZOOM} and kept until the entrants are reloaded.
+     */
+    private Map<String, Long> worldDensity;
+
+    /**
+     * Whether {@link #worldDensity} is being counted.
+     */
+    private boolean worldDensityLoading = false;
+
+    /**
+     * Markers showing {@link #worldDensity}, keyed by geohash cell.
+     */
+    private Map<String, Marker> densityMarkersMap = new HashMap<>();
+
+    /**
+     * Radius used when counting the entrants around a long-pressed point.
+     */
+    private static final double NEARBY_RADIUS_METERS = 10_000;
 
     private boolean isAdmin = false;
 
@@ -144,6 +254,7 @@ public class EventWaitingListActivity extends AppCompatActivity implements Navig
 
         // Initialize Firestore
         firestore = FirebaseFirestore.getInstance();
+        locationIndex = EntEventsRepository.getInstance().getLocationIndex();
 
         // Initialize UI Components
         drawerLayout = findViewById(R.id.drawer_event_waiting_list_layout);
@@ -165,13 +276,31 @@ public class EventWaitingListActivity extends AppCompatActivity implements Navig
         // Initialize RecyclerView
         waitingListRecyclerView = findViewById(R.id.waitingListRecyclerView);
         waitingListRecyclerView.setLayoutManager(new LinearLayoutManager(this));
-        fullUserList = new ArrayList<>();
+        waitingListRecyclerView.addOnScrollListener(ImageLoader.getInstance(this).pauseOnFling(this)); // Pause image loads while flinging
         filteredUserList = new ArrayList<>();
+        userAdapter = new UserAdapter(filteredUserList, statusIndex.getStatusMap(), this, this, this); // Reads statuses from the index
+        waitingListRecyclerView.setAdapter(userAdapter);
 
         // Initialize Spinner
         statusFilterSpinner = findViewById(R.id.statusFilterSpinner);
         setupStatusFilterSpinner();
 
+        // Initialize search-as-you-type
+        SearchView entrantSearchView = findViewById(R.id.entrantSearchView);
+        entrantSearchView.setOnQueryTextListener(new SearchView.OnQueryTextListener() {
+            @Override
+            public boolean onQueryTextSubmit(String query) {
+                runSearch(query);
+                return true;
+            }
+
+            @Override
+            public boolean onQueryTextChange(String newText) {
+                runSearch(newText);
+                return true;
+            }
+        });
+
         // Initialize Google Map
         initMap();
 
@@ -180,7 +309,7 @@ public class EventWaitingListActivity extends AppCompatActivity implements Navig
         if (intent != null && intent.hasExtra("EVENT_ID")) {
             eventId = intent.getStringExtra("EVENT_ID");
             Log.d(TAG, "Event ID: " + eventId);
-            fetchEntrants(eventId);
+            // The snapshot listener set up below performs the initial fetch
         } else {
             Toast.makeText(this, "No Event ID provided.", Toast.LENGTH_SHORT).show();
             finish();
@@ -201,11 +330,14 @@ public class EventWaitingListActivity extends AppCompatActivity implements Navig
 
     /**
      * Sets up the Spinner with status options and defines its behavior.
-     * Allows users to filter entrants based on their status.
+     * Allows users to filter entrants based on one status, or several through the "Multiple..." option.
      */
     private void setupStatusFilterSpinner() {
         // Define status options
-        String[] statusOptions = {"All", "Selected", "Not Selected", "Accepted", "Declined", "Waitlist", "Cancelled", "Left"};
+        String[] statusOptions = new String[STATUS_OPTIONS.length + 2];
+        statusOptions[0] = "All";
+        System.arraycopy(STATUS_OPTIONS, 0, statusOptions, 1, STATUS_OPTIONS.length);
+        statusOptions[statusOptions.length - 1] = "Multiple...";
 
         // Create an ArrayAdapter using the string array and a default spinner layout
         ArrayAdapter<String> adapter = new ArrayAdapter<>(this, android.R.layout.simple_spinner_item, statusOptions);
@@ -225,17 +357,50 @@ public class EventWaitingListActivity extends AppCompatActivity implements Navig
             public void onItemSelected(AdapterView<?> parent, View view, int position, long id) {
                 String selectedStatus = statusOptions[position];
                 Log.d(TAG, "Selected Status Filter: " + selectedStatus);
-                filterEntrantsByStatus(selectedStatus);
+                if (position == statusOptions.length - 1) {
+                    showMultiStatusFilterDialog();
+                } else if (position == 0) {
+                    filterEntrantsByStatuses(new ArrayList<>());
+                } else {
+                    List<String> statuses = new ArrayList<>();
+                    statuses.add(selectedStatus);
+                    filterEntrantsByStatuses(statuses);
+                }
             }
 
             @Override
             public void onNothingSelected(AdapterView<?> parent) {
                 // Default behavior when nothing is selected
-                filterEntrantsByStatus("All");
+                filterEntrantsByStatuses(new ArrayList<>());
             }
         });
     }
 
+    /**
+     * Shows a dialog for selecting several statuses to filter by at once.
+     */
+    private void showMultiStatusFilterDialog() {
+        boolean[] checked = new boolean[STATUS_OPTIONS.length];
+        for (int i = 0; i < STATUS_OPTIONS.length; i++) {
+            checked[i] = selectedStatuses.contains(STATUS_OPTIONS[i]);
+        }
+
+        new AlertDialog.Builder(this)
+                .setTitle("Filter by Status")
+                .setMultiChoiceItems(STATUS_OPTIONS, checked, (dialog, which, isChecked) -> checked[which] = isChecked)
+                .setPositiveButton("Apply", (dialog, which) -> {
+                    List<String> statuses = new ArrayList<>();
+                    for (int i = 0; i < STATUS_OPTIONS.length; i++) {
+                        if (checked[i]) {
+                            statuses.add(STATUS_OPTIONS[i]);
+                        }
+                    }
+                    filterEntrantsByStatuses(statuses);
+                })
+                .setNegativeButton("Cancel", null)
+                .show();
+    }
+
     /**
      * Initializes the Google Map by setting up the SupportMapFragment and registering the callback.
      */
@@ -267,104 +432,301 @@ public class EventWaitingListActivity extends AppCompatActivity implements Navig
         LatLng defaultLocation = new LatLng(0, 0); // Equator
         mMap.moveCamera(CameraUpdateFactory.newLatLngZoom(defaultLocation, 2));
 
+        // Load the entrants in view and recompute the visible clusters whenever the camera settles
+        mMap.setOnCameraIdleListener(() -> {
+            loadViewport();
+            renderClusters();
+        });
+
+        // Long-pressing a point counts the entrants around it
+        mMap.setOnMapLongClickListener(this::showEntrantsNearby);
+
+        // Tapping a cluster or a region zooms in on it; tapping a single entrant shows its info window
+        mMap.setOnMarkerClickListener(marker -> {
+            Object tag = marker.getTag();
+            if (tag instanceof MarkerClusterEngine.Cluster && ((MarkerClusterEngine.Cluster) tag).getSize() > 1) {
+                mMap.animateCamera(CameraUpdateFactory.newLatLngZoom(marker.getPosition(), mMap.getCameraPosition().zoom + 2));
+                return true;
+            }
+            if (tag instanceof String) {
+                // A region count; zoom in far enough to load its entrants
+                mMap.animateCamera(CameraUpdateFactory.newLatLngZoom(marker.getPosition(), MIN_VIEWPORT_ZOOM));
+                return true;
+            }
+            return false;
+        });
+
+        // Position the camera for entrants that were loaded before the map was ready
+        if (entrantsLoaded && currentEvent != null && currentEvent.isGeolocationRequired()) {
+            positionCameraOnEntrants();
+        }
     }
 
     /**
-     * Adds markers to the Google Map for each entrant based on their geopoint.
+     * Computes the clusters visible at the current camera position on the background thread,
+     * then updates the markers on the map, keeping markers whose cluster did not change.
+     */
+    private void renderClusters() {
+        if (mMap == null) {
+            return;
+        }
+        if (mMap.getCameraPosition().zoom < MIN_VIEWPORT_ZOOM) {
+            showDensityMarkers();
+            return;
+        }
+        clearDensityMarkers();
+        final int generation = ++clusterGeneration;
+        final int zoom = (int) mMap.getCameraPosition().zoom;
+        final LatLngBounds bounds = mMap.getProjection().getVisibleRegion().latLngBounds;
+        if (clusterExecutor.isShutdown()) {
+            return;
+        }
+        clusterExecutor.execute(() -> {
+            List<MarkerClusterEngine.Cluster> visible = clusterEngine.getVisibleClusters(zoom,
+                    bounds.southwest.latitude, bounds.southwest.longitude,
+                    bounds.northeast.latitude, bounds.northeast.longitude);
+            runOnUiThread(() -> {
+                if (generation == clusterGeneration && mMap != null && !isFinishing()) {
+                    showClusterMarkers(visible);
+                }
+            });
+        });
+    }
+
+    /**
+     * Replaces the markers on the map with markers for the given clusters.
      *
-     * @param entrantsLocationMap The map containing entrant IDs and their corresponding geopoints.
-     * @param entrantsMap         The map containing entrant IDs and their statuses.
+     * @param clusters The clusters to show.
      */
+    private void showClusterMarkers(List<MarkerClusterEngine.Cluster> clusters) {
+        Map<String, Marker> shown = new HashMap<>();
+        for (MarkerClusterEngine.Cluster cluster : clusters) {
+            LatLng position = new LatLng(cluster.getLatitude(), cluster.getLongitude());
+            Marker marker = clusterMarkersMap.remove(cluster.getKey());
+            if (marker == null) {
+                marker = mMap.addMarker(new MarkerOptions()
+                        .position(position)
+                        .title(clusterTitle(cluster)));
+            } else {
+                // Same cell, but its entrants may have changed
+                marker.setPosition(position);
+                marker.setTitle(clusterTitle(cluster));
+            }
+            if (marker != null) {
+                marker.setTag(cluster);
+                shown.put(cluster.getKey(), marker);
+            }
+        }
+
+        // Remove the markers of clusters that are no longer visible
+        for (Marker marker : clusterMarkersMap.values()) {
+            marker.remove();
+        }
+        clusterMarkersMap = shown;
+    }
+
     /**
-     * Adds markers to the Google Map for each entrant based on their geopoint.
+     * Builds the title of a cluster marker.
      *
-     * @param entrantsLocationMap The map containing entrant IDs and their corresponding geopoints.
-     * @param entrantsMap         The map containing entrant IDs and their statuses.
+     * @param cluster The cluster.
+     * @return The entrant's name for a single entrant, otherwise the number of entrants.
      */
-    private void addEntrantsMarkers(Map<String, GeoPoint> entrantsLocationMap, Map<String, String> entrantsMap) {
-        if (entrantsLocationMap == null || entrantsLocationMap.isEmpty()) {
-            Log.w(TAG, "EntrantsLocationMap is null or empty.");
-            return;
+    private String clusterTitle(MarkerClusterEngine.Cluster cluster) {
+        if (cluster.getSize() > 1) {
+            return cluster.getSize() + " entrants";
         }
+        User user = findUserById(cluster.getEntrantIds().get(0));
+        return user != null && user.getName() != null ? user.getName() : "Unnamed Entrant";
+    }
 
-        for (Map.Entry<String, GeoPoint> entry : entrantsLocationMap.entrySet()) {
-            String entrantId = entry.getKey();
-            GeoPoint geoPointObj = entry.getValue();
+    /**
+     * Replaces the cluster markers with one marker per region holding entrants, counting the regions
+     * on the server the first time they are needed.
+     */
+    private void showDensityMarkers() {
+        // Discard cluster renders still in flight
+        clusterGeneration++;
+        for (Marker marker : clusterMarkersMap.values()) {
+            marker.remove();
+        }
+        clusterMarkersMap.clear();
+        if (!cameraPositioned) {
+            return; // No entrant locations known yet
+        }
 
-            if (geoPointObj instanceof com.google.firebase.firestore.GeoPoint) {
-                com.google.firebase.firestore.GeoPoint geoPoint = (com.google.firebase.firestore.GeoPoint) geoPointObj;
-                // Find the user in fullUserList
-                User user = findUserById(entrantId);
-                if (user != null) {
-                    String name = user.getName() != null ? user.getName() : "Unnamed Entrant";
+        if (worldDensity == null) {
+            if (!worldDensityLoading) {
+                worldDensityLoading = true;
+                locationIndex.densityBuckets(eventId, "", counts -> {
+                    worldDensityLoading = false;
+                    if (counts == null || isFinishing()) {
+                        return;
+                    }
+                    worldDensity = counts;
+                    renderClusters();
+                });
+            }
+            return;
+        }
+        if (!densityMarkersMap.isEmpty()) {
+            return; // Already shown
+        }
 
-                    LatLng position = new LatLng(geoPoint.getLatitude(), geoPoint.getLongitude());
+        for (Map.Entry<String, Long> entry : worldDensity.entrySet()) {
+            double[] cell = Geohash.bounds(entry.getKey());
+            long count = entry.getValue();
+            Marker marker = mMap.addMarker(new MarkerOptions()
+                    .position(new LatLng((cell[0] + cell[2]) / 2, (cell[1] + cell[3]) / 2))
+                    .title(count == 1 ? "1 entrant" : count + " entrants"));
+            if (marker != null) {
+                marker.setTag(entry.getKey());
+                densityMarkersMap.put(entry.getKey(), marker);
+            }
+        }
+    }
 
-                    // Add marker to the map
-                    Marker marker = mMap.addMarker(new MarkerOptions()
-                            .position(position)
-                            .title(name));
+    /**
+     * Removes the region count markers from the map.
+     */
+    private void clearDensityMarkers() {
+        for (Marker marker : densityMarkersMap.values()) {
+            marker.remove();
+        }
+        densityMarkersMap.clear();
+    }
 
-                    if (marker != null) {
-                        // Store the marker in the map with entrantId as the key
-                        entrantsMarkersMap.put(entrantId, marker);
+    /**
+     * Removes every marker and entrant location from the map.
+     */
+    private void clearEntrantMarkers() {
+        clusterEngine.clear();
+        for (Marker marker : clusterMarkersMap.values()) {
+            marker.remove();
+        }
+        clusterMarkersMap.clear();
+        clearDensityMarkers();
+    }
+
+    /**
+     * Makes sure the event's location index is complete, then positions the camera on the entrants.
+     * Events created before the index existed are backfilled from their {@code entrantsLocation} map.
+     *
+     * @param event The event whose entrants are shown.
+     */
+    private void showEntrantLocations(Event event) {
+        cameraPositioned = false;
+        // Recount the regions for the reloaded entrants when they are next needed
+        worldDensity = null;
+        clearDensityMarkers();
+        locationIndex.backfillIfIncomplete(eventId, event.getEntrantsLocation())
+                .addOnCompleteListener(this, task -> {
+                    if (!task.isSuccessful()) {
+                        Log.w(TAG, "Could not check the location index", task.getException());
                     }
-                }
-            } else {
-                Log.w(TAG, "Invalid GeoPoint for entrantId: " + entrantId);
-            }
+                    positionCameraOnEntrants();
+                });
+    }
+
+    /**
+     * Loads the entrant locations inside the visible region into the cluster engine.
+     * Only entrants found in the status index and not cancelled are shown.
+     */
+    private void loadViewport() {
+        if (mMap == null || !cameraPositioned || currentEvent == null || !currentEvent.isGeolocationRequired()
+                || mMap.getCameraPosition().zoom < MIN_VIEWPORT_ZOOM) {
+            return;
         }
 
-        // Optionally, move camera to show all markers
-        moveCameraToShowAllMarkers();
+        LatLngBounds bounds = mMap.getProjection().getVisibleRegion().latLngBounds;
+        locationIndex.queryViewport(eventId, bounds.southwest.latitude, bounds.southwest.longitude,
+                bounds.northeast.latitude, bounds.northeast.longitude, locations -> {
+                    if (locations == null || isFinishing()) {
+                        return;
+                    }
+                    boolean added = false;
+                    for (Map.Entry<String, GeoPoint> entry : locations.entrySet()) {
+                        String entrantId = entry.getKey();
+                        if (findUserById(entrantId) != null
+                                && !"Cancelled".equals(statusIndex.getStatusMap().get(entrantId))
+                                && clusterEngine.getPoint(entrantId) == null) {
+                            clusterEngine.put(entrantId, entry.getValue().getLatitude(), entry.getValue().getLongitude());
+                            added = true;
+                        }
+                    }
+                    if (added) {
+                        renderClusters();
+                    }
+                });
     }
 
     /**
-     * Finds a user in the fullUserList by their userId.
+     * Finds a fetched user by their userId.
      *
      * @param userId The userId to search for.
      * @return The User object if found, else null.
      */
     private User findUserById(String userId) {
-        for (User user : fullUserList) {
-            if (user.getUserId().equals(userId)) {
-                return user;
-            }
-        }
-        return null;
+        return statusIndex.getUser(userId);
     }
 
     /**
-     * Moves the camera to show all markers on the map.
-     * Adjusts the zoom level to encompass all entrants.
+     * Moves the camera over the smallest geohash cell that contains every entrant,
+     * found from the lowest and highest geohash in the location index.
      */
-    private void moveCameraToShowAllMarkers() {
-        if (entrantsMarkersMap.isEmpty()) {
-            Log.w(TAG, "No markers to display on the map.");
-            return;
+    private void positionCameraOnEntrants() {
+        if (mMap == null) {
+            return; // onMapReady positions the camera once the map is available
         }
+        locationIndex.coveringCell(eventId, cell -> {
+            if (cell == null) {
+                Log.w(TAG, "No entrant locations to display on the map.");
+                return;
+            }
+            if (mMap == null || isFinishing()) {
+                return;
+            }
+            cameraPositioned = true;
+            if (cell.isEmpty()) {
+                // Entrants on several continents; the world view shows them as region counts
+                mMap.moveCamera(CameraUpdateFactory.newLatLngZoom(new LatLng(0, 0), 2));
+                renderClusters();
+                return;
+            }
+            // Moving the camera triggers the idle listener, which loads the viewport or shows the region counts
+            double[] bounds = Geohash.bounds(cell);
+            LatLng center = new LatLng((bounds[0] + bounds[2]) / 2, (bounds[1] + bounds[3]) / 2);
+            mMap.moveCamera(CameraUpdateFactory.newLatLngZoom(center, zoomToFit(bounds)));
+        });
+    }
 
-        // Calculate the bounds
-        double minLat = Double.MAX_VALUE;
-        double minLng = Double.MAX_VALUE;
-        double maxLat = -Double.MAX_VALUE;
-        double maxLng = -Double.MAX_VALUE;
+    /**
+     * Picks the closest zoom at which a geohash cell still fits on screen with a margin.
+     * At zoom z the world is 256 * 2^z dp wide, so a cell spanning w degrees is 256 * 2^z * w / 360 dp wide.
+     *
+     * @param bounds The south, west, north and east edges of the cell.
+     * @return The zoom level, between 2 and {@link #MAX_ENTRANTS_ZOOM}.
+     */
+    private static float zoomToFit(double[] bounds) {
+        double span = Math.max(bounds[3] - bounds[1], bounds[2] - bounds[0]);
+        double zoom = Math.floor(Math.log(360 / span) / Math.log(2)) - 1;
+        return (float) Math.max(2, Math.min(MAX_ENTRANTS_ZOOM, zoom));
+    }
 
-        for (Marker marker : entrantsMarkersMap.values()) {
-            LatLng position = marker.getPosition();
-            if (position.latitude < minLat) minLat = position.latitude;
-            if (position.longitude < minLng) minLng = position.longitude;
-            if (position.latitude > maxLat) maxLat = position.latitude;
-            if (position.longitude > maxLng) maxLng = position.longitude;
+    /**
+     * Shows how many entrants are within {@link #NEARBY_RADIUS_METERS} of a point.
+     *
+     * @param point The long-pressed point.
+     */
+    private void showEntrantsNearby(LatLng point) {
+        if (currentEvent == null || !currentEvent.isGeolocationRequired()) {
+            return;
         }
-
-        // Compute the center
-        double centerLat = (minLat + maxLat) / 2;
-        double centerLng = (minLng + maxLng) / 2;
-
-        // Move camera to center with appropriate zoom
-        LatLng center = new LatLng(centerLat, centerLng);
-        mMap.moveCamera(CameraUpdateFactory.newLatLngZoom(center, 5)); // Adjust zoom level as needed
+        locationIndex.countWithinRadius(eventId, new GeoPoint(point.latitude, point.longitude), NEARBY_RADIUS_METERS, count -> {
+            if (count != null && !isFinishing()) {
+                Toast.makeText(this, count + " entrants within " + (int) (NEARBY_RADIUS_METERS / 1000) + " km",
+                        Toast.LENGTH_SHORT).show();
+            }
+        });
     }
 
     /**
@@ -373,10 +735,9 @@ public class EventWaitingListActivity extends AppCompatActivity implements Navig
      * @param userId The userId of the entrant whose marker should be removed.
      */
     private void removeEntrantMarker(String userId) {
-        Marker marker = entrantsMarkersMap.get(userId);
-        if (marker != null) {
-            marker.remove();
-            entrantsMarkersMap.remove(userId);
+        if (clusterEngine.getPoint(userId) != null) {
+            clusterEngine.remove(userId);
+            renderClusters();
             Log.d(TAG, "Removed marker for userId: " + userId);
         } else {
             Log.w(TAG, "No marker found for userId: " + userId);
@@ -390,6 +751,7 @@ public class EventWaitingListActivity extends AppCompatActivity implements Navig
      * @param eventId The ID of the event.
      */
     private void fetchEntrants(String eventId) {
+        entrantsFetchInFlight = true;
         firestore.collection("Events")
                 .document(eventId)
                 .get()
@@ -402,34 +764,27 @@ public class EventWaitingListActivity extends AppCompatActivity implements Navig
                         }
                         if (event != null) {
                             Map<String, String> entrantsMap = event.getEntrants();
-                            Map<String, GeoPoint> entrantsLocationMap = event.getEntrantsLocation();
 
                             if (entrantsMap == null || entrantsMap.isEmpty()) {
                                 Toast.makeText(this, "No entrants found.", Toast.LENGTH_SHORT).show();
-                                fullUserList.clear();
+                                statusIndex.clear();
+                                runOnSearchThread(searchIndex::clear);
+                                entrantsLoaded = true;
                                 filteredUserList.clear();
                                 if (userAdapter != null) {
                                     userAdapter.notifyDataSetChanged();
                                 }
-                                if (mMap != null) {
-                                    mMap.clear(); // Clear any existing markers
-                                }
+                                clearEntrantMarkers(); // Clear any existing markers
                                 // Hide the map if geolocation is not required
                                 mapContainer.setVisibility(View.GONE);
+                                finishEntrantsFetch();
                                 return;
                             }
 
-                            // Log entrantsMap contents for debugging
-                            Log.d(TAG, "Entrants Map:");
-                            for (Map.Entry<String, String> entry : entrantsMap.entrySet()) {
-                                Log.d(TAG, "Entrant ID: " + entry.getKey() + ", Status: " + entry.getValue());
-                            }
-
                             List<Task<DocumentSnapshot>> userTasks = new ArrayList<>();
 
                             for (Map.Entry<String, String> entry : entrantsMap.entrySet()) {
                                 String entrantId = entry.getKey();
-                                String status = entry.getValue();
 
                                 // Fetch all entrants regardless of status
                                 Task<DocumentSnapshot> userTask = firestore.collection("Users").document(entrantId).get();
@@ -439,104 +794,208 @@ public class EventWaitingListActivity extends AppCompatActivity implements Navig
                             // Wait for all user fetch tasks to complete
                             Tasks.whenAllSuccess(userTasks)
                                     .addOnSuccessListener(results -> {
-                                        fullUserList.clear();
-                                        for (Object result : results) {
-                                            if (result instanceof DocumentSnapshot) {
-                                                DocumentSnapshot userSnapshot = (DocumentSnapshot) result;
-                                                User user = userSnapshot.toObject(User.class);
-                                                if (user != null) {
-                                                    user.setUserId(userSnapshot.getId());
-                                                    fullUserList.add(user);
-                                                    Log.d(TAG, "Fetched User: " + user.getUserId() + ", Name: " + user.getName());
-                                                } else {
-                                                    Log.w(TAG, "User document is null for ID: " + userSnapshot.getId());
-                                                }
-                                            }
-                                        }
-
-                                        // Initially, set filtered list to full list
-                                        filteredUserList.clear();
-                                        filteredUserList.addAll(fullUserList);
+                                        statusIndex.clear();
+                                        runOnSearchThread(searchIndex::clear);
+                                        indexUsers(results, entrantsMap);
+                                        entrantsLoaded = true;
 
-                                        // Initialize the UserAdapter
-                                        userAdapter = new UserAdapter(filteredUserList, entrantsMap, this, this, this); // Pass 'this' twice
-                                        waitingListRecyclerView.setAdapter(userAdapter);
+                                        // Apply the current filter
+                                        refreshFilteredEntrants();
 
-                                        userAdapter.notifyDataSetChanged();
-
-                                        if (fullUserList.isEmpty()) {
+                                        if (statusIndex.size() == 0) {
                                             Toast.makeText(EventWaitingListActivity.this, "No users found.", Toast.LENGTH_SHORT).show();
                                         } else {
-                                            Toast.makeText(EventWaitingListActivity.this, "Loaded Users: " + fullUserList.size(), Toast.LENGTH_SHORT).show();
+                                            Toast.makeText(EventWaitingListActivity.this, "Loaded Users: " + statusIndex.size(), Toast.LENGTH_SHORT).show();
                                         }
 
                                         // After users are fetched, handle map visibility based on geolocationRequired
                                         if (event.isGeolocationRequired()) {
                                             mapContainer.setVisibility(View.VISIBLE);
-                                            addEntrantsMarkers(entrantsLocationMap, entrantsMap);
+                                            showEntrantLocations(event);
                                         } else {
                                             mapContainer.setVisibility(View.GONE);
-                                            if (mMap != null) {
-                                                mMap.clear(); // Ensure map is clear if geolocation not required
-                                            }
-                                            entrantsMarkersMap.clear();
+                                            clearEntrantMarkers(); // Ensure map is clear if geolocation not required
                                         }
+                                        finishEntrantsFetch();
                                     })
                                     .addOnFailureListener(e -> {
                                         Toast.makeText(EventWaitingListActivity.this, "Error loading users: " + e.getMessage(), Toast.LENGTH_SHORT).show();
                                         Log.e(TAG, "Error fetching users: ", e);
+                                        finishEntrantsFetch();
                                     });
                         } else {
                             Toast.makeText(this, "Error parsing event data.", Toast.LENGTH_SHORT).show();
                             Log.e(TAG, "Event parsing returned null.");
+                            finishEntrantsFetch();
                         }
                     } else {
                         Toast.makeText(this, "Event not found.", Toast.LENGTH_SHORT).show();
                         Log.e(TAG, "Event document does not exist.");
+                        finishEntrantsFetch();
                     }
                 })
                 .addOnFailureListener(e -> {
                     Toast.makeText(this, "Error fetching event data: " + e.getMessage(), Toast.LENGTH_SHORT).show();
                     Log.e(TAG, "Error fetching event data: ", e);
+                    finishEntrantsFetch();
                 });
     }
 
+    /**
+     * Ends the first full fetch of the entrants. A snapshot that arrived while it ran is applied
+     * incrementally if the fetch succeeded, or starts a new fetch if it failed.
+     */
+    private void finishEntrantsFetch() {
+        entrantsFetchInFlight = false;
+        Event pending = eventUpdatedDuringFetch;
+        eventUpdatedDuringFetch = null;
+        if (pending == null) {
+            return;
+        }
+        currentEvent = pending;
+        if (entrantsLoaded) {
+            applyEntrantsUpdate(pending);
+        } else {
+            fetchEntrants(eventId);
+        }
+    }
+
 
     /**
-     * Filters the list of entrants based on the selected status.
+     * Adds fetched user documents to the status index.
      *
-     * @param status The status to filter by ("All", "Waitlist", "Enrolled", "Canceled", "Chosen").
+     * @param results     The results of the user fetch tasks.
+     * @param entrantsMap The event's entrants map, used for each user's status.
      */
-    private void filterEntrantsByStatus(String status) {
-        if (userAdapter == null) {
-            Log.w(TAG, "UserAdapter is null. Cannot filter entrants.");
-            return;
+    private void indexUsers(List<Object> results, Map<String, String> entrantsMap) {
+        for (Object result : results) {
+            if (result instanceof DocumentSnapshot) {
+                DocumentSnapshot userSnapshot = (DocumentSnapshot) result;
+                User user = userSnapshot.toObject(User.class);
+                if (user != null) {
+                    user.setUserId(userSnapshot.getId());
+                    statusIndex.put(user, entrantsMap.get(user.getUserId()));
+                    runOnSearchThread(() -> searchIndex.put(user));
+                } else {
+                    Log.w(TAG, "User document is null for ID: " + userSnapshot.getId());
+                }
+            }
         }
 
-        filteredUserList.clear();
+        // Re-run an active search so it includes the new entrants
+        if (!searchQuery.trim().isEmpty()) {
+            runSearch(searchQuery);
+        }
+    }
 
-        if ("All".equalsIgnoreCase(status)) {
-            filteredUserList.addAll(fullUserList);
-        } else {
-            for (User user : fullUserList) {
-                // Retrieve the entrant's status from the entrants map
-                String entrantStatus = userAdapter.getEntrantStatus(user.getUserId());
-                String[] statusOptions = {"All", "Selected", "Not Selected", "Accepted", "Declined", "Waitlist", "Cancelled", "Left"};
-
-                for (String loop_status:statusOptions) {
-                    if (loop_status.equalsIgnoreCase(status) && loop_status.equalsIgnoreCase(entrantStatus)) {
-                        filteredUserList.add(user);
-                    }
+    /**
+     * Queues work on the search thread, unless the activity has already been destroyed.
+     *
+     * @param task The work to run.
+     */
+    private void runOnSearchThread(Runnable task) {
+        if (!searchExecutor.isShutdown()) {
+            searchExecutor.execute(task);
+        }
+    }
+
+    /**
+     * Runs a search on the background thread and applies the result if it is still the latest search.
+     *
+     * @param query The text typed by the user.
+     */
+    private void runSearch(String query) {
+        searchQuery = query != null ? query : "";
+        final int generation = ++searchGeneration;
+        final String text = searchQuery;
+        runOnSearchThread(() -> {
+            Set<String> matches = searchIndex.search(text);
+            runOnUiThread(() -> {
+                if (generation == searchGeneration && !isFinishing()) {
+                    searchMatches = matches;
+                    refreshFilteredEntrants();
                 }
+            });
+        });
+    }
+
+    /**
+     * Applies an updated entrants map to the status index.
+     * Entrants whose status changed are moved between buckets in place, removed entrants are dropped,
+     * and only entrants that are new to the event are fetched from Firestore.
+     *
+     * @param updatedEvent The updated event.
+     */
+    private void applyEntrantsUpdate(Event updatedEvent) {
+        Map<String, String> entrantsMap = updatedEvent.getEntrants() != null ? updatedEvent.getEntrants() : new HashMap<>();
+
+        // Drop entrants no longer in the event
+        for (String userId : statusIndex.getUserIds()) {
+            if (!entrantsMap.containsKey(userId)) {
+                statusIndex.remove(userId);
+                runOnSearchThread(() -> searchIndex.remove(userId));
+                removeEntrantMarker(userId);
             }
         }
 
-        userAdapter.notifyDataSetChanged();
+        // Move existing entrants to their new status and collect the new ones
+        List<Task<DocumentSnapshot>> newUserTasks = new ArrayList<>();
+        for (Map.Entry<String, String> entry : entrantsMap.entrySet()) {
+            if (!statusIndex.updateStatus(entry.getKey(), entry.getValue())) {
+                newUserTasks.add(firestore.collection("Users").document(entry.getKey()).get());
+            }
+        }
+
+        if (newUserTasks.isEmpty()) {
+            refreshFilteredEntrants();
+            return;
+        }
+
+        Tasks.whenAllSuccess(newUserTasks)
+                .addOnSuccessListener(results -> {
+                    indexUsers(results, entrantsMap);
+                    refreshFilteredEntrants();
+
+                    // Markers are only added for indexed entrants, so reload the viewport for the new ones
+                    loadViewport();
+                })
+                .addOnFailureListener(e -> Log.e(TAG, "Error fetching new entrants: ", e));
+    }
+
+    /**
+     * Filters the list of entrants to those holding any of the given statuses.
+     *
+     * @param statuses The statuses to filter by; an empty list shows every entrant.
+     */
+    private void filterEntrantsByStatuses(List<String> statuses) {
+        selectedStatuses = statuses;
+        if (userAdapter == null) {
+            Log.w(TAG, "UserAdapter is null. Cannot filter entrants.");
+            return;
+        }
+
+        refreshFilteredEntrants();
 
         Log.d(TAG, "Filtered Users Count: " + filteredUserList.size());
         Toast.makeText(this, "Filtered Users: " + filteredUserList.size(), Toast.LENGTH_SHORT).show();
     }
 
+    /**
+     * Rebuilds the displayed list from the status index using the current filter and search.
+     * The index returns the matching entrants already sorted by name.
+     */
+    private void refreshFilteredEntrants() {
+        filteredUserList.clear();
+        for (User user : statusIndex.getByStatuses(selectedStatuses)) {
+            if (searchMatches == null || searchMatches.contains(user.getUserId())) {
+                filteredUserList.add(user);
+            }
+        }
+        if (userAdapter != null) {
+            userAdapter.notifyDataSetChanged();
+        }
+    }
+
     /**
      * Handles navigation item selections from the navigation drawer.
      *
@@ -643,12 +1102,23 @@ public class EventWaitingListActivity extends AppCompatActivity implements Navig
         }
 
         if (currentEvent != null && currentEvent.isGeolocationRequired()) {
-            Marker marker = entrantsMarkersMap.get(user.getUserId());
-            if (marker != null) {
-                LatLng position = marker.getPosition();
+            double[] point = clusterEngine.getPoint(user.getUserId());
+            if (point != null) {
+                LatLng position = new LatLng(point[0], point[1]);
                 mMap.animateCamera(CameraUpdateFactory.newLatLngZoom(position, 15)); // Adjust zoom level as needed
             } else {
-                Toast.makeText(this, "Marker not found for this entrant.", Toast.LENGTH_SHORT).show();
+                // The entrant is outside the loaded viewport; look up their location directly
+                locationIndex.locationRef(eventId, user.getUserId()).get()
+                        .addOnSuccessListener(this, doc -> {
+                            GeoPoint location = doc.getGeoPoint("location");
+                            if (location != null && mMap != null) {
+                                mMap.animateCamera(CameraUpdateFactory.newLatLngZoom(
+                                        new LatLng(location.getLatitude(), location.getLongitude()), 15));
+                            } else {
+                                Toast.makeText(this, "Marker not found for this entrant.", Toast.LENGTH_SHORT).show();
+                            }
+                        })
+                        .addOnFailureListener(this, e -> Log.e(TAG, "Error loading entrant location: ", e));
             }
         } else {
             Toast.makeText(this, "Geolocation not required for this event.", Toast.LENGTH_SHORT).show();
@@ -668,13 +1138,16 @@ public class EventWaitingListActivity extends AppCompatActivity implements Navig
         updates.put("entrants." + user.getUserId(), "Cancelled");
         updates.put("waitingListFilled", false); // Optionally set to false to refill the spot
 
-        eventRef.update(updates)
+        // Drop the entrant's location index entry in the same write, as leaving the waiting list does
+        WriteBatch batch = firestore.batch();
+        batch.update(eventRef, updates);
+        batch.delete(locationIndex.locationRef(eventId, user.getUserId()));
+
+        batch.commit()
                 .addOnSuccessListener(aVoid -> {
                     Toast.makeText(this, "Entrant cancelled successfully.", Toast.LENGTH_SHORT).show();
-                    // Remove entrant's marker from the map
+                    // Remove entrant's marker from the map; the snapshot listener moves the entrant to "Cancelled"
                     removeEntrantMarker(user.getUserId());
-                    // Refresh the entrants list
-                    fetchEntrants(eventId);
                 })
                 .addOnFailureListener(e -> {
                     Toast.makeText(this, "Error canceling entrant: " + e.getMessage(), Toast.LENGTH_SHORT).show();
@@ -697,11 +1170,17 @@ public class EventWaitingListActivity extends AppCompatActivity implements Navig
                     if (documentSnapshot != null && documentSnapshot.exists()) {
                         Event updatedEvent = documentSnapshot.toObject(Event.class);
                         if (updatedEvent != null) {
-                            Map<String, String> updatedEntrantsMap = updatedEvent.getEntrants();
-                            Map<String, GeoPoint> updatedEntrantsLocationMap = updatedEvent.getEntrantsLocation();
-
-                            // Update UI and Map by re-fetching entrants
-                            fetchEntrants(eventId);
+                            currentEvent = updatedEvent;
+                            if (entrantsFetchInFlight) {
+                                // Applied once the running fetch lands
+                                eventUpdatedDuringFetch = updatedEvent;
+                            } else if (!entrantsLoaded) {
+                                // First snapshot; fetch every entrant
+                                fetchEntrants(eventId);
+                            } else {
+                                // Later snapshots only touch the entrants that changed
+                                applyEntrantsUpdate(updatedEvent);
+                            }
                         }
                     } else {
                         Log.d(TAG, "Current data: null");
@@ -709,6 +1188,16 @@ public class EventWaitingListActivity extends AppCompatActivity implements Navig
                 });
     }
 
+    /**
+     * Stops the search thread when the activity is destroyed.
+     */
+    @Override
+    protected void onDestroy() {
+        super.onDestroy();
+        searchExecutor.shutdownNow();
+        clusterExecutor.shutdownNow();
+    }
+
     @Override
     public boolean onOptionsItemSelected(@NonNull MenuItem item) {
         // Handle Up button presses
@@ -2,43 +2,81 @@
 package com.example.potato1_events;
 
 import android.content.Context;
-import android.content.Intent;
-import android.text.TextUtils;
 import android.view.LayoutInflater;
 import android.view.View;
 import android.view.ViewGroup;
 import android.widget.ImageView;
 import android.widget.TextView;
-import android.widget.Toast;
 
 import androidx.annotation.NonNull;
+import androidx.recyclerview.widget.DiffUtil;
+import androidx.recyclerview.widget.ListAdapter;
 import androidx.recyclerview.widget.RecyclerView;
 
-import com.squareup.picasso.Picasso;
 
-import java.util.List;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
 
 /**
  * Adapter class for managing and displaying a list of events in a RecyclerView.
- * Binds event data to the UI components and handles user interactions with each event item.
+ * Binds event data to the UI components and hands clicks on an event back to the hosting activity.
+ * Backed by a {@link ListAdapter} with stable IDs, so reloading a feed only re-binds the rows
+ * whose event actually changed and existing view holders are reused while scrolling.
  */
-public class EventsAdapter extends RecyclerView.Adapter<EventsAdapter.EventViewHolder> {
+public class EventsAdapter extends ListAdapter<Event, EventsAdapter.EventViewHolder> {
+
+    /**
+     * Compares events by document ID for identity and by displayed fields for contents.
+     */
+    private static final DiffUtil.ItemCallback<Event> DIFF_CALLBACK = new DiffUtil.ItemCallback<Event>() {
+        @Override
+        public boolean areItemsTheSame(@NonNull Event oldItem, @NonNull Event newItem) {
+            return Objects.equals(oldItem.getId(), newItem.getId());
+        }
+
+        @Override
+        public boolean areContentsTheSame(@NonNull Event oldItem, @NonNull Event newItem) {
+            return Objects.equals(oldItem.getName(), newItem.getName())
+                    && Objects.equals(oldItem.getEventLocation(), newItem.getEventLocation())
+                    && Objects.equals(oldItem.getPosterImageUrl(), newItem.getPosterImageUrl());
+        }
+    };
 
     // Context from the hosting activity
     private Context context;
 
-    // List of Event objects to display
-    private List<Event> eventList;
+    // Listener notified when an event card is clicked
+    private OnEventClickListener clickListener;
+
+    // Stable numeric IDs handed out per event document ID, so they never collide
+    private final Map<String, Long> stableIds = new HashMap<>();
 
     /**
-     * Constructs an EventsAdapter with the specified context and list of events.
+     * Interface to define the callback for clicks on an event card.
+     * Implemented by the hosting activity, which decides which details screen to open.
+     */
+    public interface OnEventClickListener {
+        /**
+         * Called when an event card is clicked.
+         *
+         * @param event The Event that was clicked.
+         */
+        void onEventClick(Event event);
+    }
+
+    /**
+     * Constructs an EventsAdapter with the specified context and click listener.
+     * Events are supplied afterwards through {@link #submitList(java.util.List)}.
      *
-     * @param context   The context from the hosting activity.
-     * @param eventList The list of Event objects to display.
+     * @param context       The context from the hosting activity.
+     * @param clickListener The listener notified when an event card is clicked.
      */
-    public EventsAdapter(Context context, List<Event> eventList) {
+    public EventsAdapter(Context context, OnEventClickListener clickListener) {
+        super(DIFF_CALLBACK);
         this.context = context;
-        this.eventList = eventList;
+        this.clickListener = clickListener;
+        setHasStableIds(true);
     }
 
     /**
@@ -66,40 +104,36 @@ public class EventsAdapter extends RecyclerView.Adapter<EventsAdapter.EventViewH
     @Override
     public void onBindViewHolder(@NonNull EventViewHolder holder, int position) {
         // Get the event at the current position
-        Event event = eventList.get(position);
+        Event event = getItem(position);
 
         // Bind event name and location to TextViews
         holder.eventNameTextView.setText(event.getName());
         holder.eventLocationTextView.setText(event.getEventLocation());
 
-        // Load event poster image using Picasso
-        if (!TextUtils.isEmpty(event.getPosterImageUrl())) {
-            Picasso.get()
-                    .load(event.getPosterImageUrl())
-                    .placeholder(R.drawable.ic_placeholder_image) // Placeholder image while loading
-                    .error(R.drawable.ic_error_image)             // Image to display on error
-                    .into(holder.eventPosterImageView);
-        } else {
-            // Set a default placeholder image if poster URL is empty
-            holder.eventPosterImageView.setImageResource(R.drawable.ic_placeholder_image);
-        }
+        // Load the smallest poster rendition that fits; without a poster, any load still
+        // targeting this recycled view is cancelled and the default placeholder is shown
+        ImageLoader.getInstance(context)
+                .load(event.posterUrlFor(ImageRendition.targetSizeOf(holder.eventPosterImageView)), holder.eventPosterImageView);
 
-        // Set OnClickListener for the entire event card to navigate to EventDetailsEntrantActivity
-        holder.eventCardView.setOnClickListener(v -> {
-            Intent intent = new Intent(context, EventDetailsEntrantActivity.class);
-            intent.putExtra("EVENT_ID", event.getId()); // Pass the event ID to the details activity
-            context.startActivity(intent);
-        });
+        // Hand clicks on the event card back to the hosting activity
+        holder.eventCardView.setOnClickListener(v -> clickListener.onEventClick(event));
     }
 
     /**
-     * Returns the total number of events in the data set held by the adapter.
+     * Returns a stable ID for the event at the given position.
      *
-     * @return The total number of events.
+     * @param position The position of the item within the adapter's data set.
+     * @return An ID that stays the same for the same event document across list updates.
      */
     @Override
-    public int getItemCount() {
-        return eventList.size();
+    public long getItemId(int position) {
+        String eventId = getItem(position).getId();
+        Long stableId = stableIds.get(eventId);
+        if (stableId == null) {
+            stableId = (long) stableIds.size();
+            stableIds.put(eventId, stableId);
+        }
+        return stableId;
     }
 
     /**
@@ -5,6 +5,7 @@ import com.google.firebase.firestore.ServerTimestamp;
 import java.util.ArrayList;
 import java.util.Date;
 import java.util.List;
+import java.util.Map;
 
 /**
  * Represents a Facility where events are hosted.
@@ -37,6 +38,11 @@ public class Facility {
      */
     private String facilityPhotoUrl;
 
+    /**
+     * Download URLs of the facility photo renditions, keyed by {@link ImageRendition} key.
+     */
+    private Map<String, String> facilityPhotoVariants;
+
     /**
      * List of event IDs associated with this facility.
      */
@@ -170,6 +176,34 @@ public class Facility {
         this.facilityPhotoUrl = facilityPhotoUrl;
     }
 
+    /**
+     * Gets the download URLs of the facility photo renditions.
+     *
+     * @return Rendition URLs keyed by rendition key, or null for photos uploaded without renditions.
+     */
+    public Map<String, String> getFacilityPhotoVariants() {
+        return facilityPhotoVariants;
+    }
+
+    /**
+     * Sets the download URLs of the facility photo renditions.
+     *
+     * @param facilityPhotoVariants Rendition URLs keyed by rendition key.
+     */
+    public void setFacilityPhotoVariants(Map<String, String> facilityPhotoVariants) {
+        this.facilityPhotoVariants = facilityPhotoVariants;
+    }
+
+    /**
+     * Picks the smallest facility photo rendition that covers a view.
+     *
+     * @param targetPixels The size of the view in pixels.
+     * @return The URL to load, falling back to {@link #getFacilityPhotoUrl()}.
+     */
+    public String photoUrlFor(int targetPixels) {
+        return ImageRendition.pickUrl(facilityPhotoVariants, facilityPhotoUrl, targetPixels);
+    }
+
     /**
      * Gets the list of associated event IDs.
      *
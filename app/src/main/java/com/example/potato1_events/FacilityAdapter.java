@@ -14,7 +14,6 @@ import androidx.annotation.NonNull;
 import androidx.recyclerview.widget.RecyclerView;
 
 import com.google.firebase.firestore.FirebaseFirestore;
-import com.squareup.picasso.Picasso;
 
 import java.util.List;
 
@@ -84,13 +83,10 @@ public class FacilityAdapter extends RecyclerView.Adapter<FacilityAdapter.Facili
         holder.facilityAddressTextView.setText(facility.getFacilityAddress());
         holder.facilityDescriptionTextView.setText(facility.getFacilityDescription());
 
-        // Load facility photo using Picasso library
+        // Load the smallest facility photo rendition that fits
         if (facility.getFacilityPhotoUrl() != null && !facility.getFacilityPhotoUrl().isEmpty()) {
-            Picasso.get()
-                    .load(facility.getFacilityPhotoUrl())
-                    .placeholder(R.drawable.ic_placeholder_image) // Optional placeholder image while loading
-                    .error(R.drawable.ic_error_image) // Optional error image if loading fails
-                    .into(holder.facilityPhotoImageView);
+            ImageLoader.getInstance(context)
+                    .load(facility.photoUrlFor(ImageRendition.targetSizeOf(holder.facilityPhotoImageView)), holder.facilityPhotoImageView);
         } else {
             // Set a default placeholder image if no photo URL is available
             holder.facilityPhotoImageView.setImageResource(R.drawable.ic_placeholder_image);
@@ -110,6 +106,8 @@ public class FacilityAdapter extends RecyclerView.Adapter<FacilityAdapter.Facili
                                 .addOnSuccessListener(aVoid -> {
                                     // Inform the user of successful deletion
                                     Toast.makeText(context, "Facility deleted successfully.", Toast.LENGTH_SHORT).show();
+                                    // Release the photo, which is deleted once no other facility uses it
+                                    ContentAddressedStore.getInstance(context).release(facility.getFacilityPhotoUrl());
                                     // Remove facility from the list and notify the adapter to update the RecyclerView
                                     facilityList.remove(position);
                                     notifyItemRemoved(position);
@@ -0,0 +1,40 @@
+// File: FirestoreLimits.java
+package com.example.potato1_events;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Limits Firestore places on a single request, and a helper for splitting work to fit within them.
+ */
+public final class FirestoreLimits {
+
+    /**
+     * Maximum number of writes Firestore accepts in a single batch or transaction.
+     */
+    static final int MAX_BATCH_SIZE = 500;
+
+    /**
+     * Maximum number of values this app passes to a single 'whereIn' filter.
+     */
+    static final int WHERE_IN_LIMIT = 10;
+
+    private FirestoreLimits() {
+    }
+
+    /**
+     * Splits a list into consecutive sublists of at most {@code size} elements.
+     *
+     * @param items The list to split.
+     * @param size  The maximum size of each sublist.
+     * @param <T>   The element type.
+     * @return The list of chunks, in order.
+     */
+    static <T> List<List<T>> partition(List<T> items, int size) {
+        List<List<T>> chunks = new ArrayList<>();
+        for (int start = 0; start < items.size(); start += size) {
+            chunks.add(items.subList(start, Math.min(start + size, items.size())));
+        }
+        return chunks;
+    }
+}
@@ -0,0 +1,247 @@
+// File: Geohash.java
+package com.example.potato1_events;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Geohash encoding and range helpers for spatial queries over entrant locations.
+ * A geohash interleaves longitude and latitude bits into a base-32 string, so points that share a prefix
+ * lie in the same cell and a cell is a contiguous range of the sorted geohashes. A viewport is answered
+ * by scanning the few cells that cover it.
+ */
+public final class Geohash {
+
+    /**
+     * Geohash alphabet, in sort order.
+     */
+    static final String BASE32 = "0123456789bcdefghjkmnpqrstuvwxyz";
+
+    /**
+     * Geohash length stored with each location, about 5 metres of precision.
+     */
+    public static final int STORED_PRECISION = 9;
+
+    /**
+     * Mean Earth radius in metres.
+     */
+    static final double EARTH_RADIUS_METERS = 6371008.8;
+
+    /**
+     * Prevents instantiation of this utility class.
+     */
+    private Geohash() {
+    }
+
+    /**
+     * Encodes a point as a geohash.
+     *
+     * @param latitude  The latitude.
+     * @param longitude The longitude.
+     * @param precision The number of characters.
+     * @return The geohash.
+     */
+    public static String encode(double latitude, double longitude, int precision) {
+        double minLat = -90, maxLat = 90, minLng = -180, maxLng = 180;
+        StringBuilder hash = new StringBuilder(precision);
+        boolean evenBit = true;
+        int bit = 0;
+        int value = 0;
+        while (hash.length() < precision) {
+            if (evenBit) {
+                double mid = (minLng + maxLng) / 2;
+                if (longitude >= mid) {
+                    value = (value << 1) | 1;
+                    minLng = mid;
+                } else {
+                    value <<= 1;
+                    maxLng = mid;
+                }
+            } else {
+                double mid = (minLat + maxLat) / 2;
+                if (latitude >= mid) {
+                    value = (value << 1) | 1;
+                    minLat = mid;
+                } else {
+                    value <<= 1;
+                    maxLat = mid;
+                }
+            }
+            evenBit = !evenBit;
+            if (++bit == 5) {
+                hash.append(BASE32.charAt(value));
+                bit = 0;
+                value = 0;
+            }
+        }
+        return hash.toString();
+    }
+
+    /**
+     * Decodes a geohash into the cell it covers.
+     *
+     * @param geohash The geohash.
+     * @return The south, west, north and east edges of the cell.
+     */
+    public static double[] bounds(String geohash) {
+        double minLat = -90, maxLat = 90, minLng = -180, maxLng = 180;
+        boolean evenBit = true;
+        for (int i = 0; i < geohash.length(); i++) {
+            int value = BASE32.indexOf(geohash.charAt(i));
+            if (value < 0) {
+                throw new IllegalArgumentException("Invalid geohash: " + geohash);
+            }
+            for (int shift = 4; shift >= 0; shift--) {
+                boolean set = ((value >> shift) & 1) == 1;
+                if (evenBit) {
+                    double mid = (minLng + maxLng) / 2;
+                    if (set) minLng = mid; else maxLng = mid;
+                } else {
+                    double mid = (minLat + maxLat) / 2;
+                    if (set) minLat = mid; else maxLat = mid;
+                }
+                evenBit = !evenBit;
+            }
+        }
+        return new double[]{minLat, minLng, maxLat, maxLng};
+    }
+
+    /**
+     * Finds the smallest cell that contains two geohashes. Since geohashes sort in cell order,
+     * the cell shared by the lowest and highest geohash of a set contains every geohash in it.
+     *
+     * @param first  A geohash.
+     * @param second Another geohash.
+     * @return Their longest common prefix, or an empty string for the whole world.
+     */
+    public static String commonCell(String first, String second) {
+        int length = 0;
+        while (length < first.length() && length < second.length() && first.charAt(length) == second.charAt(length)) {
+            length++;
+        }
+        return first.substring(0, length);
+    }
+
+    /**
+     * Picks the longest geohash precision whose cells are at least as large as the given box,
+     * so a box is covered by a handful of cells.
+     *
+     * @param latitudeSpan  The height of the box in degrees.
+     * @param longitudeSpan The width of the box in degrees.
+     * @return A precision between 1 and {@link #STORED_PRECISION}.
+     */
+    static int precisionFor(double latitudeSpan, double longitudeSpan) {
+        for (int precision = STORED_PRECISION; precision > 1; precision--) {
+            int lngBits = (5 * precision + 1) / 2;
+            int latBits = (5 * precision) / 2;
+            double cellWidth = 360 / Math.pow(2, lngBits);
+            double cellHeight = 180 / Math.pow(2, latBits);
+            if (cellWidth >= longitudeSpan && cellHeight >= latitudeSpan) {
+                return precision;
+            }
+        }
+        return 1;
+    }
+
+    /**
+     * Computes the geohash cells covering a box. Each cell maps to one range scan.
+     *
+     * @param south The southern edge.
+     * @param west  The western edge.
+     * @param north The northern edge.
+     * @param east  The eastern edge; smaller than {@code west} when crossing the antimeridian.
+     * @return The distinct covering cells.
+     */
+    public static List<String> coveringCells(double south, double west, double north, double east) {
+        if (west > east) {
+            // Split at the antimeridian
+            Set<String> cells = new LinkedHashSet<>(coveringCells(south, west, north, 180));
+            cells.addAll(coveringCells(south, -180, north, east));
+            return new ArrayList<>(cells);
+        }
+        int precision = precisionFor(north - south, east - west);
+        double[] cell = bounds(encode(south, west, precision));
+        double cellHeight = cell[2] - cell[0];
+        double cellWidth = cell[3] - cell[1];
+
+        // Walk the grid of cells from the south-west corner; sample cell centres to avoid edge rounding
+        Set<String> cells = new LinkedHashSet<>();
+        for (double lat = cell[0] + cellHeight / 2; lat - cellHeight / 2 <= north; lat += cellHeight) {
+            for (double lng = cell[1] + cellWidth / 2; lng - cellWidth / 2 <= east; lng += cellWidth) {
+                cells.add(encode(Math.min(lat, 90), Math.min(lng, 180), precision));
+            }
+        }
+        return new ArrayList<>(cells);
+    }
+
+    /**
+     * Computes the bounding box of a circle, clamped to valid coordinates.
+     *
+     * @param latitude     The latitude of the centre.
+     * @param longitude    The longitude of the centre.
+     * @param radiusMeters The radius in metres.
+     * @return The south, west, north and east edges; west exceeds east when the box crosses the antimeridian.
+     */
+    public static double[] boundingBox(double latitude, double longitude, double radiusMeters) {
+        double latDelta = Math.toDegrees(radiusMeters / EARTH_RADIUS_METERS);
+        double south = Math.max(-90, latitude - latDelta);
+        double north = Math.min(90, latitude + latDelta);
+        double cos = Math.cos(Math.toRadians(latitude));
+        if (north >= 90 || south <= -90 || cos < 1e-9) {
+            return new double[]{south, -180, north, 180};
+        }
+        double lngDelta = Math.min(180, latDelta / cos);
+        if (lngDelta >= 180) {
+            return new double[]{south, -180, north, 180};
+        }
+        return new double[]{south, wrapLongitude(longitude - lngDelta), north, wrapLongitude(longitude + lngDelta)};
+    }
+
+    /**
+     * Computes the great-circle distance between two points.
+     *
+     * @param lat1 The latitude of the first point.
+     * @param lng1 The longitude of the first point.
+     * @param lat2 The latitude of the second point.
+     * @param lng2 The longitude of the second point.
+     * @return The distance in metres.
+     */
+    public static double distanceMeters(double lat1, double lng1, double lat2, double lng2) {
+        double dLat = Math.toRadians(lat2 - lat1);
+        double dLng = Math.toRadians(lng2 - lng1);
+        double a = Math.sin(dLat / 2) * Math.sin(dLat / 2)
+                + Math.cos(Math.toRadians(lat1)) * Math.cos(Math.toRadians(lat2)) * Math.sin(dLng / 2) * Math.sin(dLng / 2);
+        return 2 * EARTH_RADIUS_METERS * Math.asin(Math.min(1, Math.sqrt(a)));
+    }
+
+    /**
+     * Checks whether a point lies inside a box.
+     *
+     * @param latitude  The latitude of the point.
+     * @param longitude The longitude of the point.
+     * @param south     The southern edge.
+     * @param west      The western edge.
+     * @param north     The northern edge.
+     * @param east      The eastern edge; smaller than {@code west} when crossing the antimeridian.
+     * @return True if the point is inside.
+     */
+    public static boolean contains(double latitude, double longitude, double south, double west, double north, double east) {
+        if (latitude < south || latitude > north) {
+            return false;
+        }
+        return west <= east ? longitude >= west && longitude <= east : longitude >= west || longitude <= east;
+    }
+
+    /**
+     * Wraps a longitude into the range -180 to 180.
+     *
+     * @param longitude The longitude.
+     * @return The wrapped longitude.
+     */
+    private static double wrapLongitude(double longitude) {
+        double wrapped = ((longitude + 180) % 360 + 360) % 360 - 180;
+        return wrapped == -180 && longitude > 0 ? 180 : wrapped;
+    }
+}
@@ -0,0 +1,231 @@
+// File: ImageLoader.java
+package com.example.potato1_events;
+
+import android.app.ActivityManager;
+import android.content.ComponentCallbacks2;
+import android.content.Context;
+import android.content.res.Configuration;
+import android.net.Uri;
+import android.util.Log;
+import android.widget.ImageView;
+
+import androidx.annotation.NonNull;
+import androidx.recyclerview.widget.RecyclerView;
+
+import com.squareup.picasso.LruCache;
+import com.squareup.picasso.OkHttp3Downloader;
+import com.squareup.picasso.Picasso;
+import com.squareup.picasso.RequestCreator;
+import com.squareup.picasso.StatsSnapshot;
+
+import java.io.File;
+
+import de.hdodenhof.circleimageview.CircleImageView;
+
+/**
+ * Application-wide image loader built on a single tuned Picasso instance.
+ * The memory cache is sized from the app's heap class and the disk cache is bounded, and every request
+ * is decoded no larger than the target view, so thumbnails never hold full-resolution bitmaps.
+ * Requests are tagged with the view's context so lists can pause loading while flinging.
+ * The tuned instance is also installed as Picasso's singleton, so {@code Picasso.get()} shares its caches.
+ */
+public class ImageLoader implements ComponentCallbacks2 {
+
+    private static final String TAG = "ImageLoader";
+
+    /**
+     * Fraction of the app's heap given to the decoded bitmap cache.
+     */
+    private static final int MEMORY_CACHE_HEAP_DIVISOR = 7;
+
+    /**
+     * Maximum size of the on-disk HTTP cache.
+     */
+    private static final long DISK_CACHE_BYTES = 50L * 1024 * 1024;
+
+    /**
+     * Directory under the app's cache directory that holds downloaded images.
+     */
+    private static final String DISK_CACHE_DIR = "image-cache";
+
+    private static ImageLoader instance;
+
+    private final Picasso picasso;
+    private final LruCache memoryCache;
+
+    /**
+     * Private constructor to enforce Singleton pattern.
+     *
+     * @param context The application context.
+     */
+    private ImageLoader(Context context) {
+        ActivityManager activityManager = (ActivityManager) context.getSystemService(Context.ACTIVITY_SERVICE);
+        int heapBytes = activityManager.getMemoryClass() * 1024 * 1024;
+        memoryCache = new LruCache(heapBytes / MEMORY_CACHE_HEAP_DIVISOR);
+
+        picasso = new Picasso.Builder(context)
+                .memoryCache(memoryCache)
+                .downloader(new OkHttp3Downloader(new File(context.getCacheDir(), DISK_CACHE_DIR), DISK_CACHE_BYTES))
+                .listener((p, uri, e) -> Log.w(TAG, "Failed to load image: " + uri, e))
+                .build();
+
+        try {
+            Picasso.setSingletonInstance(picasso);
+        } catch (IllegalStateException e) {
+            // Picasso.get() was called before the loader existed; it keeps its own default instance
+            Log.w(TAG, "Picasso singleton already created; default instance left in place");
+        }
+        context.registerComponentCallbacks(this);
+    }
+
+    /**
+     * Retrieves the singleton instance of ImageLoader.
+     *
+     * @param context Any context; only the application context is kept.
+     * @return The singleton instance.
+     */
+    public static synchronized ImageLoader getInstance(Context context) {
+        if (instance == null) {
+            instance = new ImageLoader(context.getApplicationContext());
+        }
+        return instance;
+    }
+
+    /**
+     * Loads an image URL into a view with the default placeholder and error images.
+     *
+     * @param url    The image URL; null or empty shows the placeholder.
+     * @param target The view to load into.
+     */
+    public void load(String url, ImageView target) {
+        if (url == null || url.isEmpty()) {
+            cancel(target);
+            target.setImageResource(R.drawable.ic_placeholder_image);
+            return;
+        }
+        request(picasso.load(url), target).into(target);
+    }
+
+    /**
+     * Loads an image URI into a view with the default placeholder and error images.
+     *
+     * @param uri    The image URI, such as a resolved download URL or a picked content URI.
+     * @param target The view to load into.
+     */
+    public void load(Uri uri, ImageView target) {
+        request(picasso.load(uri), target).into(target);
+    }
+
+    /**
+     * Applies the default options to a request: decode to the view's size and scale type, tag with the
+     * view's context, and show the placeholder and error images.
+     * Cropping views get a bitmap that fills their exact size, so the cropped edges are never upscaled;
+     * other views get one whose long edge fits the view.
+     *
+     * @param creator The request.
+     * @param target  The view the request will load into.
+     * @return The configured request, ready for {@code into(target)}.
+     */
+    private RequestCreator request(RequestCreator creator, ImageView target) {
+        if (target.getScaleType() == ImageView.ScaleType.CENTER_CROP) {
+            // Waits for the view to be measured, then decodes to its width and height
+            creator.fit().centerCrop();
+        } else {
+            int size = ImageRendition.targetSizeOf(target);
+            creator.resize(size, size)
+                    .centerInside()
+                    .onlyScaleDown();
+        }
+        creator.tag(target.getContext())
+                .placeholder(R.drawable.ic_placeholder_image)
+                .error(R.drawable.ic_error_image);
+        if (target instanceof CircleImageView) {
+            // CircleImageView cannot draw the crossfade drawable Picasso uses
+            creator.noFade();
+        }
+        return creator;
+    }
+
+    /**
+     * Cancels any load targeting a view, for example before a recycled row shows a placeholder.
+     *
+     * @param target The view.
+     */
+    public void cancel(ImageView target) {
+        picasso.cancelRequest(target);
+    }
+
+    /**
+     * Creates a scroll listener that pauses loads tagged with a context while a list flings,
+     * and resumes them once it settles or is dragged slowly.
+     *
+     * @param context The context whose loads to pause, normally the hosting activity.
+     * @return The scroll listener to add to the RecyclerView.
+     */
+    public RecyclerView.OnScrollListener pauseOnFling(Context context) {
+        return new RecyclerView.OnScrollListener() {
+            @Override
+            public void onScrollStateChanged(@NonNull RecyclerView recyclerView, int newState) {
+                if (newState == RecyclerView.SCROLL_STATE_SETTLING) {
+                    picasso.pauseTag(context);
+                } else {
+                    picasso.resumeTag(context);
+                }
+            }
+        };
+    }
+
+    /**
+     * Computes the fraction of requests served from the memory cache.
+     *
+     * @return The hit rate between 0 and 1, or 0 before any request.
+     */
+    public double getMemoryHitRate() {
+        StatsSnapshot stats = picasso.getSnapshot();
+        long requests = stats.cacheHits + stats.cacheMisses;
+        return requests == 0 ? 0 : (double) stats.cacheHits / requests;
+    }
+
+    /**
+     * Logs cache usage and hit-rate metrics.
+     */
+    public void logStats() {
+        StatsSnapshot stats = picasso.getSnapshot();
+        Log.d(TAG, String.format("Memory cache %d/%d KB, hits %d, misses %d (%.0f%% hit rate), %d downloads, %d KB decoded",
+                stats.size / 1024, stats.maxSize / 1024, stats.cacheHits, stats.cacheMisses,
+                getMemoryHitRate() * 100, stats.downloadCount, stats.totalOriginalBitmapSize / 1024));
+    }
+
+    /**
+     * Releases cached bitmaps when the system runs low on memory.
+     *
+     * @param level The memory trim level.
+     */
+    @Override
+    public void onTrimMemory(int level) {
+        if (level >= TRIM_MEMORY_UI_HIDDEN) {
+            logStats();
+        }
+        if (level >= TRIM_MEMORY_BACKGROUND || level == TRIM_MEMORY_RUNNING_LOW || level == TRIM_MEMORY_RUNNING_CRITICAL) {
+            memoryCache.clear();
+        }
+    }
+
+    /**
+     * Releases cached bitmaps when the system is out of memory.
+     */
+    @Override
+    public void onLowMemory() {
+        memoryCache.clear();
+    }
+
+    /**
+     * Ignores configuration changes.
+     *
+     * @param newConfig The new configuration.
+     */
+    @Override
+    public void onConfigurationChanged(@NonNull Configuration newConfig) {
+        // Cached bitmaps do not depend on the configuration
+    }
+}
@@ -0,0 +1,176 @@
+// File: ImageRendition.java
+package com.example.potato1_events;
+
+import android.view.View;
+import android.view.ViewGroup;
+
+import java.util.Map;
+
+/**
+ * Sizes in which uploaded posters and facility photos are stored.
+ * Every upload writes one file per rendition next to the full image, and the model records
+ * their download URLs keyed by {@link #getKey()}. Loaders then fetch the smallest rendition
+ * that still covers the view, so list rows never download a full-size photo.
+ */
+public enum ImageRendition {
+
+    /**
+     * Small image for list rows and grid cells.
+     */
+    THUMB("thumb", 320),
+
+    /**
+     * Mid-sized image for cards and detail headers.
+     */
+    MEDIUM("medium", 800),
+
+    /**
+     * The full uploaded image.
+     */
+    FULL("full", 1600);
+
+    private final String key;
+    private final int maxDimension;
+
+    /**
+     * Constructs a rendition.
+     *
+     * @param key          The key used in stored variant maps and file names.
+     * @param maxDimension The maximum length in pixels of the rendition's long edge.
+     */
+    ImageRendition(String key, int maxDimension) {
+        this.key = key;
+        this.maxDimension = maxDimension;
+    }
+
+    /**
+     * Retrieves the key of the rendition.
+     *
+     * @return The key.
+     */
+    public String getKey() {
+        return key;
+    }
+
+    /**
+     * Retrieves the maximum length of the rendition's long edge.
+     *
+     * @return The size in pixels.
+     */
+    public int getMaxDimension() {
+        return maxDimension;
+    }
+
+    /**
+     * Builds the file name of this rendition from the file name of the full image,
+     * so that every rendition is stored side by side. The full rendition keeps the original name.
+     *
+     * @param fullFileName The file name of the full image, such as "abc.jpg".
+     * @return The rendition's file name, such as "abc_thumb.jpg".
+     */
+    public String fileName(String fullFileName) {
+        if (this == FULL) {
+            return fullFileName;
+        }
+        int dot = fullFileName.lastIndexOf('.');
+        return dot < 0
+                ? fullFileName + "_" + key
+                : fullFileName.substring(0, dot) + "_" + key + fullFileName.substring(dot);
+    }
+
+    /**
+     * Checks whether a stored file is a smaller rendition of another file rather than a full image.
+     *
+     * @param fileName The name of the stored file.
+     * @return True if the name carries a rendition suffix.
+     */
+    public static boolean isRenditionFile(String fileName) {
+        int dot = fileName.lastIndexOf('.');
+        String base = dot < 0 ? fileName : fileName.substring(0, dot);
+        for (ImageRendition rendition : values()) {
+            if (rendition != FULL && base.endsWith("_" + rendition.key)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Recovers the file name of the full image a stored file belongs to, undoing {@link #fileName(String)}.
+     *
+     * @param fileName The name of the stored file, such as "abc_thumb.jpg".
+     * @return The full image's file name, such as "abc.jpg", or the name itself if it is not a rendition.
+     */
+    public static String fullFileNameOf(String fileName) {
+        int dot = fileName.lastIndexOf('.');
+        String base = dot < 0 ? fileName : fileName.substring(0, dot);
+        String extension = dot < 0 ? "" : fileName.substring(dot);
+        for (ImageRendition rendition : values()) {
+            String suffix = "_" + rendition.key;
+            if (rendition != FULL && base.endsWith(suffix)) {
+                return base.substring(0, base.length() - suffix.length()) + extension;
+            }
+        }
+        return fileName;
+    }
+
+    /**
+     * Picks the smallest rendition whose long edge covers a target size.
+     *
+     * @param targetPixels The size of the view in pixels.
+     * @return The rendition, or {@link #FULL} if none is large enough.
+     */
+    public static ImageRendition forSize(int targetPixels) {
+        for (ImageRendition rendition : values()) {
+            if (rendition.maxDimension >= targetPixels) {
+                return rendition;
+            }
+        }
+        return FULL;
+    }
+
+    /**
+     * Picks the URL of the smallest stored rendition that covers a target size.
+     * Falls back to larger renditions that were stored, then to the original URL,
+     * so images uploaded before renditions existed keep loading.
+     *
+     * @param variants     Download URLs keyed by rendition key, possibly null.
+     * @param fallbackUrl  The URL of the original image.
+     * @param targetPixels The size of the view in pixels.
+     * @return The URL to load.
+     */
+    public static String pickUrl(Map<String, String> variants, String fallbackUrl, int targetPixels) {
+        if (variants == null || variants.isEmpty()) {
+            return fallbackUrl;
+        }
+        ImageRendition[] renditions = values();
+        for (int i = forSize(targetPixels).ordinal(); i < renditions.length; i++) {
+            String url = variants.get(renditions[i].key);
+            if (url != null && !url.isEmpty()) {
+                return url;
+            }
+        }
+        return fallbackUrl;
+    }
+
+    /**
+     * Estimates the size in pixels an image view will be drawn at.
+     * Uses the measured size once laid out, otherwise the fixed layout dimensions,
+     * treating a width that is not fixed as the full screen width.
+     *
+     * @param view The image view.
+     * @return The length of the view's long edge in pixels.
+     */
+    public static int targetSizeOf(View view) {
+        int size = Math.max(view.getWidth(), view.getHeight());
+        if (size > 0) {
+            return size;
+        }
+        int screenWidth = view.getResources().getDisplayMetrics().widthPixels;
+        ViewGroup.LayoutParams params = view.getLayoutParams();
+        if (params == null) {
+            return screenWidth;
+        }
+        return Math.max(params.width > 0 ? params.width : screenWidth, params.height);
+    }
+}
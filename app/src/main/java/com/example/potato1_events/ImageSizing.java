@@ -0,0 +1,54 @@
+// File: ImageSizing.java
+package com.example.potato1_events;
+
+/**
+ * Sizing arithmetic for downscaling images before upload.
+ * Kept free of Android types so the decode and resize targets can be unit tested.
+ */
+public final class ImageSizing {
+
+    /**
+     * Prevents instantiation of this utility class.
+     */
+    private ImageSizing() {
+    }
+
+    /**
+     * Picks the largest power-of-two decode sample size that still leaves the long edge
+     * at or above the target, so the decoder skips most pixels and the final resize only shrinks.
+     *
+     * @param width        The width of the source image.
+     * @param height       The height of the source image.
+     * @param maxDimension The target length of the long edge.
+     * @return The sample size, at least 1.
+     */
+    public static int sampleSizeFor(int width, int height, int maxDimension) {
+        int longEdge = Math.max(width, height);
+        int sampleSize = 1;
+        while (longEdge / (sampleSize * 2) >= maxDimension) {
+            sampleSize *= 2;
+        }
+        return sampleSize;
+    }
+
+    /**
+     * Computes the size of an image scaled down to fit the target, keeping its aspect ratio.
+     * Images already within the target are left at their own size.
+     *
+     * @param width        The width of the image.
+     * @param height       The height of the image.
+     * @param maxDimension The maximum length of the long edge.
+     * @return The scaled width and height, each at least 1.
+     */
+    public static int[] scaledSize(int width, int height, int maxDimension) {
+        int longEdge = Math.max(width, height);
+        if (longEdge <= maxDimension) {
+            return new int[]{width, height};
+        }
+        double scale = (double) maxDimension / longEdge;
+        return new int[]{
+                Math.max(1, (int) Math.round(width * scale)),
+                Math.max(1, (int) Math.round(height * scale))
+        };
+    }
+}
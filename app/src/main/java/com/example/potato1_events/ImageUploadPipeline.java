@@ -0,0 +1,334 @@
+// File: ImageUploadPipeline.java
+package com.example.potato1_events;
+
+import android.content.ContentResolver;
+import android.content.Context;
+import android.graphics.Bitmap;
+import android.graphics.BitmapFactory;
+import android.graphics.Canvas;
+import android.graphics.Color;
+import android.graphics.Matrix;
+import android.media.ExifInterface;
+import android.net.Uri;
+import android.util.Log;
+
+import com.google.android.gms.tasks.CancellationToken;
+import com.google.android.gms.tasks.Task;
+import com.google.android.gms.tasks.Tasks;
+import com.google.firebase.storage.StorageMetadata;
+import com.google.firebase.storage.StorageReference;
+import com.google.firebase.storage.UploadTask;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Shared pipeline that shrinks picked images before they are uploaded to Firebase Storage.
+ * Each image is decoded with sampling, scaled so its long edge fits {@link #MAX_DIMENSION},
+ * turned upright from its EXIF orientation and re-encoded as JPEG. Re-encoding drops the camera
+ * metadata, including location tags. Posters and facility photos are also stored as smaller
+ * {@link ImageRendition}s next to the full image. All decoding runs on a background thread, and uploads
+ * go through {@link ResumableUploader} so they survive dropped connections.
+ */
+public class ImageUploadPipeline {
+
+    private static final String TAG = "ImageUploadPipeline";
+
+    /**
+     * Maximum length in pixels of the long edge of an uploaded image.
+     */
+    public static final int MAX_DIMENSION = ImageRendition.FULL.getMaxDimension();
+
+    /**
+     * JPEG quality used when re-encoding.
+     */
+    static final int JPEG_QUALITY = 82;
+
+    /**
+     * Metadata attached to every upload, so Storage serves the files with the right type.
+     */
+    private static final StorageMetadata JPEG_METADATA = new StorageMetadata.Builder()
+            .setContentType("image/jpeg")
+            .build();
+
+    private static ImageUploadPipeline instance;
+
+    private final ContentResolver contentResolver;
+    private final ResumableUploader uploader;
+
+    // Single thread so that only one full-size image is decoded at a time
+    private final ExecutorService executor = Executors.newSingleThreadExecutor();
+
+    /**
+     * Private constructor to enforce Singleton pattern.
+     *
+     * @param context Any context; only the application context is kept.
+     */
+    private ImageUploadPipeline(Context context) {
+        contentResolver = context.getApplicationContext().getContentResolver();
+        uploader = ResumableUploader.getInstance(context);
+    }
+
+    /**
+     * Retrieves the singleton instance of ImageUploadPipeline.
+     *
+     * @param context Any context; only the application context is kept.
+     * @return The singleton instance.
+     */
+    public static synchronized ImageUploadPipeline getInstance(Context context) {
+        if (instance == null) {
+            instance = new ImageUploadPipeline(context);
+        }
+        return instance;
+    }
+
+    /**
+     * Downscales and re-encodes an image off the main thread.
+     *
+     * @param source The content URI of the picked image.
+     * @return A task resolving to the JPEG bytes.
+     */
+    public Task<byte[]> compress(Uri source) {
+        return Tasks.call(executor, () -> encode(source, MAX_DIMENSION));
+    }
+
+    /**
+     * Downscales and re-encodes an image, then uploads the result through a resumable session.
+     *
+     * @param source       The content URI of the picked image.
+     * @param target       The Storage location to upload to.
+     * @param listener     Receives upload progress, or null.
+     * @param cancellation Cancels the upload when requested, or null.
+     * @return A task resolving to the upload snapshot, or failing if the image could not be read or uploaded.
+     */
+    public Task<UploadTask.TaskSnapshot> upload(Uri source, StorageReference target,
+                                                ResumableUploader.ProgressListener listener,
+                                                CancellationToken cancellation) {
+        return compress(source).onSuccessTask(data ->
+                uploader.upload(data, target, JPEG_METADATA, listener, cancellation));
+    }
+
+    /**
+     * Downscales an image into every {@link ImageRendition} and uploads them side by side,
+     * naming each file after the full image with {@link ImageRendition#fileName(String)}.
+     * Renditions that would be no smaller than the full image are skipped.
+     *
+     * @param source       The content URI of the picked image.
+     * @param fullTarget   The Storage location of the full image.
+     * @param listener     Receives the combined upload progress of all renditions, or null.
+     * @param cancellation Cancels the uploads when requested, or null.
+     * @return A task resolving to the download URLs keyed by rendition key.
+     */
+    public Task<Map<String, String>> uploadRenditions(Uri source, StorageReference fullTarget,
+                                                      ResumableUploader.ProgressListener listener,
+                                                      CancellationToken cancellation) {
+        return Tasks.call(executor, () -> encodeRenditions(source))
+                .onSuccessTask(encoded -> {
+                    StorageReference folder = fullTarget.getParent();
+                    List<String> keys = new ArrayList<>();
+                    List<Task<Uri>> downloadUrls = new ArrayList<>();
+
+                    // Report progress over the bytes of every rendition together
+                    long totalBytes = 0;
+                    for (byte[] data : encoded.values()) {
+                        totalBytes += data.length;
+                    }
+                    long[] sent = new long[encoded.size()];
+                    long combinedTotal = totalBytes;
+
+                    for (Map.Entry<ImageRendition, byte[]> entry : encoded.entrySet()) {
+                        ImageRendition rendition = entry.getKey();
+                        StorageReference target = rendition == ImageRendition.FULL || folder == null
+                                ? fullTarget
+                                : folder.child(rendition.fileName(fullTarget.getName()));
+                        int index = keys.size();
+                        keys.add(rendition.getKey());
+                        ResumableUploader.ProgressListener renditionProgress = listener == null ? null
+                                : (bytesTransferred, bytes) -> {
+                                    sent[index] = bytesTransferred;
+                                    long combined = 0;
+                                    for (long value : sent) {
+                                        combined += value;
+                                    }
+                                    listener.onProgress(combined, combinedTotal);
+                                };
+                        downloadUrls.add(uploader.upload(entry.getValue(), target, JPEG_METADATA, renditionProgress, cancellation)
+                                .continueWithTask(upload -> {
+                                    if (!upload.isSuccessful()) {
+                                        throw upload.getException();
+                                    }
+                                    return target.getDownloadUrl();
+                                }));
+                    }
+                    return Tasks.<Uri>whenAllSuccess(downloadUrls).onSuccessTask(uris -> {
+                        Map<String, String> variants = new HashMap<>();
+                        for (int i = 0; i < keys.size(); i++) {
+                            variants.put(keys.get(i), uris.get(i).toString());
+                        }
+                        return Tasks.forResult(variants);
+                    });
+                });
+    }
+
+    /**
+     * Decodes, scales, rotates and re-encodes an image.
+     *
+     * @param source       The content URI of the image.
+     * @param maxDimension The maximum length of the long edge.
+     * @return The JPEG bytes.
+     * @throws IOException If the image cannot be read or decoded.
+     */
+    byte[] encode(Uri source, int maxDimension) throws IOException {
+        Bitmap output = decodeUpright(source, maxDimension);
+        byte[] data = toJpeg(output);
+        output.recycle();
+        return data;
+    }
+
+    /**
+     * Decodes an image once at full size and encodes every rendition from it.
+     *
+     * @param source The content URI of the image.
+     * @return The JPEG bytes per rendition, from smallest to largest.
+     * @throws IOException If the image cannot be read or decoded.
+     */
+    Map<ImageRendition, byte[]> encodeRenditions(Uri source) throws IOException {
+        Bitmap full = decodeUpright(source, ImageRendition.FULL.getMaxDimension());
+        int longEdge = Math.max(full.getWidth(), full.getHeight());
+        Map<ImageRendition, byte[]> encoded = new LinkedHashMap<>();
+        for (ImageRendition rendition : ImageRendition.values()) {
+            if (rendition == ImageRendition.FULL) {
+                encoded.put(rendition, toJpeg(full));
+            } else if (rendition.getMaxDimension() < longEdge) {
+                int[] size = ImageSizing.scaledSize(full.getWidth(), full.getHeight(), rendition.getMaxDimension());
+                Bitmap scaled = Bitmap.createScaledBitmap(full, size[0], size[1], true);
+                encoded.put(rendition, toJpeg(scaled));
+                scaled.recycle();
+            }
+        }
+        full.recycle();
+        return encoded;
+    }
+
+    /**
+     * Decodes an image with sampling, scales it to fit and applies its EXIF rotation.
+     *
+     * @param source       The content URI of the image.
+     * @param maxDimension The maximum length of the long edge.
+     * @return An opaque bitmap ready to be encoded.
+     * @throws IOException If the image cannot be read or decoded.
+     */
+    private Bitmap decodeUpright(Uri source, int maxDimension) throws IOException {
+        long start = System.currentTimeMillis();
+
+        // Read only the dimensions first
+        BitmapFactory.Options bounds = new BitmapFactory.Options();
+        bounds.inJustDecodeBounds = true;
+        try (InputStream in = open(source)) {
+            BitmapFactory.decodeStream(in, null, bounds);
+        }
+        if (bounds.outWidth <= 0 || bounds.outHeight <= 0) {
+            throw new IOException("Unsupported image: " + source);
+        }
+
+        // Decode at a reduced sample size so the full-size bitmap is never allocated
+        BitmapFactory.Options options = new BitmapFactory.Options();
+        options.inSampleSize = ImageSizing.sampleSizeFor(bounds.outWidth, bounds.outHeight, maxDimension);
+        Bitmap sampled;
+        try (InputStream in = open(source)) {
+            sampled = BitmapFactory.decodeStream(in, null, options);
+        }
+        if (sampled == null) {
+            throw new IOException("Failed to decode image: " + source);
+        }
+
+        // Scale to the target size and apply the EXIF rotation in one pass
+        int[] size = ImageSizing.scaledSize(sampled.getWidth(), sampled.getHeight(), maxDimension);
+        Matrix matrix = new Matrix();
+        matrix.postScale((float) size[0] / sampled.getWidth(), (float) size[1] / sampled.getHeight());
+        int rotation = readRotation(source);
+        if (rotation != 0) {
+            matrix.postRotate(rotation);
+        }
+        Bitmap output = Bitmap.createBitmap(sampled, 0, 0, sampled.getWidth(), sampled.getHeight(), matrix, true);
+        if (output != sampled) {
+            sampled.recycle();
+        }
+
+        // JPEG has no alpha channel, so flatten transparent images onto white instead of black
+        if (output.hasAlpha()) {
+            Bitmap flattened = Bitmap.createBitmap(output.getWidth(), output.getHeight(), Bitmap.Config.RGB_565);
+            Canvas canvas = new Canvas(flattened);
+            canvas.drawColor(Color.WHITE);
+            canvas.drawBitmap(output, 0, 0, null);
+            output.recycle();
+            output = flattened;
+        }
+
+        Log.d(TAG, "Decoded " + bounds.outWidth + "x" + bounds.outHeight + " image to "
+                + output.getWidth() + "x" + output.getHeight() + " in "
+                + (System.currentTimeMillis() - start) + " ms");
+        return output;
+    }
+
+    /**
+     * Encodes a bitmap as JPEG. No EXIF block is written, so no metadata survives.
+     *
+     * @param bitmap The bitmap.
+     * @return The JPEG bytes.
+     */
+    private static byte[] toJpeg(Bitmap bitmap) {
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        bitmap.compress(Bitmap.CompressFormat.JPEG, JPEG_QUALITY, baos);
+        return baos.toByteArray();
+    }
+
+    /**
+     * Opens an input stream on an image.
+     *
+     * @param source The content URI of the image.
+     * @return The stream.
+     * @throws IOException If the image cannot be opened.
+     */
+    private InputStream open(Uri source) throws IOException {
+        InputStream in = contentResolver.openInputStream(source);
+        if (in == null) {
+            throw new IOException("Cannot open image: " + source);
+        }
+        return in;
+    }
+
+    /**
+     * Reads the rotation needed to display an image upright from its EXIF orientation.
+     *
+     * @param source The content URI of the image.
+     * @return The clockwise rotation in degrees, or 0 if unknown.
+     */
+    private int readRotation(Uri source) {
+        try (InputStream in = open(source)) {
+            int orientation = new ExifInterface(in)
+                    .getAttributeInt(ExifInterface.TAG_ORIENTATION, ExifInterface.ORIENTATION_NORMAL);
+            switch (orientation) {
+                case ExifInterface.ORIENTATION_ROTATE_90:
+                    return 90;
+                case ExifInterface.ORIENTATION_ROTATE_180:
+                    return 180;
+                case ExifInterface.ORIENTATION_ROTATE_270:
+                    return 270;
+                default:
+                    return 0;
+            }
+        } catch (IOException e) {
+            Log.w(TAG, "Could not read EXIF orientation: " + source, e);
+            return 0;
+        }
+    }
+}
@@ -0,0 +1,260 @@
+// File: JoinedEventsSync.java
+package com.example.potato1_events;
+
+import android.os.Handler;
+import android.os.Looper;
+import android.util.Log;
+
+import com.google.firebase.firestore.DocumentSnapshot;
+import com.google.firebase.firestore.FirebaseFirestore;
+import com.google.firebase.firestore.ListenerRegistration;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Keeps an entrant's joined-events list in sync through snapshot listeners.
+ * One listener watches the user's {@code eventsJoined} field and one listener watches each joined event,
+ * so joining or leaving an event only attaches or detaches a single listener, and an edit to an event
+ * only delivers that event. While at least one observer is attached, and for {@link #LINGER_MILLIS} after
+ * the last one leaves, the list stays cached in memory, so an observer returning to the feed gets the
+ * current list without any reads. After that the cache is dropped and the next observer reloads it.
+ * Firestore cannot listen to part of a document, so any write to a joined event, including another
+ * entrant joining or leaving it, delivers the whole event again and counts as one read.
+ */
+public class JoinedEventsSync {
+
+    private static final String TAG = "JoinedEventsSync";
+
+    /**
+     * How long listening continues after the last observer leaves, such as while an event's details are open.
+     */
+    static final long LINGER_MILLIS = 60_000;
+
+    /**
+     * Observer interface for changes to the joined-events list.
+     */
+    public interface Listener {
+        /**
+         * Called with the full joined-events list whenever it changes.
+         *
+         * @param events The joined events, in the order they were joined.
+         */
+        void onJoinedEventsChanged(List<Event> events);
+
+        /**
+         * Called when the user document could not be listened to.
+         *
+         * @param e The exception that caused the failure.
+         */
+        void onError(Exception e);
+    }
+
+    private final FirebaseFirestore firestore;
+    private final String deviceId;
+
+    // Observers currently interested in the list
+    private final List<Listener> listeners = new ArrayList<>();
+
+    // Listener on the user document, and one listener per joined event
+    private ListenerRegistration userRegistration;
+    private final Map<String, ListenerRegistration> eventRegistrations = new HashMap<>();
+
+    // Joined event IDs in join order, the latest snapshot of each event, and events still awaiting their first snapshot
+    private final Set<String> joinedIds = new LinkedHashSet<>();
+    private final Map<String, Event> events = new HashMap<>();
+    private final Set<String> pendingIds = new HashSet<>();
+
+    // Whether the list has been delivered at least once since listening started
+    private boolean loaded = false;
+
+    // Stops listening once no observer has come back within the linger time
+    private final Handler handler = new Handler(Looper.getMainLooper());
+    private final Runnable stopWhenUnobserved = this::stopListening;
+
+    /**
+     * Constructs a new JoinedEventsSync for the given entrant.
+     *
+     * @param firestore The FirebaseFirestore instance to use.
+     * @param deviceId  The entrant's device ID.
+     */
+    public JoinedEventsSync(FirebaseFirestore firestore, String deviceId) {
+        this.firestore = firestore;
+        this.deviceId = deviceId;
+    }
+
+    /**
+     * Adds an observer. The first observer starts listening; later observers immediately
+     * receive the cached list if it has already been loaded.
+     *
+     * @param listener The observer to add.
+     */
+    public void addListener(Listener listener) {
+        if (listeners.contains(listener)) {
+            return;
+        }
+        listeners.add(listener);
+        handler.removeCallbacks(stopWhenUnobserved);
+        if (userRegistration == null) {
+            startListening();
+        } else if (loaded) {
+            listener.onJoinedEventsChanged(currentEvents());
+        }
+    }
+
+    /**
+     * Removes an observer. Listening stops {@link #LINGER_MILLIS} after the last observer has been removed,
+     * unless another observer is added before then.
+     *
+     * @param listener The observer to remove.
+     */
+    public void removeListener(Listener listener) {
+        listeners.remove(listener);
+        if (listeners.isEmpty()) {
+            handler.removeCallbacks(stopWhenUnobserved);
+            handler.postDelayed(stopWhenUnobserved, LINGER_MILLIS);
+        }
+    }
+
+    /**
+     * Attaches the listener on the user document.
+     */
+    private void startListening() {
+        userRegistration = firestore.collection("Users").document(deviceId)
+                .addSnapshotListener((snapshot, e) -> {
+                    if (e != null) {
+                        Log.e(TAG, "Error listening to user: " + deviceId, e);
+                        for (Listener listener : new ArrayList<>(listeners)) {
+                            listener.onError(e);
+                        }
+                        return;
+                    }
+                    if (snapshot == null) {
+                        return;
+                    }
+                    List<String> eventsJoined = (List<String>) snapshot.get("eventsJoined");
+                    applyJoinedIds(eventsJoined != null ? eventsJoined : new ArrayList<>());
+                });
+    }
+
+    /**
+     * Detaches every listener and drops the cached list.
+     */
+    private void stopListening() {
+        if (userRegistration != null) {
+            userRegistration.remove();
+            userRegistration = null;
+        }
+        for (ListenerRegistration registration : eventRegistrations.values()) {
+            registration.remove();
+        }
+        eventRegistrations.clear();
+        joinedIds.clear();
+        events.clear();
+        pendingIds.clear();
+        loaded = false;
+    }
+
+    /**
+     * Applies a new {@code eventsJoined} value, attaching listeners only for newly joined events
+     * and detaching them only for events that were left.
+     *
+     * @param eventsJoined The joined event IDs from the user document.
+     */
+    private void applyJoinedIds(List<String> eventsJoined) {
+        Set<String> newIds = new LinkedHashSet<>(eventsJoined);
+        boolean changed = !new ArrayList<>(newIds).equals(new ArrayList<>(joinedIds));
+
+        // Detach listeners for events the entrant left
+        for (String eventId : new ArrayList<>(joinedIds)) {
+            if (!newIds.contains(eventId)) {
+                ListenerRegistration registration = eventRegistrations.remove(eventId);
+                if (registration != null) {
+                    registration.remove();
+                }
+                events.remove(eventId);
+                pendingIds.remove(eventId);
+            }
+        }
+
+        // Attach listeners for newly joined events
+        for (String eventId : newIds) {
+            if (!eventRegistrations.containsKey(eventId)) {
+                pendingIds.add(eventId);
+                eventRegistrations.put(eventId, firestore.collection("Events").document(eventId)
+                        .addSnapshotListener((snapshot, e) -> applyEventSnapshot(eventId, snapshot, e)));
+            }
+        }
+
+        joinedIds.clear();
+        joinedIds.addAll(newIds);
+
+        if (changed || !loaded) {
+            publish();
+        }
+    }
+
+    /**
+     * Applies a snapshot of a single joined event.
+     *
+     * @param eventId  The ID of the event.
+     * @param snapshot The event snapshot, or null on error.
+     * @param e        The error, or null on success.
+     */
+    private void applyEventSnapshot(String eventId, DocumentSnapshot snapshot, Exception e) {
+        if (!eventRegistrations.containsKey(eventId)) {
+            return; // The entrant left this event in the meantime
+        }
+        if (e != null) {
+            Log.e(TAG, "Error listening to event: " + eventId, e);
+            events.remove(eventId);
+        } else if (snapshot != null && snapshot.exists()) {
+            Event event = snapshot.toObject(Event.class);
+            if (event != null) {
+                event.setId(snapshot.getId());
+                events.put(eventId, event);
+            }
+        } else {
+            // The event was deleted
+            events.remove(eventId);
+        }
+        pendingIds.remove(eventId);
+        publish();
+    }
+
+    /**
+     * Delivers the current list to every observer, holding back the first delivery until
+     * every joined event has reported its first snapshot.
+     */
+    private void publish() {
+        if (!pendingIds.isEmpty()) {
+            return;
+        }
+        loaded = true;
+        List<Event> current = currentEvents();
+        for (Listener listener : new ArrayList<>(listeners)) {
+            listener.onJoinedEventsChanged(current);
+        }
+    }
+
+    /**
+     * Builds the joined-events list in join order.
+     *
+     * @return A new list of the joined events that currently exist.
+     */
+    private List<Event> currentEvents() {
+        List<Event> current = new ArrayList<>();
+        for (String eventId : joinedIds) {
+            Event event = events.get(eventId);
+            if (event != null) {
+                current.add(event);
+            }
+        }
+        return current;
+    }
+}
@@ -25,8 +25,6 @@ import com.google.firebase.firestore.CollectionReference;
 import com.google.firebase.firestore.DocumentReference;
 import com.google.firebase.firestore.DocumentSnapshot;
 import com.google.firebase.firestore.FirebaseFirestore;
-import com.google.firebase.storage.FirebaseStorage;
-import com.squareup.picasso.Picasso;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -70,6 +68,7 @@ public class ManageEventsActivity extends AppCompatActivity {
         // Initialize RecyclerView
         eventsRecyclerView = findViewById(R.id.eventsRecyclerView);
         eventsRecyclerView.setLayoutManager(new LinearLayoutManager(this));
+        eventsRecyclerView.addOnScrollListener(ImageLoader.getInstance(this).pauseOnFling(this)); // Pause image loads while flinging
         eventsRecyclerView.setHasFixedSize(true);
 
         // Initialize event list and adapter
@@ -163,12 +162,8 @@ public class ManageEventsActivity extends AppCompatActivity {
 
             // Load event poster image
             if (!TextUtils.isEmpty(event.getPosterImageUrl())) {
-                // Use Picasso or any other image loading library
-                Picasso.get()
-                        .load(event.getPosterImageUrl())
-                        .placeholder(R.drawable.ic_placeholder_image)
-                        .error(R.drawable.ic_error_image)
-                        .into(holder.eventPosterImageView);
+                ImageLoader.getInstance(ManageEventsActivity.this)
+                        .load(event.posterUrlFor(ImageRendition.targetSizeOf(holder.eventPosterImageView)), holder.eventPosterImageView);
             } else {
                 holder.eventPosterImageView.setImageResource(R.drawable.ic_placeholder_image);
             }
@@ -284,19 +279,12 @@ public class ManageEventsActivity extends AppCompatActivity {
                 .addOnSuccessListener(aVoid -> {
                     Toast.makeText(this, "Event deleted successfully.", Toast.LENGTH_SHORT).show();
 
-                    // Optionally, delete the poster image from Firebase Storage
-                    if (!TextUtils.isEmpty(event.getPosterImageUrl())) {
-                        // Assuming the posterImageUrl contains the storage path
-                        // Adjust this logic based on how you store images
-                        String storagePath = event.getPosterImageUrl(); // Modify as needed
-                        FirebaseStorage.getInstance().getReference(storagePath).delete()
-                                .addOnSuccessListener(aVoid1 -> {
-                                    Log.d(TAG, "Poster image deleted successfully.");
-                                })
-                                .addOnFailureListener(e -> {
-                                    Log.e(TAG, "Error deleting poster image: " + e.getMessage(), e);
-                                });
-                    }
+                    // Delete the event's indexed entrant locations, which outlive the event document
+                    EntEventsRepository.getInstance().getLocationIndex().deleteAll(event.getId());
+
+                    // Release the poster, which is deleted with its renditions once no other event uses it
+                    ContentAddressedStore.getInstance(this).release(event.getPosterImageUrl())
+                            .addOnFailureListener(e -> Log.e(TAG, "Error releasing poster image: " + e.getMessage(), e));
 
                     loadEvents(); // Refresh the event list
                 })
@@ -69,6 +69,7 @@ public class ManageFacilitiesActivity extends AppCompatActivity {
         // Initialize RecyclerView
         facilitiesRecyclerView = findViewById(R.id.facilitiesRecyclerView);
         facilitiesRecyclerView.setLayoutManager(new LinearLayoutManager(this));
+        facilitiesRecyclerView.addOnScrollListener(ImageLoader.getInstance(this).pauseOnFling(this)); // Pause image loads while flinging
         facilitiesRecyclerView.setHasFixedSize(true);
 
         // Initialize facility list and adapter
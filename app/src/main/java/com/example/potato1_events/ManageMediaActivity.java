@@ -18,7 +18,6 @@ import androidx.recyclerview.widget.RecyclerView;
 
 import com.google.firebase.storage.FirebaseStorage;
 import com.google.firebase.storage.StorageReference;
-import com.google.firebase.storage.ListResult;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -42,10 +41,25 @@ public class ManageMediaActivity extends AppCompatActivity implements MediaAdapt
     private MediaAdapter mediaAdapter;
 
     /**
-     * List holding all media StorageReferences fetched from Firebase Storage.
+     * Layout manager of the grid, used to find how far the admin has scrolled.
+     */
+    private GridLayoutManager gridLayoutManager;
+
+    /**
+     * List holding the media StorageReferences fetched from Firebase Storage so far.
      */
     private List<StorageReference> mediaList;
 
+    /**
+     * Pages through the media in Firebase Storage.
+     */
+    private MediaPager mediaPager;
+
+    /**
+     * Number of cells from the end of the grid at which the next page starts loading.
+     */
+    private static final int PREFETCH_THRESHOLD = 15;
+
     // Firebase Firestore
 
     /**
@@ -79,7 +93,17 @@ public class ManageMediaActivity extends AppCompatActivity implements MediaAdapt
         actionBar.setTitle("Manage Media");
 
         mediaRecyclerView = findViewById(R.id.mediaRecyclerView);
-        mediaRecyclerView.setLayoutManager(new GridLayoutManager(this, 3)); // 3 columns grid
+        gridLayoutManager = new GridLayoutManager(this, 3); // 3 columns grid
+        mediaRecyclerView.setLayoutManager(gridLayoutManager);
+        mediaRecyclerView.addOnScrollListener(ImageLoader.getInstance(this).pauseOnFling(this)); // Pause image loads while flinging
+        mediaRecyclerView.addOnScrollListener(new RecyclerView.OnScrollListener() {
+            @Override
+            public void onScrolled(@NonNull RecyclerView recyclerView, int dx, int dy) {
+                if (dy > 0) {
+                    prefetchIfNearEnd();
+                }
+            }
+        });
         mediaRecyclerView.setHasFixedSize(true);
 
         mediaList = new ArrayList<>();
@@ -91,43 +115,66 @@ public class ManageMediaActivity extends AppCompatActivity implements MediaAdapt
     }
 
     /**
-     * Loads all media files from Firebase Storage under the 'images/' directory and its subdirectories.
-     * Populates the RecyclerView with the fetched media.
+     * Starts listing media files from Firebase Storage under the 'images/' directory and its subdirectories.
+     * The first page is shown as soon as it arrives; later pages load as the grid scrolls.
      */
     private void loadMedia() {
         StorageReference imagesRef = firebaseStorage.getReference().child("images/");
 
-        // Clear existing list and notify adapter
+        // Stop any listing in progress, then clear existing list and notify adapter
+        if (mediaPager != null) {
+            mediaPager.cancel();
+        }
         mediaList.clear();
         mediaAdapter.notifyDataSetChanged();
 
-        // Start recursive listing of media files
-        listAllMedia(imagesRef);
+        mediaPager = new MediaPager(imagesRef, new MediaPager.Listener() {
+            @Override
+            public void onItems(List<StorageReference> items) {
+                // Append the page without rebinding the rows already shown
+                int start = mediaList.size();
+                mediaList.addAll(items);
+                mediaAdapter.notifyItemRangeInserted(start, items.size());
+
+                // Keep loading if the grid is not yet filled past the prefetch threshold
+                mediaRecyclerView.post(() -> prefetchIfNearEnd());
+            }
+
+            @Override
+            public void onComplete() {
+                Toast.makeText(ManageMediaActivity.this, "Loaded Media: " + mediaList.size(), Toast.LENGTH_SHORT).show();
+            }
+
+            @Override
+            public void onError(Exception e) {
+                Toast.makeText(ManageMediaActivity.this, "Error loading media: " + e.getMessage(), Toast.LENGTH_SHORT).show();
+            }
+        });
+        mediaPager.loadMore();
     }
 
     /**
-     * Recursively lists all media files under the given StorageReference.
-     *
-     * @param ref The StorageReference to start listing from.
+     * Requests the next page of media once the last visible cell is close to the end of the list.
      */
-    private void listAllMedia(StorageReference ref) {
-        ref.listAll()
-                .addOnSuccessListener(listResult -> {
-                    // Add all items (files) to the media list
-                    mediaList.addAll(listResult.getItems());
-
-                    // Recursively list all prefixes (subdirectories)
-                    for (StorageReference prefix : listResult.getPrefixes()) {
-                        listAllMedia(prefix);
-                    }
+    private void prefetchIfNearEnd() {
+        if (mediaPager == null || !mediaPager.hasMore()) {
+            return;
+        }
+        int lastVisible = gridLayoutManager.findLastVisibleItemPosition();
+        if (lastVisible >= mediaList.size() - PREFETCH_THRESHOLD) {
+            mediaPager.loadMore();
+        }
+    }
 
-                    // After listing, notify adapter
-                    mediaAdapter.notifyDataSetChanged();
-                    Toast.makeText(ManageMediaActivity.this, "Loaded Media: " + mediaList.size(), Toast.LENGTH_SHORT).show();
-                })
-                .addOnFailureListener(exception -> {
-                    Toast.makeText(ManageMediaActivity.this, "Error loading media: " + exception.getMessage(), Toast.LENGTH_SHORT).show();
-                });
+    /**
+     * Stops listing media when the activity is destroyed.
+     */
+    @Override
+    protected void onDestroy() {
+        super.onDestroy();
+        if (mediaPager != null) {
+            mediaPager.cancel();
+        }
     }
 
     /**
@@ -172,15 +219,20 @@ public class ManageMediaActivity extends AppCompatActivity implements MediaAdapt
     }
 
     /**
-     * Deletes the specified media file from Firebase Storage.
+     * Deletes the specified media file, its renditions and its reference count from Firebase.
      *
      * @param mediaRef The StorageReference of the media to delete.
      */
     private void deleteMedia(StorageReference mediaRef) {
-        mediaRef.delete()
+        ContentAddressedStore.getInstance(this).forceDelete(mediaRef)
                 .addOnSuccessListener(aVoid -> {
                     Toast.makeText(ManageMediaActivity.this, "Media deleted successfully.", Toast.LENGTH_SHORT).show();
-                    loadMedia(); // Refresh the media list
+                    // Remove the cell instead of listing everything again
+                    int position = mediaList.indexOf(mediaRef);
+                    if (position >= 0) {
+                        mediaList.remove(position);
+                        mediaAdapter.notifyItemRemoved(position);
+                    }
                 })
                 .addOnFailureListener(exception -> {
                     Toast.makeText(ManageMediaActivity.this, "Error deleting media: " + exception.getMessage(), Toast.LENGTH_SHORT).show();
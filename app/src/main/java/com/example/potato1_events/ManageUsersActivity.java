@@ -29,9 +29,9 @@ import com.google.firebase.firestore.DocumentSnapshot;
 import com.google.firebase.firestore.FieldValue;
 import com.google.firebase.firestore.FirebaseFirestore;
 import com.google.firebase.firestore.QuerySnapshot;
+import com.google.firebase.firestore.WriteBatch;
 import com.google.firebase.storage.FirebaseStorage;
 import com.google.firebase.storage.StorageReference;
-import com.squareup.picasso.Picasso;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -67,6 +67,11 @@ public class ManageUsersActivity extends AppCompatActivity {
      */
     private FirebaseFirestore firestore;
 
+    /**
+     * Geohash index of entrant locations, whose entries are removed along with the user.
+     */
+    private EntrantLocationIndex locationIndex;
+
     // Tag for logging
 
     /**
@@ -74,6 +79,11 @@ public class ManageUsersActivity extends AppCompatActivity {
      */
     private static final String TAG = "ManageUsersActivity";
 
+    /**
+     * Number of rows past the visible ones whose profile image URLs are resolved ahead of time.
+     */
+    private static final int PREFETCH_AHEAD = 10;
+
     /**
      * Called when the activity is first created.
      * Initializes UI components, Firebase instances, and loads user data.
@@ -87,6 +97,7 @@ public class ManageUsersActivity extends AppCompatActivity {
 
         // Initialize Firestore
         firestore = FirebaseFirestore.getInstance();
+        locationIndex = EntEventsRepository.getInstance().getLocationIndex();
 
         // Initialize UI Components
         Toolbar toolbar = findViewById(R.id.toolbar_manage_users);
@@ -102,6 +113,17 @@ public class ManageUsersActivity extends AppCompatActivity {
         // Initialize RecyclerView
         usersRecyclerView = findViewById(R.id.usersRecyclerView);
         usersRecyclerView.setLayoutManager(new LinearLayoutManager(this));
+        usersRecyclerView.addOnScrollListener(ImageLoader.getInstance(this).pauseOnFling(this)); // Pause image loads while flinging
+        usersRecyclerView.addOnScrollListener(new RecyclerView.OnScrollListener() {
+            @Override
+            public void onScrolled(@NonNull RecyclerView recyclerView, int dx, int dy) {
+                // Resolve the image URLs of the rows about to scroll into view
+                LinearLayoutManager layoutManager = (LinearLayoutManager) recyclerView.getLayoutManager();
+                if (layoutManager != null && dy > 0) {
+                    prefetchImageUrls(layoutManager.findLastVisibleItemPosition() + 1);
+                }
+            }
+        });
         usersRecyclerView.setHasFixedSize(true);
 
         // Initialize user list and adapter
@@ -133,6 +155,7 @@ public class ManageUsersActivity extends AppCompatActivity {
                     }
 
                     usersAdapter.notifyDataSetChanged(); // Refresh the RecyclerView
+                    prefetchImageUrls(0); // Resolve the first screen of image URLs together
 
                     if (userList.isEmpty()) {
                         Toast.makeText(ManageUsersActivity.this, "No users found.", Toast.LENGTH_SHORT).show();
@@ -146,6 +169,23 @@ public class ManageUsersActivity extends AppCompatActivity {
                 });
     }
 
+    /**
+     * Starts resolving the profile image URLs of a range of rows that have a picture but no stored download URL.
+     *
+     * @param start The position of the first row.
+     */
+    private void prefetchImageUrls(int start) {
+        List<String> paths = new ArrayList<>();
+        int end = Math.min(start + PREFETCH_AHEAD, userList.size());
+        for (int i = Math.max(start, 0); i < end; i++) {
+            User user = userList.get(i);
+            if (TextUtils.isEmpty(user.getImageUrl()) && !DefaultAvatar.isGenerated(user.getImagePath())) {
+                paths.add(user.getImagePath());
+            }
+        }
+        DownloadUrlCache.getInstance(this).prefetch(paths);
+    }
+
     /**
      * Handles the selection of menu items in the action bar.
      * Specifically handles the Up button to navigate back to the parent activity.
@@ -207,22 +247,12 @@ public class ManageUsersActivity extends AppCompatActivity {
         public void onBindViewHolder(@NonNull UserViewHolder holder, int position) {
             User user = users.get(position);
 
-            // Load profile image
-            if (!TextUtils.isEmpty(user.getImagePath())) {
-                // Construct the full URL or use Firebase Storage's getDownloadUrl()
-                StorageReference imageRef = FirebaseStorage.getInstance().getReference().child(user.getImagePath());
-                imageRef.getDownloadUrl().addOnSuccessListener(uri -> {
-                    Picasso.get()
-                            .load(uri)
-                            .placeholder(R.drawable.ic_placeholder_image) // Placeholder image while loading
-                            .error(R.drawable.ic_error_image)             // Image to display on error
-                            .into(holder.profileImageView);
-                }).addOnFailureListener(e -> {
-                    holder.profileImageView.setImageResource(R.drawable.ic_error_image); // Set error image on failure
-                });
+            // Load the profile picture from its stored or cached download URL, or draw the generated avatar
+            if (DefaultAvatar.isGenerated(user.getImagePath())) {
+                AvatarRenderer.getInstance(ManageUsersActivity.this).loadInto(user.getName(), holder.profileImageView);
             } else {
-                // Set a default placeholder image if imagePath is empty
-                holder.profileImageView.setImageResource(R.drawable.ic_placeholder_image);
+                DownloadUrlCache.getInstance(ManageUsersActivity.this)
+                        .loadInto(user.getImagePath(), user.getImageUrl(), holder.profileImageView);
             }
 
             // Bind user data to TextViews
@@ -307,6 +337,7 @@ public class ManageUsersActivity extends AppCompatActivity {
 
                     // Now, delete the profile image from Firebase Storage if it exists
                     if (!TextUtils.isEmpty(user.getImagePath())) {
+                        DownloadUrlCache.getInstance(ManageUsersActivity.this).invalidate(user.getImagePath());
                         StorageReference imageRef = FirebaseStorage.getInstance().getReference().child(user.getImagePath());
                         imageRef.delete()
                                 .addOnSuccessListener(aVoid1 -> {
@@ -341,23 +372,22 @@ public class ManageUsersActivity extends AppCompatActivity {
         for (String eventId : eventsJoined) {
             DocumentReference eventRef = firestore.collection("Events").document(eventId);
 
-            // Remove entrant from the entrants map
-            eventRef.update("entrants." + user.getUserId(), FieldValue.delete())
+            // Remove the entrant, their stored location and its index entry, and decrement the
+            // current entrants number in one write
+            WriteBatch batch = firestore.batch();
+            batch.update(eventRef,
+                    "entrants." + user.getUserId(), FieldValue.delete(),
+                    "entrantsLocation." + user.getUserId(), FieldValue.delete(),
+                    "currentEntrantsNumber", FieldValue.increment(-1));
+            batch.delete(locationIndex.locationRef(eventId, user.getUserId()));
+
+            batch.commit()
                     .addOnSuccessListener(aVoid -> {
                         Log.d(TAG, "Removed " + user.getUserId() + " from event waiting list: " + eventId);
                     })
                     .addOnFailureListener(e -> {
                         Log.e(TAG, "Error removing user from event " + eventId + ": " + e.getMessage(), e);
                     });
-
-            // Decrement the current entrants number
-            eventRef.update("currentEntrantsNumber", FieldValue.increment(-1))
-                    .addOnSuccessListener(aVoid -> {
-                        Log.d(TAG, "Decremented currentEntrantsNumber for event: " + eventId);
-                    })
-                    .addOnFailureListener(e -> {
-                        Log.e(TAG, "Error decrementing currentEntrantsNumber for event " + eventId + ": " + e.getMessage(), e);
-                    });
         }
     }
 }
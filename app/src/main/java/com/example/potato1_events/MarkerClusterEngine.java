@@ -0,0 +1,257 @@
+// File: MarkerClusterEngine.java
+package com.example.potato1_events;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Grid-based clustering of entrant locations for the organizer map.
+ * Points are projected to Web Mercator pixels at the requested zoom level and grouped into square cells
+ * of {@link #CELL_SIZE_PX} pixels, so each cell becomes one marker however many entrants it holds.
+ * Clusters are cached per zoom level until the points change. All methods are synchronized so clusters
+ * can be computed on a background thread while points are added from the main thread.
+ */
+public class MarkerClusterEngine {
+
+    /**
+     * Size of a grid cell in screen pixels; points closer than this are likely to be merged.
+     */
+    static final int CELL_SIZE_PX = 96;
+
+    /**
+     * Size of the Web Mercator world in pixels at zoom level 0.
+     */
+    private static final double TILE_SIZE = 256;
+
+    /**
+     * Latitude limit of the Web Mercator projection.
+     */
+    private static final double MAX_LATITUDE = 85.05112878;
+
+    // Point coordinates (latitude, longitude) by entrant ID
+    private final Map<String, double[]> points = new HashMap<>();
+
+    // Clusters computed for each zoom level since the points last changed
+    private final Map<Integer, List<Cluster>> cache = new HashMap<>();
+
+    /**
+     * Adds or moves an entrant's point.
+     *
+     * @param entrantId The ID of the entrant.
+     * @param latitude  The latitude of the entrant.
+     * @param longitude The longitude of the entrant.
+     */
+    public synchronized void put(String entrantId, double latitude, double longitude) {
+        points.put(entrantId, new double[]{latitude, longitude});
+        cache.clear();
+    }
+
+    /**
+     * Removes an entrant's point.
+     *
+     * @param entrantId The ID of the entrant.
+     */
+    public synchronized void remove(String entrantId) {
+        if (points.remove(entrantId) != null) {
+            cache.clear();
+        }
+    }
+
+    /**
+     * Removes every point.
+     */
+    public synchronized void clear() {
+        points.clear();
+        cache.clear();
+    }
+
+    /**
+     * Retrieves the number of points.
+     *
+     * @return The number of points.
+     */
+    public synchronized int size() {
+        return points.size();
+    }
+
+    /**
+     * Retrieves an entrant's point.
+     *
+     * @param entrantId The ID of the entrant.
+     * @return The latitude and longitude, or null if the entrant has no point.
+     */
+    public synchronized double[] getPoint(String entrantId) {
+        double[] point = points.get(entrantId);
+        return point == null ? null : point.clone();
+    }
+
+    /**
+     * Computes, or returns cached, clusters for a zoom level.
+     *
+     * @param zoom The map zoom level.
+     * @return Every cluster at that zoom level.
+     */
+    public synchronized List<Cluster> getClusters(int zoom) {
+        List<Cluster> clusters = cache.get(zoom);
+        if (clusters != null) {
+            return clusters;
+        }
+
+        // Group the points by grid cell
+        double worldSize = TILE_SIZE * Math.pow(2, zoom);
+        Map<Long, List<String>> cells = new HashMap<>();
+        for (Map.Entry<String, double[]> entry : points.entrySet()) {
+            double[] point = entry.getValue();
+            long cellX = (long) Math.floor(projectX(point[1], worldSize) / CELL_SIZE_PX);
+            long cellY = (long) Math.floor(projectY(point[0], worldSize) / CELL_SIZE_PX);
+            Long cellKey = (cellX << 32) ^ (cellY & 0xffffffffL);
+            List<String> ids = cells.get(cellKey);
+            if (ids == null) {
+                ids = new ArrayList<>();
+                cells.put(cellKey, ids);
+            }
+            ids.add(entry.getKey());
+        }
+
+        // Place each cluster at the mean of its points
+        clusters = new ArrayList<>(cells.size());
+        for (Map.Entry<Long, List<String>> cell : cells.entrySet()) {
+            List<String> ids = cell.getValue();
+            double latitude = 0;
+            double longitude = 0;
+            for (String id : ids) {
+                double[] point = points.get(id);
+                latitude += point[0];
+                longitude += point[1];
+            }
+            String key = ids.size() == 1 ? "entrant:" + ids.get(0) : "cell:" + zoom + ":" + cell.getKey();
+            clusters.add(new Cluster(key, latitude / ids.size(), longitude / ids.size(), ids));
+        }
+        clusters = Collections.unmodifiableList(clusters);
+        cache.put(zoom, clusters);
+        return clusters;
+    }
+
+    /**
+     * Retrieves the clusters at a zoom level that fall inside a viewport.
+     *
+     * @param zoom  The map zoom level.
+     * @param south The southern edge of the viewport.
+     * @param west  The western edge of the viewport.
+     * @param north The northern edge of the viewport.
+     * @param east  The eastern edge of the viewport; smaller than {@code west} when crossing the antimeridian.
+     * @return The visible clusters.
+     */
+    public synchronized List<Cluster> getVisibleClusters(int zoom, double south, double west, double north, double east) {
+        List<Cluster> visible = new ArrayList<>();
+        for (Cluster cluster : getClusters(zoom)) {
+            if (cluster.latitude < south || cluster.latitude > north) {
+                continue;
+            }
+            boolean inLongitude = west <= east
+                    ? cluster.longitude >= west && cluster.longitude <= east
+                    : cluster.longitude >= west || cluster.longitude <= east;
+            if (inLongitude) {
+                visible.add(cluster);
+            }
+        }
+        return visible;
+    }
+
+    /**
+     * Projects a longitude to Web Mercator pixels.
+     *
+     * @param longitude The longitude.
+     * @param worldSize The size of the world in pixels at the current zoom.
+     * @return The x coordinate in pixels.
+     */
+    static double projectX(double longitude, double worldSize) {
+        return (longitude + 180) / 360 * worldSize;
+    }
+
+    /**
+     * Projects a latitude to Web Mercator pixels.
+     *
+     * @param latitude  The latitude.
+     * @param worldSize The size of the world in pixels at the current zoom.
+     * @return The y coordinate in pixels.
+     */
+    static double projectY(double latitude, double worldSize) {
+        double clamped = Math.max(-MAX_LATITUDE, Math.min(MAX_LATITUDE, latitude));
+        double sin = Math.sin(Math.toRadians(clamped));
+        return (0.5 - Math.log((1 + sin) / (1 - sin)) / (4 * Math.PI)) * worldSize;
+    }
+
+    /**
+     * A group of nearby entrants shown as one marker.
+     */
+    public static class Cluster {
+        private final String key;
+        private final double latitude;
+        private final double longitude;
+        private final List<String> entrantIds;
+
+        /**
+         * Constructs a new Cluster.
+         *
+         * @param key        A key that identifies the cluster while the points and zoom stay the same.
+         * @param latitude   The latitude of the marker.
+         * @param longitude  The longitude of the marker.
+         * @param entrantIds The IDs of the entrants in the cluster.
+         */
+        Cluster(String key, double latitude, double longitude, List<String> entrantIds) {
+            this.key = key;
+            this.latitude = latitude;
+            this.longitude = longitude;
+            this.entrantIds = Collections.unmodifiableList(entrantIds);
+        }
+
+        /**
+         * Retrieves the key of the cluster. A lone entrant keeps the same key at every zoom level.
+         *
+         * @return The cluster key.
+         */
+        public String getKey() {
+            return key;
+        }
+
+        /**
+         * Retrieves the latitude of the marker.
+         *
+         * @return The latitude.
+         */
+        public double getLatitude() {
+            return latitude;
+        }
+
+        /**
+         * Retrieves the longitude of the marker.
+         *
+         * @return The longitude.
+         */
+        public double getLongitude() {
+            return longitude;
+        }
+
+        /**
+         * Retrieves the IDs of the entrants in the cluster.
+         *
+         * @return The entrant IDs.
+         */
+        public List<String> getEntrantIds() {
+            return entrantIds;
+        }
+
+        /**
+         * Retrieves the number of entrants in the cluster.
+         *
+         * @return The number of entrants.
+         */
+        public int getSize() {
+            return entrantIds.size();
+        }
+    }
+}
@@ -12,8 +12,8 @@ import androidx.annotation.NonNull;
 import androidx.recyclerview.widget.RecyclerView;
 
 import com.google.firebase.storage.StorageReference;
-import com.squareup.picasso.Picasso;
 
+import java.util.Arrays;
 import java.util.List;
 
 /**
@@ -22,6 +22,9 @@ import java.util.List;
  */
 public class MediaAdapter extends RecyclerView.Adapter<MediaAdapter.MediaViewHolder> {
 
+    // Folders whose uploads are stored with smaller renditions alongside them
+    private static final List<String> RENDITION_FOLDERS = Arrays.asList("event_posters", "images/facility_photos");
+
     // List of StorageReference objects representing media files
     private List<StorageReference> mediaList;
 
@@ -78,23 +81,75 @@ public class MediaAdapter extends RecyclerView.Adapter<MediaAdapter.MediaViewHol
     public void onBindViewHolder(@NonNull MediaViewHolder holder, int position) {
         StorageReference storageRef = mediaList.get(position);
 
-        // Load image URL from Firebase Storage
+        // Tag the cell with its image, so a late callback for a recycled cell is ignored
+        String path = storageRef.getPath();
+        holder.itemView.setTag(path);
+        holder.imageView.setImageDrawable(null);
+
+        // Prefer the thumbnail rendition stored next to the image in folders that have renditions,
+        // falling back to the image itself
+        StorageReference folder = storageRef.getParent();
+        if (folder != null && RENDITION_FOLDERS.contains(trimSlashes(folder.getPath()))) {
+            folder.child(ImageRendition.THUMB.fileName(storageRef.getName())).getDownloadUrl()
+                    .addOnSuccessListener(uri -> loadInto(holder, path, uri))
+                    .addOnFailureListener(e -> loadFull(holder, path, storageRef));
+        } else {
+            loadFull(holder, path, storageRef);
+        }
+
+        // Set delete button click listener to handle media deletion
+        holder.deleteButton.setOnClickListener(v -> listener.onDeleteClick(storageRef));
+    }
+
+    /**
+     * Loads the full image into a media item.
+     *
+     * @param holder     The MediaViewHolder to load into.
+     * @param path       The path of the image the holder was bound to.
+     * @param storageRef The StorageReference of the image.
+     */
+    private void loadFull(MediaViewHolder holder, String path, StorageReference storageRef) {
         storageRef.getDownloadUrl()
-                .addOnSuccessListener(uri -> {
-                    // Use Picasso to load the image into the ImageView with placeholders for loading and error states
-                    Picasso.get()
-                            .load(uri)
-                            .placeholder(R.drawable.ic_placeholder_image) // Placeholder image while loading
-                            .error(R.drawable.ic_error_image)             // Image to display on error
-                            .into(holder.imageView);
-                })
+                .addOnSuccessListener(uri -> loadInto(holder, path, uri))
                 .addOnFailureListener(e -> {
                     // Set an error image if the download URL retrieval fails
-                    holder.imageView.setImageResource(R.drawable.ic_error_image);
+                    if (path.equals(holder.itemView.getTag())) {
+                        holder.imageView.setImageResource(R.drawable.ic_error_image);
+                    }
                 });
+    }
 
-        // Set delete button click listener to handle media deletion
-        holder.deleteButton.setOnClickListener(v -> listener.onDeleteClick(storageRef));
+    /**
+     * Loads an image into a media item, unless the holder has since been bound to another image.
+     *
+     * @param holder The MediaViewHolder to load into.
+     * @param path   The path of the image the holder was bound to.
+     * @param uri    The download URL of the image.
+     */
+    private void loadInto(MediaViewHolder holder, String path, Uri uri) {
+        if (!path.equals(holder.itemView.getTag())) {
+            return;
+        }
+        // Decode to the grid cell size, with placeholders for loading and error states
+        ImageLoader.getInstance(holder.imageView.getContext()).load(uri, holder.imageView);
+    }
+
+    /**
+     * Strips leading and trailing slashes from a storage path.
+     *
+     * @param path The storage path, such as "/event_posters".
+     * @return The path without surrounding slashes.
+     */
+    private static String trimSlashes(String path) {
+        int start = 0;
+        int end = path.length();
+        while (start < end && path.charAt(start) == '/') {
+            start++;
+        }
+        while (end > start && path.charAt(end - 1) == '/') {
+            end--;
+        }
+        return path.substring(start, end);
     }
 
     /**
@@ -0,0 +1,201 @@
+// File: MediaPager.java
+package com.example.potato1_events;
+
+import android.util.Log;
+
+import com.google.android.gms.tasks.Task;
+import com.google.firebase.storage.ListResult;
+import com.google.firebase.storage.StorageReference;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+
+/**
+ * Lists the images under a Firebase Storage folder one page at a time.
+ * Each call to {@link #loadMore()} asks for about {@link #PAGE_SIZE} more images. Folders are listed
+ * with page tokens and subfolders are listed in parallel, with at most {@link #MAX_CONCURRENT_LISTS}
+ * requests in flight, so the first images appear quickly and memory grows only as far as the admin scrolls.
+ * Smaller {@link ImageRendition}s are skipped, since they are shown through their full image.
+ * Must be used from the main thread, where Firebase delivers its results.
+ */
+public class MediaPager {
+
+    private static final String TAG = "MediaPager";
+
+    /**
+     * Maximum number of entries requested per list call, and the number of images a page aims for.
+     */
+    static final int PAGE_SIZE = 60;
+
+    /**
+     * Maximum number of list requests in flight at once.
+     */
+    static final int MAX_CONCURRENT_LISTS = 4;
+
+    /**
+     * Receives listing results.
+     */
+    public interface Listener {
+        /**
+         * Called when a batch of images has been listed.
+         *
+         * @param items The images, never empty.
+         */
+        void onItems(List<StorageReference> items);
+
+        /**
+         * Called once every folder has been listed.
+         */
+        void onComplete();
+
+        /**
+         * Called when a folder could not be listed; the rest of the listing continues.
+         *
+         * @param e The failure.
+         */
+        void onError(Exception e);
+    }
+
+    /**
+     * A folder still to be listed and the page token to continue from, or null for its first page.
+     */
+    private static class Cursor {
+        final StorageReference folder;
+        final String pageToken;
+
+        Cursor(StorageReference folder, String pageToken) {
+            this.folder = folder;
+            this.pageToken = pageToken;
+        }
+    }
+
+    private final Listener listener;
+
+    // Folders and partially listed folders still to visit
+    private final Deque<Cursor> frontier = new ArrayDeque<>();
+
+    private int running; // List requests in flight
+    private int wanted; // Images still wanted for the current page
+    private boolean cancelled;
+
+    /**
+     * Constructs a new MediaPager.
+     *
+     * @param root     The folder to list, including its subfolders.
+     * @param listener The listener receiving the results.
+     */
+    public MediaPager(StorageReference root, Listener listener) {
+        this.listener = listener;
+        frontier.add(new Cursor(root, null));
+    }
+
+    /**
+     * Requests the next page of images. While the current page is still being filled, the call only
+     * resumes listing it, so calling this repeatedly while scrolling does not list more than one page ahead.
+     */
+    public void loadMore() {
+        if (cancelled) {
+            return;
+        }
+        if (wanted <= 0) {
+            // The previous page is satisfied; images delivered beyond it, and those from requests
+            // still in flight, count towards this one
+            wanted += PAGE_SIZE;
+        }
+        pump();
+    }
+
+    /**
+     * Checks whether more images may be listed.
+     *
+     * @return True until every folder has been listed.
+     */
+    public boolean hasMore() {
+        return running > 0 || !frontier.isEmpty();
+    }
+
+    /**
+     * Stops delivering results, for example when the screen closes or the listing restarts.
+     */
+    public void cancel() {
+        cancelled = true;
+        frontier.clear();
+    }
+
+    /**
+     * Starts list requests until the page is satisfied, the concurrency limit is reached or nothing is left.
+     */
+    private void pump() {
+        while (wanted > 0 && running < MAX_CONCURRENT_LISTS && !frontier.isEmpty()) {
+            Cursor cursor = frontier.poll();
+            Task<ListResult> page = cursor.pageToken == null
+                    ? cursor.folder.list(PAGE_SIZE)
+                    : cursor.folder.list(PAGE_SIZE, cursor.pageToken);
+            running++;
+            page.addOnSuccessListener(result -> onPage(cursor.folder, result))
+                    .addOnFailureListener(e -> onFailure(cursor.folder, e));
+        }
+    }
+
+    /**
+     * Delivers the images of a listed page and queues its subfolders and its next page.
+     *
+     * @param folder The listed folder.
+     * @param result The page.
+     */
+    private void onPage(StorageReference folder, ListResult result) {
+        running--;
+        if (cancelled) {
+            return;
+        }
+
+        List<StorageReference> items = new ArrayList<>();
+        for (StorageReference item : result.getItems()) {
+            if (!ImageRendition.isRenditionFile(item.getName())) {
+                items.add(item);
+            }
+        }
+
+        // Finish the current folder before starting new ones, so images arrive grouped by folder
+        if (result.getPageToken() != null) {
+            frontier.addFirst(new Cursor(folder, result.getPageToken()));
+        }
+        for (StorageReference prefix : result.getPrefixes()) {
+            frontier.addLast(new Cursor(prefix, null));
+        }
+
+        if (!items.isEmpty()) {
+            wanted -= items.size();
+            listener.onItems(items);
+        }
+        continueOrFinish();
+    }
+
+    /**
+     * Reports a folder that could not be listed and moves on.
+     *
+     * @param folder The folder.
+     * @param e      The failure.
+     */
+    private void onFailure(StorageReference folder, Exception e) {
+        running--;
+        if (cancelled) {
+            return;
+        }
+        Log.e(TAG, "Failed to list " + folder.getPath(), e);
+        listener.onError(e);
+        continueOrFinish();
+    }
+
+    /**
+     * Starts further requests for the current page, or reports completion once nothing is left.
+     */
+    private void continueOrFinish() {
+        pump();
+        if (!hasMore()) {
+            listener.onComplete();
+        }
+    }
+}
@@ -1,13 +1,30 @@
 package com.example.potato1_events;
 
+import android.app.Activity;
 import android.app.Application;
+import android.os.Bundle;
+import android.os.Handler;
+import android.os.Looper;
+import android.os.Process;
+import android.os.SystemClock;
+import android.util.Log;
+import android.view.View;
+import android.view.ViewTreeObserver;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
 import androidx.work.*;
 
+import com.google.firebase.firestore.FirebaseFirestore;
+
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
 
 /**
  * Custom Application class for the Potato1 Events application.
- * Initializes essential listeners and schedules background workers upon application start.
+ * Starts essential listeners and schedules background workers through a {@link StartupGraph} that runs
+ * after the first frame, mostly on background threads, so they do not delay cold start.
  * Ensures that listeners are properly stopped when the application is terminated.
  */
 public class MyApplication extends Application {
@@ -27,24 +44,134 @@ public class MyApplication extends Application {
      */
     private EventStatusListener eventStatusListener;
 
+    /**
+     * Initializers run after the first frame instead of in {@link #onCreate()}.
+     */
+    private StartupGraph startupGraph;
+
+    /**
+     * Whether the startup graph has been handed its executors; only accessed on the main thread.
+     */
+    private boolean deferredInitializersStarted;
+
+    /**
+     * Delay after which startup runs even if no activity has drawn.
+     */
+    private static final long STARTUP_FALLBACK_DELAY_MILLIS = 5000;
+
+    private static final int STARTUP_THREADS = 2;
+    private static final long STARTUP_THREAD_KEEP_ALIVE_SECONDS = 5;
+
+    private final Handler mainHandler = new Handler(Looper.getMainLooper());
+
     /**
      * Called when the application is starting, before any other application objects have been created.
-     * Initializes listeners and schedules background workers.
+     * Only builds the startup graph; the initializers run once the first activity has drawn its first frame.
      */
     @Override
     public void onCreate() {
+        long begin = SystemClock.uptimeMillis();
         super.onCreate();
 
-        // Initialize and start EventStatusListener for handling real-time event status updates
-        eventStatusListener = new EventStatusListener(this);
-        eventStatusListener.startListening();
+        // Warm up the SDKs in the background before the components that use them
+        startupGraph = new StartupGraph(new StartupLogger())
+                .add("firestore", false, FirebaseFirestore::getInstance)
+                .add("workManager", false, () -> WorkManager.getInstance(this))
+                // Schedule the RandomDrawWorker to handle periodic random draw operations
+                .add("randomDrawWorker", false, this::scheduleRandomDrawWorker, "workManager")
+                // Schedule the NotificationCompactionWorker to keep the Notifications collection small
+                .add("notificationCompactionWorker", false, this::scheduleNotificationCompactionWorker, "workManager")
+                // Schedule the StorageGarbageCollectionWorker to delete images no document refers to
+                .add("storageGarbageCollectionWorker", false, this::scheduleStorageGarbageCollectionWorker, "workManager")
+                // Start EventStatusListener for handling real-time event status updates
+                .add("eventStatusListener", false, this::getEventStatusListener, "firestore")
+                // Start RandomDrawListener for handling random draw-related events
+                .add("randomDrawListener", false, this::startRandomDrawListener, "firestore")
+                // Resume image uploads that were interrupted when the process was last killed
+                .add("resumableUploads", true, () -> ResumableUploader.getInstance(this).resumePending());
+
+        registerActivityLifecycleCallbacks(new FirstFrameCallbacks());
+        // Processes started without an activity, for a push message or a worker, still start up
+        mainHandler.postDelayed(this::startDeferredInitializers, STARTUP_FALLBACK_DELAY_MILLIS);
+
+        Log.d(TAG, "Application.onCreate took " + (SystemClock.uptimeMillis() - begin) + " ms");
+    }
+
+    /**
+     * Logs the timing of every startup initializer, and the failures that skip others.
+     */
+    private static class StartupLogger implements StartupGraph.Listener {
+
+        private static final String TAG = "StartupGraph";
+
+        /**
+         * Logs how long an initializer took and where it ran.
+         *
+         * @param name          The name of the initializer.
+         * @param durationNanos How long it ran, in nanoseconds.
+         * @param threadName    The name of the thread it ran on.
+         */
+        @Override
+        public void onInitializerFinished(String name, long durationNanos, String threadName) {
+            Log.d(TAG, name + " took " + TimeUnit.NANOSECONDS.toMicros(durationNanos) / 1000.0 + " ms on " + threadName);
+        }
+
+        /**
+         * Logs an initializer that threw.
+         *
+         * @param name The name of the initializer.
+         * @param e    The exception it threw.
+         */
+        @Override
+        public void onInitializerFailed(String name, RuntimeException e) {
+            Log.e(TAG, "Startup initializer " + name + " failed", e);
+        }
 
-        // Schedule the RandomDrawWorker to handle periodic random draw operations
-        scheduleRandomDrawWorker();
+        /**
+         * Logs an initializer skipped because of a failed dependency.
+         *
+         * @param name       The name of the skipped initializer.
+         * @param failedName The name of the failed initializer.
+         */
+        @Override
+        public void onInitializerSkipped(String name, String failedName) {
+            Log.w(TAG, "Skipping " + name + " because " + failedName + " failed");
+        }
 
-        // Initialize and start RandomDrawListener for handling random draw-related events
-        randomDrawListener = new RandomDrawListener(this);
-        randomDrawListener.startListening();
+        /**
+         * Logs the total startup time.
+         *
+         * @param totalNanos The time since the graph was started, in nanoseconds.
+         */
+        @Override
+        public void onComplete(long totalNanos) {
+            Log.d(TAG, "Startup finished in " + TimeUnit.NANOSECONDS.toMillis(totalNanos) + " ms");
+        }
+    }
+
+    /**
+     * Runs the startup graph, with background initializers on a small pool whose threads exit when idle.
+     * Runs on the main thread after the first frame or the fallback delay, whichever comes first.
+     */
+    private void startDeferredInitializers() {
+        if (deferredInitializersStarted) {
+            return;
+        }
+        deferredInitializersStarted = true;
+        ThreadPoolExecutor background = new ThreadPoolExecutor(STARTUP_THREADS, STARTUP_THREADS,
+                STARTUP_THREAD_KEEP_ALIVE_SECONDS, TimeUnit.SECONDS, new LinkedBlockingQueue<>());
+        background.allowCoreThreadTimeOut(true);
+        startupGraph.start(mainHandler::post, background);
+    }
+
+    /**
+     * Creates and starts the RandomDrawListener.
+     */
+    private synchronized void startRandomDrawListener() {
+        if (randomDrawListener == null) {
+            randomDrawListener = new RandomDrawListener(this);
+            randomDrawListener.startListening();
+        }
     }
 
     /**
@@ -68,12 +195,78 @@ public class MyApplication extends Application {
         WorkManager.getInstance(this).enqueue(randomDrawWorkRequest);
     }
 
+    /**
+     * Schedules a daily background worker that deletes expired notifications
+     * and notifications for finished events.
+     * Uses unique periodic work so repeated launches do not stack up duplicate schedules.
+     */
+    private void scheduleNotificationCompactionWorker() {
+        Constraints constraints = new Constraints.Builder()
+                .setRequiredNetworkType(NetworkType.CONNECTED)
+                .setRequiresBatteryNotLow(true)
+                .build();
+
+        PeriodicWorkRequest compactionWorkRequest = new PeriodicWorkRequest.Builder(
+                NotificationCompactionWorker.class, 1, TimeUnit.DAYS)
+                .setConstraints(constraints)
+                .build();
+
+        WorkManager.getInstance(this).enqueueUniquePeriodicWork(
+                NotificationCompactionWorker.WORK_NAME,
+                ExistingPeriodicWorkPolicy.KEEP,
+                compactionWorkRequest);
+    }
+
+    /**
+     * Schedules a weekly background worker that deletes Storage objects no longer referenced
+     * by any user, event or facility. The worker itself only sweeps on admin devices.
+     */
+    private void scheduleStorageGarbageCollectionWorker() {
+        Constraints constraints = new Constraints.Builder()
+                .setRequiredNetworkType(NetworkType.UNMETERED)
+                .setRequiresBatteryNotLow(true)
+                .build();
+
+        PeriodicWorkRequest gcWorkRequest = new PeriodicWorkRequest.Builder(
+                StorageGarbageCollectionWorker.class, 7, TimeUnit.DAYS)
+                .setConstraints(constraints)
+                .build();
+
+        WorkManager.getInstance(this).enqueueUniquePeriodicWork(
+                StorageGarbageCollectionWorker.WORK_NAME,
+                ExistingPeriodicWorkPolicy.KEEP,
+                gcWorkRequest);
+    }
+
+    /**
+     * Retrieves the application-wide listener for event status updates, creating and starting it
+     * if startup has not reached it yet.
+     *
+     * @return The started EventStatusListener.
+     */
+    public synchronized EventStatusListener getEventStatusListener() {
+        if (eventStatusListener == null) {
+            eventStatusListener = new EventStatusListener(this);
+            eventStatusListener.startListening();
+        }
+        return eventStatusListener;
+    }
+
+    /**
+     * Retrieves the startup graph, for example to inspect how long each initializer took.
+     *
+     * @return The startup graph built in {@link #onCreate()}.
+     */
+    public StartupGraph getStartupGraph() {
+        return startupGraph;
+    }
+
     /**
      * Called when the application is terminating.
      * Ensures that all active listeners are properly stopped to prevent memory leaks.
      */
     @Override
-    public void onTerminate() {
+    public synchronized void onTerminate() {
         super.onTerminate();
 
         // Stop the RandomDrawListener if it is active
@@ -86,4 +279,97 @@ public class MyApplication extends Application {
             eventStatusListener.stopListening();
         }
     }
+
+    /**
+     * Starts the deferred initializers once the first activity has drawn its first frame,
+     * and logs the time from process start to that frame.
+     */
+    private class FirstFrameCallbacks implements ActivityLifecycleCallbacks {
+
+        /**
+         * Waits for the first frame of the first activity.
+         *
+         * @param activity           The created activity.
+         * @param savedInstanceState The saved state, if any.
+         */
+        @Override
+        public void onActivityCreated(@NonNull Activity activity, @Nullable Bundle savedInstanceState) {
+            unregisterActivityLifecycleCallbacks(this);
+            View decorView = activity.getWindow().getDecorView();
+            decorView.getViewTreeObserver().addOnDrawListener(new ViewTreeObserver.OnDrawListener() {
+                private boolean drawn;
+
+                @Override
+                public void onDraw() {
+                    if (drawn) {
+                        return;
+                    }
+                    drawn = true;
+                    ViewTreeObserver.OnDrawListener listener = this;
+                    // Draw listeners cannot be removed while drawing, and the frame should reach the screen first
+                    mainHandler.post(() -> {
+                        decorView.getViewTreeObserver().removeOnDrawListener(listener);
+                        Log.d(TAG, "First frame drawn " + (SystemClock.uptimeMillis()
+                                - Process.getStartUptimeMillis()) + " ms after process start");
+                        startDeferredInitializers();
+                    });
+                }
+            });
+        }
+
+        /**
+         * Not used.
+         *
+         * @param activity The activity.
+         */
+        @Override
+        public void onActivityStarted(@NonNull Activity activity) {
+        }
+
+        /**
+         * Not used.
+         *
+         * @param activity The activity.
+         */
+        @Override
+        public void onActivityResumed(@NonNull Activity activity) {
+        }
+
+        /**
+         * Not used.
+         *
+         * @param activity The activity.
+         */
+        @Override
+        public void onActivityPaused(@NonNull Activity activity) {
+        }
+
+        /**
+         * Not used.
+         *
+         * @param activity The activity.
+         */
+        @Override
+        public void onActivityStopped(@NonNull Activity activity) {
+        }
+
+        /**
+         * Not used.
+         *
+         * @param activity The activity.
+         * @param outState The state being saved.
+         */
+        @Override
+        public void onActivitySaveInstanceState(@NonNull Activity activity, @NonNull Bundle outState) {
+        }
+
+        /**
+         * Not used.
+         *
+         * @param activity The activity.
+         */
+        @Override
+        public void onActivityDestroyed(@NonNull Activity activity) {
+        }
+    }
 }
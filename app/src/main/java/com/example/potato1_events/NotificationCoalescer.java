@@ -0,0 +1,142 @@
+// File: NotificationCoalescer.java
+package com.example.potato1_events;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Buffers entrant status changes per event and status for a short window and emits them as one digest.
+ * A burst of responses (for example after a draw) therefore produces a single grouped notification
+ * such as "37 entrants accepted" instead of one notification per entrant.
+ * Digests are also rate limited, so the channel this coalescer feeds posts at most once per
+ * {@code minIntervalMillis}; changes arriving in between keep accumulating into the next digest.
+ */
+public class NotificationCoalescer {
+
+    /**
+     * Receives the grouped changes when a window closes.
+     */
+    public interface DigestListener {
+        /**
+         * Called once per event and status with every entrant that changed to that status during the window.
+         *
+         * @param eventId    The ID of the event.
+         * @param eventName  The name of the event.
+         * @param status     The new status shared by the entrants.
+         * @param entrantIds The IDs of the entrants, in the order their changes arrived.
+         */
+        void onDigest(String eventId, String eventName, String status, List<String> entrantIds);
+    }
+
+    private final ScheduledExecutorService scheduler;
+    private final long windowMillis;
+    private final long minIntervalMillis;
+    private final DigestListener listener;
+
+    // Pending changes keyed by eventId + status, in arrival order
+    private final Map<String, PendingDigest> pending = new LinkedHashMap<>();
+
+    private ScheduledFuture<?> scheduledFlush;
+    private long lastFlushTime = 0;
+
+    /**
+     * Constructs a new NotificationCoalescer.
+     *
+     * @param scheduler         Executor the flushes run on.
+     * @param windowMillis      How long changes are buffered after the first one arrives.
+     * @param minIntervalMillis Minimum time between two flushes on this channel.
+     * @param listener          Receives the grouped changes.
+     */
+    public NotificationCoalescer(ScheduledExecutorService scheduler, long windowMillis,
+                                 long minIntervalMillis, DigestListener listener) {
+        this.scheduler = scheduler;
+        this.windowMillis = windowMillis;
+        this.minIntervalMillis = minIntervalMillis;
+        this.listener = listener;
+    }
+
+    /**
+     * Records an entrant status change, to be emitted with the next digest.
+     *
+     * @param eventId   The ID of the event.
+     * @param eventName The name of the event.
+     * @param entrantId The ID of the entrant.
+     * @param status    The new status of the entrant.
+     */
+    public synchronized void add(String eventId, String eventName, String entrantId, String status) {
+        // Only the latest status of an entrant within the window is reported
+        for (PendingDigest other : pending.values()) {
+            if (other.eventId.equals(eventId) && !other.status.equals(status)) {
+                other.entrantIds.remove(entrantId);
+            }
+        }
+        pending.values().removeIf(other -> other.entrantIds.isEmpty());
+
+        String key = eventId + "|" + status;
+        PendingDigest digest = pending.get(key);
+        if (digest == null) {
+            digest = new PendingDigest(eventId, eventName, status);
+            pending.put(key, digest);
+        }
+        digest.eventName = eventName;
+        digest.entrantIds.add(entrantId);
+
+        if (scheduledFlush == null) {
+            long sinceLastFlush = System.currentTimeMillis() - lastFlushTime;
+            long delay = Math.max(windowMillis, minIntervalMillis - sinceLastFlush);
+            scheduledFlush = scheduler.schedule(this::flush, delay, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    /**
+     * Emits every pending digest immediately.
+     */
+    public void flush() {
+        List<PendingDigest> digests;
+        synchronized (this) {
+            if (scheduledFlush != null) {
+                scheduledFlush.cancel(false);
+                scheduledFlush = null;
+            }
+            digests = new ArrayList<>(pending.values());
+            pending.clear();
+            if (!digests.isEmpty()) {
+                lastFlushTime = System.currentTimeMillis();
+            }
+        }
+        for (PendingDigest digest : digests) {
+            listener.onDigest(digest.eventId, digest.eventName, digest.status, new ArrayList<>(digest.entrantIds));
+        }
+    }
+
+    /**
+     * Drops every pending change for an event, for example once it is no longer being observed.
+     *
+     * @param eventId The ID of the event.
+     */
+    public synchronized void clear(String eventId) {
+        pending.values().removeIf(digest -> digest.eventId.equals(eventId));
+    }
+
+    /**
+     * Changes buffered for one event and status.
+     */
+    private static class PendingDigest {
+        private final String eventId;
+        private final String status;
+        private final LinkedHashSet<String> entrantIds = new LinkedHashSet<>();
+        private String eventName;
+
+        PendingDigest(String eventId, String eventName, String status) {
+            this.eventId = eventId;
+            this.eventName = eventName;
+            this.status = status;
+        }
+    }
+}
@@ -0,0 +1,234 @@
+// File: NotificationCompactionWorker.java
+package com.example.potato1_events;
+
+import android.content.Context;
+import android.content.SharedPreferences;
+import android.provider.Settings;
+import android.util.Log;
+
+import androidx.annotation.NonNull;
+import androidx.work.Worker;
+import androidx.work.WorkerParameters;
+
+import com.google.android.gms.tasks.Tasks;
+import com.google.firebase.Timestamp;
+import com.google.firebase.firestore.DocumentSnapshot;
+import com.google.firebase.firestore.FieldPath;
+import com.google.firebase.firestore.FirebaseFirestore;
+import com.google.firebase.firestore.Query;
+import com.google.firebase.firestore.QuerySnapshot;
+import com.google.firebase.firestore.WriteBatch;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Periodic worker that keeps the current user's slice of the Notifications collection small.
+ * It deletes notifications older than {@link NotificationRetention#RETENTION_DAYS}, and notifications
+ * whose event has finished or no longer exists, using batched deletes. The finished-event pass walks the user's
+ * notifications in document ID order and checkpoints its cursor, so a run that is stopped or hits
+ * its page budget resumes where it left off on the next run. Notifications written before
+ * {@code createdAt} existed are stamped first, so they expire like any other.
+ * The expiry query filters on {@code userId} and {@code createdAt}, which needs the composite index
+ * defined in {@code firestore.indexes.json}.
+ */
+public class NotificationCompactionWorker extends Worker {
+
+    private static final String TAG = "NotificationCompaction";
+
+    /**
+     * Unique name used when scheduling the periodic work.
+     */
+    public static final String WORK_NAME = "notification_compaction";
+
+    private static final int PAGE_SIZE = 500;
+    private static final int MAX_PAGES_PER_RUN = 20;
+    private static final long TIMEOUT_SECONDS = 30;
+
+    private static final String PREFS_NAME = "notification_compaction";
+    private static final String KEY_CURSOR = "finished_event_cursor";
+
+    private final FirebaseFirestore firestore;
+    private final SharedPreferences prefs;
+    private final String currentUserId;
+
+    /**
+     * Constructs a new NotificationCompactionWorker.
+     *
+     * @param context The application context.
+     * @param params  Parameters for the worker.
+     */
+    public NotificationCompactionWorker(@NonNull Context context, @NonNull WorkerParameters params) {
+        super(context, params);
+        firestore = FirebaseFirestore.getInstance();
+        prefs = context.getSharedPreferences(PREFS_NAME, Context.MODE_PRIVATE);
+        currentUserId = Settings.Secure.getString(context.getContentResolver(), Settings.Secure.ANDROID_ID);
+    }
+
+    /**
+     * Runs both compaction passes within the page budget of a single run.
+     *
+     * @return Success once the budget is spent or the work is done, retry if Firestore could not be reached.
+     */
+    @NonNull
+    @Override
+    public Result doWork() {
+        try {
+            try {
+                // Without createdAt a notification never matches the expiry query
+                Tasks.await(NotificationCreatedAtBackfill.runOnce(getApplicationContext(), firestore, currentUserId),
+                        TIMEOUT_SECONDS, TimeUnit.SECONDS);
+            } catch (Exception e) {
+                Log.w(TAG, "createdAt backfill did not finish, compacting anyway", e);
+            }
+            int pages = deleteExpiredNotifications(MAX_PAGES_PER_RUN);
+            deleteFinishedEventNotifications(MAX_PAGES_PER_RUN - pages);
+            return Result.success();
+        } catch (Exception e) {
+            Log.e(TAG, "Notification compaction failed, will retry", e);
+            return Result.retry();
+        }
+    }
+
+    /**
+     * Deletes the user's notifications that are older than the retention period.
+     * Deleted documents drop out of the query, so each page simply re-runs it.
+     *
+     * @param pageBudget Maximum number of pages to process.
+     * @return The number of pages processed.
+     * @throws Exception If a Firestore call fails or times out.
+     */
+    private int deleteExpiredNotifications(int pageBudget) throws Exception {
+        Timestamp cutoff = new Timestamp(NotificationRetention.expiryCutoff(System.currentTimeMillis()));
+        Query query = firestore.collection("Notifications")
+                .whereEqualTo("userId", currentUserId)
+                .whereLessThan("createdAt", cutoff)
+                .limit(PAGE_SIZE);
+
+        int pages = 0;
+        while (pages < pageBudget && !isStopped()) {
+            QuerySnapshot snapshot = Tasks.await(query.get(), TIMEOUT_SECONDS, TimeUnit.SECONDS);
+            if (snapshot.isEmpty()) {
+                break;
+            }
+            deleteAll(snapshot.getDocuments());
+            pages++;
+            Log.d(TAG, "Deleted " + snapshot.size() + " expired notifications");
+            if (snapshot.size() < PAGE_SIZE) {
+                break;
+            }
+        }
+        return pages;
+    }
+
+    /**
+     * Deletes the user's notifications whose event has ended or been deleted.
+     * Walks the notifications in document ID order from the checkpointed cursor.
+     *
+     * @param pageBudget Maximum number of pages to process.
+     * @throws Exception If a Firestore call fails or times out.
+     */
+    private void deleteFinishedEventNotifications(int pageBudget) throws Exception {
+        String cursor = prefs.getString(KEY_CURSOR, null);
+        Map<String, Boolean> finishedByEvent = new HashMap<>();
+
+        for (int pages = 0; pages < pageBudget && !isStopped(); pages++) {
+            Query query = firestore.collection("Notifications")
+                    .whereEqualTo("userId", currentUserId)
+                    .orderBy(FieldPath.documentId())
+                    .limit(PAGE_SIZE);
+            if (cursor != null) {
+                query = query.startAfter(cursor);
+            }
+
+            QuerySnapshot snapshot = Tasks.await(query.get(), TIMEOUT_SECONDS, TimeUnit.SECONDS);
+            List<DocumentSnapshot> documents = snapshot.getDocuments();
+            if (documents.isEmpty()) {
+                // Reached the end; the next run starts over from the beginning
+                prefs.edit().remove(KEY_CURSOR).apply();
+                return;
+            }
+
+            lookUpFinishedEvents(documents, finishedByEvent);
+
+            List<DocumentSnapshot> toDelete = new ArrayList<>();
+            for (DocumentSnapshot doc : documents) {
+                String eventId = doc.getString("eventId");
+                if (eventId != null && Boolean.TRUE.equals(finishedByEvent.get(eventId))) {
+                    toDelete.add(doc);
+                }
+            }
+            deleteAll(toDelete);
+            Log.d(TAG, "Deleted " + toDelete.size() + " notifications for finished events");
+
+            // Checkpoint after the page has been fully handled
+            List<String> pageIds = new ArrayList<>();
+            for (DocumentSnapshot doc : documents) {
+                pageIds.add(doc.getId());
+            }
+            cursor = NotificationRetention.nextCursor(pageIds, PAGE_SIZE);
+            if (cursor == null) {
+                // Reached the end; the next run starts over from the beginning
+                prefs.edit().remove(KEY_CURSOR).apply();
+                return;
+            }
+            prefs.edit().putString(KEY_CURSOR, cursor).apply();
+        }
+    }
+
+    /**
+     * Determines, for every event referenced by the given notifications, whether it has finished.
+     * Results are cached in the supplied map so each event is fetched at most once per run.
+     *
+     * @param documents       The notification documents.
+     * @param finishedByEvent Map of event IDs to whether the event has ended or no longer exists.
+     * @throws Exception If a Firestore call fails or times out.
+     */
+    private void lookUpFinishedEvents(List<DocumentSnapshot> documents, Map<String, Boolean> finishedByEvent) throws Exception {
+        Set<String> unknown = new HashSet<>();
+        for (DocumentSnapshot doc : documents) {
+            String eventId = doc.getString("eventId");
+            if (eventId != null && !eventId.isEmpty() && !finishedByEvent.containsKey(eventId)) {
+                unknown.add(eventId);
+            }
+        }
+
+        List<String> eventIds = new ArrayList<>(unknown);
+        Date now = new Date();
+        for (List<String> chunk : FirestoreLimits.partition(eventIds, FirestoreLimits.WHERE_IN_LIMIT)) {
+            QuerySnapshot events = Tasks.await(firestore.collection("Events")
+                    .whereIn(FieldPath.documentId(), new ArrayList<>(chunk))
+                    .get(), TIMEOUT_SECONDS, TimeUnit.SECONDS);
+            // Events missing from the result have been deleted
+            for (String eventId : chunk) {
+                finishedByEvent.put(eventId, NotificationRetention.isEventFinished(false, null, now));
+            }
+            for (DocumentSnapshot event : events.getDocuments()) {
+                finishedByEvent.put(event.getId(),
+                        NotificationRetention.isEventFinished(true, event.getDate("endDate"), now));
+            }
+        }
+    }
+
+    /**
+     * Deletes the given documents in batches of at most {@link FirestoreLimits#MAX_BATCH_SIZE}.
+     *
+     * @param documents The documents to delete.
+     * @throws Exception If a batch commit fails or times out.
+     */
+    private void deleteAll(List<DocumentSnapshot> documents) throws Exception {
+        for (List<DocumentSnapshot> chunk : FirestoreLimits.partition(documents, FirestoreLimits.MAX_BATCH_SIZE)) {
+            WriteBatch batch = firestore.batch();
+            for (DocumentSnapshot doc : chunk) {
+                batch.delete(doc.getReference());
+            }
+            Tasks.await(batch.commit(), TIMEOUT_SECONDS, TimeUnit.SECONDS);
+        }
+    }
+}
@@ -0,0 +1,106 @@
+// File: NotificationCreatedAtBackfill.java
+package com.example.potato1_events;
+
+import android.content.Context;
+import android.content.SharedPreferences;
+import android.util.Log;
+
+import com.google.android.gms.tasks.Task;
+import com.google.android.gms.tasks.Tasks;
+import com.google.firebase.firestore.DocumentSnapshot;
+import com.google.firebase.firestore.FieldPath;
+import com.google.firebase.firestore.FieldValue;
+import com.google.firebase.firestore.FirebaseFirestore;
+import com.google.firebase.firestore.Query;
+import com.google.firebase.firestore.WriteBatch;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * One-time backfill of the {@code createdAt} field on a user's notifications.
+ * Notifications written before the field existed are left out of every query ordered or filtered on it,
+ * so they would never show in the inbox or expire. The backfill walks the user's notifications in
+ * document ID order and stamps the missing ones with the server time, which keeps them in the inbox and
+ * gives them a full retention period. A preference records that it finished, so it only runs once per user.
+ */
+public final class NotificationCreatedAtBackfill {
+
+    private static final String TAG = "NotificationBackfill";
+
+    private static final String PREFS_NAME = "notification_backfill";
+    private static final String KEY_DONE_PREFIX = "created_at_done_";
+
+    private static final int PAGE_SIZE = 500;
+
+    /**
+     * Private constructor to prevent instantiation.
+     */
+    private NotificationCreatedAtBackfill() {
+    }
+
+    /**
+     * Backfills the user's notifications unless that has already been done on this device.
+     *
+     * @param context   Any context, used for the completion flag.
+     * @param firestore The FirebaseFirestore instance to use.
+     * @param userId    The ID of the user whose notifications are backfilled.
+     * @return A task resolving to the number of notifications stamped; failures leave the flag unset, so it retries.
+     */
+    public static Task<Integer> runOnce(Context context, FirebaseFirestore firestore, String userId) {
+        SharedPreferences prefs = context.getApplicationContext().getSharedPreferences(PREFS_NAME, Context.MODE_PRIVATE);
+        String key = KEY_DONE_PREFIX + userId;
+        if (prefs.getBoolean(key, false)) {
+            return Tasks.forResult(0);
+        }
+        return backfillFrom(firestore, userId, null, 0)
+                .addOnSuccessListener(stamped -> {
+                    prefs.edit().putBoolean(key, true).apply();
+                    Log.d(TAG, "Backfilled createdAt on " + stamped + " notifications");
+                })
+                .addOnFailureListener(e -> Log.w(TAG, "createdAt backfill failed, will retry", e));
+    }
+
+    /**
+     * Stamps the notifications of one page, then continues with the next.
+     *
+     * @param firestore The FirebaseFirestore instance to use.
+     * @param userId    The ID of the user.
+     * @param last      The last document of the previous page, or null for the first page.
+     * @param stamped   The number of notifications stamped so far.
+     * @return A task resolving to the total number stamped.
+     */
+    private static Task<Integer> backfillFrom(FirebaseFirestore firestore, String userId,
+                                              DocumentSnapshot last, int stamped) {
+        Query query = firestore.collection("Notifications")
+                .whereEqualTo("userId", userId)
+                .orderBy(FieldPath.documentId())
+                .limit(PAGE_SIZE);
+        if (last != null) {
+            query = query.startAfter(last);
+        }
+        return query.get().onSuccessTask(snapshot -> {
+            List<DocumentSnapshot> documents = snapshot.getDocuments();
+            List<DocumentSnapshot> missing = new ArrayList<>();
+            for (DocumentSnapshot doc : documents) {
+                if (doc.get("createdAt") == null) {
+                    missing.add(doc);
+                }
+            }
+
+            List<Task<Void>> commits = new ArrayList<>();
+            for (List<DocumentSnapshot> chunk : FirestoreLimits.partition(missing, FirestoreLimits.MAX_BATCH_SIZE)) {
+                WriteBatch batch = firestore.batch();
+                for (DocumentSnapshot doc : chunk) {
+                    batch.update(doc.getReference(), "createdAt", FieldValue.serverTimestamp());
+                }
+                commits.add(batch.commit());
+            }
+
+            int total = stamped + missing.size();
+            return Tasks.whenAll(commits).onSuccessTask(aVoid -> documents.size() < PAGE_SIZE
+                    ? Tasks.forResult(total)
+                    : backfillFrom(firestore, userId, documents.get(documents.size() - 1), total));
+        });
+    }
+}
@@ -0,0 +1,178 @@
+// File: NotificationFanOut.java
+package com.example.potato1_events;
+
+import android.util.Log;
+
+import com.google.android.gms.tasks.Task;
+import com.google.android.gms.tasks.Tasks;
+import com.google.firebase.firestore.CollectionReference;
+import com.google.firebase.firestore.FirebaseFirestore;
+import com.google.firebase.firestore.SetOptions;
+import com.google.firebase.firestore.WriteBatch;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Writes in-app notifications for every entrant affected by a random draw.
+ * Notifications are committed in chunks of up to {@link FirestoreLimits#MAX_BATCH_SIZE} documents, and each document
+ * uses a deterministic ID so that re-running the draw pipeline, or a client observing the same status
+ * change, finds the existing notification instead of duplicating it. Only the {@link #CONTENT_FIELDS} are
+ * written, so the {@code read} flag and {@code createdAt} of an existing notification survive a repeated
+ * write. A new notification gets both from the stampNewNotifications Cloud Function; until then a missing
+ * {@code read} counts as unread.
+ */
+public class NotificationFanOut {
+
+    private static final String TAG = "NotificationFanOut";
+
+    /**
+     * Fields written by {@link #mergeContent}; everything a repeated write may safely overwrite.
+     */
+    static final String[] CONTENT_FIELDS = {"id", "title", "message", "eventId", "userId", "type", "status"};
+
+    private final FirebaseFirestore firestore;
+
+    /**
+     * Constructs a new NotificationFanOut with the given Firestore instance.
+     *
+     * @param firestore The FirebaseFirestore instance to use.
+     */
+    public NotificationFanOut(FirebaseFirestore firestore) {
+        this.firestore = firestore;
+    }
+
+    /**
+     * Writes one status change notification per entrant, plus one notification for the organizer.
+     *
+     * @param eventId        The ID of the event that was drawn.
+     * @param eventName      The name of the event.
+     * @param organizerId    The ID of the organizer, or null to skip the organizer notification.
+     * @param statusChanges  Map of entrant IDs to their new status.
+     * @return A task that completes once every chunk has been committed.
+     */
+    public Task<Void> fanOutDrawResults(String eventId, String eventName, String organizerId,
+                                        Map<String, String> statusChanges) {
+        CollectionReference notifications = firestore.collection("Notifications");
+        List<String> entrantIds = new ArrayList<>(statusChanges.keySet());
+        List<Task<Void>> commits = new ArrayList<>();
+
+        for (List<String> chunk : FirestoreLimits.partition(entrantIds, FirestoreLimits.MAX_BATCH_SIZE)) {
+            List<NotificationItem> chunkNotifications = new ArrayList<>();
+            for (String entrantId : chunk) {
+                String status = statusChanges.get(entrantId);
+                chunkNotifications.add(buildStatusChangeNotification(eventId, eventName, entrantId, status));
+            }
+            commits.add(mergeContent(firestore, chunkNotifications));
+        }
+
+        if (organizerId != null) {
+            NotificationItem notification = buildDrawPerformedNotification(eventId, eventName, organizerId);
+            commits.add(mergeContent(firestore, Collections.singletonList(notification)));
+        }
+
+        Log.d(TAG, "Fanning out " + entrantIds.size() + " notifications for event " + eventId
+                + " in " + commits.size() + " commit(s)");
+
+        return Tasks.whenAll(commits)
+                .addOnSuccessListener(aVoid -> Log.d(TAG, "Notification fan-out complete for event: " + eventId))
+                .addOnFailureListener(e -> Log.e(TAG, "Notification fan-out failed for event: " + eventId, e));
+    }
+
+    /**
+     * Writes the content of notifications in one batch, without reading them first.
+     * A notification that is already stored keeps its {@code read} flag and {@code createdAt}, so a
+     * repeated write cannot mark it unread again or move it to the top of the inbox.
+     *
+     * @param firestore     The FirebaseFirestore instance to use.
+     * @param notifications The notifications to write, at most {@link FirestoreLimits#MAX_BATCH_SIZE}.
+     * @return A task that completes once the batch has been committed.
+     */
+    static Task<Void> mergeContent(FirebaseFirestore firestore, List<NotificationItem> notifications) {
+        CollectionReference collection = firestore.collection("Notifications");
+        WriteBatch batch = firestore.batch();
+        for (NotificationItem notification : notifications) {
+            batch.set(collection.document(notification.getId()), notification, SetOptions.mergeFields(CONTENT_FIELDS));
+        }
+        return batch.commit();
+    }
+
+    /**
+     * Builds the notification an entrant receives when their status in an event changes.
+     *
+     * @param eventId   The ID of the event.
+     * @param eventName The name of the event.
+     * @param userId    The ID of the entrant.
+     * @param status    The new status of the entrant.
+     * @return The notification, with its deterministic ID already set.
+     */
+    public static NotificationItem buildStatusChangeNotification(String eventId, String eventName,
+                                                                 String userId, String status) {
+        NotificationItem notification = new NotificationItem();
+        notification.setId(statusChangeNotificationId(eventId, userId, status));
+        notification.setTitle("Event Status Update");
+        notification.setMessage("Your status for event \"" + eventName + "\" has changed to " + status + ".");
+        notification.setEventId(eventId);
+        notification.setUserId(userId);
+        notification.setType("status_change");
+        notification.setRead(false);
+        notification.setStatus(status);
+        return notification;
+    }
+
+    /**
+     * Builds the notification an organizer receives once the random draw has been performed.
+     *
+     * @param eventId     The ID of the event.
+     * @param eventName   The name of the event.
+     * @param organizerId The ID of the organizer.
+     * @return The notification, with its deterministic ID already set.
+     */
+    public static NotificationItem buildDrawPerformedNotification(String eventId, String eventName,
+                                                                  String organizerId) {
+        NotificationItem notification = new NotificationItem();
+        notification.setId(drawPerformedNotificationId(eventId, organizerId));
+        notification.setTitle("Random Draw Performed");
+        notification.setMessage("Random draw has been performed for your event \"" + eventName + "\".");
+        notification.setEventId(eventId);
+        notification.setUserId(organizerId);
+        notification.setType("organizer_update");
+        notification.setRead(false);
+        return notification;
+    }
+
+    /**
+     * Returns the document ID used for an entrant's status change notification.
+     *
+     * @param eventId The ID of the event.
+     * @param userId  The ID of the entrant.
+     * @param status  The new status of the entrant.
+     * @return A document ID that is identical for the same event, entrant and status.
+     */
+    public static String statusChangeNotificationId(String eventId, String userId, String status) {
+        return "status_" + eventId + "_" + userId + "_" + sanitize(status);
+    }
+
+    /**
+     * Returns the document ID used for an organizer's draw performed notification.
+     *
+     * @param eventId     The ID of the event.
+     * @param organizerId The ID of the organizer.
+     * @return A document ID that is identical for the same event and organizer.
+     */
+    public static String drawPerformedNotificationId(String eventId, String organizerId) {
+        return "draw_" + eventId + "_" + organizerId;
+    }
+
+    /**
+     * Replaces characters that are awkward in document IDs (spaces and slashes).
+     *
+     * @param value The value to sanitize.
+     * @return The sanitized value.
+     */
+    private static String sanitize(String value) {
+        return value == null ? "none" : value.replace('/', '_').replace(' ', '_');
+    }
+}
@@ -1,6 +1,10 @@
 // File: NotificationItem.java
 package com.example.potato1_events;
 
+import com.google.firebase.firestore.ServerTimestamp;
+
+import java.util.Date;
+
 /**
  * Represents a notification item within the Potato1 Events application.
  * This class encapsulates all relevant details of a notification, such as its title, message,
@@ -49,6 +53,12 @@ public class NotificationItem {
      */
     private String status;
 
+    /**
+     * Time the notification was created. Filled in by the server when left null on write.
+     */
+    @ServerTimestamp
+    private Date createdAt;
+
     /**
      * Default constructor required for Firestore serialization.
      * Initializes a new instance of NotificationItem with default values.
@@ -200,4 +210,22 @@ public class NotificationItem {
     public void setRead(boolean read) {
         isRead = read;
     }
+
+    /**
+     * Retrieves the time the notification was created.
+     *
+     * @return The creation time, or null if the server has not assigned one yet.
+     */
+    public Date getCreatedAt() {
+        return createdAt;
+    }
+
+    /**
+     * Sets the time the notification was created.
+     *
+     * @param createdAt The creation time of the notification.
+     */
+    public void setCreatedAt(Date createdAt) {
+        this.createdAt = createdAt;
+    }
 }
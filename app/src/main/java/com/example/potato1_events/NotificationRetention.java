@@ -0,0 +1,60 @@
+// File: NotificationRetention.java
+package com.example.potato1_events;
+
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Decisions {@link NotificationCompactionWorker} makes about which notifications to delete and where
+ * its walk over them resumes. Kept free of Firestore types so the rules can be tested on their own.
+ */
+public final class NotificationRetention {
+
+    /**
+     * Notifications older than this are deleted regardless of their event.
+     */
+    public static final int RETENTION_DAYS = 30;
+
+    /**
+     * Private constructor to prevent instantiation.
+     */
+    private NotificationRetention() {
+    }
+
+    /**
+     * Computes the creation time before which notifications have expired.
+     *
+     * @param nowMillis The current time in milliseconds.
+     * @return The cutoff; notifications created strictly before it have expired.
+     */
+    public static Date expiryCutoff(long nowMillis) {
+        return new Date(nowMillis - TimeUnit.DAYS.toMillis(RETENTION_DAYS));
+    }
+
+    /**
+     * Checks whether a notification's event means it can be deleted.
+     *
+     * @param eventExists Whether the event document still exists.
+     * @param endDate     The end date of the event, or null if it has none.
+     * @param now         The current time.
+     * @return True if the event was deleted or has ended.
+     */
+    public static boolean isEventFinished(boolean eventExists, Date endDate, Date now) {
+        return !eventExists || (endDate != null && endDate.before(now));
+    }
+
+    /**
+     * Computes where the walk over the notifications resumes after a page.
+     *
+     * @param pageIds  The document IDs of the page, in order.
+     * @param pageSize The page size that was requested.
+     * @return The ID to start after on the next page, or null if the walk reached the end and starts over.
+     */
+    public static String nextCursor(List<String> pageIds, int pageSize) {
+        if (pageIds.isEmpty() || pageIds.size() < pageSize) {
+            return null;
+        }
+        return pageIds.get(pageIds.size() - 1);
+    }
+}
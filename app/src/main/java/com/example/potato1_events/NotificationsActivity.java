@@ -9,11 +9,13 @@ import android.preference.PreferenceManager;
 import android.provider.Settings;
 import android.util.Log;
 import android.view.MenuItem;
+import android.widget.Button;
 import android.widget.Switch;
 import android.widget.Toast;
 
 import androidx.annotation.NonNull;
 import androidx.appcompat.app.ActionBarDrawerToggle;
+import androidx.appcompat.app.AlertDialog;
 import androidx.appcompat.app.AppCompatActivity;
 import androidx.appcompat.widget.Toolbar;
 import androidx.core.view.GravityCompat;
@@ -27,12 +29,20 @@ import com.google.android.gms.tasks.OnSuccessListener;
 import com.google.android.material.navigation.NavigationView;
 import com.google.firebase.firestore.DocumentChange;
 import com.google.firebase.firestore.DocumentSnapshot;
+import com.google.firebase.firestore.FieldPath;
 import com.google.firebase.firestore.FirebaseFirestore;
 import com.google.firebase.firestore.ListenerRegistration;
+import com.google.firebase.firestore.Query;
 import com.google.firebase.firestore.QueryDocumentSnapshot;
+import com.google.firebase.firestore.QuerySnapshot;
+import com.google.firebase.firestore.WriteBatch;
 
 import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Date;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
 
 /**
  * Activity to display and manage user notifications.
@@ -43,6 +53,33 @@ public class NotificationsActivity extends AppCompatActivity implements Navigati
 
     private static final String TAG = "NotificationsActivity";
 
+    /**
+     * Number of notifications fetched per page.
+     */
+    private static final int PAGE_SIZE = 30;
+
+    /**
+     * How many rows from the end of the list the next page starts loading.
+     */
+    private static final int PREFETCH_DISTANCE = 10;
+
+    /**
+     * Orders notifications newest first. Notifications still waiting on a server timestamp sort to the top,
+     * and ties are broken by document ID to match the Firestore query ordering.
+     */
+    private static final Comparator<NotificationItem> NEWEST_FIRST = (a, b) -> {
+        Date aTime = a.getCreatedAt();
+        Date bTime = b.getCreatedAt();
+        if (aTime == null || bTime == null) {
+            if (aTime != bTime) {
+                return aTime == null ? -1 : 1;
+            }
+        } else if (!aTime.equals(bTime)) {
+            return bTime.compareTo(aTime);
+        }
+        return b.getId().compareTo(a.getId());
+    };
+
     // UI Components
 
     /**
@@ -71,10 +108,44 @@ public class NotificationsActivity extends AppCompatActivity implements Navigati
     private NotificationsAdapter notificationsAdapter;
 
     /**
-     * List to hold NotificationItem objects.
+     * List to hold NotificationItem objects, kept sorted newest first.
+     * Changes are applied here and then submitted to the adapter, which diffs them against what is shown.
      */
     private List<NotificationItem> notificationList;
 
+    /**
+     * True while an older page is being fetched.
+     */
+    private boolean isLoadingPage = false;
+
+    /**
+     * False once an older page came back shorter than {@link #PAGE_SIZE}.
+     */
+    private boolean hasMorePages = true;
+
+    /**
+     * IDs of notifications with a bulk write in flight. Snapshot changes for them are ignored,
+     * since the list already shows the optimistic result.
+     */
+    private final Set<String> pendingWriteIds = new HashSet<>();
+
+    /**
+     * Number of bulk operations in flight. While non-zero, snapshot changes are applied to the list
+     * but only submitted to the adapter once, when the last operation lands.
+     */
+    private int bulkOperationsInFlight = 0;
+
+    /**
+     * Creation time of the newest notification shown when an in-flight "Clear All" started;
+     * older notifications backfilled by the listener are ignored.
+     */
+    private Date clearAllCutoff;
+
+    /**
+     * True while "Mark All Read" is working through the user's unread notifications.
+     */
+    private boolean markingAllRead = false;
+
     // Firebase Firestore
 
     /**
@@ -143,11 +214,26 @@ public class NotificationsActivity extends AppCompatActivity implements Navigati
 
         // Initialize RecyclerView for notifications
         notificationsRecyclerView = findViewById(R.id.notificationsRecyclerView);
-        notificationsRecyclerView.setLayoutManager(new LinearLayoutManager(this)); // Set layout manager
+        LinearLayoutManager layoutManager = new LinearLayoutManager(this);
+        notificationsRecyclerView.setLayoutManager(layoutManager); // Set layout manager
         notificationList = new ArrayList<>(); // Initialize the notification list
-        notificationsAdapter = new NotificationsAdapter(notificationList, this, this); // Initialize the adapter
+        notificationsAdapter = new NotificationsAdapter(this, this); // Initialize the adapter
         notificationsRecyclerView.setAdapter(notificationsAdapter); // Set the adapter to the RecyclerView
 
+        // Load older pages as the user nears the end of the list
+        notificationsRecyclerView.addOnScrollListener(new RecyclerView.OnScrollListener() {
+            @Override
+            public void onScrolled(@NonNull RecyclerView recyclerView, int dx, int dy) {
+                if (dy <= 0) {
+                    return;
+                }
+                int lastVisible = layoutManager.findLastVisibleItemPosition();
+                if (lastVisible >= notificationsAdapter.getItemCount() - PREFETCH_DISTANCE) {
+                    loadNextPage();
+                }
+            }
+        });
+
         // Attach ItemTouchHelper for swipe actions (accept/decline/delete)
         ItemTouchHelper itemTouchHelper = new ItemTouchHelper(new ItemTouchHelper.SimpleCallback(0, ItemTouchHelper.LEFT | ItemTouchHelper.RIGHT) {
             @Override
@@ -160,7 +246,10 @@ public class NotificationsActivity extends AppCompatActivity implements Navigati
             public void onSwiped(@NonNull RecyclerView.ViewHolder viewHolder, int direction) {
                 // Get the position of the swiped item
                 int position = viewHolder.getAdapterPosition();
-                NotificationItem notification = notificationList.get(position);
+                if (position == RecyclerView.NO_POSITION) {
+                    return;
+                }
+                NotificationItem notification = notificationsAdapter.getNotificationAt(position);
                 // Handle the swipe action (e.g., delete the notification)
                 deleteNotification(notification, position);
             }
@@ -194,6 +283,29 @@ public class NotificationsActivity extends AppCompatActivity implements Navigati
             Toast.makeText(this, "Push notifications " + (isChecked ? "enabled" : "disabled"), Toast.LENGTH_SHORT).show(); // Inform the user
         });
 
+        // Switch between always-on snapshot listeners and FCM data messages for status updates
+        Switch pushDeliverySwitch = findViewById(R.id.switch_push_delivery);
+        pushDeliverySwitch.setChecked(prefs.getBoolean(EventStatusListener.PREF_PUSH_DELIVERY_ENABLED, false));
+        pushDeliverySwitch.setOnCheckedChangeListener((buttonView, isChecked) -> {
+            prefs.edit().putBoolean(EventStatusListener.PREF_PUSH_DELIVERY_ENABLED, isChecked).apply();
+            Toast.makeText(this, "Update delivery will change after the app restarts", Toast.LENGTH_SHORT).show();
+        });
+
+        // Bulk actions over the whole inbox
+        Button markAllReadButton = findViewById(R.id.markAllReadButton);
+        Button clearAllButton = findViewById(R.id.clearAllButton);
+        markAllReadButton.setOnClickListener(v -> markAllNotificationsAsRead());
+        clearAllButton.setOnClickListener(v -> new AlertDialog.Builder(this)
+                .setTitle("Clear All Notifications")
+                .setMessage("Are you sure you want to delete all of your notifications?")
+                .setPositiveButton("Yes", (dialog, which) -> clearAllNotifications())
+                .setNegativeButton("No", null)
+                .show());
+
+        // Stamp notifications written before createdAt existed, so the ordered query below includes them;
+        // the listener picks them up as they are updated
+        NotificationCreatedAtBackfill.runOnce(this, firestore, currentUserId);
+
         // Fetch Notifications from Firestore
         fetchNotifications();
 
@@ -202,12 +314,25 @@ public class NotificationsActivity extends AppCompatActivity implements Navigati
     }
 
     /**
-     * Fetches notifications for the current user from Firestore.
-     * Sets up a real-time listener to update the RecyclerView as notifications change.
+     * Builds the base query for the current user's notifications, newest first.
+     *
+     * @return The ordered notifications query.
      */
-    private void fetchNotifications() {
-        notificationsListener = firestore.collection("Notifications")
+    private Query notificationsQuery() {
+        return firestore.collection("Notifications")
                 .whereEqualTo("userId", currentUserId) // Query notifications for the current user
+                .orderBy("createdAt", Query.Direction.DESCENDING)
+                .orderBy(FieldPath.documentId(), Query.Direction.DESCENDING);
+    }
+
+    /**
+     * Fetches the newest page of notifications for the current user from Firestore.
+     * Sets up a real-time listener that applies each document change to the list,
+     * so only the affected rows are inserted, moved, re-bound or removed.
+     */
+    private void fetchNotifications() {
+        notificationsListener = notificationsQuery()
+                .limit(PAGE_SIZE)
                 .addSnapshotListener((snapshots, e) -> {
                     if (e != null) {
                         // Handle the error if fetching notifications fails
@@ -217,17 +342,400 @@ public class NotificationsActivity extends AppCompatActivity implements Navigati
                     }
 
                     if (snapshots != null) {
-                        notificationList.clear(); // Clear the existing list to avoid duplicates
-                        for (QueryDocumentSnapshot doc : snapshots) {
-                            NotificationItem notification = doc.toObject(NotificationItem.class); // Convert document to NotificationItem
-                            notification.setId(doc.getId()); // Set the notification ID
-                            notificationList.add(notification); // Add to the list
+                        applyDocumentChanges(snapshots);
+                    }
+                });
+    }
+
+    /**
+     * Applies the document changes of a snapshot of the newest page to the notification list.
+     *
+     * @param snapshots The snapshot delivered by the newest-page listener.
+     */
+    private void applyDocumentChanges(QuerySnapshot snapshots) {
+        List<DocumentSnapshot> documents = snapshots.getDocuments();
+        NotificationItem oldestInWindow = documents.isEmpty() ? null : toNotification(documents.get(documents.size() - 1));
+
+        for (DocumentChange dc : snapshots.getDocumentChanges()) {
+            NotificationItem notification = toNotification(dc.getDocument());
+            if (pendingWriteIds.contains(notification.getId()) || isBeingCleared(notification)) {
+                // The list already reflects the bulk write that caused this change
+                continue;
+            }
+            switch (dc.getType()) {
+                case ADDED:
+                case MODIFIED:
+                    upsertNotification(notification);
+                    break;
+                case REMOVED:
+                    // A full window whose oldest entry is newer than this one means the item was
+                    // pushed out by a newer notification, not deleted; it now belongs to the older pages.
+                    boolean pushedOut = documents.size() >= PAGE_SIZE && oldestInWindow != null
+                            && NEWEST_FIRST.compare(notification, oldestInWindow) > 0;
+                    if (!pushedOut) {
+                        removeNotificationById(notification.getId());
+                    }
+                    break;
+            }
+        }
+        submitNotifications();
+    }
+
+    /**
+     * Fetches the next page of older notifications, starting after the oldest one already loaded.
+     */
+    private void loadNextPage() {
+        if (isLoadingPage || !hasMorePages || notificationList.isEmpty()) {
+            return;
+        }
+        NotificationItem oldest = notificationList.get(notificationList.size() - 1);
+        if (oldest.getCreatedAt() == null) {
+            return; // Still waiting on the server timestamp
+        }
+        isLoadingPage = true;
+
+        notificationsQuery()
+                .startAfter(oldest.getCreatedAt(), oldest.getId())
+                .limit(PAGE_SIZE)
+                .get()
+                .addOnSuccessListener(snapshots -> {
+                    for (QueryDocumentSnapshot doc : snapshots) {
+                        upsertNotification(toNotification(doc));
+                    }
+                    hasMorePages = snapshots.size() >= PAGE_SIZE;
+                    isLoadingPage = false;
+                    submitNotifications();
+                })
+                .addOnFailureListener(e -> {
+                    isLoadingPage = false;
+                    Log.e(TAG, "Error fetching older notifications", e);
+                });
+    }
+
+    /**
+     * Converts a notification document into a NotificationItem, estimating pending server timestamps.
+     *
+     * @param doc The notification document.
+     * @return The NotificationItem with its ID set.
+     */
+    private NotificationItem toNotification(DocumentSnapshot doc) {
+        NotificationItem notification = doc.toObject(NotificationItem.class, DocumentSnapshot.ServerTimestampBehavior.ESTIMATE);
+        if (notification == null) {
+            notification = new NotificationItem();
+        }
+        notification.setId(doc.getId()); // Set the notification ID
+        return notification;
+    }
+
+    /**
+     * Inserts a notification in sorted position, replacing any existing entry with the same ID.
+     *
+     * @param notification The notification to insert or update.
+     */
+    private void upsertNotification(NotificationItem notification) {
+        removeNotificationById(notification.getId());
+        int index = 0;
+        while (index < notificationList.size() && NEWEST_FIRST.compare(notificationList.get(index), notification) < 0) {
+            index++;
+        }
+        notificationList.add(index, notification);
+    }
+
+    /**
+     * Removes the notification with the given ID from the list, if present.
+     *
+     * @param notificationId The ID of the notification to remove.
+     * @return True if a notification was removed.
+     */
+    private boolean removeNotificationById(String notificationId) {
+        for (int i = 0; i < notificationList.size(); i++) {
+            if (notificationList.get(i).getId().equals(notificationId)) {
+                notificationList.remove(i);
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Hands a copy of the notification list to the adapter, which diffs it against the displayed rows.
+     * Deferred while bulk operations are in flight, so their snapshot echoes land as one update.
+     */
+    private void submitNotifications() {
+        if (bulkOperationsInFlight > 0) {
+            return;
+        }
+        notificationsAdapter.submitList(new ArrayList<>(notificationList));
+    }
+
+    /**
+     * Checks whether a notification is covered by an in-flight "Clear All".
+     *
+     * @param notification The notification to check.
+     * @return True if it will be deleted by the clear.
+     */
+    private boolean isBeingCleared(NotificationItem notification) {
+        return clearAllCutoff != null && notification.getCreatedAt() != null
+                && !notification.getCreatedAt().after(clearAllCutoff);
+    }
+
+    /**
+     * Marks every unread notification of the current user as read, including pages that have not been loaded yet.
+     * The loaded list is updated immediately and the writes are committed in chunked batches.
+     */
+    private void markAllNotificationsAsRead() {
+        if (markingAllRead) {
+            return; // Already marking
+        }
+        markingAllRead = true;
+        for (int i = 0; i < notificationList.size(); i++) {
+            NotificationItem notification = notificationList.get(i);
+            if (!notification.isRead()) {
+                // Replace with a copy so the adapter sees the change
+                NotificationItem read = copyOf(notification);
+                read.setRead(true);
+                notificationList.set(i, read);
+            }
+        }
+        submitNotifications();
+
+        bulkOperationsInFlight++;
+        markNextUnreadPage(0);
+    }
+
+    /**
+     * Marks the next page of the user's unread notifications as read, until none remain.
+     * Marked notifications drop out of the query, so every page is read from the start.
+     * Stops at the first failed commit.
+     *
+     * @param markedSoFar Number of notifications marked so far, for the final message.
+     */
+    private void markNextUnreadPage(int markedSoFar) {
+        firestore.collection("Notifications")
+                .whereEqualTo("userId", currentUserId)
+                .whereEqualTo("read", false)
+                .limit(FirestoreLimits.MAX_BATCH_SIZE)
+                .get()
+                .addOnSuccessListener(snapshots -> {
+                    List<NotificationItem> page = new ArrayList<>();
+                    for (DocumentSnapshot doc : snapshots.getDocuments()) {
+                        page.add(toNotification(doc));
+                    }
+                    boolean lastPage = page.size() < FirestoreLimits.MAX_BATCH_SIZE;
+                    commitInBatches(page, false, succeeded -> {
+                        if (succeeded && !lastPage) {
+                            markNextUnreadPage(markedSoFar + page.size());
+                            return;
+                        }
+                        finishMarkAllRead();
+                        if (!succeeded) {
+                            return;
+                        }
+                        int marked = markedSoFar + page.size();
+                        Toast.makeText(this, marked == 0 ? "No unread notifications"
+                                : marked + " notifications marked as read", Toast.LENGTH_SHORT).show();
+                    });
+                })
+                .addOnFailureListener(e -> {
+                    finishMarkAllRead();
+                    Toast.makeText(this, "Error marking notifications as read: " + e.getMessage(), Toast.LENGTH_SHORT).show();
+                    Log.e(TAG, "Error fetching unread notifications", e);
+                });
+    }
+
+    /**
+     * Ends an in-flight "Mark All Read" and shows whatever arrived while it ran.
+     */
+    private void finishMarkAllRead() {
+        markingAllRead = false;
+        bulkOperationsInFlight--;
+        submitNotifications();
+    }
+
+    /**
+     * Deletes every notification of the current user, including pages that have not been loaded yet.
+     * The list is cleared immediately and the deletes are committed in chunked batches.
+     * Notifications newer than the newest one on screen arrived after the user chose to clear and are kept.
+     */
+    private void clearAllNotifications() {
+        if (clearAllCutoff != null) {
+            return; // Already clearing
+        }
+        // Compare server timestamps with a server timestamp, not the device clock
+        clearAllCutoff = new Date(0);
+        for (NotificationItem notification : notificationList) {
+            if (notification.getCreatedAt() != null && notification.getCreatedAt().after(clearAllCutoff)) {
+                clearAllCutoff = notification.getCreatedAt();
+            }
+        }
+        List<NotificationItem> loaded = new ArrayList<>(notificationList);
+        notificationList.clear();
+        hasMorePages = false;
+        submitNotifications();
+
+        bulkOperationsInFlight++;
+        commitInBatches(loaded, true, succeeded -> {
+            if (succeeded) {
+                deleteRemainingPage(null, loaded.size());
+            } else {
+                finishClearAll();
+            }
+        });
+    }
+
+    /**
+     * Deletes the next page of notifications that were not loaded into the list, until none remain.
+     * Walks the user's notifications in document ID order rather than filtering on createdAt,
+     * so notifications without a createdAt are deleted too. Stops at the first failed commit.
+     *
+     * @param last         The last document of the previous page, or null for the first page.
+     * @param deletedSoFar Number of notifications deleted so far, for the final message.
+     */
+    private void deleteRemainingPage(DocumentSnapshot last, int deletedSoFar) {
+        Query query = firestore.collection("Notifications")
+                .whereEqualTo("userId", currentUserId)
+                .orderBy(FieldPath.documentId())
+                .limit(FirestoreLimits.MAX_BATCH_SIZE);
+        if (last != null) {
+            query = query.startAfter(last);
+        }
+        query.get()
+                .addOnSuccessListener(snapshots -> {
+                    List<DocumentSnapshot> documents = snapshots.getDocuments();
+                    List<NotificationItem> page = new ArrayList<>();
+                    for (DocumentSnapshot doc : documents) {
+                        NotificationItem notification = toNotification(doc);
+                        // Notifications that arrived after the clear started are kept
+                        if (notification.getCreatedAt() == null || !notification.getCreatedAt().after(clearAllCutoff)) {
+                            page.add(notification);
                         }
-                        notificationsAdapter.notifyDataSetChanged(); // Notify the adapter of data changes
                     }
+                    boolean lastPage = documents.size() < FirestoreLimits.MAX_BATCH_SIZE;
+                    commitInBatches(page, true, succeeded -> {
+                        if (succeeded && !lastPage) {
+                            deleteRemainingPage(documents.get(documents.size() - 1), deletedSoFar + page.size());
+                            return;
+                        }
+                        finishClearAll();
+                        if (succeeded) {
+                            Toast.makeText(this, (deletedSoFar + page.size()) + " notifications deleted", Toast.LENGTH_SHORT).show();
+                        }
+                    });
+                })
+                .addOnFailureListener(e -> {
+                    finishClearAll();
+                    Toast.makeText(this, "Error deleting notifications: " + e.getMessage(), Toast.LENGTH_SHORT).show();
+                    Log.e(TAG, "Error fetching notifications to delete", e);
                 });
     }
 
+    /**
+     * Ends an in-flight "Clear All" and shows whatever arrived while it ran.
+     */
+    private void finishClearAll() {
+        clearAllCutoff = null;
+        hasMorePages = true;
+        bulkOperationsInFlight--;
+        submitNotifications();
+    }
+
+    /**
+     * Commits a bulk update or delete in batches of at most {@link FirestoreLimits#MAX_BATCH_SIZE}.
+     * Snapshot changes for the affected notifications are ignored until every batch has landed.
+     * On failure the affected notifications are reloaded from Firestore.
+     *
+     * @param notifications The notifications to write.
+     * @param delete        True to delete them, false to mark them as read.
+     * @param onComplete    Called on the main thread once every batch has landed, with whether all succeeded.
+     */
+    private void commitInBatches(List<NotificationItem> notifications, boolean delete, BatchCallback onComplete) {
+        List<List<NotificationItem>> chunks = FirestoreLimits.partition(notifications, FirestoreLimits.MAX_BATCH_SIZE);
+        if (chunks.isEmpty()) {
+            onComplete.onComplete(true);
+            return;
+        }
+        bulkOperationsInFlight++;
+        final int[] remaining = {chunks.size()};
+        final boolean[] failed = {false};
+
+        for (List<NotificationItem> chunk : chunks) {
+            WriteBatch batch = firestore.batch();
+            for (NotificationItem notification : chunk) {
+                pendingWriteIds.add(notification.getId());
+                if (delete) {
+                    batch.delete(firestore.collection("Notifications").document(notification.getId()));
+                } else {
+                    batch.update(firestore.collection("Notifications").document(notification.getId()), "read", true);
+                }
+            }
+            batch.commit()
+                    .addOnFailureListener(e -> {
+                        failed[0] = true;
+                        Log.e(TAG, "Error committing notification batch", e);
+                    })
+                    .addOnCompleteListener(task -> {
+                        for (NotificationItem notification : chunk) {
+                            pendingWriteIds.remove(notification.getId());
+                        }
+                        if (--remaining[0] > 0) {
+                            return;
+                        }
+                        bulkOperationsInFlight--;
+                        if (failed[0]) {
+                            Toast.makeText(this, "Some notifications could not be updated", Toast.LENGTH_SHORT).show();
+                            reloadNotifications();
+                        } else {
+                            submitNotifications();
+                        }
+                        onComplete.onComplete(!failed[0]);
+                    });
+        }
+    }
+
+    /**
+     * Receives the outcome of {@link #commitInBatches}.
+     */
+    private interface BatchCallback {
+        /**
+         * Called once every batch has landed.
+         *
+         * @param succeeded True if every batch was committed.
+         */
+        void onComplete(boolean succeeded);
+    }
+
+    /**
+     * Discards the list and re-attaches the newest-page listener, used to undo a failed optimistic update.
+     */
+    private void reloadNotifications() {
+        if (notificationsListener != null) {
+            notificationsListener.remove();
+        }
+        notificationList.clear();
+        hasMorePages = true;
+        fetchNotifications();
+    }
+
+    /**
+     * Creates a copy of a notification, so an updated version can be submitted alongside the old one.
+     *
+     * @param notification The notification to copy.
+     * @return The copy.
+     */
+    private static NotificationItem copyOf(NotificationItem notification) {
+        NotificationItem copy = new NotificationItem();
+        copy.setId(notification.getId());
+        copy.setTitle(notification.getTitle());
+        copy.setMessage(notification.getMessage());
+        copy.setEventId(notification.getEventId());
+        copy.setUserId(notification.getUserId());
+        copy.setType(notification.getType());
+        copy.setRead(notification.isRead());
+        copy.setStatus(notification.getStatus());
+        copy.setCreatedAt(notification.getCreatedAt());
+        return copy;
+    }
+
     /**
      * Handles navigation menu item selections.
      * Navigates to the corresponding activity based on the selected menu item.
@@ -406,7 +914,10 @@ public class NotificationsActivity extends AppCompatActivity implements Navigati
         firestore.collection("Notifications").document(notification.getId())
                 .delete()
                 .addOnSuccessListener(aVoid -> {
-                    // No need to manually remove the notification from the list; the listener will handle it
+                    // The listener only covers the newest page, so drop it locally as well
+                    if (removeNotificationById(notification.getId())) {
+                        submitNotifications();
+                    }
                 })
                 .addOnFailureListener(e -> {
                     // Inform the user if deletion fails
@@ -428,7 +939,10 @@ public class NotificationsActivity extends AppCompatActivity implements Navigati
                 .addOnSuccessListener(aVoid -> {
                     // Inform the user of successful deletion
                     Toast.makeText(this, "Notification deleted", Toast.LENGTH_SHORT).show();
-                    // The real-time listener will handle removing the notification from the list
+                    // The listener only covers the newest page, so drop it locally as well
+                    if (removeNotificationById(notification.getId())) {
+                        submitNotifications();
+                    }
                 })
                 .addOnFailureListener(e -> {
                     // If deletion fails, notify the adapter to rebind the item and inform the user
@@ -10,21 +10,39 @@ import android.widget.Button;
 import android.widget.TextView;
 
 import androidx.annotation.NonNull;
+import androidx.recyclerview.widget.DiffUtil;
+import androidx.recyclerview.widget.ListAdapter;
 import androidx.recyclerview.widget.RecyclerView;
 
-import java.util.List;
+import java.util.Objects;
 
 /**
  * Adapter class for managing and displaying notifications within a RecyclerView.
  * Handles the binding of NotificationItem data to the notification_item layout.
  * Supports actions such as accepting or declining notifications based on their type and status.
+ * Backed by a {@link ListAdapter}, so submitted lists are diffed off the main thread and only
+ * the rows that actually changed are re-bound.
  */
-public class NotificationsAdapter extends RecyclerView.Adapter<NotificationsAdapter.NotificationViewHolder> {
+public class NotificationsAdapter extends ListAdapter<NotificationItem, NotificationsAdapter.NotificationViewHolder> {
 
     /**
-     * List of NotificationItem objects to be displayed.
+     * Compares notifications by document ID for identity and by displayed fields for contents.
      */
-    private List<NotificationItem> notificationList;
+    private static final DiffUtil.ItemCallback<NotificationItem> DIFF_CALLBACK = new DiffUtil.ItemCallback<NotificationItem>() {
+        @Override
+        public boolean areItemsTheSame(@NonNull NotificationItem oldItem, @NonNull NotificationItem newItem) {
+            return Objects.equals(oldItem.getId(), newItem.getId());
+        }
+
+        @Override
+        public boolean areContentsTheSame(@NonNull NotificationItem oldItem, @NonNull NotificationItem newItem) {
+            return Objects.equals(oldItem.getTitle(), newItem.getTitle())
+                    && Objects.equals(oldItem.getMessage(), newItem.getMessage())
+                    && Objects.equals(oldItem.getType(), newItem.getType())
+                    && Objects.equals(oldItem.getStatus(), newItem.getStatus())
+                    && oldItem.isRead() == newItem.isRead();
+        }
+    };
 
     /**
      * Context from the parent activity for accessing resources and layout inflaters.
@@ -58,13 +76,13 @@ public class NotificationsAdapter extends RecyclerView.Adapter<NotificationsAdap
 
     /**
      * Constructor for NotificationsAdapter.
+     * Notifications are supplied afterwards through {@link #submitList(java.util.List)}.
      *
-     * @param notificationList List of notifications to display.
      * @param context          Context from the parent activity.
      * @param actionListener   Listener for handling notification actions.
      */
-    public NotificationsAdapter(List<NotificationItem> notificationList, Context context, OnNotificationActionListener actionListener) {
-        this.notificationList = notificationList;
+    public NotificationsAdapter(Context context, OnNotificationActionListener actionListener) {
+        super(DIFF_CALLBACK);
         this.context = context;
         this.actionListener = actionListener;
     }
@@ -118,6 +136,8 @@ public class NotificationsAdapter extends RecyclerView.Adapter<NotificationsAdap
             // Set the notification title and message
             notificationTitleTextView.setText(notification.getTitle());
             notificationMessageTextView.setText(notification.getMessage());
+            // Dim notifications that have already been read
+            itemView.setAlpha(notification.isRead() ? 0.6f : 1f);
 
             // Check the type and status of the notification to determine button visibility
             if ("status_change".equals(notification.getType()) && "Selected".equals(notification.getStatus())) {
@@ -171,18 +191,18 @@ public class NotificationsAdapter extends RecyclerView.Adapter<NotificationsAdap
     @Override
     public void onBindViewHolder(@NonNull NotificationViewHolder holder, int position) {
         // Get the notification item at the current position
-        NotificationItem notification = notificationList.get(position);
+        NotificationItem notification = getItem(position);
         // Bind the notification data to the ViewHolder
         holder.bind(notification, actionListener);
     }
 
     /**
-     * Returns the total number of items in the data set held by the adapter.
+     * Returns the notification currently displayed at the given adapter position.
      *
-     * @return The total number of notification items.
+     * @param position The adapter position.
+     * @return The notification at that position.
      */
-    @Override
-    public int getItemCount() {
-        return notificationList.size(); // Return the size of the notification list
+    public NotificationItem getNotificationAt(int position) {
+        return getItem(position);
     }
 }
@@ -194,7 +194,11 @@ public class OrgEventsRepository {
                     transaction.update(firestore.collection("Facilities").document(facilityId), "eventIds", FieldValue.arrayRemove(eventId));
 
                     return null;
-                }).addOnSuccessListener(aVoid -> callback.onSuccess())
+                }).addOnSuccessListener(aVoid -> {
+                    // Delete the event's indexed entrant locations, which outlive the event document
+                    EntEventsRepository.getInstance().getLocationIndex().deleteAll(eventId);
+                    callback.onSuccess();
+                })
                 .addOnFailureListener(callback::onFailure);
     }
 
@@ -4,14 +4,8 @@ package com.example.potato1_events;
 import android.content.Intent;
 import android.os.Bundle;
 import android.provider.Settings;
-import android.text.TextUtils;
-import android.view.LayoutInflater;
 import android.view.MenuItem;
-import android.view.View;
 import android.widget.Button;
-import android.widget.ImageView;
-import android.widget.LinearLayout;
-import android.widget.TextView;
 import android.widget.Toast;
 import androidx.activity.OnBackPressedCallback;
 
@@ -21,18 +15,22 @@ import androidx.appcompat.app.ActionBarDrawerToggle;
 import androidx.appcompat.app.AlertDialog;
 import androidx.appcompat.app.AppCompatActivity;
 import androidx.appcompat.widget.Toolbar;
-import androidx.cardview.widget.CardView;
 import androidx.core.view.GravityCompat;
 import androidx.drawerlayout.widget.DrawerLayout;
+import androidx.recyclerview.widget.LinearLayoutManager;
+import androidx.recyclerview.widget.RecyclerView;
 
+import com.google.android.gms.tasks.Task;
+import com.google.android.gms.tasks.Tasks;
 import com.google.android.material.navigation.NavigationView;
 import com.google.firebase.firestore.CollectionReference;
 import com.google.firebase.firestore.FieldPath;
 import com.google.firebase.firestore.FirebaseFirestore;
 import com.google.firebase.firestore.QueryDocumentSnapshot;
-import com.squareup.picasso.Picasso;
+import com.google.firebase.firestore.QuerySnapshot;
 
 import java.util.ArrayList;
+import java.util.LinkedHashSet;
 import java.util.List;
 
 /**
@@ -50,9 +48,14 @@ public class OrganizerHomeActivity extends AppCompatActivity implements Navigati
     private DrawerLayout drawerLayout;
 
     /**
-     * LinearLayout to display the list of events.
+     * RecyclerView displaying the list of events.
      */
-    private LinearLayout eventsLinearLayout;
+    private RecyclerView eventsRecyclerView;
+
+    /**
+     * Adapter backing the list of events.
+     */
+    private EventsAdapter eventsAdapter;
 
     /**
      * FirebaseFirestore instance for database interactions.
@@ -118,7 +121,11 @@ public class OrganizerHomeActivity extends AppCompatActivity implements Navigati
         // Initialize UI Components
         drawerLayout = findViewById(R.id.drawer_organizer_layout);
         NavigationView navigationView = findViewById(R.id.nav_view);
-        eventsLinearLayout = findViewById(R.id.eventsLinearLayout);
+        eventsRecyclerView = findViewById(R.id.eventsRecyclerView);
+        eventsAdapter = new EventsAdapter(this, this::openEventDetails);
+        eventsRecyclerView.setLayoutManager(new LinearLayoutManager(this));
+        eventsRecyclerView.addOnScrollListener(ImageLoader.getInstance(this).pauseOnFling(this)); // Pause image loads while flinging
+        eventsRecyclerView.setAdapter(eventsAdapter);
         Toolbar toolbar = findViewById(R.id.toolbar);
         setSupportActionBar(toolbar);
 
@@ -175,9 +182,13 @@ public class OrganizerHomeActivity extends AppCompatActivity implements Navigati
         finish();
     }
 
+    /**
+     * Loads the events associated with the organizer's facility.
+     * Event IDs are fetched in 'whereIn' chunks of {@link FirestoreLimits#WHERE_IN_LIMIT}, and the combined result
+     * is submitted to the adapter, which only re-binds the rows that changed.
+     */
     public void loadEventsForOrganizerFacility() {
-        // Clear existing views and list
-        eventsLinearLayout.removeAllViews();
+        // Clear the list; the adapter keeps showing the previous rows until the new list is submitted
         eventList.clear();
 
         // Reference to the organizer's facility document using deviceId as facilityId
@@ -190,20 +201,24 @@ public class OrganizerHomeActivity extends AppCompatActivity implements Navigati
                             List<String> eventIds = facility.getEventIds();
 
                             if (eventIds != null && !eventIds.isEmpty()) {
-                                // Due to Firestore limitations, 'whereIn' can handle up to 10 elements
-                                // If you have more, you'll need to batch your queries
-                                List<String> limitedEventIds = eventIds.size() > 10 ? eventIds.subList(0, 10) : eventIds;
-
-                                firestore.collection("Events")
-                                        .whereIn(FieldPath.documentId(), limitedEventIds)
-                                        .get()
-                                        .addOnSuccessListener(eventsSnapshot -> {
-                                            for (QueryDocumentSnapshot eventDoc : eventsSnapshot) { // Adding event to the list in firebase and the view
-                                                Event event = eventDoc.toObject(Event.class);
-                                                event.setId(eventDoc.getId());
-                                                eventList.add(event);
-                                                addEventView(event);
+                                // 'whereIn' handles up to 10 elements, so query the IDs in chunks
+                                List<Task<QuerySnapshot>> queries = new ArrayList<>();
+                                for (List<String> chunk : FirestoreLimits.partition(new ArrayList<>(new LinkedHashSet<>(eventIds)), FirestoreLimits.WHERE_IN_LIMIT)) {
+                                    queries.add(firestore.collection("Events")
+                                            .whereIn(FieldPath.documentId(), chunk)
+                                            .get());
+                                }
+
+                                Tasks.whenAllSuccess(queries)
+                                        .addOnSuccessListener(results -> {
+                                            for (Object result : results) { // Adding each event from firebase to the list
+                                                for (QueryDocumentSnapshot eventDoc : (QuerySnapshot) result) {
+                                                    Event event = eventDoc.toObject(Event.class);
+                                                    event.setId(eventDoc.getId());
+                                                    eventList.add(event);
+                                                }
                                             }
+                                            eventsAdapter.submitList(new ArrayList<>(eventList));
                                             // Case if your facility has no events
                                             if (eventList.isEmpty()) {
                                                 Toast.makeText(OrganizerHomeActivity.this, "No events found for your facility.", Toast.LENGTH_SHORT).show();
@@ -214,6 +229,7 @@ public class OrganizerHomeActivity extends AppCompatActivity implements Navigati
                                             Toast.makeText(OrganizerHomeActivity.this, "Error loading events: " + e.getMessage(), Toast.LENGTH_SHORT).show();
                                         });
                             } else {
+                                eventsAdapter.submitList(new ArrayList<>());
                                 Toast.makeText(OrganizerHomeActivity.this, "No events associated with your facility.", Toast.LENGTH_SHORT).show();
                             }
                         }
@@ -229,47 +245,15 @@ public class OrganizerHomeActivity extends AppCompatActivity implements Navigati
     }
 
     /**
-     * Adds an event view to the eventsLinearLayout for the specified event.
+     * Navigates to the organizer details screen of the clicked event.
      *
-     * @param event The Event object to display.
+     * @param event The Event object that was clicked.
      */
-    private void addEventView(Event event) {
-        // Inflate event_item.xml
-        LayoutInflater inflater = LayoutInflater.from(this);
-        View eventView = inflater.inflate(R.layout.event_item, eventsLinearLayout, false);
-
-        // Initialize UI components within event_item.xml
-        ImageView eventPosterImageView = eventView.findViewById(R.id.eventPosterImageView);
-        TextView eventNameTextView = eventView.findViewById(R.id.eventNameTextView);
-        TextView eventLocationTextView = eventView.findViewById(R.id.eventLocationTextView);
-        CardView eventCardView = eventView.findViewById(R.id.eventCardView);
-
-        // Set event information
-        eventNameTextView.setText(event.getName());
-        eventLocationTextView.setText(event.getEventLocation());
-
-        // Load event poster image using Picasso
-        if (!TextUtils.isEmpty(event.getPosterImageUrl())) {
-            Picasso.get()
-                    .load(event.getPosterImageUrl())
-                    .placeholder(R.drawable.ic_placeholder_image) // Placeholder image while loading
-                    .error(R.drawable.ic_error_image)             // Image to display on error
-                    .into(eventPosterImageView);
-        } else {
-            // Set a default placeholder image if poster URL is empty
-            eventPosterImageView.setImageResource(R.drawable.ic_placeholder_image);
-        }
-
-        // Listener to navigate to EventDetailsOrganizerActivity if clicked
-        eventCardView.setOnClickListener(v -> {
-            Intent intent = new Intent(OrganizerHomeActivity.this, EventDetailsOrganizerActivity.class);
-            intent.putExtra("EVENT_ID", event.getId());
-            intent.putExtra("IS_ADMIN", isAdmin);
-            startActivity(intent);
-        });
-
-        // Finally add the new view to the linear layout
-        eventsLinearLayout.addView(eventView);
+    private void openEventDetails(Event event) {
+        Intent intent = new Intent(OrganizerHomeActivity.this, EventDetailsOrganizerActivity.class);
+        intent.putExtra("EVENT_ID", event.getId());
+        intent.putExtra("IS_ADMIN", isAdmin);
+        startActivity(intent);
     }
 
     /**
@@ -0,0 +1,111 @@
+// File: PendingUpload.java
+package com.example.potato1_events;
+
+/**
+ * An upload {@link ResumableUploader} has started but not finished: the staged file being sent,
+ * its content type, and the resumable session URI once Storage has assigned one.
+ * Entries are encoded as {@code "<createdAtMillis>|<contentType>|<filePath>|<sessionUri>"} so they fit in
+ * a single preference value keyed by the target path; the session URI is empty until it is known.
+ */
+public class PendingUpload {
+
+    private static final char SEPARATOR = '|';
+
+    private final long createdAt;
+    private final String contentType;
+    private final String filePath;
+    private final String sessionUri;
+
+    /**
+     * Constructs a new PendingUpload.
+     *
+     * @param createdAt   The time in milliseconds the upload was started.
+     * @param contentType The content type of the file.
+     * @param filePath    The path of the staged file.
+     * @param sessionUri  The resumable session URI, or null if none has been assigned yet.
+     */
+    public PendingUpload(long createdAt, String contentType, String filePath, String sessionUri) {
+        this.createdAt = createdAt;
+        this.contentType = contentType;
+        this.filePath = filePath;
+        this.sessionUri = sessionUri;
+    }
+
+    /**
+     * Retrieves the start time.
+     *
+     * @return The time in milliseconds the upload was started.
+     */
+    public long getCreatedAt() {
+        return createdAt;
+    }
+
+    /**
+     * Retrieves the content type.
+     *
+     * @return The content type of the file.
+     */
+    public String getContentType() {
+        return contentType;
+    }
+
+    /**
+     * Retrieves the staged file path.
+     *
+     * @return The path of the file being uploaded.
+     */
+    public String getFilePath() {
+        return filePath;
+    }
+
+    /**
+     * Retrieves the session URI.
+     *
+     * @return The resumable session URI, or null if none has been assigned yet.
+     */
+    public String getSessionUri() {
+        return sessionUri;
+    }
+
+    /**
+     * Creates a copy with a different session URI.
+     *
+     * @param sessionUri The new session URI, or null to start a fresh session.
+     * @return The updated entry.
+     */
+    public PendingUpload withSessionUri(String sessionUri) {
+        return new PendingUpload(createdAt, contentType, filePath, sessionUri);
+    }
+
+    /**
+     * Encodes the entry for storage.
+     *
+     * @return The encoded entry.
+     */
+    public String encode() {
+        return createdAt + String.valueOf(SEPARATOR) + contentType + SEPARATOR + filePath + SEPARATOR
+                + (sessionUri != null ? sessionUri : "");
+    }
+
+    /**
+     * Decodes a stored entry.
+     *
+     * @param encoded The encoded entry.
+     * @return The entry, or null if the value is malformed.
+     */
+    public static PendingUpload decode(String encoded) {
+        if (encoded == null) {
+            return null;
+        }
+        String[] parts = encoded.split("\\" + SEPARATOR, 4);
+        if (parts.length != 4 || parts[1].isEmpty() || parts[2].isEmpty()) {
+            return null;
+        }
+        try {
+            return new PendingUpload(Long.parseLong(parts[0]), parts[1], parts[2],
+                    parts[3].isEmpty() ? null : parts[3]);
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+}
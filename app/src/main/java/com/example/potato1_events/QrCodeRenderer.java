@@ -0,0 +1,153 @@
+// File: QrCodeRenderer.java
+package com.example.potato1_events;
+
+import android.graphics.Bitmap;
+import android.graphics.Color;
+import android.util.Log;
+import android.util.LruCache;
+
+import com.google.android.gms.tasks.Task;
+import com.google.android.gms.tasks.Tasks;
+import com.google.zxing.qrcode.decoder.ErrorCorrectionLevel;
+import com.google.zxing.qrcode.encoder.ByteMatrix;
+import com.google.zxing.qrcode.encoder.Encoder;
+
+import java.util.Arrays;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Shared renderer for event QR codes.
+ * Codes are encoded at one pixel per module, then scaled by a whole number so every module is a crisp
+ * square, and the pixels are written to the bitmap in a single call on a background thread.
+ * Rendered bitmaps are cached by QR code hash and size, so reopening an event shows its code at once.
+ */
+public class QrCodeRenderer {
+
+    private static final String TAG = "QrCodeRenderer";
+
+    /**
+     * Width in modules of the blank border scanners need around the code.
+     */
+    static final int QUIET_ZONE_MODULES = 4;
+
+    /**
+     * Maximum total size of cached bitmaps.
+     */
+    private static final int CACHE_BYTES = 4 * 1024 * 1024;
+
+    private static QrCodeRenderer instance;
+
+    // Rendered codes by "<qrCodeHash>@<size>", weighed by their byte count
+    private final LruCache<String, Bitmap> cache = new LruCache<String, Bitmap>(CACHE_BYTES) {
+        @Override
+        protected int sizeOf(String key, Bitmap bitmap) {
+            return bitmap.getByteCount();
+        }
+    };
+
+    // Encoding is short and rare, so one thread is enough
+    private final ExecutorService executor = Executors.newSingleThreadExecutor();
+
+    /**
+     * Private constructor to enforce Singleton pattern.
+     */
+    private QrCodeRenderer() {
+    }
+
+    /**
+     * Retrieves the singleton instance of QrCodeRenderer.
+     *
+     * @return The singleton instance.
+     */
+    public static synchronized QrCodeRenderer getInstance() {
+        if (instance == null) {
+            instance = new QrCodeRenderer();
+        }
+        return instance;
+    }
+
+    /**
+     * Renders a QR code no larger than a target size, from the cache when possible.
+     * The result is the largest module-aligned size that fits, or one pixel per module if the target is smaller.
+     *
+     * @param qrHash   The data to encode, normally the event's QR code hash.
+     * @param targetPx The size in pixels of the view that will show the code.
+     * @return A task resolving to the square QR code bitmap, delivered on the main thread.
+     */
+    public Task<Bitmap> render(String qrHash, int targetPx) {
+        String key = qrHash + "@" + targetPx;
+        Bitmap cached = cache.get(key);
+        if (cached != null) {
+            return Tasks.forResult(cached);
+        }
+        return Tasks.call(executor, () -> encode(qrHash, targetPx))
+                .onSuccessTask(bitmap -> {
+                    cache.put(key, bitmap);
+                    return Tasks.forResult(bitmap);
+                });
+    }
+
+    /**
+     * Encodes data into a QR code bitmap.
+     *
+     * @param qrHash   The data to encode.
+     * @param targetPx The size in pixels the code should fit.
+     * @return The bitmap.
+     * @throws Exception If the data cannot be encoded.
+     */
+    private Bitmap encode(String qrHash, int targetPx) throws Exception {
+        long start = System.currentTimeMillis();
+        ByteMatrix matrix = Encoder.encode(qrHash, ErrorCorrectionLevel.L).getMatrix();
+        int scale = scaleFor(matrix.getWidth(), targetPx);
+        int size = (matrix.getWidth() + 2 * QUIET_ZONE_MODULES) * scale;
+
+        Bitmap bitmap = Bitmap.createBitmap(size, size, Bitmap.Config.RGB_565);
+        bitmap.setPixels(toPixels(matrix, scale), 0, size, 0, 0, size, size);
+
+        Log.d(TAG, "Rendered " + matrix.getWidth() + "-module QR code at " + size + "x" + size
+                + " in " + (System.currentTimeMillis() - start) + " ms");
+        return bitmap;
+    }
+
+    /**
+     * Computes how many pixels each module should take so the code, with its quiet zone, fits a target size.
+     *
+     * @param modules  The width of the code in modules, without the quiet zone.
+     * @param targetPx The size in pixels the code should fit.
+     * @return The number of pixels per module, at least 1.
+     */
+    static int scaleFor(int modules, int targetPx) {
+        return Math.max(1, targetPx / (modules + 2 * QUIET_ZONE_MODULES));
+    }
+
+    /**
+     * Expands a module matrix into row-major pixels, surrounded by the quiet zone.
+     * Each pixel row is built once and copied for the remaining lines of the same module row.
+     *
+     * @param matrix The QR code modules; 1 is dark.
+     * @param scale  The number of pixels per module.
+     * @return The pixels of the square image.
+     */
+    static int[] toPixels(ByteMatrix matrix, int scale) {
+        int modules = matrix.getWidth();
+        int size = (modules + 2 * QUIET_ZONE_MODULES) * scale;
+        int border = QUIET_ZONE_MODULES * scale;
+        int[] pixels = new int[size * size];
+        Arrays.fill(pixels, Color.WHITE);
+
+        for (int y = 0; y < matrix.getHeight(); y++) {
+            int rowStart = (border + y * scale) * size;
+            for (int x = 0; x < modules; x++) {
+                if (matrix.get(x, y) == 1) {
+                    int from = rowStart + border + x * scale;
+                    Arrays.fill(pixels, from, from + scale, Color.BLACK);
+                }
+            }
+            for (int line = 1; line < scale; line++) {
+                System.arraycopy(pixels, rowStart, pixels, rowStart + line * size, size);
+            }
+        }
+        return pixels;
+    }
+}
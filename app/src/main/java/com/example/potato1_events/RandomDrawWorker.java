@@ -16,6 +16,7 @@ import com.google.firebase.firestore.FirebaseFirestore;
 
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Random;
@@ -164,13 +165,19 @@ public class RandomDrawWorker extends Worker {
             List<String> selectedEntrants = eligibleEntrantIds.subList(0, numberToSelect);
             List<String> notSelectedEntrants = eligibleEntrantIds.subList(numberToSelect, eligibleEntrantIds.size());
 
-            // Update entrant statuses
+            // Update entrant statuses, remembering which ones actually changed for the fan-out
+            Map<String, String> statusChanges = new HashMap<>();
             for (String entrantId : selectedEntrants) {
                 entrantsMap.put(entrantId, "Selected");
+                statusChanges.put(entrantId, "Selected");
             }
             for (String entrantId : notSelectedEntrants) {
+                if (!"Not Selected".equalsIgnoreCase(entrantsMap.get(entrantId))) {
+                    statusChanges.put(entrantId, "Not Selected");
+                }
                 entrantsMap.put(entrantId, "Not Selected");
             }
+            DrawResult result = new DrawResult(snapshot.getString("name"), snapshot.getString("facilityId"), statusChanges);
 
             // Update the event document with the new entrants map
             transaction.update(eventRef, "entrants", entrantsMap);
@@ -179,9 +186,14 @@ public class RandomDrawWorker extends Worker {
             transaction.update(eventRef, "waitingListFilled", true);
 
             Log.d(TAG, "Random draw performed for event: " + eventId);
-            return null;
-        }).addOnSuccessListener(aVoid -> {
+            return result;
+        }).addOnSuccessListener(result -> {
             Log.d(TAG, "Transaction success for event: " + eventId);
+            if (result != null) {
+                // Notify every affected entrant, even those whose app is not running
+                NotificationFanOut fanOut = new NotificationFanOut(firestore);
+                fanOut.fanOutDrawResults(eventId, result.eventName, result.organizerId, result.statusChanges);
+            }
         }).addOnFailureListener(e -> {
             Log.e(TAG, "Transaction failure for event: " + eventId, e);
         });
@@ -226,4 +238,19 @@ public class RandomDrawWorker extends Worker {
 
         performRandomDrawForEvent(eventId);
     }
-}
\ No newline at end of file
+
+    /**
+     * Outcome of a random draw transaction, used to fan out notifications once it commits.
+     */
+    private static class DrawResult {
+        private final String eventName;
+        private final String organizerId;
+        private final Map<String, String> statusChanges;
+
+        DrawResult(String eventName, String organizerId, Map<String, String> statusChanges) {
+            this.eventName = eventName;
+            this.organizerId = organizerId;
+            this.statusChanges = statusChanges;
+        }
+    }
+}
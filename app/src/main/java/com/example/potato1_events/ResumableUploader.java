@@ -0,0 +1,401 @@
+// File: ResumableUploader.java
+package com.example.potato1_events;
+
+import android.content.Context;
+import android.content.SharedPreferences;
+import android.net.Uri;
+import android.os.Handler;
+import android.os.Looper;
+import android.util.Log;
+
+import com.google.android.gms.tasks.CancellationToken;
+import com.google.android.gms.tasks.Task;
+import com.google.android.gms.tasks.TaskCompletionSource;
+import com.google.android.gms.tasks.Tasks;
+import com.google.firebase.storage.FirebaseStorage;
+import com.google.firebase.storage.StorageException;
+import com.google.firebase.storage.StorageMetadata;
+import com.google.firebase.storage.StorageReference;
+import com.google.firebase.storage.UploadTask;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Uploads files to Firebase Storage through resumable sessions that outlive the screen and the process.
+ * Each upload is staged as a file and its session URI is saved as soon as Storage assigns one, so a failed
+ * transfer is resumed from the last confirmed byte with exponential backoff instead of starting over.
+ * Uploads interrupted by process death are resumed by {@link #resumePending()}, and starting the same
+ * upload again picks up the saved session. Uploads report progress and can be cancelled through a
+ * {@link CancellationToken}. Every caller attached to an upload holds a watch on it, and the upload is
+ * only cancelled once every watcher has cancelled, so a screen that re-attached to an upload is not cut
+ * off by another one closing. A screen that is only being recreated calls {@link #detach(CancellationToken)}
+ * instead. Must be used from the main thread, where Firebase delivers its results.
+ */
+public class ResumableUploader {
+
+    private static final String TAG = "ResumableUploader";
+    private static final String PREFS_NAME = "resumable_uploads";
+    private static final String STAGING_DIR = "uploads";
+
+    /**
+     * Maximum number of attempts per upload, including the first.
+     */
+    static final int MAX_ATTEMPTS = 6;
+
+    private static final long BASE_BACKOFF_MILLIS = 1000;
+    private static final long MAX_BACKOFF_MILLIS = 30_000;
+
+    /**
+     * Pending uploads older than this are abandoned; Storage expires resumable sessions after about a week.
+     */
+    private static final long MAX_PENDING_AGE_MILLIS = TimeUnit.DAYS.toMillis(2);
+
+    /**
+     * Receives the progress of an upload.
+     */
+    public interface ProgressListener {
+        /**
+         * Called as bytes are confirmed by Storage.
+         *
+         * @param bytesTransferred The number of bytes uploaded so far.
+         * @param totalBytes       The size of the upload.
+         */
+        void onProgress(long bytesTransferred, long totalBytes);
+    }
+
+    /**
+     * State of one upload across its attempts.
+     */
+    private static class Upload {
+        final StorageReference target;
+        final TaskCompletionSource<UploadTask.TaskSnapshot> result = new TaskCompletionSource<>();
+        ProgressListener listener;
+        PendingUpload pending;
+        UploadTask current;
+        int attempt;
+        boolean cancelled;
+
+        // Tokens of the callers attached to the upload; a caller without a token can never cancel it
+        final Set<CancellationToken> watchers = new HashSet<>();
+        boolean uncancellable;
+
+        Upload(StorageReference target, PendingUpload pending, ProgressListener listener) {
+            this.target = target;
+            this.pending = pending;
+            this.listener = listener;
+        }
+    }
+
+    private static ResumableUploader instance;
+
+    private final SharedPreferences prefs;
+    private final File stagingDir;
+    private final FirebaseStorage storage;
+    private final Handler mainHandler = new Handler(Looper.getMainLooper());
+
+    // Staged files are written off the main thread
+    private final ExecutorService executor = Executors.newSingleThreadExecutor();
+
+    // Uploads in progress by normalized target path
+    private final Map<String, Upload> active = new HashMap<>();
+
+    /**
+     * Private constructor to enforce Singleton pattern.
+     *
+     * @param context The application context.
+     */
+    private ResumableUploader(Context context) {
+        prefs = context.getSharedPreferences(PREFS_NAME, Context.MODE_PRIVATE);
+        stagingDir = new File(context.getCacheDir(), STAGING_DIR);
+        storage = FirebaseStorage.getInstance();
+    }
+
+    /**
+     * Retrieves the singleton instance of ResumableUploader.
+     *
+     * @param context Any context; only the application context is kept.
+     * @return The singleton instance.
+     */
+    public static synchronized ResumableUploader getInstance(Context context) {
+        if (instance == null) {
+            instance = new ResumableUploader(context.getApplicationContext());
+        }
+        return instance;
+    }
+
+    /**
+     * Uploads bytes to a Storage location. If an earlier upload to the same location was interrupted,
+     * its saved session is resumed instead of sending the data again.
+     *
+     * @param data         The bytes to upload.
+     * @param target       The Storage location.
+     * @param metadata     The metadata to attach, including the content type.
+     * @param listener     Receives progress, or null.
+     * @param cancellation Cancels the upload when requested, or null.
+     * @return A task resolving to the final snapshot, failing once the attempts are exhausted or on cancellation.
+     */
+    public Task<UploadTask.TaskSnapshot> upload(byte[] data, StorageReference target, StorageMetadata metadata,
+                                                ProgressListener listener, CancellationToken cancellation) {
+        String key = DownloadUrlCache.normalize(target.getPath());
+        Upload running = active.get(key);
+        if (running != null) {
+            // The same upload is still going, for example after the activity was recreated
+            running.listener = listener;
+            watch(running, cancellation);
+            return running.result.getTask();
+        }
+
+        PendingUpload saved = PendingUpload.decode(prefs.getString(key, null));
+        Task<PendingUpload> staged = saved != null && new File(saved.getFilePath()).isFile()
+                ? Tasks.forResult(saved)
+                : Tasks.call(executor, () -> stage(key, data, metadata.getContentType()));
+        return staged.onSuccessTask(pending -> {
+            Upload upload = new Upload(target, pending, listener);
+            active.put(key, upload);
+            watch(upload, cancellation);
+            if (!upload.cancelled) {
+                start(upload);
+            }
+            return upload.result.getTask();
+        });
+    }
+
+    /**
+     * Stops watching the uploads attached through a token without cancelling them, for example when the
+     * activity holding the token is destroyed for a configuration change. The uploads keep running, and
+     * are cancelled once every remaining watcher has cancelled.
+     *
+     * @param cancellation The token passed to {@link #upload}.
+     */
+    public void detach(CancellationToken cancellation) {
+        for (Upload upload : active.values()) {
+            upload.watchers.remove(cancellation);
+        }
+    }
+
+    /**
+     * Resumes uploads that were interrupted by process death, so their bytes reach Storage without the
+     * user sending them again. Uploads too old to resume are discarded.
+     */
+    public void resumePending() {
+        long now = System.currentTimeMillis();
+        for (Map.Entry<String, ?> entry : prefs.getAll().entrySet()) {
+            String key = entry.getKey();
+            PendingUpload pending = entry.getValue() instanceof String
+                    ? PendingUpload.decode((String) entry.getValue()) : null;
+            if (active.containsKey(key)) {
+                continue;
+            }
+            if (pending == null || now - pending.getCreatedAt() > MAX_PENDING_AGE_MILLIS
+                    || !new File(pending.getFilePath()).isFile()) {
+                discard(key, pending);
+                continue;
+            }
+            Log.d(TAG, "Resuming interrupted upload to " + key);
+            Upload upload = new Upload(storage.getReference().child(key), pending, null);
+            active.put(key, upload);
+            start(upload);
+        }
+    }
+
+    /**
+     * Computes the delay before an attempt, doubling each time up to a cap.
+     *
+     * @param attempt The number of attempts already made, at least 1.
+     * @return The delay in milliseconds.
+     */
+    static long backoffMillis(int attempt) {
+        int exponent = Math.min(Math.max(attempt - 1, 0), 16);
+        return Math.min(BASE_BACKOFF_MILLIS << exponent, MAX_BACKOFF_MILLIS);
+    }
+
+    /**
+     * Starts or resumes the transfer of an upload.
+     *
+     * @param upload The upload.
+     */
+    private void start(Upload upload) {
+        upload.attempt++;
+        PendingUpload pending = upload.pending;
+        Uri file = Uri.fromFile(new File(pending.getFilePath()));
+        StorageMetadata metadata = new StorageMetadata.Builder().setContentType(pending.getContentType()).build();
+        UploadTask task = pending.getSessionUri() == null
+                ? upload.target.putFile(file, metadata)
+                : upload.target.putFile(file, metadata, Uri.parse(pending.getSessionUri()));
+        upload.current = task;
+
+        task.addOnProgressListener(snapshot -> {
+            // Save the session as soon as it exists, so even the first attempt can be resumed
+            Uri session = snapshot.getUploadSessionUri();
+            if (session != null && !session.toString().equals(upload.pending.getSessionUri())) {
+                upload.pending = upload.pending.withSessionUri(session.toString());
+                save(upload);
+            }
+            if (upload.listener != null) {
+                upload.listener.onProgress(snapshot.getBytesTransferred(), snapshot.getTotalByteCount());
+            }
+        });
+        task.addOnSuccessListener(snapshot -> {
+            finish(upload);
+            upload.result.trySetResult(snapshot);
+        });
+        task.addOnFailureListener(e -> onFailure(upload, e));
+    }
+
+    /**
+     * Retries a failed transfer after a backoff, or fails the upload.
+     *
+     * @param upload The upload.
+     * @param e      The failure.
+     */
+    private void onFailure(Upload upload, Exception e) {
+        if (upload.cancelled || upload.attempt >= MAX_ATTEMPTS) {
+            finish(upload);
+            upload.result.trySetException(e);
+            return;
+        }
+        boolean recoverable = e instanceof StorageException
+                && (((StorageException) e).getIsRecoverableException()
+                || ((StorageException) e).getErrorCode() == StorageException.ERROR_RETRY_LIMIT_EXCEEDED);
+        if (!recoverable) {
+            if (upload.pending.getSessionUri() == null) {
+                finish(upload);
+                upload.result.trySetException(e);
+                return;
+            }
+            // The session itself may have expired or been rejected; start a new one
+            upload.pending = upload.pending.withSessionUri(null);
+            save(upload);
+        }
+        long delay = backoffMillis(upload.attempt);
+        Log.w(TAG, "Upload attempt " + upload.attempt + " failed, retrying in " + delay + " ms", e);
+        mainHandler.postDelayed(() -> {
+            if (!upload.cancelled) {
+                start(upload);
+            }
+        }, delay);
+    }
+
+    /**
+     * Attaches a caller to an upload, which is cancelled once every attached caller's token is cancelled.
+     *
+     * @param upload       The upload.
+     * @param cancellation The caller's token, or null if the caller never cancels.
+     */
+    private void watch(Upload upload, CancellationToken cancellation) {
+        if (cancellation == null) {
+            upload.uncancellable = true;
+            return;
+        }
+        if (cancellation.isCancellationRequested()) {
+            if (upload.watchers.isEmpty() && !upload.uncancellable) {
+                cancel(upload);
+            }
+            return;
+        }
+        if (upload.watchers.add(cancellation)) {
+            cancellation.onCanceledRequested(() -> unwatch(upload, cancellation));
+        }
+    }
+
+    /**
+     * Detaches a caller whose token was cancelled, cancelling the upload if it was the last watcher.
+     * Tokens that were already detached are ignored.
+     *
+     * @param upload       The upload.
+     * @param cancellation The cancelled token.
+     */
+    private void unwatch(Upload upload, CancellationToken cancellation) {
+        if (upload.watchers.remove(cancellation) && upload.watchers.isEmpty() && !upload.uncancellable) {
+            cancel(upload);
+        }
+    }
+
+    /**
+     * Cancels an upload and discards its session and staged file.
+     *
+     * @param upload The upload.
+     */
+    private void cancel(Upload upload) {
+        if (upload.cancelled) {
+            return;
+        }
+        upload.cancelled = true;
+        if (upload.current != null && !upload.current.isComplete()) {
+            upload.current.cancel();
+        }
+        finish(upload);
+        upload.result.trySetException(new CancellationException("Upload cancelled"));
+    }
+
+    /**
+     * Forgets a finished or cancelled upload.
+     *
+     * @param upload The upload.
+     */
+    private void finish(Upload upload) {
+        String key = DownloadUrlCache.normalize(upload.target.getPath());
+        if (active.get(key) == upload) {
+            active.remove(key);
+        }
+        discard(key, upload.pending);
+    }
+
+    /**
+     * Saves an upload's progress so it can be resumed.
+     *
+     * @param upload The upload.
+     */
+    private void save(Upload upload) {
+        prefs.edit().putString(DownloadUrlCache.normalize(upload.target.getPath()), upload.pending.encode()).apply();
+    }
+
+    /**
+     * Removes a saved upload and its staged file.
+     *
+     * @param key     The target path.
+     * @param pending The saved upload, or null if it could not be read.
+     */
+    private void discard(String key, PendingUpload pending) {
+        prefs.edit().remove(key).apply();
+        if (pending != null) {
+            File file = new File(pending.getFilePath());
+            if (file.exists() && !file.delete()) {
+                Log.w(TAG, "Failed to delete staged upload: " + file);
+            }
+        }
+    }
+
+    /**
+     * Writes the bytes of a new upload to a staging file and saves the upload.
+     *
+     * @param key         The target path.
+     * @param data        The bytes.
+     * @param contentType The content type.
+     * @return The saved upload, without a session yet.
+     * @throws IOException If the file cannot be written.
+     */
+    private PendingUpload stage(String key, byte[] data, String contentType) throws IOException {
+        if (!stagingDir.isDirectory() && !stagingDir.mkdirs()) {
+            throw new IOException("Cannot create " + stagingDir);
+        }
+        File file = new File(stagingDir, ContentHash.refCountId(key));
+        try (OutputStream out = new FileOutputStream(file)) {
+            out.write(data);
+        }
+        PendingUpload pending = new PendingUpload(System.currentTimeMillis(), contentType, file.getPath(), null);
+        prefs.edit().putString(key, pending.encode()).apply();
+        return pending;
+    }
+}
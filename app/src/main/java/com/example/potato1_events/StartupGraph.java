@@ -0,0 +1,321 @@
+// File: StartupGraph.java
+package com.example.potato1_events;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executor;
+
+/**
+ * Runs the application's startup initializers in dependency order.
+ * Each initializer runs on the main thread or on a background executor, and starts as soon as every
+ * initializer it depends on has finished, so independent initializers run in parallel. The duration of
+ * every initializer is recorded and reported to a {@link Listener}, which makes the cost of each part of
+ * startup measurable. An initializer that throws is reported and the initializers depending on it are skipped.
+ * The graph has no Android dependencies, so it runs unchanged in JVM unit tests.
+ */
+public class StartupGraph {
+
+    /**
+     * Receives the timings and failures of a startup run. Called on the thread that ran the initializer.
+     */
+    public interface Listener {
+        /**
+         * Called when an initializer has finished, whether or not it succeeded.
+         *
+         * @param name          The name of the initializer.
+         * @param durationNanos How long it ran, in nanoseconds.
+         * @param threadName    The name of the thread it ran on.
+         */
+        void onInitializerFinished(String name, long durationNanos, String threadName);
+
+        /**
+         * Called when an initializer has thrown.
+         *
+         * @param name The name of the initializer.
+         * @param e    The exception it threw.
+         */
+        void onInitializerFailed(String name, RuntimeException e);
+
+        /**
+         * Called when an initializer is skipped because one it depends on failed.
+         *
+         * @param name       The name of the skipped initializer.
+         * @param failedName The name of the failed initializer.
+         */
+        void onInitializerSkipped(String name, String failedName);
+
+        /**
+         * Called once every initializer has finished or been skipped.
+         *
+         * @param totalNanos The time since the graph was started, in nanoseconds.
+         */
+        void onComplete(long totalNanos);
+    }
+
+    /**
+     * Listener that ignores every report.
+     */
+    private static final Listener NO_OP_LISTENER = new Listener() {
+        @Override
+        public void onInitializerFinished(String name, long durationNanos, String threadName) {
+        }
+
+        @Override
+        public void onInitializerFailed(String name, RuntimeException e) {
+        }
+
+        @Override
+        public void onInitializerSkipped(String name, String failedName) {
+        }
+
+        @Override
+        public void onComplete(long totalNanos) {
+        }
+    };
+
+    /**
+     * A single initializer and its position in the graph.
+     */
+    private static class Node {
+        final String name;
+        final boolean mainThread;
+        final Runnable body;
+        final List<String> dependencies;
+        final List<Node> dependents = new ArrayList<>();
+        int remaining;
+
+        Node(String name, boolean mainThread, Runnable body, List<String> dependencies) {
+            this.name = name;
+            this.mainThread = mainThread;
+            this.body = body;
+            this.dependencies = dependencies;
+        }
+    }
+
+    private final Map<String, Node> nodes = new LinkedHashMap<>();
+    private final Listener listener;
+
+    // Duration in nanoseconds of every finished initializer, in completion order
+    private final Map<String, Long> durations = new LinkedHashMap<>();
+
+    private Executor mainExecutor;
+    private Executor backgroundExecutor;
+    private long startNanos;
+    private int finished;
+    private boolean started;
+
+    /**
+     * Constructs a new StartupGraph that only records durations.
+     */
+    public StartupGraph() {
+        this(null);
+    }
+
+    /**
+     * Constructs a new StartupGraph that reports to a listener.
+     *
+     * @param listener Receives timings and failures, or null to only record durations.
+     */
+    public StartupGraph(Listener listener) {
+        this.listener = listener != null ? listener : NO_OP_LISTENER;
+    }
+
+    /**
+     * Adds an initializer to the graph.
+     *
+     * @param name         The unique name of the initializer, used in dependencies and timings.
+     * @param mainThread   True if the initializer must run on the main thread.
+     * @param body         The initialization work.
+     * @param dependencies The names of the initializers that must finish first.
+     * @return This graph, for chaining.
+     * @throws IllegalArgumentException If the name is already used.
+     * @throws IllegalStateException    If the graph has already been started.
+     */
+    public synchronized StartupGraph add(String name, boolean mainThread, Runnable body, String... dependencies) {
+        if (started) {
+            throw new IllegalStateException("Startup graph already started");
+        }
+        if (nodes.containsKey(name)) {
+            throw new IllegalArgumentException("Duplicate initializer: " + name);
+        }
+        nodes.put(name, new Node(name, mainThread, body, Arrays.asList(dependencies)));
+        return this;
+    }
+
+    /**
+     * Starts every initializer without dependencies; the rest follow as their dependencies finish.
+     * Calling this again has no effect.
+     *
+     * @param mainExecutor       Runs initializers on the main thread.
+     * @param backgroundExecutor Runs the other initializers.
+     * @throws IllegalStateException If a dependency is unknown or the dependencies form a cycle.
+     */
+    public synchronized void start(Executor mainExecutor, Executor backgroundExecutor) {
+        if (started) {
+            return;
+        }
+        topologicalOrder();
+        started = true;
+        this.mainExecutor = mainExecutor;
+        this.backgroundExecutor = backgroundExecutor;
+        startNanos = System.nanoTime();
+
+        for (Node node : nodes.values()) {
+            node.remaining = node.dependencies.size();
+            for (String dependency : node.dependencies) {
+                nodes.get(dependency).dependents.add(node);
+            }
+        }
+        for (Node node : nodes.values()) {
+            if (node.remaining == 0) {
+                dispatch(node);
+            }
+        }
+    }
+
+    /**
+     * Orders the initializers so each comes after its dependencies, keeping the order they were added in
+     * where the dependencies allow it.
+     *
+     * @return The initializer names in dependency order.
+     * @throws IllegalStateException If a dependency is unknown or the dependencies form a cycle.
+     */
+    synchronized List<String> topologicalOrder() {
+        Map<String, Integer> remaining = new HashMap<>();
+        Map<String, List<String>> dependents = new HashMap<>();
+        Deque<String> ready = new ArrayDeque<>();
+        for (Node node : nodes.values()) {
+            for (String dependency : node.dependencies) {
+                if (!nodes.containsKey(dependency)) {
+                    throw new IllegalStateException(node.name + " depends on unknown initializer " + dependency);
+                }
+                dependents.computeIfAbsent(dependency, key -> new ArrayList<>()).add(node.name);
+            }
+            remaining.put(node.name, node.dependencies.size());
+            if (node.dependencies.isEmpty()) {
+                ready.add(node.name);
+            }
+        }
+
+        List<String> order = new ArrayList<>();
+        while (!ready.isEmpty()) {
+            String name = ready.poll();
+            order.add(name);
+            List<String> next = dependents.get(name);
+            if (next == null) {
+                continue;
+            }
+            for (String dependent : next) {
+                if (remaining.merge(dependent, -1, Integer::sum) == 0) {
+                    ready.add(dependent);
+                }
+            }
+        }
+        if (order.size() != nodes.size()) {
+            throw new IllegalStateException("Startup initializers have a dependency cycle");
+        }
+        return order;
+    }
+
+    /**
+     * Retrieves the recorded durations.
+     *
+     * @return The duration in nanoseconds of every finished initializer, in completion order.
+     */
+    public synchronized Map<String, Long> getDurations() {
+        return Collections.unmodifiableMap(new LinkedHashMap<>(durations));
+    }
+
+    /**
+     * Checks whether every initializer has finished or been skipped.
+     *
+     * @return True once startup is complete.
+     */
+    public synchronized boolean isComplete() {
+        return started && finished == nodes.size();
+    }
+
+    /**
+     * Hands an initializer whose dependencies have finished to its executor.
+     *
+     * @param node The initializer.
+     */
+    private void dispatch(Node node) {
+        (node.mainThread ? mainExecutor : backgroundExecutor).execute(() -> run(node));
+    }
+
+    /**
+     * Runs an initializer, records its duration and releases its dependents.
+     *
+     * @param node The initializer.
+     */
+    private void run(Node node) {
+        long begin = System.nanoTime();
+        boolean succeeded = true;
+        try {
+            node.body.run();
+        } catch (RuntimeException e) {
+            succeeded = false;
+            listener.onInitializerFailed(node.name, e);
+        }
+        long duration = System.nanoTime() - begin;
+        listener.onInitializerFinished(node.name, duration, Thread.currentThread().getName());
+
+        List<Node> ready = new ArrayList<>();
+        List<Node> skipped = new ArrayList<>();
+        boolean complete;
+        synchronized (this) {
+            durations.put(node.name, duration);
+            finished++;
+            if (succeeded) {
+                for (Node dependent : node.dependents) {
+                    if (--dependent.remaining == 0) {
+                        ready.add(dependent);
+                    }
+                }
+            } else {
+                skipDependents(node, skipped);
+                finished += skipped.size();
+            }
+            complete = finished == nodes.size();
+        }
+
+        // Reported outside the lock, so a slow listener does not hold up other initializers
+        for (Node dependent : skipped) {
+            listener.onInitializerSkipped(dependent.name, node.name);
+        }
+        if (complete) {
+            listener.onComplete(System.nanoTime() - startNanos);
+        }
+        for (Node dependent : ready) {
+            dispatch(dependent);
+        }
+    }
+
+    /**
+     * Marks every initializer that depends on a failed one, directly or not, as skipped.
+     *
+     * @param failed  The failed initializer.
+     * @param skipped The list the newly skipped initializers are added to.
+     */
+    private void skipDependents(Node failed, List<Node> skipped) {
+        Deque<Node> pending = new ArrayDeque<>(failed.dependents);
+        while (!pending.isEmpty()) {
+            Node node = pending.poll();
+            // A negative count marks a node as skipped, so it is neither run nor counted twice
+            if (node.remaining < 0) {
+                continue;
+            }
+            node.remaining = -1;
+            skipped.add(node);
+            pending.addAll(node.dependents);
+        }
+    }
+}
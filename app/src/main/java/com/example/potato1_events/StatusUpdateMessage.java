@@ -0,0 +1,96 @@
+// File: StatusUpdateMessage.java
+package com.example.potato1_events;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Payload of an FCM data message announcing that something changed in an event.
+ * Carries only what changed, never the new values: the receiving app fetches the one changed event,
+ * so a spoofed or out-of-order message cannot plant a status or corrupt the stored baselines.
+ */
+public class StatusUpdateMessage {
+
+    /**
+     * The recipient's own status in a joined event changed.
+     */
+    public static final String TYPE_STATUS_CHANGE = "status_change";
+
+    /**
+     * An entrant's status changed in an event the recipient organizes.
+     */
+    public static final String TYPE_ENTRANT_STATUS = "entrant_status";
+
+    /**
+     * The random draw was performed for an event the recipient organizes.
+     */
+    public static final String TYPE_DRAW_PERFORMED = "draw_performed";
+
+    private static final String KEY_TYPE = "type";
+    private static final String KEY_EVENT_ID = "eventId";
+
+    private final String type;
+    private final String eventId;
+
+    /**
+     * Constructs a new StatusUpdateMessage.
+     *
+     * @param type    The message type, one of the TYPE_ constants.
+     * @param eventId The ID of the changed event.
+     */
+    public StatusUpdateMessage(String type, String eventId) {
+        this.type = type;
+        this.eventId = eventId;
+    }
+
+    /**
+     * Parses a data message payload.
+     *
+     * @param data The data payload of the message.
+     * @return The message, or null if the payload is not a status update.
+     */
+    public static StatusUpdateMessage fromData(Map<String, String> data) {
+        if (data == null) {
+            return null;
+        }
+        String type = data.get(KEY_TYPE);
+        String eventId = data.get(KEY_EVENT_ID);
+        if (type == null || eventId == null || eventId.isEmpty()) {
+            return null;
+        }
+        if (!TYPE_STATUS_CHANGE.equals(type) && !TYPE_ENTRANT_STATUS.equals(type) && !TYPE_DRAW_PERFORMED.equals(type)) {
+            return null;
+        }
+        return new StatusUpdateMessage(type, eventId);
+    }
+
+    /**
+     * Builds the data payload for this message, as the pushEventStatusChanges function sends it.
+     *
+     * @return The data payload.
+     */
+    public Map<String, String> toData() {
+        Map<String, String> data = new HashMap<>();
+        data.put(KEY_TYPE, type);
+        data.put(KEY_EVENT_ID, eventId);
+        return data;
+    }
+
+    /**
+     * Retrieves the message type.
+     *
+     * @return One of the TYPE_ constants.
+     */
+    public String getType() {
+        return type;
+    }
+
+    /**
+     * Retrieves the ID of the changed event.
+     *
+     * @return The event ID.
+     */
+    public String getEventId() {
+        return eventId;
+    }
+}
@@ -0,0 +1,412 @@
+// File: StorageGarbageCollectionWorker.java
+package com.example.potato1_events;
+
+import android.content.Context;
+import android.content.SharedPreferences;
+import android.provider.Settings;
+import android.text.TextUtils;
+import android.util.Log;
+
+import androidx.annotation.NonNull;
+import androidx.work.Worker;
+import androidx.work.WorkerParameters;
+
+import com.google.android.gms.tasks.Task;
+import com.google.android.gms.tasks.Tasks;
+import com.google.firebase.Timestamp;
+import com.google.firebase.firestore.DocumentReference;
+import com.google.firebase.firestore.DocumentSnapshot;
+import com.google.firebase.firestore.FieldPath;
+import com.google.firebase.firestore.FirebaseFirestore;
+import com.google.firebase.firestore.Query;
+import com.google.firebase.firestore.QuerySnapshot;
+import com.google.firebase.firestore.Source;
+import com.google.firebase.firestore.WriteBatch;
+import com.google.firebase.storage.FirebaseStorage;
+import com.google.firebase.storage.ListResult;
+import com.google.firebase.storage.StorageMetadata;
+import com.google.firebase.storage.StorageReference;
+
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Periodic mark-and-sweep worker that deletes Storage objects no document refers to.
+ * The mark phase pages through Users, Events and Facilities and collects every image path and download URL
+ * they hold. The sweep phase pages through the uploaded folders and deletes unreferenced objects in small,
+ * throttled batches. Objects created or reused within {@link #GRACE_PERIOD_HOURS} are kept, since an image
+ * is uploaded or reused before the document that refers to it is saved. The sweep checkpoints its remaining folders and page
+ * tokens after every page, so a run that is stopped or hits its budget resumes on the next run.
+ * Every mark read goes to the server, since a stale cached document could leave a live image unmarked.
+ * Right before deleting, the sweep re-reads each object's {@link ContentAddressedStore} reference count and
+ * keeps objects acquired since the mark started, which the mark may have missed.
+ * Deleting a content-addressed image also deletes its reference count.
+ * Only runs on admin devices, so the bucket is not swept by every installation.
+ */
+public class StorageGarbageCollectionWorker extends Worker {
+
+    private static final String TAG = "StorageGC";
+
+    /**
+     * Unique name used when scheduling the periodic work.
+     */
+    public static final String WORK_NAME = "storage_garbage_collection";
+
+    /**
+     * Objects created or reused more recently than this are never deleted.
+     */
+    static final long GRACE_PERIOD_HOURS = 24;
+
+    /**
+     * Top-level folders the app uploads to.
+     */
+    private static final String[] SWEPT_ROOTS = {"images", "event_posters"};
+
+    private static final int PAGE_SIZE = 200;
+    private static final int MAX_PAGES_PER_RUN = 50;
+    private static final int MAX_DELETES_PER_RUN = 500;
+    private static final int DELETE_BATCH_SIZE = 20;
+    private static final long BATCH_PAUSE_MILLIS = 1000;
+    private static final long TIMEOUT_SECONDS = 30;
+
+    /**
+     * Allowance for the device clock running ahead of the server when comparing acquire times to the mark start.
+     */
+    private static final long CLOCK_SKEW_MILLIS = TimeUnit.MINUTES.toMillis(5);
+
+    private static final String PREFS_NAME = "storage_garbage_collection";
+    private static final String KEY_FRONTIER = "sweep_frontier";
+
+    private final FirebaseFirestore firestore;
+    private final FirebaseStorage storage;
+    private final SharedPreferences prefs;
+    private final String currentUserId;
+
+    /**
+     * Constructs a new StorageGarbageCollectionWorker.
+     *
+     * @param context The application context.
+     * @param params  Parameters for the worker.
+     */
+    public StorageGarbageCollectionWorker(@NonNull Context context, @NonNull WorkerParameters params) {
+        super(context, params);
+        firestore = FirebaseFirestore.getInstance();
+        storage = FirebaseStorage.getInstance();
+        prefs = context.getSharedPreferences(PREFS_NAME, Context.MODE_PRIVATE);
+        currentUserId = Settings.Secure.getString(context.getContentResolver(), Settings.Secure.ANDROID_ID);
+    }
+
+    /**
+     * Marks the referenced objects, then sweeps within the budget of a single run.
+     *
+     * @return Success once the budget is spent or the sweep is done, retry if Firebase could not be reached.
+     */
+    @NonNull
+    @Override
+    public Result doWork() {
+        try {
+            if (!isAdminDevice()) {
+                return Result.success();
+            }
+            long markStartedAt = System.currentTimeMillis();
+            Set<String> referenced = markReferencedPaths();
+            if (referenced.isEmpty()) {
+                // An empty mark is far more likely a failed read than an empty app; never sweep on it
+                Log.w(TAG, "No referenced objects found, skipping sweep");
+                return Result.success();
+            }
+            sweep(referenced, markStartedAt);
+            return Result.success();
+        } catch (Exception e) {
+            Log.e(TAG, "Storage garbage collection failed, will retry", e);
+            return Result.retry();
+        }
+    }
+
+    /**
+     * Checks whether the current device belongs to an admin.
+     *
+     * @return True if the user's document has the admin flag set.
+     * @throws Exception If the Firestore call fails or times out.
+     */
+    private boolean isAdminDevice() throws Exception {
+        DocumentSnapshot user = Tasks.await(firestore.collection("Users").document(currentUserId).get(Source.SERVER),
+                TIMEOUT_SECONDS, TimeUnit.SECONDS);
+        return Boolean.TRUE.equals(user.getBoolean("admin"));
+    }
+
+    /**
+     * Collects the storage path of every object a document refers to.
+     *
+     * @return The referenced paths, without leading slashes.
+     * @throws Exception If a Firestore call fails or times out; a partial mark must never be swept.
+     */
+    private Set<String> markReferencedPaths() throws Exception {
+        Set<String> referenced = new HashSet<>();
+        markCollection("Users", new String[]{"imagePath"}, new String[]{"imageUrl"}, null, referenced);
+        markCollection("Events", null, new String[]{"posterImageUrl"}, "posterImageVariants", referenced);
+        markCollection("Facilities", null, new String[]{"facilityPhotoUrl"}, "facilityPhotoVariants", referenced);
+        Log.d(TAG, "Marked " + referenced.size() + " referenced objects");
+        return referenced;
+    }
+
+    /**
+     * Pages through a collection in document ID order and collects the objects its documents refer to.
+     *
+     * @param collection   The collection name.
+     * @param pathFields   Fields holding storage paths, or null.
+     * @param urlFields    Fields holding download URLs, or null.
+     * @param variantField Field holding a map of rendition download URLs, or null.
+     * @param referenced   The set the paths are added to.
+     * @throws Exception If a Firestore call fails or times out.
+     */
+    private void markCollection(String collection, String[] pathFields, String[] urlFields,
+                                String variantField, Set<String> referenced) throws Exception {
+        DocumentSnapshot last = null;
+        while (!isStopped()) {
+            Query query = firestore.collection(collection).orderBy(FieldPath.documentId()).limit(PAGE_SIZE);
+            if (last != null) {
+                query = query.startAfter(last);
+            }
+            // Never mark from the cache, which may miss documents written elsewhere
+            QuerySnapshot snapshot = Tasks.await(query.get(Source.SERVER), TIMEOUT_SECONDS, TimeUnit.SECONDS);
+            List<DocumentSnapshot> documents = snapshot.getDocuments();
+
+            for (DocumentSnapshot doc : documents) {
+                if (pathFields != null) {
+                    for (String field : pathFields) {
+                        String path = doc.getString(field);
+                        if (!TextUtils.isEmpty(path)) {
+                            referenced.add(DownloadUrlCache.normalize(path));
+                        }
+                    }
+                }
+                if (urlFields != null) {
+                    for (String field : urlFields) {
+                        markUrl(doc.getString(field), referenced);
+                    }
+                }
+                if (variantField != null && doc.get(variantField) instanceof Map) {
+                    for (Object url : ((Map<?, ?>) doc.get(variantField)).values()) {
+                        markUrl(url instanceof String ? (String) url : null, referenced);
+                    }
+                }
+            }
+
+            if (documents.size() < PAGE_SIZE) {
+                return;
+            }
+            last = documents.get(documents.size() - 1);
+        }
+        // Stopped part way: the mark is incomplete, so the sweep must not run
+        throw new InterruptedException("Stopped while marking " + collection);
+    }
+
+    /**
+     * Adds the storage path behind a download URL to the referenced set.
+     *
+     * @param url        The download URL, possibly null.
+     * @param referenced The set the path is added to.
+     */
+    private void markUrl(String url, Set<String> referenced) {
+        if (TextUtils.isEmpty(url)) {
+            return;
+        }
+        try {
+            referenced.add(DownloadUrlCache.normalize(storage.getReferenceFromUrl(url).getPath()));
+        } catch (IllegalArgumentException e) {
+            // Not stored in this bucket, so there is nothing to keep
+        }
+    }
+
+    /**
+     * Walks the uploaded folders from the checkpoint and deletes unreferenced objects.
+     *
+     * @param referenced    The referenced paths.
+     * @param markStartedAt The time, in milliseconds, the mark started.
+     * @throws Exception If a Storage call fails or times out.
+     */
+    private void sweep(Set<String> referenced, long markStartedAt) throws Exception {
+        Deque<SweepCursor> frontier = SweepCursor.decodeAll(prefs.getString(KEY_FRONTIER, null));
+        if (frontier.isEmpty()) {
+            for (String root : SWEPT_ROOTS) {
+                frontier.add(new SweepCursor(root, null));
+            }
+        }
+
+        int deleted = 0;
+        for (int pages = 0; pages < MAX_PAGES_PER_RUN && deleted < MAX_DELETES_PER_RUN
+                && !frontier.isEmpty() && !isStopped(); pages++) {
+            SweepCursor cursor = frontier.peekFirst();
+            StorageReference folder = storage.getReference().child(cursor.getFolderPath());
+            Task<ListResult> list = cursor.getPageToken() == null
+                    ? folder.list(PAGE_SIZE)
+                    : folder.list(PAGE_SIZE, cursor.getPageToken());
+            ListResult page = Tasks.await(list, TIMEOUT_SECONDS, TimeUnit.SECONDS);
+
+            frontier.pollFirst();
+            if (page.getPageToken() != null) {
+                frontier.addFirst(new SweepCursor(cursor.getFolderPath(), page.getPageToken()));
+            }
+            for (StorageReference prefix : page.getPrefixes()) {
+                frontier.addLast(new SweepCursor(DownloadUrlCache.normalize(prefix.getPath()), null));
+            }
+
+            List<StorageReference> candidates = new ArrayList<>();
+            for (StorageReference item : page.getItems()) {
+                if (!isReferenced(item, referenced)) {
+                    candidates.add(item);
+                }
+            }
+            deleted += deleteOrphans(candidates, markStartedAt);
+
+            // Checkpoint after the page has been fully handled
+            prefs.edit().putString(KEY_FRONTIER, SweepCursor.encodeAll(frontier)).apply();
+        }
+
+        if (frontier.isEmpty()) {
+            // Reached the end; the next run starts over from the roots
+            prefs.edit().remove(KEY_FRONTIER).apply();
+        }
+        Log.d(TAG, "Deleted " + deleted + " orphaned objects");
+    }
+
+    /**
+     * Checks whether an object is referenced, directly or as a rendition of a referenced image.
+     *
+     * @param item       The object.
+     * @param referenced The referenced paths.
+     * @return True if the object must be kept.
+     */
+    private static boolean isReferenced(StorageReference item, Set<String> referenced) {
+        String path = DownloadUrlCache.normalize(item.getPath());
+        if (referenced.contains(path)) {
+            return true;
+        }
+        String fullName = ImageRendition.fullFileNameOf(item.getName());
+        return !fullName.equals(item.getName())
+                && referenced.contains(path.substring(0, path.length() - item.getName().length()) + fullName);
+    }
+
+    /**
+     * Determines when an object was last used: when it was created, or when {@link ContentAddressedStore}
+     * last reused it, whichever is later.
+     *
+     * @param metadata The object's metadata.
+     * @return The time of last use in milliseconds.
+     */
+    private static long lastUsedMillis(StorageMetadata metadata) {
+        long lastUsed = metadata.getCreationTimeMillis();
+        String reusedAt = metadata.getCustomMetadata(ContentAddressedStore.METADATA_LAST_REFERENCED_AT);
+        if (reusedAt != null) {
+            try {
+                lastUsed = Math.max(lastUsed, Long.parseLong(reusedAt));
+            } catch (NumberFormatException e) {
+                Log.w(TAG, "Ignoring malformed " + ContentAddressedStore.METADATA_LAST_REFERENCED_AT + ": " + reusedAt);
+            }
+        }
+        return lastUsed;
+    }
+
+    /**
+     * Deletes unreferenced objects that were last used before the grace period, a few at a time with a pause
+     * between batches so the sweep does not compete with the app's own traffic.
+     *
+     * @param candidates    The unreferenced objects.
+     * @param markStartedAt The time, in milliseconds, the mark started.
+     * @return The number of objects deleted.
+     * @throws Exception If the worker is interrupted while waiting.
+     */
+    private int deleteOrphans(List<StorageReference> candidates, long markStartedAt) throws Exception {
+        long cutoff = System.currentTimeMillis() - TimeUnit.HOURS.toMillis(GRACE_PERIOD_HOURS);
+        int deleted = 0;
+        for (List<StorageReference> batch : FirestoreLimits.partition(candidates, DELETE_BATCH_SIZE)) {
+            if (isStopped()) {
+                break;
+            }
+
+            // Look up every object's last use at once, then delete the old ones at once
+            List<Task<StorageMetadata>> metadata = new ArrayList<>();
+            for (StorageReference ref : batch) {
+                metadata.add(ref.getMetadata());
+            }
+            Tasks.await(Tasks.whenAllComplete(metadata), TIMEOUT_SECONDS, TimeUnit.SECONDS);
+
+            List<StorageReference> expired = new ArrayList<>();
+            for (int i = 0; i < batch.size(); i++) {
+                Task<StorageMetadata> meta = metadata.get(i);
+                if (meta.isSuccessful() && lastUsedMillis(meta.getResult()) < cutoff) {
+                    expired.add(batch.get(i));
+                }
+            }
+
+            // Re-read the reference counts right before deleting: an image acquired after the mark started
+            // may be about to be saved into a document the mark has already passed
+            List<Task<DocumentSnapshot>> counts = new ArrayList<>();
+            for (StorageReference item : expired) {
+                counts.add(refCount(item).get(Source.SERVER));
+            }
+            Tasks.await(Tasks.whenAllComplete(counts), TIMEOUT_SECONDS, TimeUnit.SECONDS);
+
+            List<StorageReference> doomed = new ArrayList<>();
+            List<Task<Void>> deletes = new ArrayList<>();
+            for (int i = 0; i < expired.size(); i++) {
+                Task<DocumentSnapshot> count = counts.get(i);
+                if (count.isSuccessful() && !acquiredSince(count.getResult(), markStartedAt)) {
+                    doomed.add(expired.get(i));
+                    deletes.add(expired.get(i).delete());
+                }
+            }
+            Tasks.await(Tasks.whenAllComplete(deletes), TIMEOUT_SECONDS, TimeUnit.SECONDS);
+
+            // A leftover count would start a later upload of the same image above zero, so it would never be released
+            WriteBatch countDeletes = firestore.batch();
+            for (int i = 0; i < deletes.size(); i++) {
+                if (deletes.get(i).isSuccessful()) {
+                    deleted++;
+                    StorageReference item = doomed.get(i);
+                    if (ImageRendition.fullFileNameOf(item.getName()).equals(item.getName())) {
+                        countDeletes.delete(refCount(item));
+                    }
+                } else {
+                    Log.w(TAG, "Failed to delete orphaned object", deletes.get(i).getException());
+                }
+            }
+            Tasks.await(countDeletes.commit(), TIMEOUT_SECONDS, TimeUnit.SECONDS);
+
+            Thread.sleep(BATCH_PAUSE_MILLIS);
+        }
+        return deleted;
+    }
+
+    /**
+     * Finds the reference count of an object; renditions share the count of their full image.
+     *
+     * @param item The object.
+     * @return The reference count document.
+     */
+    private DocumentReference refCount(StorageReference item) {
+        String path = DownloadUrlCache.normalize(item.getPath());
+        String fullPath = path.substring(0, path.length() - item.getName().length())
+                + ImageRendition.fullFileNameOf(item.getName());
+        return firestore.collection(ContentAddressedStore.REF_COUNTS_COLLECTION)
+                .document(ContentHash.refCountId(fullPath));
+    }
+
+    /**
+     * Checks whether an image was acquired after the mark started.
+     *
+     * @param count         The image's reference count document, which may not exist.
+     * @param markStartedAt The time, in milliseconds, the mark started.
+     * @return True if the image must be kept.
+     */
+    private static boolean acquiredSince(DocumentSnapshot count, long markStartedAt) {
+        Timestamp updatedAt = count.getTimestamp(ContentAddressedStore.FIELD_UPDATED_AT);
+        return updatedAt != null && updatedAt.toDate().getTime() >= markStartedAt - CLOCK_SKEW_MILLIS;
+    }
+}
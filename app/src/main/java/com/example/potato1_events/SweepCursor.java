@@ -0,0 +1,91 @@
+// File: SweepCursor.java
+package com.example.potato1_events;
+
+import java.util.ArrayDeque;
+import java.util.Collection;
+import java.util.Deque;
+
+/**
+ * A Storage folder still to be swept by {@link StorageGarbageCollectionWorker}, with the page token to
+ * continue from. The remaining cursors are saved after every page so an interrupted sweep resumes
+ * where it stopped. Cursors are encoded one per line as {@code "<folderPath>\t<pageToken>"}.
+ */
+public class SweepCursor {
+
+    private static final char FIELD_SEPARATOR = '\t';
+    private static final char LINE_SEPARATOR = '\n';
+
+    private final String folderPath;
+    private final String pageToken;
+
+    /**
+     * Constructs a new SweepCursor.
+     *
+     * @param folderPath The storage path of the folder, without a leading slash.
+     * @param pageToken  The token of the next page, or null to start at the first page.
+     */
+    public SweepCursor(String folderPath, String pageToken) {
+        this.folderPath = folderPath;
+        this.pageToken = pageToken;
+    }
+
+    /**
+     * Retrieves the folder path.
+     *
+     * @return The storage path of the folder.
+     */
+    public String getFolderPath() {
+        return folderPath;
+    }
+
+    /**
+     * Retrieves the page token.
+     *
+     * @return The token of the next page, or null for the first page.
+     */
+    public String getPageToken() {
+        return pageToken;
+    }
+
+    /**
+     * Encodes cursors for storage.
+     *
+     * @param cursors The cursors in visiting order.
+     * @return The encoded cursors.
+     */
+    public static String encodeAll(Collection<SweepCursor> cursors) {
+        StringBuilder encoded = new StringBuilder();
+        for (SweepCursor cursor : cursors) {
+            if (encoded.length() > 0) {
+                encoded.append(LINE_SEPARATOR);
+            }
+            encoded.append(cursor.folderPath).append(FIELD_SEPARATOR);
+            if (cursor.pageToken != null) {
+                encoded.append(cursor.pageToken);
+            }
+        }
+        return encoded.toString();
+    }
+
+    /**
+     * Decodes stored cursors, skipping malformed lines.
+     *
+     * @param encoded The encoded cursors, possibly null.
+     * @return The cursors in visiting order; empty if nothing was stored.
+     */
+    public static Deque<SweepCursor> decodeAll(String encoded) {
+        Deque<SweepCursor> cursors = new ArrayDeque<>();
+        if (encoded == null || encoded.isEmpty()) {
+            return cursors;
+        }
+        for (String line : encoded.split(String.valueOf(LINE_SEPARATOR))) {
+            int separator = line.indexOf(FIELD_SEPARATOR);
+            if (separator <= 0) {
+                continue;
+            }
+            String token = line.substring(separator + 1);
+            cursors.add(new SweepCursor(line.substring(0, separator), token.isEmpty() ? null : token));
+        }
+        return cursors;
+    }
+}
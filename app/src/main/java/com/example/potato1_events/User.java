@@ -18,6 +18,7 @@ public class User {
     private String email;
     private String phoneNumber;
     private String imagePath; // Firebase Storage path for profile picture
+    private String imageUrl; // Download URL of the profile picture, resolved when it was uploaded
     private boolean notificationsEnabled; // For opting in/out of notifications
     private long createdAt; // Timestamp of account creation
     private long updatedAt; // Timestamp of last update
@@ -175,6 +176,24 @@ public class User {
         this.imagePath = imagePath;
     }
 
+    /**
+     * Gets the download URL of the user's profile picture.
+     *
+     * @return The download URL, or null if it was not recorded when the picture was uploaded.
+     */
+    public String getImageUrl() {
+        return imageUrl;
+    }
+
+    /**
+     * Sets the download URL of the user's profile picture.
+     *
+     * @param imageUrl The download URL.
+     */
+    public void setImageUrl(String imageUrl) {
+        this.imageUrl = imageUrl;
+    }
+
     /**
      * Checks if the user has enabled notifications.
      *
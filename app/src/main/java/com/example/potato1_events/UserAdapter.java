@@ -3,7 +3,6 @@ package com.example.potato1_events;
 
 import android.content.Context;
 import android.text.TextUtils;
-import android.util.Log;
 import android.view.LayoutInflater;
 import android.view.View;
 import android.view.ViewGroup;
@@ -14,9 +13,6 @@ import android.widget.Toast;
 
 import androidx.annotation.NonNull;
 import androidx.recyclerview.widget.RecyclerView;
-import com.google.firebase.storage.FirebaseStorage;
-import com.google.firebase.storage.StorageReference;
-import com.squareup.picasso.Picasso;
 import java.util.List;
 import java.util.Map;
 
@@ -97,9 +93,8 @@ public class UserAdapter extends RecyclerView.Adapter<UserAdapter.UserViewHolder
      * @return The status string ("waitlist", "enrolled", etc.) or "Unknown" if not found.
      */
     public String getEntrantStatus(String userId) {
-        String status = userStatusMap.getOrDefault(userId, "Unknown");
-        Log.d(TAG, "User ID: " + userId + ", Status: " + status);
-        return status;
+        String status = userStatusMap.get(userId);
+        return status != null ? status : "Unknown";
     }
 
     /**
@@ -184,24 +179,12 @@ public class UserAdapter extends RecyclerView.Adapter<UserAdapter.UserViewHolder
          * @param user The user object containing data to bind.
          */
         public void bind(User user) {
-            // Load profile image
-            if (!TextUtils.isEmpty(user.getImagePath())) {
-                StorageReference imageRef = FirebaseStorage.getInstance().getReference().child(user.getImagePath());
-                imageRef.getDownloadUrl()
-                        .addOnSuccessListener(uri -> {
-                            Picasso.get().load(uri)
-                                    .placeholder(R.drawable.ic_placeholder_image)
-                                    .error(R.drawable.ic_error_image)
-                                    .into(entrantProfileImageView);
-                            Log.d(TAG, "Loaded profile image for user: " + user.getUserId());
-                        })
-                        .addOnFailureListener(e -> {
-                            Log.e(TAG, "Failed to load profile image for user: " + user.getUserId(), e);
-                            entrantProfileImageView.setImageResource(R.drawable.ic_error_image);
-                        });
+            // Load the profile picture from its stored or cached download URL, or draw the generated avatar
+            if (DefaultAvatar.isGenerated(user.getImagePath())) {
+                AvatarRenderer.getInstance(itemView.getContext()).loadInto(user.getName(), entrantProfileImageView);
             } else {
-                entrantProfileImageView.setImageResource(R.drawable.ic_placeholder_image);
-                Log.d(TAG, "No profile image path for user: " + user.getUserId());
+                DownloadUrlCache.getInstance(itemView.getContext())
+                        .loadInto(user.getImagePath(), user.getImageUrl(), entrantProfileImageView);
             }
 
             // Set entrant name
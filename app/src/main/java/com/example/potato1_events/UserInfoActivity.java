@@ -4,10 +4,6 @@ package com.example.potato1_events;
 import android.Manifest;
 import android.content.Intent;
 import android.content.pm.PackageManager;
-import android.graphics.Bitmap;
-import android.graphics.Canvas;
-import android.graphics.Color;
-import android.graphics.Paint;
 import android.net.Uri;
 import android.os.Bundle;
 import android.provider.Settings.Secure;
@@ -33,20 +29,20 @@ import androidx.drawerlayout.widget.DrawerLayout;
 
 import com.google.android.gms.location.FusedLocationProviderClient;
 import com.google.android.gms.location.LocationServices;
+import com.google.android.gms.tasks.CancellationTokenSource;
 import com.google.android.gms.tasks.OnCompleteListener;
 import com.google.android.gms.tasks.Task;
+import com.google.android.gms.tasks.Tasks;
 import com.google.android.material.navigation.NavigationView;
 import com.google.firebase.firestore.FirebaseFirestore;
 import com.google.firebase.firestore.SetOptions;
 import com.google.firebase.storage.FirebaseStorage;
 import com.google.firebase.storage.StorageReference;
-import com.squareup.picasso.Picasso;
 
-import java.io.ByteArrayOutputStream;
 import java.util.ArrayList;
 import java.util.List;
-import java.util.Random;
 import java.util.UUID;
+import java.util.concurrent.CancellationException;
 
 import de.hdodenhof.circleimageview.CircleImageView;
 
@@ -80,9 +76,16 @@ public class UserInfoActivity extends AppCompatActivity implements NavigationVie
 
     private Uri selectedImageUri = null; // To store the selected image URI
     private boolean isProfilePictureRemoved = false; // Flag to indicate if the user removed the picture
+    private CancellationTokenSource uploadCancellation = null; // Cancels the picture upload if the screen is closed
+    private String pendingUploadPath = null; // Storage path of the picture upload in progress, kept across recreation
+
+    // Saved state of a picture upload interrupted by a configuration change
+    private static final String KEY_SELECTED_IMAGE_URI = "selected_image_uri";
+    private static final String KEY_PENDING_UPLOAD_PATH = "pending_upload_path";
 
     // Variables to hold existing image paths
     private String existingImagePath = null; // The current image path in Firestore
+    private String existingImageUrl = null; // The current image's download URL in Firestore, if recorded
     private boolean isUsingDefaultAvatar = true; // Flag to indicate if using default avatar
     private String originalName = ""; // To track if the name has changed
 
@@ -207,16 +210,23 @@ public class UserInfoActivity extends AppCompatActivity implements NavigationVie
         // Get device ID
         deviceId = Secure.getString(getContentResolver(), Secure.ANDROID_ID);
 
+        // Saving again re-attaches to a picture upload the previous instance of this screen started
+        if (savedInstanceState != null) {
+            selectedImageUri = savedInstanceState.getParcelable(KEY_SELECTED_IMAGE_URI);
+            pendingUploadPath = savedInstanceState.getString(KEY_PENDING_UPLOAD_PATH);
+        }
+
         // Initialize ActivityResultLauncher for image selection
         selectImageLauncher = registerForActivityResult(
                 new ActivityResultContracts.GetContent(),
                 uri -> {
                     if (uri != null) {
                         selectedImageUri = uri;
+                        pendingUploadPath = null; // A new picture is uploaded to a new path
                         isProfilePictureRemoved = false; // Reset removal flag
                         isUsingDefaultAvatar = false; // Now using a custom image
                         // Display the selected image in ImageView
-                        Picasso.get().load(uri).into(profileImageView);
+                        ImageLoader.getInstance(this).load(uri, profileImageView);
                         // Change button text to "Remove Picture"
                         uploadRemovePictureButton.setText("Remove Picture");
                     }
@@ -343,21 +353,26 @@ public class UserInfoActivity extends AppCompatActivity implements NavigationVie
                             originalName = user.getName(); // Store the original name
 
                             existingImagePath = user.getImagePath(); // Store the existing image path
-
-                            if (existingImagePath != null) {
-                                StorageReference imageRef = storage.getReference().child(existingImagePath);
-                                imageRef.getDownloadUrl()
+                            existingImageUrl = user.getImageUrl();
+
+                            if (!DefaultAvatar.isGenerated(existingImagePath)) {
+                                // Use the recorded download URL, or resolve it through the cache
+                                Task<Uri> imageUrlTask = !TextUtils.isEmpty(existingImageUrl)
+                                        ? Tasks.forResult(Uri.parse(existingImageUrl))
+                                        : DownloadUrlCache.getInstance(this).resolve(existingImagePath);
+                                imageUrlTask
                                         .addOnSuccessListener(uri -> {
-                                            Picasso.get().load(uri).into(profileImageView);
-                                            if (existingImagePath.startsWith("/images/default")) {
-                                                isUsingDefaultAvatar = true;
-                                                uploadRemovePictureButton.setText("Upload Picture");
-                                            } else {
-                                                isUsingDefaultAvatar = false;
-                                                uploadRemovePictureButton.setText("Remove Picture");
+                                            if (selectedImageUri != null) {
+                                                return; // A newly picked picture is shown instead
                                             }
+                                            ImageLoader.getInstance(UserInfoActivity.this).load(uri, profileImageView);
+                                            isUsingDefaultAvatar = false;
+                                            uploadRemovePictureButton.setText("Remove Picture");
                                         })
                                         .addOnFailureListener(e -> {
+                                            if (selectedImageUri != null) {
+                                                return; // A newly picked picture is shown instead
+                                            }
                                             // If failed to load, set default avatar and button text
                                             generateAndSetDefaultAvatar(user.getName());
                                             isUsingDefaultAvatar = true;
@@ -365,7 +380,7 @@ public class UserInfoActivity extends AppCompatActivity implements NavigationVie
                                             Log.e(TAG, "Failed to load profile image: " + e.getMessage());
                                         });
                             } else {
-                                // No imagePath, generate default avatar
+                                // No picture, draw the generated avatar locally
                                 isUsingDefaultAvatar = true;
                                 generateAndSetDefaultAvatar(user.getName());
                                 uploadRemovePictureButton.setText("Upload Picture");
@@ -379,6 +394,12 @@ public class UserInfoActivity extends AppCompatActivity implements NavigationVie
                         generateAndSetDefaultAvatar("");
                         uploadRemovePictureButton.setText("Upload Picture");
                     }
+                    // Keep a picture picked before the screen was recreated
+                    if (selectedImageUri != null) {
+                        isUsingDefaultAvatar = false;
+                        ImageLoader.getInstance(this).load(selectedImageUri, profileImageView);
+                        uploadRemovePictureButton.setText("Remove Picture");
+                    }
                     saveButton.setEnabled(true);
                 })
                 .addOnFailureListener(e -> {
@@ -433,15 +454,15 @@ public class UserInfoActivity extends AppCompatActivity implements NavigationVie
         boolean nameChanged = !name.equals(originalName);
 
         if (isUsingDefaultAvatar && nameChanged) {
-            // User changed their name and is using a default avatar
-            // Delete the old default avatar and upload a new one
-            if (existingImagePath != null && existingImagePath.startsWith("/images/default")) {
+            // User changed their name and is using a default avatar, which is redrawn from the new name
+            // Delete the default avatar uploaded by older versions, if any
+            if (!TextUtils.isEmpty(existingImagePath) && DefaultAvatar.isGenerated(existingImagePath)) {
+                DownloadUrlCache.getInstance(this).invalidate(existingImagePath);
                 StorageReference oldAvatarRef = storage.getReference().child(existingImagePath);
                 oldAvatarRef.delete()
                         .addOnSuccessListener(aVoid -> {
                             Log.d(TAG, "Old default avatar deleted successfully.");
-                            // Generate and upload new default avatar
-                            generateAndUploadDefaultAvatar(name, email, phoneNumber);
+                            saveWithDefaultAvatar(name, email, phoneNumber);
                         })
                         .addOnFailureListener(e -> {
                             Toast.makeText(UserInfoActivity.this, "Failed to delete old avatar: " + e.getMessage(), Toast.LENGTH_SHORT).show();
@@ -449,19 +470,19 @@ public class UserInfoActivity extends AppCompatActivity implements NavigationVie
                             saveButton.setEnabled(true);
                         });
             } else {
-                // No existing default avatar found, just generate a new one
-                generateAndUploadDefaultAvatar(name, email, phoneNumber);
+                // No uploaded default avatar to clean up
+                saveWithDefaultAvatar(name, email, phoneNumber);
             }
         } else if (isProfilePictureRemoved) {
             // Handle profile picture removal
             if (existingImagePath != null) {
                 // Delete existing image from Firebase Storage
+                DownloadUrlCache.getInstance(this).invalidate(existingImagePath);
                 StorageReference imageRef = storage.getReference().child(existingImagePath);
                 imageRef.delete()
                         .addOnSuccessListener(aVoid -> {
                             Log.d(TAG, "Profile picture deleted successfully.");
-                            // Generate and upload new default avatar
-                            generateAndUploadDefaultAvatar(name, email, phoneNumber);
+                            saveWithDefaultAvatar(name, email, phoneNumber);
                         })
                         .addOnFailureListener(e -> {
                             Toast.makeText(UserInfoActivity.this, "Failed to delete profile picture: " + e.getMessage(), Toast.LENGTH_SHORT).show();
@@ -469,8 +490,8 @@ public class UserInfoActivity extends AppCompatActivity implements NavigationVie
                             saveButton.setEnabled(true);
                         });
             } else {
-                // No existing image to delete, generate and upload default avatar
-                generateAndUploadDefaultAvatar(name, email, phoneNumber);
+                // No existing image to delete
+                saveWithDefaultAvatar(name, email, phoneNumber);
             }
         } else if (selectedImageUri != null) {
             // Handle new image selected
@@ -478,8 +499,8 @@ public class UserInfoActivity extends AppCompatActivity implements NavigationVie
         } else {
             // No changes to profile picture
             if (mode.equals(MODE_CREATE)) {
-                // In CREATE mode, generate and upload default avatar
-                generateAndUploadDefaultAvatar(name, email, phoneNumber);
+                // In CREATE mode, start with the generated avatar
+                saveWithDefaultAvatar(name, email, phoneNumber);
             } else {
                 // In EDIT mode, keep existing image (if any)
                 saveOrUpdateUserInFirestore(name, email, phoneNumber, existingImagePath);
@@ -495,18 +516,35 @@ public class UserInfoActivity extends AppCompatActivity implements NavigationVie
      * @param phoneNumber The user's phone number.
      */
     private void uploadImageToFirebase(String name, String email, String phoneNumber) {
-        // Create a unique filename
-        String fileName = "images/profile_pictures/" + deviceId + "/" + UUID.randomUUID() + ".jpg";
+        // Create a unique filename, or reuse the one of the upload still in progress for this picture
+        if (pendingUploadPath == null) {
+            pendingUploadPath = "images/profile_pictures/" + deviceId + "/" + UUID.randomUUID() + ".jpg";
+        }
+        String fileName = pendingUploadPath;
 
         StorageReference storageRef = storage.getReference().child(fileName);
 
-        // Upload the image
-        storageRef.putFile(selectedImageUri)
-                .addOnSuccessListener(taskSnapshot -> {
+        // Downscale and upload the image, then resolve its download URL once for every later reader
+        CharSequence saveLabel = saveButton.getText();
+        uploadCancellation = new CancellationTokenSource();
+        ImageUploadPipeline.getInstance(this).upload(selectedImageUri, storageRef,
+                        (bytesTransferred, totalBytes) -> saveButton.setText("Uploading "
+                                + (totalBytes > 0 ? 100 * bytesTransferred / totalBytes : 0) + "%"),
+                        uploadCancellation.getToken())
+                .onSuccessTask(taskSnapshot -> storageRef.getDownloadUrl())
+                // Bound to this activity, so an instance destroyed by a configuration change does not save
+                .addOnCompleteListener(this, task -> {
+                    saveButton.setText(saveLabel);
+                    pendingUploadPath = null;
+                })
+                .addOnSuccessListener(this, uri -> {
                     // Get the storage path
                     String imagePath = storageRef.getPath();
+                    String imageUrl = uri.toString();
+                    DownloadUrlCache.getInstance(this).put(imagePath, imageUrl);
                     // Delete existing image if it exists
-                    if (existingImagePath != null && !existingImagePath.startsWith("/images/default")) {
+                    if (!DefaultAvatar.isGenerated(existingImagePath)) {
+                        DownloadUrlCache.getInstance(this).invalidate(existingImagePath);
                         StorageReference existingImageRef = storage.getReference().child(existingImagePath);
                         existingImageRef.delete()
                                 .addOnSuccessListener(aVoid -> {
@@ -518,6 +556,7 @@ public class UserInfoActivity extends AppCompatActivity implements NavigationVie
                                     currentUser.setEmail(email);
                                     currentUser.setPhoneNumber(phoneNumber);
                                     currentUser.setImagePath(imagePath);
+                                    currentUser.setImageUrl(imageUrl);
                                     currentUser.setEventsJoined(existingEventsJoined); // Initialize eventsJoined
 
                                     // Proceed to fetch location and save
@@ -536,64 +575,32 @@ public class UserInfoActivity extends AppCompatActivity implements NavigationVie
                         currentUser.setEmail(email);
                         currentUser.setPhoneNumber(phoneNumber);
                         currentUser.setImagePath(imagePath);
+                        currentUser.setImageUrl(imageUrl);
                         currentUser.setEventsJoined(new ArrayList<>()); // Initialize eventsJoined
 
                         // Proceed to fetch location and save
                         fetchUserLocationAndSave(currentUser);
                     }
                 })
-                .addOnFailureListener(e -> {
+                .addOnFailureListener(this, e -> {
+                    saveButton.setEnabled(true);
+                    if (e instanceof CancellationException) {
+                        return;
+                    }
                     Toast.makeText(UserInfoActivity.this, "Image upload failed: " + e.getMessage(), Toast.LENGTH_SHORT).show();
                     Log.e(TAG, "Image upload failed", e);
-                    saveButton.setEnabled(true);
                 });
     }
 
     /**
-     * Generates a default avatar, uploads it to Firebase Storage, and updates Firestore.
+     * Saves the user without a profile picture, so every screen draws their generated avatar locally.
      *
      * @param name        The user's name.
      * @param email       The user's email address.
      * @param phoneNumber The user's phone number.
      */
-    private void generateAndUploadDefaultAvatar(String name, String email, String phoneNumber) {
-        // Generate initials from name
-        String initials = getInitials(name);
-
-        // Create a bitmap with a colored circle and initials
-        Bitmap bitmap = createAvatarBitmap(initials);
-
-        // Create a unique filename for the default avatar
-        String fileName = "images/default_avatars/" + deviceId + "/" + UUID.randomUUID() + ".png";
-        StorageReference storageRef = storage.getReference().child(fileName);
-
-        // Convert bitmap to byte array
-        ByteArrayOutputStream baos = new ByteArrayOutputStream();
-        bitmap.compress(Bitmap.CompressFormat.PNG, 100, baos);
-        byte[] data = baos.toByteArray();
-
-        // Upload the bitmap
-        storageRef.putBytes(data)
-                .addOnSuccessListener(taskSnapshot -> {
-                    // Get the storage path
-                    String avatarPath = storageRef.getPath();
-                    // Initialize currentUser
-                    currentUser = new User();
-                    currentUser.setUserId(deviceId); // Assign device ID as userId
-                    currentUser.setName(name);
-                    currentUser.setEmail(email);
-                    currentUser.setPhoneNumber(phoneNumber);
-                    currentUser.setImagePath(avatarPath);
-                    currentUser.setEventsJoined(existingEventsJoined); // Initialize eventsJoined
-
-                    // Proceed to fetch location and save
-                    fetchUserLocationAndSave(currentUser);
-                })
-                .addOnFailureListener(e -> {
-                    Toast.makeText(UserInfoActivity.this, "Default avatar upload failed: " + e.getMessage(), Toast.LENGTH_SHORT).show();
-                    Log.e(TAG, "Default avatar upload failed", e);
-                    saveButton.setEnabled(true);
-                });
+    private void saveWithDefaultAvatar(String name, String email, String phoneNumber) {
+        saveOrUpdateUserInFirestore(name, email, phoneNumber, null);
     }
 
     /**
@@ -611,6 +618,7 @@ public class UserInfoActivity extends AppCompatActivity implements NavigationVie
         currentUser.setEmail(email);
         currentUser.setPhoneNumber(phoneNumber);
         currentUser.setImagePath(imagePath);
+        currentUser.setImageUrl(imagePath != null && imagePath.equals(existingImagePath) ? existingImageUrl : null);
         currentUser.setEventsJoined(existingEventsJoined); // Initialize eventsJoined
         currentUser.setAdmin(isAdmin);
 
@@ -718,138 +726,55 @@ public class UserInfoActivity extends AppCompatActivity implements NavigationVie
     }
 
     /**
-     * Generates and sets a default avatar locally without uploading to Firebase Storage.
+     * Shows the generated avatar for a name, rendered locally and never uploaded.
      *
      * @param name The user's name.
      */
     private void generateAndSetDefaultAvatar(String name) {
-        String initials = getInitials(name);
-        Bitmap bitmap = createAvatarBitmap(initials);
-        profileImageView.setImageBitmap(bitmap);
+        AvatarRenderer.getInstance(this).loadInto(name, profileImageView);
     }
 
     /**
-     * Extracts up to two initials from the user's name.
-     *
-     * @param name The user's full name.
-     * @return A string containing the initials in uppercase.
-     */
-    private String getInitials(String name) {
-        String initials = "";
-        String[] words = name.trim().split("\\s+");
-        for (String word : words) {
-            if (!word.isEmpty()) {
-                initials += word.charAt(0);
-                if (initials.length() == 2) break; // Limit to 2 initials
-            }
-        }
-        return initials.toUpperCase();
-    }
-
-    /**
-     * Creates a bitmap image featuring a colored circle with the user's initials centered on it.
-     *
-     * @param initials The user's initials.
-     * @return A Bitmap object representing the generated avatar.
+     * Navigates the user to the appropriate home page.
+     * Since roles are removed, navigate to a single HomeActivity.
+     * Closes the current activity after navigation.
      */
-    private Bitmap createAvatarBitmap(String initials) {
-        int size = 200; // Size of the bitmap in pixels
-        Bitmap bitmap = Bitmap.createBitmap(size, size, Bitmap.Config.ARGB_8888);
-        Canvas canvas = new Canvas(bitmap);
-
-        // Draw colored circle
-        Paint paint = new Paint();
-        paint.setAntiAlias(true);
-        paint.setColor(getColorFromName(initials));
-        canvas.drawCircle(size / 2, size / 2, size / 2, paint);
-
-        // Draw initials
-        Paint textPaint = new Paint();
-        textPaint.setColor(Color.WHITE);
-        textPaint.setTextSize(80);
-        textPaint.setAntiAlias(true);
-        textPaint.setTextAlign(Paint.Align.CENTER);
-        // Adjust y-coordinate to center the text
-        float x = size / 2;
-        float y = size / 2 - ((textPaint.descent() + textPaint.ascent()) / 2);
-        canvas.drawText(initials, x, y, textPaint);
-
-        return bitmap;
+    private void navigateToHomePage() {
+        Intent intent = new Intent(UserInfoActivity.this, EntrantHomeActivity.class);
+        intent.putExtra("IS_ADMIN", isAdmin);
+        startActivity(intent);
+        finish(); // Close current activity
     }
 
     /**
-     * Generates a pastel color based on the user's initials to ensure consistent avatar colors.
+     * Saves the picked picture and the path of its upload, so saving again after recreation
+     * re-attaches to the upload instead of sending the picture to a new path.
      *
-     * @param initials The user's initials.
-     * @return An integer representing the RGB color.
+     * @param outState The bundle the state is saved to.
      */
-    private int getColorFromName(String initials) {
-        // Use initials to create a seed
-        long seed = initials.hashCode();
-        Random random = new Random(seed);
-
-        // Generate hue between 0 and 360
-        float hue = random.nextInt(360);
-
-        // Pastel colors have low to medium saturation and high lightness
-        float saturation = 0.4f + (random.nextFloat() * 0.2f); // 0.4 to 0.6
-        float lightness = 0.8f + (random.nextFloat() * 0.1f);  // 0.8 to 0.9
-
-        return hslToRgb(hue, saturation, lightness);
+    @Override
+    protected void onSaveInstanceState(@NonNull Bundle outState) {
+        super.onSaveInstanceState(outState);
+        outState.putParcelable(KEY_SELECTED_IMAGE_URI, selectedImageUri);
+        outState.putString(KEY_PENDING_UPLOAD_PATH, pendingUploadPath);
     }
 
     /**
-     * Converts HSL color values to RGB.
-     *
-     * @param h Hue angle in degrees [0-360).
-     * @param s Saturation [0-1].
-     * @param l Lightness [0-1].
-     * @return An integer RGB color.
+     * Cancels an upload still in progress when the screen is closed.
+     * A configuration change recreates the activity without finishing it, so the upload continues
+     * and the recreated activity attaches to it when saving.
      */
-    private int hslToRgb(float h, float s, float l) {
-        float c = (1 - Math.abs(2 * l - 1)) * s;
-        float hPrime = h / 60;
-        float x = c * (1 - Math.abs(hPrime % 2 - 1));
-        float r1 = 0, g1 = 0, b1 = 0;
-
-        if (0 <= hPrime && hPrime < 1) {
-            r1 = c;
-            g1 = x;
-        } else if (1 <= hPrime && hPrime < 2) {
-            r1 = x;
-            g1 = c;
-        } else if (2 <= hPrime && hPrime < 3) {
-            g1 = c;
-            b1 = x;
-        } else if (3 <= hPrime && hPrime < 4) {
-            g1 = x;
-            b1 = c;
-        } else if (4 <= hPrime && hPrime < 5) {
-            r1 = x;
-            b1 = c;
-        } else if (5 <= hPrime && hPrime < 6) {
-            r1 = c;
-            b1 = x;
+    @Override
+    protected void onDestroy() {
+        super.onDestroy();
+        if (uploadCancellation == null) {
+            return;
+        }
+        if (isFinishing()) {
+            uploadCancellation.cancel();
+        } else {
+            ResumableUploader.getInstance(this).detach(uploadCancellation.getToken());
         }
-
-        float m = l - c / 2;
-        int r = Math.round((r1 + m) * 255);
-        int g = Math.round((g1 + m) * 255);
-        int b = Math.round((b1 + m) * 255);
-
-        return Color.rgb(r, g, b);
-    }
-
-    /**
-     * Navigates the user to the appropriate home page.
-     * Since roles are removed, navigate to a single HomeActivity.
-     * Closes the current activity after navigation.
-     */
-    private void navigateToHomePage() {
-        Intent intent = new Intent(UserInfoActivity.this, EntrantHomeActivity.class);
-        intent.putExtra("IS_ADMIN", isAdmin);
-        startActivity(intent);
-        finish(); // Close current activity
     }
 
     /**
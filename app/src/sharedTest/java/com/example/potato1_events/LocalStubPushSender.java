@@ -0,0 +1,84 @@
+// File: LocalStubPushSender.java
+package com.example.potato1_events;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * In-process stand-in for the pushEventStatusChanges Cloud Function, used to exercise push delivery
+ * without FCM. Each message is serialized to its data payload and parsed again, just as it would be
+ * on the receiving device, before being recorded for the test to inspect and handed to the receiver,
+ * if one is set.
+ */
+public class LocalStubPushSender {
+
+    /**
+     * Stands in for the receiving device, such as {@link EventStatusListener#handlePushMessage}.
+     */
+    public interface Receiver {
+        /**
+         * Called for every delivered message.
+         *
+         * @param userId  The ID of the recipient.
+         * @param message The message as parsed on the receiving side.
+         */
+        void onMessageReceived(String userId, StatusUpdateMessage message);
+    }
+
+    private final List<String> recipients = new ArrayList<>();
+    private final List<StatusUpdateMessage> delivered = new ArrayList<>();
+    private final Receiver receiver;
+
+    /**
+     * Constructs a sender that only records the delivered messages.
+     */
+    public LocalStubPushSender() {
+        this(null);
+    }
+
+    /**
+     * Constructs a sender that records the delivered messages and hands them to a receiver.
+     *
+     * @param receiver The receiver, or null to only record.
+     */
+    public LocalStubPushSender(Receiver receiver) {
+        this.receiver = receiver;
+    }
+
+    /**
+     * Delivers the message through a data payload round-trip.
+     *
+     * @param userId  The ID of the recipient.
+     * @param message The status update.
+     */
+    public void send(String userId, StatusUpdateMessage message) {
+        Map<String, String> payload = message.toData();
+        StatusUpdateMessage received = StatusUpdateMessage.fromData(payload);
+        if (received != null) {
+            recipients.add(userId);
+            delivered.add(received);
+            if (receiver != null) {
+                receiver.onMessageReceived(userId, received);
+            }
+        }
+    }
+
+    /**
+     * Retrieves the recipients of the delivered messages, in order.
+     *
+     * @return The recipient user IDs.
+     */
+    public List<String> getRecipients() {
+        return recipients;
+    }
+
+    /**
+     * Retrieves the messages as parsed on the receiving side, in order.
+     *
+     * @return The delivered messages.
+     */
+    public List<StatusUpdateMessage> getDelivered() {
+        return delivered;
+    }
+}
@@ -0,0 +1,45 @@
+package com.example.potato1_events;
+
+import static org.junit.Assert.*;
+import org.junit.Test;
+
+/**
+ * Unit tests for the {@link CachedDownloadUrl} class.
+ * This class tests expiry and the encoding used to persist download URLs.
+ */
+public class CachedDownloadUrlTest {
+
+    /**
+     * Tests that an entry survives an encode and decode round trip, including separators in the URL.
+     */
+    @Test
+    public void testEncodeDecodeRoundTrip() {
+        String url = "https://firebasestorage.googleapis.com/v0/b/app/o/images%2Fa.jpg?alt=media&token=a|b";
+        CachedDownloadUrl decoded = CachedDownloadUrl.decode(new CachedDownloadUrl(url, 1234L).encode());
+        assertNotNull(decoded);
+        assertEquals(url, decoded.getUrl());
+        assertEquals(1234L, decoded.getExpiresAt());
+    }
+
+    /**
+     * Tests that an entry expires at its expiry time.
+     */
+    @Test
+    public void testIsExpired() {
+        CachedDownloadUrl entry = new CachedDownloadUrl("https://example.com/a.jpg", 1000L);
+        assertFalse(entry.isExpired(999L));
+        assertTrue(entry.isExpired(1000L));
+    }
+
+    /**
+     * Tests that malformed stored values are rejected.
+     */
+    @Test
+    public void testDecodeMalformed() {
+        assertNull(CachedDownloadUrl.decode(null));
+        assertNull(CachedDownloadUrl.decode("no-separator"));
+        assertNull(CachedDownloadUrl.decode("|https://example.com"));
+        assertNull(CachedDownloadUrl.decode("123|"));
+        assertNull(CachedDownloadUrl.decode("abc|https://example.com"));
+    }
+}
@@ -0,0 +1,54 @@
+package com.example.potato1_events;
+
+import static org.junit.Assert.*;
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Unit tests for the {@link ContentHash} class.
+ * This class tests the hashes and document IDs used for deduplicated uploads.
+ */
+public class ContentHashTest {
+
+    /**
+     * Tests the SHA-256 hash against known values.
+     *
+     * @throws IOException Never, the streams are in memory.
+     */
+    @Test
+    public void testSha256Hex() throws IOException {
+        assertEquals("e3b0c44298fc1c149afbf4c8996fb92427ae41e4649b934ca495991b7852b855",
+                ContentHash.sha256Hex(new ByteArrayInputStream(new byte[0])));
+        assertEquals("ba7816bf8f01cfea414140de5dae2223b00361a396177a9cb410ff61f20015ad",
+                ContentHash.sha256Hex(new ByteArrayInputStream("abc".getBytes(StandardCharsets.US_ASCII))));
+    }
+
+    /**
+     * Tests that content longer than the read buffer hashes the same as when read at once.
+     *
+     * @throws IOException Never, the streams are in memory.
+     */
+    @Test
+    public void testSha256HexStreamsLargeContent() throws IOException {
+        byte[] content = new byte[200 * 1024 + 7];
+        for (int i = 0; i < content.length; i++) {
+            content[i] = (byte) (i * 31);
+        }
+        String first = ContentHash.sha256Hex(new ByteArrayInputStream(content));
+        content[content.length - 1]++;
+        assertNotEquals(first, ContentHash.sha256Hex(new ByteArrayInputStream(content)));
+        assertEquals(64, first.length());
+    }
+
+    /**
+     * Tests that storage paths become valid document IDs.
+     */
+    @Test
+    public void testRefCountId() {
+        assertEquals("event_posters_ab12.jpg", ContentHash.refCountId("/event_posters/ab12.jpg"));
+        assertEquals("images_facility_photos_ab12.jpg", ContentHash.refCountId("images/facility_photos/ab12.jpg"));
+    }
+}
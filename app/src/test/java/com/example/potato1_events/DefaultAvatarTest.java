@@ -0,0 +1,56 @@
+package com.example.potato1_events;
+
+import static org.junit.Assert.*;
+import org.junit.Test;
+
+/**
+ * Unit tests for the {@link DefaultAvatar} class.
+ * This class tests that generated avatars depend only on the user's name.
+ */
+public class DefaultAvatarTest {
+
+    /**
+     * Tests that up to two uppercase initials are taken from the name.
+     */
+    @Test
+    public void testInitials() {
+        assertEquals("JD", DefaultAvatar.forName("john doe").getInitials());
+        assertEquals("JR", DefaultAvatar.forName("  John   Ronald Tolkien ").getInitials());
+        assertEquals("C", DefaultAvatar.forName("Cher").getInitials());
+        assertEquals("", DefaultAvatar.forName("").getInitials());
+        assertEquals("", DefaultAvatar.forName(null).getInitials());
+    }
+
+    /**
+     * Tests that the same initials always produce the same opaque colour.
+     */
+    @Test
+    public void testColorIsDeterministic() {
+        int color = DefaultAvatar.forName("Ada Lovelace").getColor();
+        assertEquals(color, DefaultAvatar.forName("Alan Lee").getColor());
+        assertEquals(0xFF, color >>> 24);
+    }
+
+    /**
+     * Tests that the cache key is file-name safe and changes with the initials and size.
+     */
+    @Test
+    public void testCacheKey() {
+        DefaultAvatar avatar = new DefaultAvatar("A/", 0xFF112233);
+        assertEquals("41-2f-ff112233_96", avatar.cacheKey(96));
+        assertNotEquals(avatar.cacheKey(96), avatar.cacheKey(192));
+        assertNotEquals(avatar.cacheKey(96), DefaultAvatar.forName("Bo").cacheKey(96));
+    }
+
+    /**
+     * Tests that users without a picture, or with an uploaded default avatar, show a generated avatar.
+     */
+    @Test
+    public void testIsGenerated() {
+        assertTrue(DefaultAvatar.isGenerated(null));
+        assertTrue(DefaultAvatar.isGenerated(""));
+        assertTrue(DefaultAvatar.isGenerated("/images/default_avatars/dev/a.png"));
+        assertFalse(DefaultAvatar.isGenerated("/images/profile_pictures/dev/a.jpg"));
+        assertFalse(DefaultAvatar.isGenerated("/images/default_banners/dev/a.png"));
+    }
+}
@@ -0,0 +1,109 @@
+package com.example.potato1_events;
+
+import static org.junit.Assert.*;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+
+/**
+ * Unit tests for the {@link EntrantSearchIndex} class.
+ * This class tests substring and prefix search over name, email and phone, and incremental updates.
+ */
+public class EntrantSearchIndexTest {
+
+    private EntrantSearchIndex index;
+
+    /**
+     * Sets up an index with a few entrants.
+     */
+    @Before
+    public void setUp() {
+        index = new EntrantSearchIndex();
+        index.put(user("u1", "Alice Johnson", "alice@example.com", "(780) 555-1234"));
+        index.put(user("u2", "Bob Smith", "bsmith@ualberta.ca", "587-555-9876"));
+        index.put(user("u3", "Carol Johns", "carol@example.com", null));
+    }
+
+    /**
+     * Tests that substrings anywhere in a name are found, ignoring case.
+     */
+    @Test
+    public void testSubstringSearchOnName() {
+        assertEquals(new HashSet<>(Arrays.asList("u1", "u3")), index.search("JOHN"));
+        assertEquals(Collections.singleton("u1"), index.search("johnson"));
+        assertEquals(Collections.singleton("u2"), index.search("b smi"));
+    }
+
+    /**
+     * Tests that email and phone number are searchable, including bare phone digits.
+     */
+    @Test
+    public void testSearchOnEmailAndPhone() {
+        assertEquals(Collections.singleton("u2"), index.search("ualberta"));
+        assertEquals(Collections.singleton("u1"), index.search("7805551234"));
+        assertEquals(new HashSet<>(Arrays.asList("u1", "u2")), index.search("555"));
+    }
+
+    /**
+     * Tests that short queries match the start of words only.
+     */
+    @Test
+    public void testShortQueryMatchesWordPrefix() {
+        assertEquals(new HashSet<>(Arrays.asList("u2", "u3")), index.search("ca"));
+        assertEquals(Collections.singleton("u2"), index.search("sm"));
+        assertTrue(index.search("xz").isEmpty());
+    }
+
+    /**
+     * Tests that a blank query means no search filter, and that an unknown query matches nobody.
+     */
+    @Test
+    public void testBlankAndUnknownQueries() {
+        assertNull(index.search("  "));
+        assertTrue(index.search("zzzz").isEmpty());
+    }
+
+    /**
+     * Tests that matches cannot span two fields.
+     */
+    @Test
+    public void testMatchesDoNotSpanFields() {
+        // "Johns" ends the name and "carol" starts the email; the joined text must not match
+        assertTrue(index.search("johnscarol").isEmpty());
+    }
+
+    /**
+     * Tests that removing and re-adding an entrant updates the results.
+     */
+    @Test
+    public void testIncrementalUpdates() {
+        index.remove("u1");
+        assertEquals(Collections.singleton("u3"), index.search("john"));
+        assertEquals(2, index.size());
+
+        index.put(user("u3", "Caroline Price", "carol@example.com", null));
+        assertTrue(index.search("john").isEmpty());
+        assertEquals(Collections.singleton("u3"), index.search("price"));
+    }
+
+    /**
+     * Creates a user with the given details.
+     *
+     * @param userId      The user ID.
+     * @param name        The user's name.
+     * @param email       The user's email.
+     * @param phoneNumber The user's phone number.
+     * @return The user.
+     */
+    private static User user(String userId, String name, String email, String phoneNumber) {
+        User user = new User();
+        user.setUserId(userId);
+        user.setName(name);
+        user.setEmail(email);
+        user.setPhoneNumber(phoneNumber);
+        return user;
+    }
+}
@@ -0,0 +1,85 @@
+package com.example.potato1_events;
+
+import static org.junit.Assert.*;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Unit tests for the {@link EntrantStatusBaseline} class.
+ * This class tests status lookups, version watermarks and the persisted encoding.
+ */
+public class EntrantStatusBaselineTest {
+
+    private Map<String, String> entrants;
+
+    /**
+     * Sets up an entrants map with a mix of statuses.
+     */
+    @Before
+    public void setUp() {
+        entrants = new HashMap<>();
+        for (int i = 0; i < 1000; i++) {
+            entrants.put("user" + i, i % 2 == 0 ? "Selected" : "Waitlist");
+        }
+    }
+
+    /**
+     * Tests that every entrant's status can be looked up and unknown entrants are absent.
+     */
+    @Test
+    public void testStatusCodeOf() {
+        EntrantStatusBaseline baseline = EntrantStatusBaseline.of(entrants);
+        assertEquals(1000, baseline.size());
+        for (Map.Entry<String, String> entry : entrants.entrySet()) {
+            assertEquals(EntrantStatusBaseline.statusCode(entry.getValue()), baseline.statusCodeOf(entry.getKey()));
+        }
+        assertEquals(EntrantStatusBaseline.ABSENT, baseline.statusCodeOf("someoneElse"));
+    }
+
+    /**
+     * Tests that the version watermark is stable for equal maps and changes when statuses are swapped.
+     */
+    @Test
+    public void testVersion() {
+        long version = EntrantStatusBaseline.of(entrants).getVersion();
+        assertEquals(version, EntrantStatusBaseline.of(new HashMap<>(entrants)).getVersion());
+
+        entrants.put("user0", "Waitlist");
+        entrants.put("user1", "Selected");
+        assertNotEquals(version, EntrantStatusBaseline.of(entrants).getVersion());
+    }
+
+    /**
+     * Tests that a baseline survives encoding and decoding.
+     */
+    @Test
+    public void testEncodeDecode() {
+        EntrantStatusBaseline baseline = EntrantStatusBaseline.of(entrants);
+        EntrantStatusBaseline decoded = EntrantStatusBaseline.decode(baseline.encode());
+        assertNotNull(decoded);
+        assertEquals(baseline.getVersion(), decoded.getVersion());
+        assertEquals(EntrantStatusBaseline.statusCode("Waitlist"), decoded.statusCodeOf("user1"));
+    }
+
+    /**
+     * Tests that unreadable encodings are rejected.
+     */
+    @Test
+    public void testDecodeInvalid() {
+        assertNull(EntrantStatusBaseline.decode("{not a baseline}"));
+        assertEquals(0, EntrantStatusBaseline.decode("").size());
+    }
+
+    /**
+     * Tests that status codes are case insensitive and unknown statuses share one code.
+     */
+    @Test
+    public void testStatusCode() {
+        assertEquals(EntrantStatusBaseline.statusCode("Accepted"), EntrantStatusBaseline.statusCode("accepted"));
+        assertEquals(EntrantStatusBaseline.statusCode("Unknown"), EntrantStatusBaseline.statusCode(null));
+        assertNotEquals(EntrantStatusBaseline.statusCode("Accepted"), EntrantStatusBaseline.statusCode("Declined"));
+    }
+}
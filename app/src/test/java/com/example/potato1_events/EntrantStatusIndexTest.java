@@ -0,0 +1,120 @@
+package com.example.potato1_events;
+
+import static org.junit.Assert.*;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Unit tests for the {@link EntrantStatusIndex} class.
+ * This class tests status buckets, in-place status moves and sorted multi-status queries.
+ */
+public class EntrantStatusIndexTest {
+
+    private EntrantStatusIndex index;
+
+    /**
+     * Sets up an index with a few entrants in different statuses.
+     */
+    @Before
+    public void setUp() {
+        index = new EntrantStatusIndex();
+        index.put(user("u1", "Charlie"), "waitlist");
+        index.put(user("u2", "alice"), "Selected");
+        index.put(user("u3", "Bob"), "Waitlist");
+        index.put(user("u4", "Dana"), "Declined");
+    }
+
+    /**
+     * Tests that a single status returns its entrants sorted by name, ignoring case.
+     */
+    @Test
+    public void testSingleStatusIsCaseInsensitiveAndSorted() {
+        assertEquals(Arrays.asList("Bob", "Charlie"), names(index.getByStatuses(Collections.singletonList("WAITLIST"))));
+        assertEquals(2, index.countByStatus("waitlist"));
+    }
+
+    /**
+     * Tests that several statuses are merged into one sorted list.
+     */
+    @Test
+    public void testMultipleStatusesAreMergedInOrder() {
+        List<User> result = index.getByStatuses(Arrays.asList("Waitlist", "Declined", "Selected"));
+        assertEquals(Arrays.asList("alice", "Bob", "Charlie", "Dana"), names(result));
+    }
+
+    /**
+     * Tests that an empty selection returns every entrant and an unknown status returns none.
+     */
+    @Test
+    public void testEmptySelectionAndUnknownStatus() {
+        assertEquals(4, index.getByStatuses(new ArrayList<>()).size());
+        assertTrue(index.getByStatuses(Collections.singletonList("Accepted")).isEmpty());
+    }
+
+    /**
+     * Tests that a status update moves the entrant between buckets and is visible in the status map.
+     */
+    @Test
+    public void testUpdateStatusMovesEntrant() {
+        assertTrue(index.updateStatus("u1", "Selected"));
+
+        assertEquals(Collections.singletonList("Bob"), names(index.getByStatuses(Collections.singletonList("Waitlist"))));
+        assertEquals(Arrays.asList("alice", "Charlie"), names(index.getByStatuses(Collections.singletonList("Selected"))));
+        assertEquals("Selected", index.getStatusMap().get("u1"));
+        assertFalse(index.updateStatus("missing", "Selected"));
+    }
+
+    /**
+     * Tests that removing an entrant drops them from every query.
+     */
+    @Test
+    public void testRemove() {
+        assertTrue(index.remove("u3"));
+        assertFalse(index.contains("u3"));
+        assertEquals(3, index.size());
+        assertEquals(Collections.singletonList("Charlie"), names(index.getByStatuses(Collections.singletonList("Waitlist"))));
+        assertFalse(index.remove("u3"));
+    }
+
+    /**
+     * Tests that entrants sharing a name are both kept.
+     */
+    @Test
+    public void testEntrantsWithSameNameAreKept() {
+        index.put(user("u5", "Bob"), "Waitlist");
+        assertEquals(Arrays.asList("Bob", "Bob", "Charlie"), names(index.getByStatuses(Collections.singletonList("Waitlist"))));
+    }
+
+    /**
+     * Creates a user with the given ID and name.
+     *
+     * @param userId The user ID.
+     * @param name   The user's name.
+     * @return The user.
+     */
+    private static User user(String userId, String name) {
+        User user = new User();
+        user.setUserId(userId);
+        user.setName(name);
+        return user;
+    }
+
+    /**
+     * Extracts the names of a list of users.
+     *
+     * @param users The users.
+     * @return Their names, in order.
+     */
+    private static List<String> names(List<User> users) {
+        List<String> names = new ArrayList<>();
+        for (User user : users) {
+            names.add(user.getName());
+        }
+        return names;
+    }
+}
@@ -0,0 +1,54 @@
+package com.example.potato1_events;
+
+import static org.junit.Assert.*;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Unit tests for the {@link FirestoreLimits} class.
+ * This class tests splitting lists into chunks that fit Firestore's request limits.
+ */
+public class FirestoreLimitsTest {
+
+    /**
+     * Tests that partitioning splits a list into chunks no larger than the batch size.
+     */
+    @Test
+    public void testPartition() {
+        List<Integer> items = new ArrayList<>();
+        for (int i = 0; i < 1201; i++) {
+            items.add(i);
+        }
+        List<List<Integer>> chunks = FirestoreLimits.partition(items, FirestoreLimits.MAX_BATCH_SIZE);
+        assertEquals(3, chunks.size());
+        assertEquals(500, chunks.get(0).size());
+        assertEquals(500, chunks.get(1).size());
+        assertEquals(201, chunks.get(2).size());
+        assertEquals(Integer.valueOf(1200), chunks.get(2).get(200));
+    }
+
+    /**
+     * Tests that partitioning by the 'whereIn' limit keeps every value in order.
+     */
+    @Test
+    public void testPartitionWhereIn() {
+        List<String> ids = new ArrayList<>();
+        for (int i = 0; i < 25; i++) {
+            ids.add("event" + i);
+        }
+        List<List<String>> chunks = FirestoreLimits.partition(ids, FirestoreLimits.WHERE_IN_LIMIT);
+        assertEquals(3, chunks.size());
+        assertEquals(5, chunks.get(2).size());
+        assertEquals("event10", chunks.get(1).get(0));
+    }
+
+    /**
+     * Tests that partitioning an empty list yields no chunks.
+     */
+    @Test
+    public void testPartitionEmpty() {
+        assertTrue(FirestoreLimits.partition(new ArrayList<String>(), 500).isEmpty());
+    }
+}
@@ -0,0 +1,102 @@
+package com.example.potato1_events;
+
+import static org.junit.Assert.*;
+import org.junit.Test;
+
+import java.util.List;
+
+/**
+ * Unit tests for the {@link Geohash} class.
+ * This class tests encoding, cell bounds, viewport covering and distance helpers.
+ */
+public class GeohashTest {
+
+    /**
+     * Tests encoding against a well-known reference geohash.
+     */
+    @Test
+    public void testEncodeKnownPoint() {
+        assertEquals("ezs42", Geohash.encode(42.605, -5.603, 5));
+        assertEquals("c3x2", Geohash.encode(53.5232, -113.5263, 4));
+    }
+
+    /**
+     * Tests that a decoded cell contains the encoded point.
+     */
+    @Test
+    public void testBoundsContainPoint() {
+        String hash = Geohash.encode(53.5232, -113.5263, Geohash.STORED_PRECISION);
+        double[] cell = Geohash.bounds(hash);
+        assertTrue(Geohash.contains(53.5232, -113.5263, cell[0], cell[1], cell[2], cell[3]));
+        assertTrue(cell[2] - cell[0] < 0.0001);
+    }
+
+    /**
+     * Tests that every point inside a viewport falls in one of its covering cells.
+     */
+    @Test
+    public void testCoveringCellsContainViewportPoints() {
+        double south = 53.40, west = -113.70, north = 53.65, east = -113.30;
+        List<String> cells = Geohash.coveringCells(south, west, north, east);
+        assertTrue(cells.size() <= 9);
+
+        for (double lat = south; lat <= north; lat += 0.05) {
+            for (double lng = west; lng <= east; lng += 0.05) {
+                String hash = Geohash.encode(lat, lng, Geohash.STORED_PRECISION);
+                boolean covered = false;
+                for (String cell : cells) {
+                    covered |= hash.startsWith(cell);
+                }
+                assertTrue("Not covered: " + lat + "," + lng, covered);
+            }
+        }
+    }
+
+    /**
+     * Tests that a viewport crossing the antimeridian is covered on both sides.
+     */
+    @Test
+    public void testCoveringCellsAcrossAntimeridian() {
+        List<String> cells = Geohash.coveringCells(-18, 179, -17, -179);
+        String east = Geohash.encode(-17.5, 179.5, Geohash.STORED_PRECISION);
+        String west = Geohash.encode(-17.5, -179.5, Geohash.STORED_PRECISION);
+        boolean eastCovered = false;
+        boolean westCovered = false;
+        for (String cell : cells) {
+            eastCovered |= east.startsWith(cell);
+            westCovered |= west.startsWith(cell);
+        }
+        assertTrue(eastCovered);
+        assertTrue(westCovered);
+    }
+
+    /**
+     * Tests the radius bounding box and the distance between Edmonton and Calgary.
+     */
+    @Test
+    public void testBoundingBoxAndDistance() {
+        double distance = Geohash.distanceMeters(53.5461, -113.4938, 51.0447, -114.0719);
+        assertEquals(281000, distance, 3000);
+
+        double[] box = Geohash.boundingBox(53.5461, -113.4938, 10000);
+        assertTrue(Geohash.contains(53.60, -113.49, box[0], box[1], box[2], box[3]));
+        assertFalse(Geohash.contains(53.70, -113.49, box[0], box[1], box[2], box[3]));
+    }
+
+    /**
+     * Tests that the common cell of two points contains both, and is the world for distant points.
+     */
+    @Test
+    public void testCommonCell() {
+        String edmonton = Geohash.encode(53.5461, -113.4938, Geohash.STORED_PRECISION);
+        String calgary = Geohash.encode(51.0447, -114.0719, Geohash.STORED_PRECISION);
+        String cell = Geohash.commonCell(edmonton, calgary);
+        assertTrue(edmonton.startsWith(cell));
+        assertTrue(calgary.startsWith(cell));
+        assertFalse(cell.isEmpty());
+
+        String sydney = Geohash.encode(-33.8688, 151.2093, Geohash.STORED_PRECISION);
+        assertEquals("", Geohash.commonCell(edmonton, sydney));
+        assertEquals(edmonton, Geohash.commonCell(edmonton, edmonton));
+    }
+}
@@ -0,0 +1,94 @@
+package com.example.potato1_events;
+
+import static org.junit.Assert.*;
+import org.junit.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Unit tests for the {@link ImageRendition} enum.
+ * This class tests rendition file naming and the choice of rendition for a view size.
+ */
+public class ImageRenditionTest {
+
+    /**
+     * Tests that renditions are stored next to the full image under suffixed names.
+     */
+    @Test
+    public void testFileName() {
+        assertEquals("abc_thumb.jpg", ImageRendition.THUMB.fileName("abc.jpg"));
+        assertEquals("abc_medium.jpg", ImageRendition.MEDIUM.fileName("abc.jpg"));
+        assertEquals("abc.jpg", ImageRendition.FULL.fileName("abc.jpg"));
+        assertEquals("abc_thumb", ImageRendition.THUMB.fileName("abc"));
+    }
+
+    /**
+     * Tests that rendition files are recognized and full images are not.
+     */
+    @Test
+    public void testIsRenditionFile() {
+        assertTrue(ImageRendition.isRenditionFile("abc_thumb.jpg"));
+        assertTrue(ImageRendition.isRenditionFile("abc_medium.jpg"));
+        assertFalse(ImageRendition.isRenditionFile("abc.jpg"));
+        assertFalse(ImageRendition.isRenditionFile("thumbnail.jpg"));
+    }
+
+    /**
+     * Tests that a rendition file name maps back to its full image.
+     */
+    @Test
+    public void testFullFileNameOf() {
+        assertEquals("abc.jpg", ImageRendition.fullFileNameOf("abc_thumb.jpg"));
+        assertEquals("abc.jpg", ImageRendition.fullFileNameOf("abc_medium.jpg"));
+        assertEquals("abc", ImageRendition.fullFileNameOf("abc_thumb"));
+        assertEquals("abc.jpg", ImageRendition.fullFileNameOf("abc.jpg"));
+    }
+
+    /**
+     * Tests that the smallest rendition covering the target size is chosen.
+     */
+    @Test
+    public void testForSize() {
+        assertEquals(ImageRendition.THUMB, ImageRendition.forSize(300));
+        assertEquals(ImageRendition.THUMB, ImageRendition.forSize(320));
+        assertEquals(ImageRendition.MEDIUM, ImageRendition.forSize(321));
+        assertEquals(ImageRendition.FULL, ImageRendition.forSize(1080));
+        assertEquals(ImageRendition.FULL, ImageRendition.forSize(4000));
+    }
+
+    /**
+     * Tests that the URL of the best fitting stored rendition is picked.
+     */
+    @Test
+    public void testPickUrl() {
+        Map<String, String> variants = new HashMap<>();
+        variants.put("thumb", "t");
+        variants.put("medium", "m");
+        variants.put("full", "f");
+
+        assertEquals("t", ImageRendition.pickUrl(variants, "orig", 275));
+        assertEquals("m", ImageRendition.pickUrl(variants, "orig", 600));
+        assertEquals("f", ImageRendition.pickUrl(variants, "orig", 1440));
+    }
+
+    /**
+     * Tests that a missing rendition falls forward to the next larger one.
+     */
+    @Test
+    public void testPickUrlSkipsMissingRendition() {
+        Map<String, String> variants = new HashMap<>();
+        variants.put("full", "f");
+
+        assertEquals("f", ImageRendition.pickUrl(variants, "orig", 100));
+    }
+
+    /**
+     * Tests that images uploaded without renditions load the original URL.
+     */
+    @Test
+    public void testPickUrlFallsBackToOriginal() {
+        assertEquals("orig", ImageRendition.pickUrl(null, "orig", 100));
+        assertEquals("orig", ImageRendition.pickUrl(new HashMap<>(), "orig", 100));
+    }
+}
@@ -0,0 +1,71 @@
+package com.example.potato1_events;
+
+import static org.junit.Assert.*;
+import org.junit.Test;
+
+/**
+ * Unit tests for the {@link ImageSizing} class.
+ * This class tests the decode sample size and the downscale target used before uploads.
+ */
+public class ImageSizingTest {
+
+    /**
+     * Tests that a 12 megapixel photo is sampled by 2, leaving the long edge above the target.
+     */
+    @Test
+    public void testSampleSizeKeepsLongEdgeAboveTarget() {
+        int sampleSize = ImageSizing.sampleSizeFor(4000, 3000, 1600);
+        assertEquals(2, sampleSize);
+        assertTrue(4000 / sampleSize >= 1600);
+    }
+
+    /**
+     * Tests that a very large image is sampled by a larger power of two.
+     */
+    @Test
+    public void testSampleSizeForVeryLargeImage() {
+        assertEquals(4, ImageSizing.sampleSizeFor(9000, 6000, 1600));
+        assertEquals(4, ImageSizing.sampleSizeFor(6000, 9000, 1600));
+    }
+
+    /**
+     * Tests that small images are decoded at full resolution.
+     */
+    @Test
+    public void testSampleSizeForSmallImage() {
+        assertEquals(1, ImageSizing.sampleSizeFor(800, 600, 1600));
+        assertEquals(1, ImageSizing.sampleSizeFor(3000, 2000, 1600));
+    }
+
+    /**
+     * Tests that a landscape image is scaled so its width fits, keeping the aspect ratio.
+     */
+    @Test
+    public void testScaledSizeLandscape() {
+        assertArrayEquals(new int[]{1600, 1200}, ImageSizing.scaledSize(2000, 1500, 1600));
+    }
+
+    /**
+     * Tests that a portrait image is scaled so its height fits.
+     */
+    @Test
+    public void testScaledSizePortrait() {
+        assertArrayEquals(new int[]{900, 1600}, ImageSizing.scaledSize(2025, 3600, 1600));
+    }
+
+    /**
+     * Tests that images within the target are never enlarged.
+     */
+    @Test
+    public void testScaledSizeDoesNotUpscale() {
+        assertArrayEquals(new int[]{640, 480}, ImageSizing.scaledSize(640, 480, 1600));
+    }
+
+    /**
+     * Tests that an extremely thin image keeps at least one pixel on its short edge.
+     */
+    @Test
+    public void testScaledSizeMinimumOnePixel() {
+        assertArrayEquals(new int[]{1600, 1}, ImageSizing.scaledSize(10000, 2, 1600));
+    }
+}
@@ -0,0 +1,96 @@
+package com.example.potato1_events;
+
+import static org.junit.Assert.*;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.List;
+
+/**
+ * Unit tests for the {@link MarkerClusterEngine} class.
+ * This class tests grouping of nearby points per zoom level, viewport filtering and cache invalidation.
+ */
+public class MarkerClusterEngineTest {
+
+    private MarkerClusterEngine engine;
+
+    /**
+     * Sets up an engine with two nearby points in Edmonton and one in Calgary.
+     */
+    @Before
+    public void setUp() {
+        engine = new MarkerClusterEngine();
+        engine.put("e1", 53.5232, -113.5263);
+        engine.put("e2", 53.5240, -113.5270);
+        engine.put("c1", 51.0447, -114.0719);
+    }
+
+    /**
+     * Tests that nearby points merge at low zoom and separate at high zoom.
+     */
+    @Test
+    public void testClustersSplitAsZoomIncreases() {
+        assertEquals(1, engine.getClusters(1).size());
+        assertEquals(3, totalSize(engine.getClusters(1)));
+
+        assertEquals(2, engine.getClusters(10).size());
+        assertEquals(3, engine.getClusters(20).size());
+    }
+
+    /**
+     * Tests that a cluster is placed at the mean of its points and that lone entrants keep a stable key.
+     */
+    @Test
+    public void testClusterPositionAndKeys() {
+        for (MarkerClusterEngine.Cluster cluster : engine.getClusters(10)) {
+            if (cluster.getSize() == 2) {
+                assertEquals(53.5236, cluster.getLatitude(), 1e-9);
+                assertEquals(-113.52665, cluster.getLongitude(), 1e-9);
+            } else {
+                assertEquals("entrant:c1", cluster.getKey());
+            }
+        }
+    }
+
+    /**
+     * Tests that only clusters inside the viewport are returned, including across the antimeridian.
+     */
+    @Test
+    public void testVisibleClusters() {
+        List<MarkerClusterEngine.Cluster> visible = engine.getVisibleClusters(10, 53, -114, 54, -113);
+        assertEquals(1, visible.size());
+        assertEquals(2, visible.get(0).getSize());
+
+        engine.put("f1", -17.7134, 178.0650);
+        assertEquals(1, engine.getVisibleClusters(10, -20, 170, -10, -170).size());
+    }
+
+    /**
+     * Tests that adding and removing points invalidates the cached clusters.
+     */
+    @Test
+    public void testCacheInvalidation() {
+        assertEquals(2, engine.getClusters(10).size());
+        engine.remove("c1");
+        assertEquals(1, engine.getClusters(10).size());
+        engine.put("c1", 51.0447, -114.0719);
+        assertEquals(2, engine.getClusters(10).size());
+        engine.clear();
+        assertTrue(engine.getClusters(10).isEmpty());
+        assertNull(engine.getPoint("c1"));
+    }
+
+    /**
+     * Sums the sizes of a list of clusters.
+     *
+     * @param clusters The clusters.
+     * @return The total number of entrants.
+     */
+    private static int totalSize(List<MarkerClusterEngine.Cluster> clusters) {
+        int total = 0;
+        for (MarkerClusterEngine.Cluster cluster : clusters) {
+            total += cluster.getSize();
+        }
+        return total;
+    }
+}
@@ -0,0 +1,112 @@
+package com.example.potato1_events;
+
+import static org.junit.Assert.*;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Unit tests for the {@link NotificationCoalescer} class.
+ * This class tests grouping of status changes into digests, latest-status-wins handling and rate limiting.
+ */
+public class NotificationCoalescerTest {
+
+    private ScheduledExecutorService scheduler;
+    private List<String> digests;
+
+    /**
+     * Sets up the scheduler and the list that records emitted digests.
+     */
+    @Before
+    public void setUp() {
+        scheduler = Executors.newSingleThreadScheduledExecutor();
+        digests = Collections.synchronizedList(new ArrayList<>());
+    }
+
+    /**
+     * Shuts down the scheduler after each test.
+     */
+    @After
+    public void tearDown() {
+        scheduler.shutdownNow();
+    }
+
+    /**
+     * Tests that changes arriving within one window are emitted as a single digest per event and status.
+     */
+    @Test
+    public void testChangesAreGroupedPerEventAndStatus() throws InterruptedException {
+        CountDownLatch latch = new CountDownLatch(2);
+        NotificationCoalescer coalescer = new NotificationCoalescer(scheduler, 50, 0,
+                (eventId, eventName, status, entrantIds) -> {
+                    digests.add(eventId + ":" + status + ":" + entrantIds);
+                    latch.countDown();
+                });
+
+        coalescer.add("event1", "Gala", "a", "Accepted");
+        coalescer.add("event1", "Gala", "b", "Accepted");
+        coalescer.add("event1", "Gala", "c", "Declined");
+
+        assertTrue(latch.await(2, TimeUnit.SECONDS));
+        assertEquals(Arrays.asList("event1:Accepted:[a, b]", "event1:Declined:[c]"), digests);
+    }
+
+    /**
+     * Tests that only the latest status of an entrant within a window is reported.
+     */
+    @Test
+    public void testLatestStatusWins() {
+        NotificationCoalescer coalescer = new NotificationCoalescer(scheduler, 10000, 0,
+                (eventId, eventName, status, entrantIds) -> digests.add(status + ":" + entrantIds));
+
+        coalescer.add("event1", "Gala", "a", "Accepted");
+        coalescer.add("event1", "Gala", "a", "Declined");
+        coalescer.flush();
+
+        assertEquals(Collections.singletonList("Declined:[a]"), digests);
+    }
+
+    /**
+     * Tests that a second digest is held back until the minimum interval has passed.
+     */
+    @Test
+    public void testDigestsAreRateLimited() throws InterruptedException {
+        NotificationCoalescer coalescer = new NotificationCoalescer(scheduler, 10, 10000,
+                (eventId, eventName, status, entrantIds) -> digests.add(status + ":" + entrantIds));
+
+        coalescer.add("event1", "Gala", "a", "Accepted");
+        coalescer.flush();
+        coalescer.add("event1", "Gala", "b", "Accepted");
+
+        Thread.sleep(200);
+        assertEquals(1, digests.size());
+
+        coalescer.flush();
+        assertEquals(Arrays.asList("Accepted:[a]", "Accepted:[b]"), digests);
+    }
+
+    /**
+     * Tests that clearing an event drops its pending changes.
+     */
+    @Test
+    public void testClearDropsPendingChanges() {
+        NotificationCoalescer coalescer = new NotificationCoalescer(scheduler, 10000, 0,
+                (eventId, eventName, status, entrantIds) -> digests.add(eventId));
+
+        coalescer.add("event1", "Gala", "a", "Accepted");
+        coalescer.add("event2", "Fair", "b", "Accepted");
+        coalescer.clear("event1");
+        coalescer.flush();
+
+        assertEquals(Collections.singletonList("event2"), digests);
+    }
+}
@@ -0,0 +1,60 @@
+package com.example.potato1_events;
+
+import static org.junit.Assert.*;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Unit tests for the {@link NotificationFanOut} class.
+ * This class tests deterministic notification IDs, notification contents and the fields a write may overwrite.
+ */
+public class NotificationFanOutTest {
+
+    /**
+     * Tests that the same event, user and status always produce the same notification ID.
+     */
+    @Test
+    public void testStatusChangeNotificationIdIsDeterministic() {
+        String first = NotificationFanOut.statusChangeNotificationId("event1", "user1", "Not Selected");
+        String second = NotificationFanOut.statusChangeNotificationId("event1", "user1", "Not Selected");
+        assertEquals(first, second);
+        assertFalse(first.contains(" "));
+    }
+
+    /**
+     * Tests that different statuses produce different notification IDs.
+     */
+    @Test
+    public void testStatusChangeNotificationIdDiffersByStatus() {
+        assertNotEquals(
+                NotificationFanOut.statusChangeNotificationId("event1", "user1", "Selected"),
+                NotificationFanOut.statusChangeNotificationId("event1", "user1", "Not Selected"));
+    }
+
+    /**
+     * Tests that the built status change notification carries the expected fields.
+     */
+    @Test
+    public void testBuildStatusChangeNotification() {
+        NotificationItem notification = NotificationFanOut.buildStatusChangeNotification("event1", "Gala", "user1", "Selected");
+        assertEquals(NotificationFanOut.statusChangeNotificationId("event1", "user1", "Selected"), notification.getId());
+        assertEquals("user1", notification.getUserId());
+        assertEquals("event1", notification.getEventId());
+        assertEquals("status_change", notification.getType());
+        assertEquals("Selected", notification.getStatus());
+        assertFalse(notification.isRead());
+    }
+
+    /**
+     * Tests that repeated writes never touch the read flag or the creation time.
+     */
+    @Test
+    public void testContentFieldsLeaveReadAndCreatedAt() {
+        List<String> fields = Arrays.asList(NotificationFanOut.CONTENT_FIELDS);
+        assertFalse(fields.contains("read"));
+        assertFalse(fields.contains("createdAt"));
+        assertTrue(fields.contains("status"));
+    }
+}
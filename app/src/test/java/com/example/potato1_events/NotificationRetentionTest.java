@@ -0,0 +1,55 @@
+package com.example.potato1_events;
+
+import static org.junit.Assert.*;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Unit tests for the {@link NotificationRetention} class.
+ * This class tests the expiry cutoff, the finished-event rule and the compaction cursor.
+ */
+public class NotificationRetentionTest {
+
+    /**
+     * Tests that the cutoff lies exactly the retention period before now.
+     */
+    @Test
+    public void testExpiryCutoff() {
+        long now = 1700000000000L;
+        Date cutoff = NotificationRetention.expiryCutoff(now);
+
+        assertEquals(now - TimeUnit.DAYS.toMillis(NotificationRetention.RETENTION_DAYS), cutoff.getTime());
+        assertTrue(new Date(cutoff.getTime() - 1).before(cutoff));
+        assertFalse(new Date(now - TimeUnit.DAYS.toMillis(1)).before(cutoff));
+    }
+
+    /**
+     * Tests that only deleted or ended events count as finished.
+     */
+    @Test
+    public void testIsEventFinished() {
+        Date now = new Date(1700000000000L);
+
+        assertTrue(NotificationRetention.isEventFinished(false, null, now));
+        assertTrue(NotificationRetention.isEventFinished(true, new Date(now.getTime() - 1), now));
+        assertFalse(NotificationRetention.isEventFinished(true, new Date(now.getTime() + 1), now));
+        assertFalse(NotificationRetention.isEventFinished(true, null, now));
+    }
+
+    /**
+     * Tests that a full page continues after its last ID and a short or empty page starts over.
+     */
+    @Test
+    public void testNextCursor() {
+        List<String> fullPage = Arrays.asList("a", "b", "c");
+        assertEquals("c", NotificationRetention.nextCursor(fullPage, 3));
+        assertNull(NotificationRetention.nextCursor(new ArrayList<>(fullPage.subList(0, 2)), 3));
+        assertNull(NotificationRetention.nextCursor(Collections.emptyList(), 3));
+    }
+}
@@ -0,0 +1,52 @@
+package com.example.potato1_events;
+
+import static org.junit.Assert.*;
+import org.junit.Test;
+
+/**
+ * Unit tests for the {@link PendingUpload} class.
+ * This class tests that saved uploads survive encoding.
+ */
+public class PendingUploadTest {
+
+    /**
+     * Tests that every field, including a session URI containing separators, survives encoding.
+     */
+    @Test
+    public void testRoundTrip() {
+        PendingUpload pending = new PendingUpload(1700000000000L, "image/jpeg",
+                "/data/cache/uploads/event_posters_abc.jpg", "https://example.com/upload?id=1|2");
+
+        PendingUpload decoded = PendingUpload.decode(pending.encode());
+
+        assertNotNull(decoded);
+        assertEquals(1700000000000L, decoded.getCreatedAt());
+        assertEquals("image/jpeg", decoded.getContentType());
+        assertEquals("/data/cache/uploads/event_posters_abc.jpg", decoded.getFilePath());
+        assertEquals("https://example.com/upload?id=1|2", decoded.getSessionUri());
+    }
+
+    /**
+     * Tests that an upload without a session decodes without one.
+     */
+    @Test
+    public void testNoSession() {
+        PendingUpload pending = new PendingUpload(1L, "image/jpeg", "/tmp/upload", "https://example.com/s");
+
+        PendingUpload decoded = PendingUpload.decode(pending.withSessionUri(null).encode());
+
+        assertNotNull(decoded);
+        assertNull(decoded.getSessionUri());
+    }
+
+    /**
+     * Tests that damaged values are rejected.
+     */
+    @Test
+    public void testDecodeMalformed() {
+        assertNull(PendingUpload.decode(null));
+        assertNull(PendingUpload.decode(""));
+        assertNull(PendingUpload.decode("1|image/jpeg"));
+        assertNull(PendingUpload.decode("later|image/jpeg|/tmp/upload|"));
+    }
+}
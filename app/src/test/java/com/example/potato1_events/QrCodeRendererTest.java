@@ -0,0 +1,61 @@
+package com.example.potato1_events;
+
+import static org.junit.Assert.*;
+import org.junit.Test;
+
+import com.google.zxing.qrcode.encoder.ByteMatrix;
+
+/**
+ * Unit tests for the {@link QrCodeRenderer} class.
+ * This class tests the module-aligned sizing and the expansion of modules into pixels.
+ */
+public class QrCodeRendererTest {
+
+    private static final int BLACK = 0xFF000000;
+    private static final int WHITE = 0xFFFFFFFF;
+
+    /**
+     * Tests that the scale is the largest whole number of pixels per module that fits the target.
+     */
+    @Test
+    public void testScaleFor() {
+        // A version 1 code is 21 modules plus an 8-module quiet zone
+        assertEquals(20, QrCodeRenderer.scaleFor(21, 580));
+        assertEquals(19, QrCodeRenderer.scaleFor(21, 579));
+        assertEquals(17, QrCodeRenderer.scaleFor(21, 512));
+    }
+
+    /**
+     * Tests that a target smaller than the code still renders one pixel per module.
+     */
+    @Test
+    public void testScaleForSmallTarget() {
+        assertEquals(1, QrCodeRenderer.scaleFor(21, 10));
+        assertEquals(1, QrCodeRenderer.scaleFor(21, 0));
+    }
+
+    /**
+     * Tests that each dark module becomes a scaled black square inside a white quiet zone.
+     */
+    @Test
+    public void testToPixels() {
+        ByteMatrix matrix = new ByteMatrix(2, 2);
+        matrix.set(0, 0, 1);
+        matrix.set(1, 1, 1);
+
+        int scale = 2;
+        int[] pixels = QrCodeRenderer.toPixels(matrix, scale);
+        int size = (2 + 2 * QrCodeRenderer.QUIET_ZONE_MODULES) * scale;
+        int border = QrCodeRenderer.QUIET_ZONE_MODULES * scale;
+        assertEquals(size * size, pixels.length);
+
+        for (int y = 0; y < size; y++) {
+            for (int x = 0; x < size; x++) {
+                int moduleX = Math.floorDiv(x - border, scale);
+                int moduleY = Math.floorDiv(y - border, scale);
+                boolean dark = moduleX == moduleY && (moduleX == 0 || moduleX == 1);
+                assertEquals("pixel " + x + "," + y, dark ? BLACK : WHITE, pixels[y * size + x]);
+            }
+        }
+    }
+}
@@ -0,0 +1,134 @@
+package com.example.potato1_events;
+
+import static org.junit.Assert.*;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.Executor;
+
+/**
+ * Unit tests for the {@link StartupGraph} class.
+ * This class tests that initializers run in dependency order and that failures are contained.
+ */
+public class StartupGraphTest {
+
+    private static final Executor DIRECT = Runnable::run;
+
+    /**
+     * Tests that every initializer runs after its dependencies and has its duration recorded.
+     */
+    @Test
+    public void testRunsInDependencyOrder() {
+        List<String> ran = new ArrayList<>();
+        StartupGraph graph = new StartupGraph()
+                .add("listener", false, () -> ran.add("listener"), "firestore")
+                .add("worker", false, () -> ran.add("worker"), "workManager")
+                .add("firestore", false, () -> ran.add("firestore"))
+                .add("workManager", true, () -> ran.add("workManager"));
+
+        graph.start(DIRECT, DIRECT);
+
+        assertEquals(4, ran.size());
+        assertTrue(ran.indexOf("firestore") < ran.indexOf("listener"));
+        assertTrue(ran.indexOf("workManager") < ran.indexOf("worker"));
+        assertTrue(graph.isComplete());
+        assertEquals(4, graph.getDurations().size());
+    }
+
+    /**
+     * Tests that unknown dependencies and cycles are rejected before anything runs.
+     */
+    @Test
+    public void testRejectsInvalidGraphs() {
+        StartupGraph unknown = new StartupGraph().add("listener", false, () -> fail("Should not run"), "firestore");
+        try {
+            unknown.start(DIRECT, DIRECT);
+            fail("Expected an unknown dependency to be rejected");
+        } catch (IllegalStateException expected) {
+            // Expected
+        }
+
+        StartupGraph cycle = new StartupGraph()
+                .add("a", false, () -> fail("Should not run"), "b")
+                .add("b", false, () -> fail("Should not run"), "a");
+        try {
+            cycle.start(DIRECT, DIRECT);
+            fail("Expected a cycle to be rejected");
+        } catch (IllegalStateException expected) {
+            // Expected
+        }
+    }
+
+    /**
+     * Tests that a failed initializer skips its dependents but not unrelated initializers.
+     */
+    @Test
+    public void testFailureSkipsDependents() {
+        List<String> ran = new ArrayList<>();
+        StartupGraph graph = new StartupGraph()
+                .add("firestore", false, () -> {
+                    throw new IllegalStateException("offline");
+                })
+                .add("listener", false, () -> ran.add("listener"), "firestore")
+                .add("uploads", true, () -> ran.add("uploads"));
+
+        graph.start(DIRECT, DIRECT);
+
+        assertEquals(Arrays.asList("uploads"), ran);
+        assertTrue(graph.isComplete());
+    }
+
+    /**
+     * Tests that timings, failures and skips are reported to the listener.
+     */
+    @Test
+    public void testReportsToListener() {
+        List<String> reports = new ArrayList<>();
+        StartupGraph graph = new StartupGraph(new StartupGraph.Listener() {
+            @Override
+            public void onInitializerFinished(String name, long durationNanos, String threadName) {
+                assertTrue(durationNanos >= 0);
+                reports.add("finished " + name);
+            }
+
+            @Override
+            public void onInitializerFailed(String name, RuntimeException e) {
+                reports.add("failed " + name);
+            }
+
+            @Override
+            public void onInitializerSkipped(String name, String failedName) {
+                reports.add("skipped " + name + " after " + failedName);
+            }
+
+            @Override
+            public void onComplete(long totalNanos) {
+                reports.add("complete");
+            }
+        })
+                .add("firestore", false, () -> {
+                    throw new IllegalStateException("offline");
+                })
+                .add("listener", false, () -> { }, "firestore");
+
+        graph.start(DIRECT, DIRECT);
+
+        assertEquals(Arrays.asList("failed firestore", "finished firestore",
+                "skipped listener after firestore", "complete"), reports);
+    }
+
+    /**
+     * Tests that the order keeps the insertion order where dependencies allow it.
+     */
+    @Test
+    public void testTopologicalOrder() {
+        StartupGraph graph = new StartupGraph()
+                .add("c", false, () -> { }, "a")
+                .add("a", false, () -> { })
+                .add("b", false, () -> { });
+
+        assertEquals(Arrays.asList("a", "b", "c"), graph.topologicalOrder());
+    }
+}
@@ -0,0 +1,73 @@
+package com.example.potato1_events;
+
+import static org.junit.Assert.*;
+import org.junit.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Unit tests for the {@link StatusUpdateMessage} class.
+ * This class tests parsing of data payloads and delivery through {@link LocalStubPushSender}.
+ */
+public class StatusUpdateMessageTest {
+
+    /**
+     * Tests that a status change survives the data payload round-trip.
+     */
+    @Test
+    public void testRoundTripThroughStubSender() {
+        LocalStubPushSender sender = new LocalStubPushSender();
+        sender.send("user123", new StatusUpdateMessage(StatusUpdateMessage.TYPE_STATUS_CHANGE, "event123"));
+
+        assertEquals(1, sender.getDelivered().size());
+        assertEquals("user123", sender.getRecipients().get(0));
+        StatusUpdateMessage received = sender.getDelivered().get(0);
+        assertEquals(StatusUpdateMessage.TYPE_STATUS_CHANGE, received.getType());
+        assertEquals("event123", received.getEventId());
+    }
+
+    /**
+     * Tests that the data payload carries only the type and the event ID.
+     */
+    @Test
+    public void testToDataCarriesOnlyTypeAndEvent() {
+        Map<String, String> data = new StatusUpdateMessage(StatusUpdateMessage.TYPE_DRAW_PERFORMED, "event123").toData();
+
+        assertEquals(2, data.size());
+        assertEquals("draw_performed", data.get("type"));
+        assertEquals("event123", data.get("eventId"));
+    }
+
+    /**
+     * Tests that extra fields in a payload, such as a status, are ignored.
+     */
+    @Test
+    public void testFromDataIgnoresExtraFields() {
+        Map<String, String> data = new HashMap<>();
+        data.put("type", StatusUpdateMessage.TYPE_STATUS_CHANGE);
+        data.put("eventId", "event123");
+        data.put("status", "Selected");
+
+        StatusUpdateMessage message = StatusUpdateMessage.fromData(data);
+        assertNotNull(message);
+        assertEquals(new StatusUpdateMessage(StatusUpdateMessage.TYPE_STATUS_CHANGE, "event123").toData(), message.toData());
+    }
+
+    /**
+     * Tests that payloads which are not status updates are rejected.
+     */
+    @Test
+    public void testFromDataRejectsInvalidPayloads() {
+        assertNull(StatusUpdateMessage.fromData(null));
+
+        Map<String, String> missingEvent = new HashMap<>();
+        missingEvent.put("type", StatusUpdateMessage.TYPE_STATUS_CHANGE);
+        assertNull(StatusUpdateMessage.fromData(missingEvent));
+
+        Map<String, String> unknownType = new HashMap<>();
+        unknownType.put("type", "promotion");
+        unknownType.put("eventId", "event123");
+        assertNull(StatusUpdateMessage.fromData(unknownType));
+    }
+}
@@ -0,0 +1,45 @@
+package com.example.potato1_events;
+
+import static org.junit.Assert.*;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+
+/**
+ * Unit tests for the {@link SweepCursor} class.
+ * This class tests that the sweep checkpoint survives encoding.
+ */
+public class SweepCursorTest {
+
+    /**
+     * Tests that cursors keep their order, folders and page tokens through encoding.
+     */
+    @Test
+    public void testRoundTrip() {
+        List<SweepCursor> cursors = new ArrayList<>();
+        cursors.add(new SweepCursor("images/profile_pictures", "token-1"));
+        cursors.add(new SweepCursor("event_posters", null));
+
+        Deque<SweepCursor> decoded = SweepCursor.decodeAll(SweepCursor.encodeAll(cursors));
+
+        assertEquals(2, decoded.size());
+        SweepCursor first = decoded.pollFirst();
+        assertEquals("images/profile_pictures", first.getFolderPath());
+        assertEquals("token-1", first.getPageToken());
+        SweepCursor second = decoded.pollFirst();
+        assertEquals("event_posters", second.getFolderPath());
+        assertNull(second.getPageToken());
+    }
+
+    /**
+     * Tests that a missing or damaged checkpoint decodes to a fresh start.
+     */
+    @Test
+    public void testDecodeEmptyOrMalformed() {
+        assertTrue(SweepCursor.decodeAll(null).isEmpty());
+        assertTrue(SweepCursor.decodeAll("").isEmpty());
+        assertTrue(SweepCursor.decodeAll("no-separator").isEmpty());
+    }
+}
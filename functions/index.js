@@ -0,0 +1,106 @@
+// File: index.js
+// Cloud Functions for Potato1 Events.
+
+const {onDocumentCreated, onDocumentUpdated} = require("firebase-functions/v2/firestore");
+const {logger} = require("firebase-functions");
+const admin = require("firebase-admin");
+
+admin.initializeApp();
+
+// Must match the TYPE_ constants of StatusUpdateMessage in the app.
+const TYPE_STATUS_CHANGE = "status_change";
+const TYPE_ENTRANT_STATUS = "entrant_status";
+const TYPE_DRAW_PERFORMED = "draw_performed";
+
+// Firestore getAll and FCM sendEach both take at most 500 entries per call.
+const MAX_BATCH_SIZE = 500;
+
+/**
+ * Pushes a data message to every user affected by a change to an event, so devices in push
+ * delivery mode fetch just that event instead of keeping snapshot listeners open.
+ * Runs on every write path alike (draws, responses, joins, leaves, cancellations and admin
+ * removals) without the app sending anything. Messages carry only the type and the event ID;
+ * the receiving app reads the event itself, so a message can never plant a status.
+ * Users without an FCM token keep receiving updates through snapshot listeners and are skipped.
+ */
+exports.pushEventStatusChanges = onDocumentUpdated("Events/{eventId}", async (event) => {
+  const eventId = event.params.eventId;
+  const before = event.data.before.data() || {};
+  const after = event.data.after.data() || {};
+
+  // Entrants whose status changed, including those added or removed
+  const beforeEntrants = before.entrants || {};
+  const afterEntrants = after.entrants || {};
+  const changedEntrants = [...new Set([...Object.keys(beforeEntrants), ...Object.keys(afterEntrants)])]
+      .filter((entrantId) => beforeEntrants[entrantId] !== afterEntrants[entrantId]);
+
+  const messages = new Map(); // userId -> type
+  for (const entrantId of changedEntrants) {
+    messages.set(entrantId, TYPE_STATUS_CHANGE);
+  }
+  const organizerId = after.facilityId;
+  if (organizerId) {
+    if (before.randomDrawPerformed !== after.randomDrawPerformed ||
+        before.waitingListFilled !== after.waitingListFilled) {
+      messages.set(organizerId, TYPE_DRAW_PERFORMED);
+    } else if (changedEntrants.length > 0 && !messages.has(organizerId)) {
+      messages.set(organizerId, TYPE_ENTRANT_STATUS);
+    }
+  }
+  if (messages.size === 0) {
+    return;
+  }
+
+  const userIds = [...messages.keys()];
+  const users = admin.firestore().collection("Users");
+  for (let start = 0; start < userIds.length; start += MAX_BATCH_SIZE) {
+    const chunk = userIds.slice(start, start + MAX_BATCH_SIZE);
+    const userDocs = await admin.firestore().getAll(...chunk.map((userId) => users.doc(userId)));
+    const recipients = userDocs.filter((doc) => doc.exists && doc.get("fcmToken"));
+    if (recipients.length === 0) {
+      continue;
+    }
+
+    const response = await admin.messaging().sendEach(recipients.map((doc) => ({
+      token: doc.get("fcmToken"),
+      data: {type: messages.get(doc.id), eventId},
+      android: {priority: "high"},
+    })));
+
+    // Stop addressing tokens of uninstalled apps or rotated registrations
+    const stale = [];
+    response.responses.forEach((result, i) => {
+      if (result.success) {
+        return;
+      }
+      if (result.error.code === "messaging/registration-token-not-registered") {
+        stale.push(recipients[i].ref.update({fcmToken: admin.firestore.FieldValue.delete()}));
+      } else {
+        logger.warn("Pushing status update failed", {userId: recipients[i].id, eventId, error: result.error.message});
+      }
+    });
+    await Promise.all(stale);
+  }
+});
+
+/**
+ * Fills in read and createdAt on a new notification. The app writes deterministic notifications
+ * with only their content fields, so a repeated write never resets an existing one; this gives a
+ * new one the fields the inbox filters and orders on. Only runs on creation, never on rewrites.
+ */
+exports.stampNewNotifications = onDocumentCreated("Notifications/{notificationId}", async (event) => {
+  const notification = event.data;
+  if (!notification) {
+    return;
+  }
+  const update = {};
+  if (notification.get("read") === undefined) {
+    update.read = false;
+  }
+  if (notification.get("createdAt") === undefined) {
+    update.createdAt = admin.firestore.FieldValue.serverTimestamp();
+  }
+  if (Object.keys(update).length > 0) {
+    await notification.ref.update(update);
+  }
+});